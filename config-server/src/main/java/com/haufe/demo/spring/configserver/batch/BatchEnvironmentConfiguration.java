@@ -0,0 +1,60 @@
+package com.haufe.demo.spring.configserver.batch;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.config.ConfigServerProperties;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the batch endpoint, active unless the configuration property
+ * {@code haufe.configserver.batch.enabled} is {@literal false}.
+ *
+ * @see BatchEnvironmentController
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.batch", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(BatchEnvironmentProperties.class)
+public class BatchEnvironmentConfiguration {
+
+    /**
+     * The service resolving the environments of batch requests.
+     *
+     * @param environmentRepository
+     *         the config server's (unencrypted) environment repository
+     * @param environmentEncryptor
+     *         the config server's encryptor, if any
+     * @param configServerProperties
+     *         the config server's configuration properties (for the overrides)
+     * @param batchEnvironmentProperties
+     *         the endpoint's configuration properties
+     * @return the batch service
+     */
+    @Bean
+    public BatchEnvironmentService batchEnvironmentService(EnvironmentRepository environmentRepository,
+                                                           ObjectProvider<EnvironmentEncryptor> environmentEncryptor,
+                                                           ConfigServerProperties configServerProperties,
+                                                           BatchEnvironmentProperties batchEnvironmentProperties) {
+        return new BatchEnvironmentService(environmentRepository, environmentEncryptor.getIfAvailable(),
+                                           configServerProperties.getOverrides(),
+                                           batchEnvironmentProperties.getParallelism());
+    }
+
+    /**
+     * The batch endpoint.
+     *
+     * @param batchEnvironmentService
+     *         the service resolving the environments
+     * @param batchEnvironmentProperties
+     *         the endpoint's configuration properties
+     * @return the controller
+     */
+    @Bean
+    public BatchEnvironmentController batchEnvironmentController(BatchEnvironmentService batchEnvironmentService,
+                                                                 BatchEnvironmentProperties batchEnvironmentProperties) {
+        return new BatchEnvironmentController(batchEnvironmentService, batchEnvironmentProperties);
+    }
+}
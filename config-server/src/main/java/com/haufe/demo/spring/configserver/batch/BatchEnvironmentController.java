@@ -0,0 +1,112 @@
+package com.haufe.demo.spring.configserver.batch;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Endpoint that resolves many environments with a single request.
+ * <p>
+ * {@code POST /batch} takes a JSON array of {@link BatchEnvironmentRequest requests} and streams back one
+ * {@link BatchEnvironmentResult} per line (newline delimited JSON) as soon as each environment is resolved, so
+ * clients like sidecars and build tools are authenticated once and do not wait for the slowest environment to read
+ * the others. The results carry the index of their request, since they arrive in completion order. The request is
+ * processed asynchronously; the environments are resolved in parallel by the {@link BatchEnvironmentService}.
+ * <p>
+ * The controller is not a component on purpose: it is registered by {@link BatchEnvironmentConfiguration} only if
+ * the endpoint is enabled.
+ */
+@ResponseBody
+@RequestMapping(method = RequestMethod.POST, path = "${spring.cloud.config.server.prefix:}/batch")
+public class BatchEnvironmentController {
+
+    /**
+     * The media type of newline delimited JSON.
+     */
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    private final BatchEnvironmentService batchService;
+    private final BatchEnvironmentProperties properties;
+
+    /**
+     * Construct the controller.
+     *
+     * @param batchService
+     *         the service resolving the environments, must not be {@literal null}
+     * @param properties
+     *         the endpoint's configuration properties, must not be {@literal null}
+     */
+    public BatchEnvironmentController(BatchEnvironmentService batchService, BatchEnvironmentProperties properties) {
+        this.batchService = Objects.requireNonNull(batchService, "batchService must not be null");
+        this.properties = Objects.requireNonNull(properties, "properties must not be null");
+    }
+
+    /**
+     * Resolve the requested environments.
+     *
+     * @param requests
+     *         the environments
+     * @return the stream of results, or 400 (Bad Request) if the batch is empty, too large or an environment lacks
+     * its name or profiles
+     */
+    @RequestMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> batch(@RequestBody List<BatchEnvironmentRequest> requests) {
+        List<EnvironmentKey> keys = keysOf(requests);
+        if (keys == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(properties.getTimeout());
+        batchService.resolve(keys, result -> send(emitter, result))
+                .whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        emitter.completeWithError(failure);
+                    }
+                    else {
+                        emitter.complete();
+                    }
+                });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(emitter);
+    }
+
+    private List<EnvironmentKey> keysOf(List<BatchEnvironmentRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > properties.getMaxEnvironments()) {
+            return null;
+        }
+        List<EnvironmentKey> keys = new ArrayList<>(requests.size());
+        for (BatchEnvironmentRequest request : requests) {
+            if (request == null || request.getName() == null || request.getProfiles() == null) {
+                return null;
+            }
+            String label = request.getLabel() != null && request.getLabel().contains("(_)")
+                           ? request.getLabel().replace("(_)", "/")
+                           : request.getLabel();
+            keys.add(new EnvironmentKey(request.getName(), request.getProfiles(), label));
+        }
+        return keys;
+    }
+
+    private static void send(ResponseBodyEmitter emitter, BatchEnvironmentResult result) {
+        // a result and its line break must not be interleaved with another result
+        synchronized (emitter) {
+            try {
+                emitter.send(result, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.haufe.demo.spring.configserver.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's batch endpoint.
+ */
+@ConfigurationProperties("haufe.configserver.batch")
+public class BatchEnvironmentProperties {
+
+    /**
+     * Flag to enable or disable the batch endpoint.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of environments in a batch request.
+     */
+    private int maxEnvironments = 100;
+
+    /**
+     * The maximum number of environments resolved at the same time, shared by all batch requests.
+     */
+    private int parallelism = 8;
+
+    /**
+     * The time in milliseconds a batch request may take.
+     */
+    private long timeout = 60000L;
+
+    /**
+     * Is the batch endpoint enabled?
+     *
+     * @return {@literal true} (the default) if the endpoint is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the batch endpoint.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The maximum number of environments in a batch request.
+     *
+     * @return the maximum batch size
+     */
+    public int getMaxEnvironments() {
+        return maxEnvironments;
+    }
+
+    /**
+     * Set the maximum number of environments in a batch request.
+     *
+     * @param maxEnvironments
+     *         the new maximum batch size
+     */
+    public void setMaxEnvironments(int maxEnvironments) {
+        this.maxEnvironments = maxEnvironments;
+    }
+
+    /**
+     * The maximum number of environments resolved at the same time.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of environments resolved at the same time.
+     *
+     * @param parallelism
+     *         the new parallelism, must be positive
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * The timeout of a batch request in milliseconds.
+     *
+     * @return the timeout
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the timeout of a batch request in milliseconds.
+     *
+     * @param timeout
+     *         the new timeout
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchEnvironmentProperties)) {
+            return false;
+        }
+        BatchEnvironmentProperties that = (BatchEnvironmentProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getMaxEnvironments() == that.getMaxEnvironments() &&
+                getParallelism() == that.getParallelism() &&
+                getTimeout() == that.getTimeout();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getMaxEnvironments(), getParallelism(), getTimeout());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BatchEnvironmentProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", maxEnvironments=").append(maxEnvironments);
+        sb.append(", parallelism=").append(parallelism);
+        sb.append(", timeout=").append(timeout);
+        sb.append('}');
+        return sb.toString();
+    }
+}
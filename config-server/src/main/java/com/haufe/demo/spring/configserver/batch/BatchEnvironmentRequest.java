@@ -0,0 +1,111 @@
+package com.haufe.demo.spring.configserver.batch;
+
+import java.util.Objects;
+
+/**
+ * One environment requested from the batch endpoint.
+ */
+public class BatchEnvironmentRequest {
+
+    /**
+     * The application name.
+     */
+    private String name;
+
+    /**
+     * The comma separated profiles.
+     */
+    private String profiles;
+
+    /**
+     * The label, {@literal null} for the repository's default label.
+     */
+    private String label;
+
+    /**
+     * The application name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the application name.
+     *
+     * @param name
+     *         the new name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The comma separated profiles.
+     *
+     * @return the profiles
+     */
+    public String getProfiles() {
+        return profiles;
+    }
+
+    /**
+     * Set the comma separated profiles.
+     *
+     * @param profiles
+     *         the new profiles
+     */
+    public void setProfiles(String profiles) {
+        this.profiles = profiles;
+    }
+
+    /**
+     * The label.
+     *
+     * @return the label, {@literal null} for the default label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Set the label.
+     *
+     * @param label
+     *         the new label, {@literal null} for the default label; {@code (_)} stands for a slash like in the
+     *         config server's environment endpoint
+     */
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchEnvironmentRequest)) {
+            return false;
+        }
+        BatchEnvironmentRequest that = (BatchEnvironmentRequest) o;
+        return Objects.equals(getName(), that.getName()) &&
+                Objects.equals(getProfiles(), that.getProfiles()) &&
+                Objects.equals(getLabel(), that.getLabel());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName(), getProfiles(), getLabel());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BatchEnvironmentRequest{");
+        sb.append("name='").append(name).append('\'');
+        sb.append(", profiles='").append(profiles).append('\'');
+        sb.append(", label='").append(label).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,156 @@
+package com.haufe.demo.spring.configserver.batch;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.springframework.cloud.config.environment.Environment;
+
+import java.util.Objects;
+
+/**
+ * The outcome of one environment requested from the batch endpoint: the environment or the HTTP status and error
+ * message the environment endpoint would have answered with.
+ */
+public final class BatchEnvironmentResult {
+
+    private final int index;
+    private final EnvironmentKey key;
+    private final int status;
+    private final Environment environment;
+    private final String error;
+
+    private BatchEnvironmentResult(int index, EnvironmentKey key, int status, Environment environment, String error) {
+        this.index = index;
+        this.key = Objects.requireNonNull(key, "key must not be null");
+        this.status = status;
+        this.environment = environment;
+        this.error = error;
+    }
+
+    /**
+     * Construct the result of a resolved environment.
+     *
+     * @param index
+     *         the position of the environment in the batch request
+     * @param key
+     *         the requested environment, must not be {@literal null}
+     * @param environment
+     *         the environment, must not be {@literal null}
+     * @return the result, never {@literal null}
+     */
+    public static BatchEnvironmentResult found(int index, EnvironmentKey key, Environment environment) {
+        return new BatchEnvironmentResult(index, key, 200,
+                                          Objects.requireNonNull(environment, "environment must not be null"), null);
+    }
+
+    /**
+     * Construct the result of an environment that could not be resolved.
+     *
+     * @param index
+     *         the position of the environment in the batch request
+     * @param key
+     *         the requested environment, must not be {@literal null}
+     * @param status
+     *         the HTTP status of the error
+     * @param error
+     *         the error message, must not be {@literal null}
+     * @return the result, never {@literal null}
+     */
+    public static BatchEnvironmentResult failed(int index, EnvironmentKey key, int status, String error) {
+        return new BatchEnvironmentResult(index, key, status, null,
+                                          Objects.requireNonNull(error, "error must not be null"));
+    }
+
+    /**
+     * The position of the environment in the batch request; the results are sent as they complete.
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * The application name.
+     *
+     * @return the name, never {@literal null}
+     */
+    public String getName() {
+        return key.getName();
+    }
+
+    /**
+     * The comma separated profiles.
+     *
+     * @return the profiles, never {@literal null}
+     */
+    public String getProfiles() {
+        return key.getProfiles();
+    }
+
+    /**
+     * The label.
+     *
+     * @return the label, {@literal null} for the default label
+     */
+    public String getLabel() {
+        return key.getLabel();
+    }
+
+    /**
+     * The HTTP status the environment endpoint would have answered with.
+     *
+     * @return the status
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * The environment.
+     *
+     * @return the environment, {@literal null} if it could not be resolved
+     */
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * The error message.
+     *
+     * @return the message, {@literal null} if the environment was resolved
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchEnvironmentResult)) {
+            return false;
+        }
+        BatchEnvironmentResult that = (BatchEnvironmentResult) o;
+        return getIndex() == that.getIndex() &&
+                getStatus() == that.getStatus() &&
+                Objects.equals(key, that.key) &&
+                Objects.equals(getEnvironment(), that.getEnvironment()) &&
+                Objects.equals(getError(), that.getError());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getIndex(), key, getStatus(), getEnvironment(), getError());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BatchEnvironmentResult{");
+        sb.append("index=").append(index);
+        sb.append(", key=").append(key);
+        sb.append(", status=").append(status);
+        sb.append(", error='").append(error).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
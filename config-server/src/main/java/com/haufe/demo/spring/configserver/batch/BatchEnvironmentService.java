@@ -0,0 +1,112 @@
+package com.haufe.demo.spring.configserver.batch;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import com.haufe.demo.spring.configserver.environment.ServedEnvironments;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.NoSuchLabelException;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Resolves the environments of a batch request in parallel.
+ * <p>
+ * Each environment is read and post-processed (decryption, overrides) exactly like the config server's environment
+ * endpoint does it; an environment that cannot be resolved yields the status the endpoint would have answered with
+ * instead of failing the whole batch. All batch requests share a bounded thread pool, so a large batch cannot starve
+ * the repository.
+ */
+public class BatchEnvironmentService implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchEnvironmentService.class);
+
+    private final EnvironmentRepository repository;
+    private final ServedEnvironments servedEnvironments;
+    private final ExecutorService executor;
+
+    /**
+     * Construct a batch service.
+     *
+     * @param repository
+     *         the config server's (unencrypted) environment repository, must not be {@literal null}
+     * @param environmentEncryptor
+     *         the encryptor that decrypts {@code {cipher}} values, might be {@literal null}
+     * @param overrides
+     *         the config server's property overrides, must not be {@literal null}
+     * @param parallelism
+     *         the maximum number of environments resolved at the same time, must be positive
+     */
+    public BatchEnvironmentService(EnvironmentRepository repository, EnvironmentEncryptor environmentEncryptor,
+                                   Map<String, String> overrides, int parallelism) {
+        this.repository = Objects.requireNonNull(repository, "repository must not be null");
+        this.servedEnvironments = new ServedEnvironments(environmentEncryptor, overrides);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-environment-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Resolve environments in parallel.
+     *
+     * @param keys
+     *         the environments, must not be {@literal null}
+     * @param consumer
+     *         receives the results as they complete, possibly concurrently, must not be {@literal null}
+     * @return a future completing when all results have been consumed, never {@literal null}
+     */
+    public CompletableFuture<Void> resolve(List<EnvironmentKey> keys, Consumer<BatchEnvironmentResult> consumer) {
+        Objects.requireNonNull(keys, "keys must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        CompletableFuture<?>[] results = new CompletableFuture<?>[keys.size()];
+        for (int index = 0; index < keys.size(); index++) {
+            int position = index;
+            EnvironmentKey key = keys.get(index);
+            results[index] = CompletableFuture.runAsync(() -> consumer.accept(resolve(position, key)), executor);
+        }
+        return CompletableFuture.allOf(results);
+    }
+
+    private BatchEnvironmentResult resolve(int index, EnvironmentKey key) {
+        try {
+            Environment raw = repository.findOne(key.getName(), key.getProfiles(), key.getLabel());
+            return BatchEnvironmentResult.found(index, key, servedEnvironments.served(raw));
+        }
+        catch (NoSuchLabelException exception) {
+            return BatchEnvironmentResult.failed(index, key, HttpStatus.NOT_FOUND.value(), exception.getMessage());
+        }
+        catch (IllegalArgumentException exception) {
+            return BatchEnvironmentResult.failed(index, key, HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+        }
+        catch (RuntimeException exception) {
+            LOG.warn("Could not resolve environment {}: {}", key, exception.toString());
+            return BatchEnvironmentResult.failed(index, key, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                                                 HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase());
+        }
+    }
+
+    /**
+     * Stop the thread pool.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,144 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import com.haufe.demo.spring.configserver.environment.ServedEnvironments;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.NoSuchLabelException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchronous variant of the config server's environment endpoints {@code GET /{name}/{profiles}[/{label}]}.
+ * <p>
+ * The environment is read in the {@link EnvironmentBulkheads bulkheads} of the backends, so a hung backend holds
+ * neither a servlet container thread nor the threads of the other backends. If a bulkhead is full, the request is
+ * answered with 503 (Service Unavailable) right away; so is a request that is not answered within the configured
+ * timeout. Environments in the cache are served by the config server's synchronous controller instead (see
+ * {@link UncachedEnvironmentCondition}). Decryption, overrides and error responses are those of the synchronous
+ * controller.
+ * <p>
+ * The controller is not a component on purpose: it is registered by {@link BulkheadConfiguration} only if the
+ * bulkheads are enabled.
+ */
+@ResponseBody
+@RequestMapping(method = RequestMethod.GET, path = "${spring.cloud.config.server.prefix:}")
+public class AsyncEnvironmentController {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final EnvironmentBulkheads bulkheads;
+    private final ServedEnvironments servedEnvironments;
+    private final long timeout;
+
+    /**
+     * Construct the controller.
+     *
+     * @param bulkheads
+     *         the bulkheads of the backends, must not be {@literal null}
+     * @param environmentEncryptor
+     *         the encryptor that decrypts {@code {cipher}} values, might be {@literal null}
+     * @param overrides
+     *         the config server's property overrides, must not be {@literal null}
+     * @param timeout
+     *         the time in milliseconds after which a request is answered with 503 (Service Unavailable)
+     */
+    public AsyncEnvironmentController(EnvironmentBulkheads bulkheads, EnvironmentEncryptor environmentEncryptor,
+                                      Map<String, String> overrides, long timeout) {
+        this.bulkheads = Objects.requireNonNull(bulkheads, "bulkheads must not be null");
+        this.servedEnvironments = new ServedEnvironments(environmentEncryptor, overrides);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Get an environment with the default label.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @return the deferred environment
+     */
+    @RequestMapping("/{name}/{profiles:.*[^-].*}")
+    public DeferredResult<ResponseEntity<Environment>> defaultLabel(@PathVariable String name,
+                                                                    @PathVariable String profiles) {
+        return labelled(name, profiles, null);
+    }
+
+    /**
+     * Get a labelled environment.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param label
+     *         the label, with {@code (_)} standing for a slash
+     * @return the deferred environment
+     */
+    @RequestMapping("/{name}/{profiles}/{label:.*}")
+    public DeferredResult<ResponseEntity<Environment>> labelled(@PathVariable String name,
+                                                                @PathVariable String profiles,
+                                                                @PathVariable String label) {
+        EnvironmentKey key = UncachedEnvironmentCondition.keyOf(name, profiles, label);
+        DeferredResult<ResponseEntity<Environment>> result =
+                new DeferredResult<>(timeout, serviceUnavailable());
+        bulkheads.findOne(key).whenComplete((raw, failure) -> {
+            if (failure == null) {
+                result.setResult(ResponseEntity.ok(servedEnvironments.served(raw)));
+            }
+            else {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                result.setErrorResult(cause instanceof RejectedExecutionException ? serviceUnavailable() : cause);
+            }
+        });
+        return result;
+    }
+
+    private static ResponseEntity<Environment> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+
+    /**
+     * Answer a request for a missing label like the config server does.
+     *
+     * @param response
+     *         the response
+     * @throws IOException
+     *         the error could not be sent
+     */
+    @ExceptionHandler(NoSuchLabelException.class)
+    public void noSuchLabel(HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.NOT_FOUND.value());
+    }
+
+    /**
+     * Answer an invalid request like the config server does.
+     *
+     * @param response
+     *         the response
+     * @throws IOException
+     *         the error could not be sent
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public void illegalArgument(HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.BAD_REQUEST.value());
+    }
+}
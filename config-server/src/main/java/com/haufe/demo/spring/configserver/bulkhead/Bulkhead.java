@@ -0,0 +1,132 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded thread pool that isolates the calls of one backend, so a hung backend can exhaust its own threads and
+ * queue only.
+ * <p>
+ * Tasks beyond the threads and the queue capacity are rejected right away rather than waiting for a free slot.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Construct a bulkhead.
+     *
+     * @param name
+     *         the name of the backend, must not be {@literal null}
+     * @param threads
+     *         the number of threads, must be positive
+     * @param queueCapacity
+     *         the number of tasks waiting for a thread, 0 for none
+     */
+    public Bulkhead(String name, int threads, int queueCapacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        BlockingQueue<Runnable> queue =
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run a task in the bulkhead.
+     *
+     * @param task
+     *         the task, must not be {@literal null}
+     * @param <T>
+     *         the type of the task's result
+     * @return the future result; it fails with a {@link RejectedExecutionException} if the bulkhead is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        }
+        catch (RejectedExecutionException rejectedExecutionException) {
+            rejected.incrementAndGet();
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(rejectedExecutionException);
+            return failed;
+        }
+    }
+
+    /**
+     * The name of the backend.
+     *
+     * @return the name, never {@literal null}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The number of tasks waiting for a thread.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * The number of threads running a task.
+     *
+     * @return the active thread count
+     */
+    public int getActiveThreads() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * The number of completed tasks.
+     *
+     * @return the completed task count
+     */
+    public long getCompleted() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * The number of rejected tasks.
+     *
+     * @return the rejection count
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Stop the threads.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead{" + name + "}";
+    }
+}
@@ -0,0 +1,133 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.WebMvcRegistrations;
+import org.springframework.boot.autoconfigure.web.WebMvcRegistrationsAdapter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.config.ConfigServerProperties;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.OrderComparator;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spring Java Configuration of the asynchronous environment endpoints with backend bulkheads, active unless the
+ * configuration property {@code haufe.configserver.bulkhead.enabled} is {@literal false}.
+ *
+ * @see AsyncEnvironmentController
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.bulkhead", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkheadConfiguration.class);
+
+    /**
+     * Spring MVC's request mapping with the {@link UncachedEnvironmentCondition}. The method is static because
+     * Spring MVC looks the registrations up before this configuration could be created.
+     *
+     * @param beanFactory
+     *         the bean factory to look up the config server's properties and the cache in, once the mapping is
+     *         initialized
+     * @return the registrations
+     */
+    @Bean
+    public static WebMvcRegistrations bulkheadWebMvcRegistrations(ConfigurableListableBeanFactory beanFactory) {
+        return new WebMvcRegistrationsAdapter() {
+            @Override
+            public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                return new BulkheadHandlerMapping(() -> {
+                    EnvironmentCache environmentCache =
+                            beanFactory.getBeanNamesForType(EnvironmentCache.class).length > 0
+                                    ? beanFactory.getBean(EnvironmentCache.class) : null;
+                    return new UncachedEnvironmentCondition(
+                            beanFactory.getBean(ConfigServerProperties.class).getPrefix(),
+                            environmentCache != null ? environmentCache::isCached : key -> false);
+                });
+            }
+        };
+    }
+
+    /**
+     * The bulkheads of the config server's backends.
+     *
+     * @param environmentRepository
+     *         the config server's (unencrypted) environment repository
+     * @param beanFactory
+     *         the bean factory to look up the backend repositories in
+     * @param environmentCache
+     *         the environment cache, if enabled
+     * @param bulkheadProperties
+     *         the bulkheads' configuration properties
+     * @return the bulkheads
+     */
+    @Bean
+    public EnvironmentBulkheads environmentBulkheads(EnvironmentRepository environmentRepository,
+                                                     ConfigurableListableBeanFactory beanFactory,
+                                                     ObjectProvider<EnvironmentCache> environmentCache,
+                                                     BulkheadProperties bulkheadProperties) {
+        List<EnvironmentRepository> backends = new ArrayList<>();
+        String[] names = beanFactory.getBeanNamesForType(EnvironmentRepository.class, true, false);
+        if (names.length == 1) {
+            backends.add(environmentRepository);
+        }
+        else {
+            for (String name : names) {
+                if (!beanFactory.containsBeanDefinition(name) || !beanFactory.getBeanDefinition(name).isPrimary()) {
+                    backends.add(beanFactory.getBean(name, EnvironmentRepository.class));
+                }
+            }
+            backends.sort(OrderComparator.INSTANCE);
+        }
+        EnvironmentBulkheads bulkheads = new EnvironmentBulkheads(
+                environmentRepository, backends, environmentCache.getIfAvailable(),
+                kind -> new Bulkhead(kind, bulkheadProperties.threadsOf(kind),
+                                     bulkheadProperties.queueCapacityOf(kind)));
+        LOG.info("Environment requests are processed in the bulkheads {}", bulkheads.getBulkheads());
+        return bulkheads;
+    }
+
+    /**
+     * The asynchronous environment endpoints.
+     *
+     * @param environmentBulkheads
+     *         the bulkheads of the backends
+     * @param environmentEncryptor
+     *         the config server's encryptor, if any
+     * @param configServerProperties
+     *         the config server's configuration properties (for the overrides)
+     * @param bulkheadProperties
+     *         the bulkheads' configuration properties
+     * @return the controller
+     */
+    @Bean
+    public AsyncEnvironmentController asyncEnvironmentController(
+            EnvironmentBulkheads environmentBulkheads, ObjectProvider<EnvironmentEncryptor> environmentEncryptor,
+            ConfigServerProperties configServerProperties, BulkheadProperties bulkheadProperties) {
+        return new AsyncEnvironmentController(environmentBulkheads, environmentEncryptor.getIfAvailable(),
+                                              configServerProperties.getOverrides(), bulkheadProperties.getTimeout());
+    }
+
+    /**
+     * The bulkheads' metrics.
+     *
+     * @param environmentBulkheads
+     *         the bulkheads of the backends
+     * @return the metrics
+     */
+    @Bean
+    public BulkheadMetrics bulkheadMetrics(EnvironmentBulkheads environmentBulkheads) {
+        return new BulkheadMetrics(environmentBulkheads);
+    }
+}
@@ -0,0 +1,32 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import org.springframework.web.servlet.mvc.condition.RequestCondition;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Spring MVC's request mapping with the {@link UncachedEnvironmentCondition} added to the methods of the
+ * {@link AsyncEnvironmentController}.
+ */
+public class BulkheadHandlerMapping extends RequestMappingHandlerMapping {
+
+    private final Supplier<UncachedEnvironmentCondition> condition;
+
+    /**
+     * Construct the mapping.
+     *
+     * @param condition
+     *         supplies the condition, called once all beans are created, must not be {@literal null}
+     */
+    public BulkheadHandlerMapping(Supplier<UncachedEnvironmentCondition> condition) {
+        this.condition = Objects.requireNonNull(condition, "condition must not be null");
+    }
+
+    @Override
+    protected RequestCondition<?> getCustomMethodCondition(Method method) {
+        return AsyncEnvironmentController.class.isAssignableFrom(method.getDeclaringClass()) ? condition.get() : null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Exposes the state of the backend bulkheads in the actuator's metrics endpoint as
+ * {@code bulkhead.<backend>.queue}, {@code .active}, {@code .completed} and {@code .rejected}.
+ */
+public class BulkheadMetrics implements PublicMetrics {
+
+    private final EnvironmentBulkheads bulkheads;
+
+    /**
+     * Construct the metrics.
+     *
+     * @param bulkheads
+     *         the bulkheads of the backends, must not be {@literal null}
+     */
+    public BulkheadMetrics(EnvironmentBulkheads bulkheads) {
+        this.bulkheads = Objects.requireNonNull(bulkheads, "bulkheads must not be null");
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        for (Bulkhead bulkhead : bulkheads.getBulkheads()) {
+            String prefix = "bulkhead." + bulkhead.getName() + ".";
+            metrics.add(new Metric<>(prefix + "queue", bulkhead.getQueueDepth()));
+            metrics.add(new Metric<>(prefix + "active", bulkhead.getActiveThreads()));
+            metrics.add(new Metric<>(prefix + "completed", bulkhead.getCompleted()));
+            metrics.add(new Metric<>(prefix + "rejected", bulkhead.getRejected()));
+        }
+        return metrics;
+    }
+}
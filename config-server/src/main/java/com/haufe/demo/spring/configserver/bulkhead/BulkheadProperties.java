@@ -0,0 +1,272 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's backend bulkheads.
+ */
+@ConfigurationProperties("haufe.configserver.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Flag to enable or disable the asynchronous environment endpoints with backend bulkheads.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The default number of threads per backend.
+     */
+    private int threads = 20;
+
+    /**
+     * The default number of requests per backend waiting for a thread.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * The time in milliseconds after which an environment request is answered with 503 (Service Unavailable).
+     */
+    private long timeout = 60000L;
+
+    /**
+     * The settings of individual backend kinds (e.g., git, native, vault), overriding the defaults.
+     */
+    private Map<String, Backend> backends = new LinkedHashMap<>();
+
+    /**
+     * Are the bulkheads enabled?
+     *
+     * @return {@literal true} (the default) if environment requests are processed asynchronously in bulkheads
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the bulkheads.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The default number of threads per backend.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the default number of threads per backend.
+     *
+     * @param threads
+     *         the new number of threads, must be positive
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * The default number of requests per backend waiting for a thread.
+     *
+     * @return the queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Set the default number of requests per backend waiting for a thread.
+     *
+     * @param queueCapacity
+     *         the new queue capacity, 0 for none
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * The time in milliseconds after which an environment request is answered with 503 (Service Unavailable).
+     *
+     * @return the timeout
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the time in milliseconds after which an environment request is answered with 503 (Service Unavailable).
+     *
+     * @param timeout
+     *         the new timeout
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * The settings of individual backend kinds.
+     *
+     * @return the settings by backend kind, never {@literal null}
+     */
+    public Map<String, Backend> getBackends() {
+        return backends;
+    }
+
+    /**
+     * Set the settings of individual backend kinds.
+     *
+     * @param backends
+     *         the new settings by backend kind
+     */
+    public void setBackends(Map<String, Backend> backends) {
+        this.backends = backends != null ? backends : new LinkedHashMap<>();
+    }
+
+    /**
+     * The number of threads of a backend kind.
+     *
+     * @param kind
+     *         the backend kind
+     * @return the backend's number of threads if set, the default otherwise
+     */
+    public int threadsOf(String kind) {
+        Backend backend = backends.get(kind);
+        return backend != null && backend.getThreads() != null ? backend.getThreads() : threads;
+    }
+
+    /**
+     * The queue capacity of a backend kind.
+     *
+     * @param kind
+     *         the backend kind
+     * @return the backend's queue capacity if set, the default otherwise
+     */
+    public int queueCapacityOf(String kind) {
+        Backend backend = backends.get(kind);
+        return backend != null && backend.getQueueCapacity() != null ? backend.getQueueCapacity() : queueCapacity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkheadProperties)) {
+            return false;
+        }
+        BulkheadProperties that = (BulkheadProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getThreads() == that.getThreads() &&
+                getQueueCapacity() == that.getQueueCapacity() &&
+                getTimeout() == that.getTimeout() &&
+                Objects.equals(getBackends(), that.getBackends());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getThreads(), getQueueCapacity(), getTimeout(), getBackends());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BulkheadProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", threads=").append(threads);
+        sb.append(", queueCapacity=").append(queueCapacity);
+        sb.append(", timeout=").append(timeout);
+        sb.append(", backends=").append(backends);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * The settings of a backend kind.
+     */
+    public static class Backend {
+
+        /**
+         * The number of threads, the default if not set.
+         */
+        private Integer threads;
+
+        /**
+         * The number of requests waiting for a thread, the default if not set.
+         */
+        private Integer queueCapacity;
+
+        /**
+         * The number of threads.
+         *
+         * @return the number of threads, {@literal null} for the default
+         */
+        public Integer getThreads() {
+            return threads;
+        }
+
+        /**
+         * Set the number of threads.
+         *
+         * @param threads
+         *         the new number of threads, {@literal null} for the default
+         */
+        public void setThreads(Integer threads) {
+            this.threads = threads;
+        }
+
+        /**
+         * The number of requests waiting for a thread.
+         *
+         * @return the queue capacity, {@literal null} for the default
+         */
+        public Integer getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * Set the number of requests waiting for a thread.
+         *
+         * @param queueCapacity
+         *         the new queue capacity, {@literal null} for the default
+         */
+        public void setQueueCapacity(Integer queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Backend)) {
+                return false;
+            }
+            Backend that = (Backend) o;
+            return Objects.equals(getThreads(), that.getThreads()) &&
+                    Objects.equals(getQueueCapacity(), that.getQueueCapacity());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getThreads(), getQueueCapacity());
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("Backend{");
+            sb.append("threads=").append(threads);
+            sb.append(", queueCapacity=").append(queueCapacity);
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+}
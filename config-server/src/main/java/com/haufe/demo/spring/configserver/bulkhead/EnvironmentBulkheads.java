@@ -0,0 +1,160 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reads environments from the config server's backends, each backend in its own {@link Bulkhead}.
+ * <p>
+ * With a single backend, the served repository (i.e., the {@link EnvironmentCache cached} one, if the cache is
+ * enabled) is read in the backend's bulkhead. With several backends (the config server's composite repository), the
+ * backends are read in parallel, each in its bulkhead, and their property sources are combined in the order of the
+ * backends like the composite repository does; the combined environment is put into the cache, if any.
+ * <p>
+ * Backends of the same kind (e.g., two git repositories) share a bulkhead. The request attributes of the calling
+ * thread are passed on to the bulkhead threads because the Vault backend reads the request headers.
+ */
+public class EnvironmentBulkheads implements DisposableBean {
+
+    private final EnvironmentRepository servedRepository;
+    private final List<Backend> backends;
+    private final EnvironmentCache cache;
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    /**
+     * Construct the bulkheads.
+     *
+     * @param servedRepository
+     *         the repository the config server serves from, must not be {@literal null}
+     * @param backends
+     *         the backend repositories in the order of the composite repository (the served repository if there is
+     *         only one backend), must not be {@literal null} nor empty
+     * @param cache
+     *         the environment cache, might be {@literal null}
+     * @param bulkheadFactory
+     *         creates the bulkhead of a backend kind (see {@link #kindOf(EnvironmentRepository)}), must not be
+     *         {@literal null}
+     */
+    public EnvironmentBulkheads(EnvironmentRepository servedRepository, List<EnvironmentRepository> backends,
+                                EnvironmentCache cache, Function<String, Bulkhead> bulkheadFactory) {
+        this.servedRepository = Objects.requireNonNull(servedRepository, "servedRepository must not be null");
+        Objects.requireNonNull(backends, "backends must not be null");
+        Objects.requireNonNull(bulkheadFactory, "bulkheadFactory must not be null");
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("backends must not be empty");
+        }
+        this.cache = cache;
+        List<Backend> list = new ArrayList<>(backends.size());
+        for (EnvironmentRepository backend : backends) {
+            Bulkhead bulkhead = bulkheads.computeIfAbsent(kindOf(backend), bulkheadFactory);
+            list.add(new Backend(backend, bulkhead));
+        }
+        this.backends = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Read an environment (without decryption and overrides, like the served repository).
+     *
+     * @param key
+     *         the environment's key, must not be {@literal null}
+     * @return the future environment; it fails with a {@link java.util.concurrent.RejectedExecutionException} if a
+     * backend's bulkhead is full
+     */
+    public CompletableFuture<Environment> findOne(EnvironmentKey key) {
+        Objects.requireNonNull(key, "key must not be null");
+        if (backends.size() == 1) {
+            return submit(backends.get(0).bulkhead,
+                          () -> servedRepository.findOne(key.getName(), key.getProfiles(), key.getLabel()));
+        }
+        List<CompletableFuture<Environment>> reads = new ArrayList<>(backends.size());
+        for (Backend backend : backends) {
+            reads.add(submit(backend.bulkhead,
+                             () -> backend.repository.findOne(key.getName(), key.getProfiles(), key.getLabel())));
+        }
+        return CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[reads.size()])).thenApply(done -> {
+            Environment combined = new Environment(key.getName(), new String[]{key.getProfiles()}, key.getLabel(),
+                                                   null, null);
+            reads.forEach(read -> combined.addAll(read.join().getPropertySources()));
+            return cache != null ? cache.get(key, () -> combined) : combined;
+        });
+    }
+
+    private static <T> CompletableFuture<T> submit(Bulkhead bulkhead, Supplier<T> task) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return bulkhead.submit(() -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                return task.get();
+            }
+            finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    /**
+     * The bulkheads by backend kind.
+     *
+     * @return the bulkheads, never {@literal null}
+     */
+    public Collection<Bulkhead> getBulkheads() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+
+    /**
+     * The kind of a backend, e.g., {@code git}, {@code native} or {@code vault}.
+     *
+     * @param repository
+     *         the backend repository, possibly proxied, must not be {@literal null}
+     * @return the simple class name without {@code EnvironmentRepository} in lower case; {@code git} for all git
+     * backends
+     */
+    public static String kindOf(EnvironmentRepository repository) {
+        String name = AopProxyUtils.ultimateTargetClass(repository).getSimpleName();
+        if (name.contains("JGit")) {
+            return "git";
+        }
+        if (name.startsWith("SvnKit")) {
+            return "svn";
+        }
+        int end = name.indexOf("EnvironmentRepository");
+        String kind = end > 0 ? name.substring(0, end) : name;
+        return kind.isEmpty() ? "default" : kind.toLowerCase();
+    }
+
+    /**
+     * Stop the bulkheads' threads.
+     */
+    @Override
+    public void destroy() {
+        bulkheads.values().forEach(Bulkhead::shutdown);
+    }
+
+    private static final class Backend {
+
+        private final EnvironmentRepository repository;
+        private final Bulkhead bulkhead;
+
+        private Backend(EnvironmentRepository repository, Bulkhead bulkhead) {
+            this.repository = repository;
+            this.bulkhead = bulkhead;
+        }
+    }
+}
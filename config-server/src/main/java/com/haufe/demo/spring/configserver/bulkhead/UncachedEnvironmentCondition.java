@@ -0,0 +1,94 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.condition.AbstractRequestCondition;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Predicate;
+
+/**
+ * Request condition of the {@link AsyncEnvironmentController} that matches unless the requested environment is in
+ * the {@link EnvironmentCache}.
+ * <p>
+ * The asynchronous controller maps the same paths as the config server's synchronous environment controller; since
+ * a request condition makes a mapping more specific, the asynchronous controller handles the requests this
+ * condition matches and the synchronous controller answers the cached environments right on the request thread.
+ */
+public class UncachedEnvironmentCondition extends AbstractRequestCondition<UncachedEnvironmentCondition> {
+
+    private final String prefix;
+    private final Predicate<EnvironmentKey> isCached;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /**
+     * Construct the condition.
+     *
+     * @param prefix
+     *         the config server's path prefix, might be {@literal null}
+     * @param isCached
+     *         tells whether an environment is cached, must not be {@literal null}
+     */
+    public UncachedEnvironmentCondition(String prefix, Predicate<EnvironmentKey> isCached) {
+        this.prefix = prefix != null ? prefix : "";
+        this.isCached = isCached;
+    }
+
+    @Override
+    public UncachedEnvironmentCondition combine(UncachedEnvironmentCondition other) {
+        return other;
+    }
+
+    @Override
+    public UncachedEnvironmentCondition getMatchingCondition(HttpServletRequest request) {
+        // the dispatch of the asynchronous result must reach the asynchronous controller, cached or not
+        if (WebAsyncUtils.getAsyncManager(request).hasConcurrentResult()) {
+            return this;
+        }
+        String path = urlPathHelper.getLookupPathForRequest(request);
+        if (!path.startsWith(prefix + "/")) {
+            return this;
+        }
+        String[] parts = path.substring(prefix.length() + 1).split("/", 3);
+        if (parts.length < 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+            return this;
+        }
+        EnvironmentKey key = keyOf(parts[0], parts[1], parts.length > 2 && !parts[2].isEmpty() ? parts[2] : null);
+        return isCached.test(key) ? null : this;
+    }
+
+    @Override
+    public int compareTo(UncachedEnvironmentCondition other, HttpServletRequest request) {
+        return 0;
+    }
+
+    @Override
+    protected Collection<?> getContent() {
+        return Collections.singleton("uncached");
+    }
+
+    @Override
+    protected String getToStringInfix() {
+        return "";
+    }
+
+    /**
+     * The key of a requested environment as the config server's environment controller passes it on to the
+     * repository.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param label
+     *         the label, with {@code (_)} standing for a slash, might be {@literal null}
+     * @return the key, never {@literal null}
+     */
+    static EnvironmentKey keyOf(String name, String profiles, String label) {
+        return new EnvironmentKey(name, profiles, label != null ? label.replace("(_)", "/") : null);
+    }
+}
@@ -0,0 +1,144 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Webhook endpoint that invalidates only the cached environments a git push has changed.
+ * <p>
+ * {@code POST /monitor} takes the push event of GitHub, GitLab or Gitea/Gogs (the pushed {@code ref} and the
+ * {@code added}, {@code modified} and {@code removed} paths of the {@code commits}) or a body
+ * {@code {"ref": ..., "paths": [...]}}, and answers with the invalidated environments. If the event does not list
+ * all changed paths (e.g., for large pushes), all environments of the pushed branch are invalidated.
+ * <p>
+ * The controller is not a component on purpose: it is registered by {@link EnvironmentCacheConfiguration} only if
+ * the webhook is enabled.
+ */
+@ResponseBody
+@RequestMapping(method = RequestMethod.POST, path = "${spring.cloud.config.server.prefix:}/monitor")
+public class CacheInvalidationController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationController.class);
+
+    private static final String[] CHANGE_TYPES = {"added", "modified", "removed"};
+
+    private static final String[] REF_PREFIXES = {"refs/heads/", "refs/tags/"};
+
+    private final EnvironmentCache cache;
+    private final Supplier<ChangedPathMatcher> pathMatcher;
+
+    /**
+     * Construct the controller.
+     *
+     * @param cache
+     *         the environment cache, must not be {@literal null}
+     * @param pathMatcher
+     *         supplies the matcher of the repository's current search paths, must not be {@literal null}
+     */
+    public CacheInvalidationController(EnvironmentCache cache, Supplier<ChangedPathMatcher> pathMatcher) {
+        this.cache = Objects.requireNonNull(cache, "cache must not be null");
+        this.pathMatcher = Objects.requireNonNull(pathMatcher, "pathMatcher must not be null");
+    }
+
+    /**
+     * Invalidate the environments affected by a push.
+     *
+     * @param event
+     *         the push event
+     * @return the pushed branch, the changed paths ({@literal null} if unknown) and the invalidated environments
+     */
+    @RequestMapping
+    public Map<String, Object> push(@RequestBody Map<String, Object> event) {
+        String branch = branchOf(event);
+        Collection<String> paths = changedPathsOf(event);
+        Predicate<EnvironmentKey> affected = pathMatcher.get().affectedBy(branch, paths);
+        List<EnvironmentKey> invalidated = Collections.synchronizedList(new ArrayList<>());
+        cache.invalidateIf(key -> affected.test(key) && invalidated.add(key));
+        LOG.info("Push to {} changed {}, invalidated {} cached environments", branch != null ? branch : "unknown ref",
+                 paths != null ? paths : "unknown paths", invalidated.size());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("branch", branch);
+        result.put("paths", paths);
+        result.put("invalidated", invalidated);
+        return result;
+    }
+
+    /**
+     * Determine the pushed branch or tag of a push event.
+     *
+     * @param event
+     *         the push event
+     * @return the branch or tag, {@literal null} if the event has no {@code ref}
+     */
+    static String branchOf(Map<String, Object> event) {
+        Object ref = event.get("ref");
+        if (!(ref instanceof String)) {
+            return null;
+        }
+        for (String prefix : REF_PREFIXES) {
+            if (((String) ref).startsWith(prefix)) {
+                return ((String) ref).substring(prefix.length());
+            }
+        }
+        return (String) ref;
+    }
+
+    /**
+     * Collect the changed paths of a push event.
+     *
+     * @param event
+     *         the push event
+     * @return the changed paths, {@literal null} if the event does not list all of them
+     */
+    static Collection<String> changedPathsOf(Map<String, Object> event) {
+        Set<String> paths = new LinkedHashSet<>();
+        if (event.get("paths") instanceof Collection) {
+            addPaths(paths, event.get("paths"));
+            return paths;
+        }
+        if (!(event.get("commits") instanceof Collection)) {
+            return null;
+        }
+        Collection<?> commits = (Collection<?>) event.get("commits");
+        Object totalCommits = event.get("total_commits_count");
+        if (totalCommits instanceof Number && ((Number) totalCommits).intValue() > commits.size()) {
+            return null;
+        }
+        for (Object commit : commits) {
+            if (!(commit instanceof Map)) {
+                return null;
+            }
+            for (String changeType : CHANGE_TYPES) {
+                addPaths(paths, ((Map<?, ?>) commit).get(changeType));
+            }
+        }
+        return paths;
+    }
+
+    private static void addPaths(Set<String> paths, Object changedPaths) {
+        if (changedPaths instanceof Collection) {
+            for (Object path : (Collection<?>) changedPaths) {
+                if (path instanceof String) {
+                    paths.add((String) path);
+                }
+            }
+        }
+    }
+}
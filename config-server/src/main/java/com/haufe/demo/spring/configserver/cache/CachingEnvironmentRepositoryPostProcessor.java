@@ -0,0 +1,82 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Puts the {@link EnvironmentCache} in front of the config server's {@link EnvironmentRepository} bean, i.e., the
+ * only repository bean or the primary one (the composite repository delegating to the others).
+ * <p>
+ * The repository is wrapped in a proxy rather than in a delegating repository because the config server looks it up
+ * by its other interfaces as well (e.g., as {@link org.springframework.cloud.config.server.environment.SearchPathLocator
+ * SearchPathLocator} for the resource endpoint); the proxy implements all of them and caches
+ * {@link EnvironmentRepository#findOne(String, String, String) findOne} only. Everything that reads the repository
+ * bean, i.e., the environment endpoint, the health indicator, the watch and the delta endpoints, is served from the
+ * cache.
+ */
+public class CachingEnvironmentRepositoryPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private static final Method FIND_ONE =
+            ClassUtils.getMethod(EnvironmentRepository.class, "findOne", String.class, String.class, String.class);
+
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        Assert.isInstanceOf(ConfigurableListableBeanFactory.class, beanFactory);
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof EnvironmentRepository) || !isServedRepository(beanName)) {
+            return bean;
+        }
+        EnvironmentCache cache = beanFactory.getBean(EnvironmentCache.class);
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setInterfaces(ClassUtils.getAllInterfaces(bean));
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Method method = invocation.getMethod();
+            Object[] arguments = invocation.getArguments();
+            if (!method.getName().equals(FIND_ONE.getName())
+                    || !Arrays.equals(method.getParameterTypes(), FIND_ONE.getParameterTypes())
+                    || arguments[0] == null || arguments[1] == null) {
+                return invocation.proceed();
+            }
+            EnvironmentKey key = new EnvironmentKey((String) arguments[0], (String) arguments[1],
+                                                              (String) arguments[2]);
+            return cache.get(key, () -> ((EnvironmentRepository) bean).findOne(key.getName(), key.getProfiles(),
+                                                                               key.getLabel()));
+        });
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * Is the repository bean the one the config server serves from? If there are several repositories, the others
+     * are the delegates of the primary composite repository; caching them as well would make the composite wait
+     * for its own load of the same environment.
+     */
+    private boolean isServedRepository(String beanName) {
+        if (beanFactory.getBeanNamesForType(EnvironmentRepository.class, true, false).length == 1) {
+            return true;
+        }
+        return beanFactory.containsBeanDefinition(beanName) && beanFactory.getBeanDefinition(beanName).isPrimary();
+    }
+}
@@ -0,0 +1,148 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the files changed by a git push to the cached environments they are part of, following the rules the config
+ * server reads the files by: an environment {@code {application}/{profiles}/{label}} consists of the files
+ * {@code application[-{profile}]} and {@code {application}[-{profile}]} (with the extensions {@code .yml},
+ * {@code .yaml}, {@code .properties} or {@code .json}) in the root directory of the branch and in the directories
+ * matching the repository's search paths, in which the placeholders {@code {application}}, {@code {profile}} and
+ * {@code {label}} are replaced.
+ * <p>
+ * Environments requested by commit id never change and are never affected.
+ */
+public class ChangedPathMatcher {
+
+    private static final String[] CONFIGURATION_FILE_EXTENSIONS = {".yml", ".yaml", ".properties", ".json"};
+
+    private static final String SHARED_APPLICATION_NAME = "application";
+
+    private static final String DEFAULT_LABEL = "master";
+
+    private static final Pattern COMMIT_ID = Pattern.compile("[0-9a-f]{40}");
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> searchPaths;
+    private final String defaultLabel;
+
+    /**
+     * Construct a matcher.
+     *
+     * @param searchPaths
+     *         the repository's search paths (Ant-style patterns relative to the repository root, possibly containing
+     *         placeholders), must not be {@literal null}; the root directory is always searched
+     * @param defaultLabel
+     *         the label of environments requested without a label, must not be {@literal null}
+     */
+    public ChangedPathMatcher(Collection<String> searchPaths, String defaultLabel) {
+        Objects.requireNonNull(searchPaths, "searchPaths must not be null");
+        Set<String> normalizedPaths = new LinkedHashSet<>();
+        normalizedPaths.add("");
+        searchPaths.forEach(searchPath -> normalizedPaths.add(trimSlashes(searchPath)));
+        this.searchPaths = new ArrayList<>(normalizedPaths);
+        this.defaultLabel = Objects.requireNonNull(defaultLabel, "defaultLabel must not be null");
+    }
+
+    /**
+     * Construct a matcher for the search paths and the default label of the config server's git repositories.
+     *
+     * @param repositories
+     *         the environment repositories, possibly proxied, must not be {@literal null}
+     * @return the matcher, never {@literal null}
+     */
+    public static ChangedPathMatcher of(Collection<EnvironmentRepository> repositories) {
+        List<String> searchPaths = new ArrayList<>();
+        String defaultLabel = null;
+        for (JGitEnvironmentRepository repository : GitRepositories.of(repositories)) {
+            if (repository.getSearchPaths() != null) {
+                searchPaths.addAll(Arrays.asList(repository.getSearchPaths()));
+            }
+            if (defaultLabel == null) {
+                defaultLabel = repository.getDefaultLabel();
+            }
+        }
+        return new ChangedPathMatcher(searchPaths, defaultLabel != null ? defaultLabel : DEFAULT_LABEL);
+    }
+
+    /**
+     * Select the environments affected by a push.
+     *
+     * @param branch
+     *         the pushed branch, {@literal null} if unknown (all labels are affected)
+     * @param paths
+     *         the changed paths relative to the repository root, {@literal null} if unknown (all environments of the
+     *         branch are affected)
+     * @return the condition matching the keys of the affected environments, never {@literal null}
+     */
+    public Predicate<EnvironmentKey> affectedBy(String branch, Collection<String> paths) {
+        return key -> {
+            String label = key.getLabel() != null ? key.getLabel() : defaultLabel;
+            if (COMMIT_ID.matcher(label).matches() || branch != null && !branch.equals(label)) {
+                return false;
+            }
+            return paths == null || paths.stream().anyMatch(path -> affects(trimSlashes(path), key, label));
+        };
+    }
+
+    private boolean affects(String path, EnvironmentKey key, String label) {
+        int slash = path.lastIndexOf('/');
+        String directory = slash < 0 ? "" : path.substring(0, slash);
+        String baseName = baseName(path.substring(slash + 1));
+        if (baseName == null) {
+            return false;
+        }
+        String[] applications = StringUtils.commaDelimitedListToStringArray(key.getName());
+        String[] profiles = StringUtils.commaDelimitedListToStringArray(key.getProfiles());
+        if (!isFileOf(baseName, SHARED_APPLICATION_NAME, profiles)
+                && Arrays.stream(applications).noneMatch(application -> isFileOf(baseName, application, profiles))) {
+            return false;
+        }
+        for (String searchPath : searchPaths) {
+            for (String application : applications) {
+                for (String profile : profiles) {
+                    String pattern = searchPath.replace("{application}", application)
+                            .replace("{profile}", profile)
+                            .replace("{label}", label);
+                    if (pattern.equals(directory) || pathMatcher.match(pattern, directory)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFileOf(String baseName, String application, String[] profiles) {
+        return baseName.equals(application)
+                || Arrays.stream(profiles).anyMatch(profile -> baseName.equals(application + "-" + profile));
+    }
+
+    private static String baseName(String filename) {
+        for (String extension : CONFIGURATION_FILE_EXTENSIONS) {
+            if (filename.endsWith(extension)) {
+                return filename.substring(0, filename.length() - extension.length());
+            }
+        }
+        return null;
+    }
+
+    private static String trimSlashes(String path) {
+        return StringUtils.trimTrailingCharacter(StringUtils.trimLeadingCharacter(path.trim(), '/'), '/');
+    }
+}
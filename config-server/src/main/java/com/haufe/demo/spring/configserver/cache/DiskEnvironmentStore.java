@@ -0,0 +1,567 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import com.haufe.demo.spring.configserver.environment.EnvironmentVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.config.environment.Environment;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Persists the environments read from the repository on the local disk, so a restarted config server node can serve
+ * them right away instead of waiting for the repository.
+ * <p>
+ * Environments are stored as JSON, keyed by their version (the git commit id, see {@link EnvironmentVersions}) and
+ * request, in append-only segment files that are read via memory mapping. Since environments contain secrets (e.g.,
+ * read from Vault or decrypted by the server), the JSON is encrypted with AES/GCM and bound to its record key, and
+ * the directory and the segment files are accessible by their owner only; a record that cannot be decrypted (e.g.,
+ * after a key change) is treated as missing. Each record carries a checksum; a torn
+ * record at the end of a segment (e.g., after a crash) is cut off when the store is opened. The store remembers the
+ * latest version of each request, which the {@link EnvironmentCache} starts with. Requests whose label is a stored
+ * version (i.e., a commit id) are answered from disk without asking the repository at all.
+ * <p>
+ * The {@link #collectGarbage(Predicate) garbage collection} drops the environments of versions that are no longer
+ * reachable (except for the latest version of each request) by copying the live records to a new segment.
+ */
+public class DiskEnvironmentStore implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiskEnvironmentStore.class);
+
+    private static final int MAGIC = 0x45435632;
+    private static final byte PAYLOAD = 1;
+    private static final byte HEAD = 2;
+    // magic, type, key length, payload length and checksum
+    private static final int RECORD_OVERHEAD = 4 + 1 + 4 + 4 + 4;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final String NULL_LABEL = "\u0000";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final File directory;
+    private final long segmentSize;
+    private final ObjectMapper objectMapper;
+    private final SecretKey key;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<String, Location> records = new HashMap<>();
+    private final Map<EnvironmentKey, String> latest = new LinkedHashMap<>();
+    private ScheduledExecutorService garbageCollector;
+
+    /**
+     * Open the store in a directory, creating the directory if necessary.
+     *
+     * @param directory
+     *         the directory of the segment files, must not be {@literal null}
+     * @param segmentSize
+     *         the size in bytes after which a new segment file is started, must be positive and less than 2 GB
+     * @param objectMapper
+     *         the object mapper (de)serializing the environments, must not be {@literal null}
+     * @param base64Key
+     *         the Base64-encoded AES key (16, 24, or 32 bytes) the environments are encrypted with, must not be
+     *         {@literal null}
+     * @throws IllegalArgumentException
+     *         the key is not a valid AES key
+     * @throws UncheckedIOException
+     *         the directory cannot be created or read
+     */
+    public DiskEnvironmentStore(File directory, long segmentSize, ObjectMapper objectMapper, String base64Key) {
+        this.directory = Objects.requireNonNull(directory, "directory must not be null");
+        if (segmentSize < 1 || segmentSize >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize must be positive and less than 2 GB");
+        }
+        this.segmentSize = segmentSize;
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        Objects.requireNonNull(base64Key, "base64Key must not be null");
+        byte[] keyBytes = Base64.getDecoder().decode(base64Key.trim());
+        if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+            throw new IllegalArgumentException("store key must have 16, 24, or 32 bytes");
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new UncheckedIOException(new IOException("cannot create directory " + directory));
+        }
+        restrictPermissions(directory.toPath(), "rwx------");
+        try {
+            open();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private synchronized void open() throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        Arrays.sort(files != null ? files : new File[0]);
+        for (File file : files != null ? files : new File[0]) {
+            Segment segment = new Segment(file);
+            segments.add(segment);
+            segment.scan();
+        }
+        LOG.info("Opened environment store {} with {} environments of {} requests in {} segments",
+                 directory, records.size(), latest.size(), segments.size());
+    }
+
+    /**
+     * Load an environment, from disk if the request's label is a stored version, otherwise from the repository,
+     * and store the loaded environment.
+     *
+     * @param key
+     *         the request, must not be {@literal null}
+     * @param repository
+     *         reads the environment from the repository, must not be {@literal null}
+     * @return the environment, {@literal null} if the repository returned {@literal null}
+     */
+    public Environment load(EnvironmentKey key, Supplier<Environment> repository) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(repository, "repository must not be null");
+        if (key.getLabel() != null) {
+            Environment stored = get(key, key.getLabel());
+            if (stored != null) {
+                return stored;
+            }
+        }
+        Environment environment = repository.get();
+        if (environment != null) {
+            try {
+                put(key, environment);
+            }
+            catch (IOException | RuntimeException exception) {
+                LOG.warn("Could not store environment {}: {}", key, exception.toString());
+            }
+        }
+        return environment;
+    }
+
+    /**
+     * Get a stored environment.
+     *
+     * @param key
+     *         the request, must not be {@literal null}
+     * @param version
+     *         the version, must not be {@literal null}
+     * @return the environment, {@literal null} if it is not stored
+     */
+    public synchronized Environment get(EnvironmentKey key, String version) {
+        String recordKey = recordKey(version, key);
+        Location location = records.get(recordKey);
+        if (location == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(new ByteBufferBackedInputStream(decrypt(recordKey, location.read())),
+                                          Environment.class);
+        }
+        catch (IOException | GeneralSecurityException | RuntimeException exception) {
+            LOG.warn("Could not read stored environment {} in version {}: {}", key, version, exception.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Store an environment as the latest version of a request.
+     *
+     * @param key
+     *         the request, must not be {@literal null}
+     * @param environment
+     *         the environment, must not be {@literal null}
+     * @throws IOException
+     *         the environment cannot be written
+     */
+    public synchronized void put(EnvironmentKey key, Environment environment) throws IOException {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(environment, "environment must not be null");
+        String version = EnvironmentVersions.versionOf(environment);
+        String recordKey = recordKey(version, key);
+        if (records.containsKey(recordKey)) {
+            if (!version.equals(latest.get(key))) {
+                append(HEAD, recordKey, new byte[0]);
+                latest.put(key, version);
+            }
+            return;
+        }
+        Location location = append(PAYLOAD, recordKey,
+                                   encrypt(recordKey, objectMapper.writeValueAsBytes(environment)));
+        records.put(recordKey, location);
+        latest.put(key, version);
+    }
+
+    /**
+     * The latest stored environment of every request.
+     *
+     * @return the environments by request, never {@literal null}
+     */
+    public synchronized Map<EnvironmentKey, Environment> latest() {
+        Map<EnvironmentKey, Environment> environments = new LinkedHashMap<>();
+        latest.forEach((key, version) -> {
+            Environment environment = get(key, version);
+            if (environment != null) {
+                environments.put(key, environment);
+            }
+        });
+        return environments;
+    }
+
+    /**
+     * The number of stored environments.
+     *
+     * @return the number of environments (of all versions)
+     */
+    public synchronized int size() {
+        return records.size();
+    }
+
+    /**
+     * Drop the environments whose versions are no longer reachable; the latest version of each request is kept.
+     *
+     * @param reachable
+     *         tells whether a version is still reachable, must not be {@literal null}
+     * @return the number of dropped environments
+     * @throws IOException
+     *         the live environments cannot be copied
+     */
+    public synchronized int collectGarbage(Predicate<String> reachable) throws IOException {
+        Objects.requireNonNull(reachable, "reachable must not be null");
+        Map<String, Boolean> reachableVersions = new HashMap<>();
+        List<String> live = new ArrayList<>();
+        records.forEach((recordKey, location) -> {
+            if (location.version.equals(latest.get(location.key))
+                    || reachableVersions.computeIfAbsent(location.version, reachable::test)) {
+                live.add(recordKey);
+            }
+        });
+        int dropped = records.size() - live.size();
+        if (dropped == 0) {
+            return 0;
+        }
+        List<Segment> garbage = new ArrayList<>(segments);
+        segments.add(new Segment(segmentFile(garbage.get(garbage.size() - 1).number + 1)));
+        Map<String, Location> copied = new HashMap<>();
+        for (String recordKey : live) {
+            Location location = records.get(recordKey);
+            ByteBuffer payload = location.read();
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            copied.put(recordKey, append(PAYLOAD, recordKey, bytes));
+        }
+        for (Map.Entry<EnvironmentKey, String> head : latest.entrySet()) {
+            append(HEAD, recordKey(head.getValue(), head.getKey()), new byte[0]);
+        }
+        records.clear();
+        records.putAll(copied);
+        for (Segment segment : garbage) {
+            segments.remove(segment);
+            segment.delete();
+        }
+        LOG.info("Dropped {} environments of unreachable versions from the environment store, {} left",
+                 dropped, records.size());
+        return dropped;
+    }
+
+    /**
+     * Collect the garbage periodically on a daemon thread.
+     *
+     * @param reachable
+     *         tells whether a version is still reachable, must not be {@literal null}
+     * @param interval
+     *         the interval in milliseconds, must be positive
+     */
+    public synchronized void scheduleGarbageCollection(Predicate<String> reachable, long interval) {
+        Objects.requireNonNull(reachable, "reachable must not be null");
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        if (garbageCollector != null) {
+            garbageCollector.shutdownNow();
+        }
+        garbageCollector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "environment-store-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        garbageCollector.scheduleWithFixedDelay(() -> {
+            try {
+                collectGarbage(reachable);
+            }
+            catch (IOException | RuntimeException exception) {
+                LOG.warn("Garbage collection of the environment store failed: {}", exception.toString());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the garbage collection and close the segment files.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (garbageCollector != null) {
+            garbageCollector.shutdownNow();
+        }
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+        records.clear();
+        latest.clear();
+    }
+
+    private Location append(byte type, String recordKey, byte[] payload) throws IOException {
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.size > 0 && segment.size + payload.length > segmentSize) {
+            segment = new Segment(segmentFile(segment != null ? segment.number + 1 : 1));
+            segments.add(segment);
+        }
+        byte[] keyBytes = recordKey.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + keyBytes.length + payload.length);
+        record.putInt(MAGIC).put(type).putInt(keyBytes.length).put(keyBytes).putInt(payload.length).put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, record.position() - 4);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        long offset = segment.append(record);
+        return new Location(segment, offset + 4 + 1 + 4 + keyBytes.length + 4, payload.length,
+                            recordKey.substring(0, recordKey.indexOf('\n')), keyOf(recordKey));
+    }
+
+    /**
+     * Encrypt a payload; the record key is authenticated along with it, so a payload cannot be moved to another
+     * record. The random IV precedes the cipher text.
+     */
+    private byte[] encrypt(String recordKey, byte[] plaintext) throws IOException {
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        try {
+            Cipher cipher = cipher(Cipher.ENCRYPT_MODE, recordKey, iv);
+            byte[] payload = Arrays.copyOf(iv, IV_LENGTH + cipher.getOutputSize(plaintext.length));
+            cipher.doFinal(plaintext, 0, plaintext.length, payload, IV_LENGTH);
+            return payload;
+        }
+        catch (GeneralSecurityException exception) {
+            throw new IOException("cannot encrypt environment", exception);
+        }
+    }
+
+    private ByteBuffer decrypt(String recordKey, ByteBuffer payload) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        payload.get(iv);
+        Cipher cipher = cipher(Cipher.DECRYPT_MODE, recordKey, iv);
+        ByteBuffer plaintext = ByteBuffer.allocate(cipher.getOutputSize(payload.remaining()));
+        cipher.doFinal(payload, plaintext);
+        plaintext.flip();
+        return plaintext;
+    }
+
+    private Cipher cipher(int mode, String recordKey, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        cipher.updateAAD(recordKey.getBytes(StandardCharsets.UTF_8));
+        return cipher;
+    }
+
+    private static void restrictPermissions(Path path, String permissions) {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString(permissions));
+        }
+        catch (UnsupportedOperationException | IOException exception) {
+            LOG.debug("Could not restrict permissions of {}: {}", path, exception.toString());
+        }
+    }
+
+    private File segmentFile(long number) {
+        return new File(directory, String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static String recordKey(String version, EnvironmentKey key) {
+        return version + '\n' + key.getName() + '\n' + key.getProfiles() + '\n'
+                + (key.getLabel() != null ? key.getLabel() : NULL_LABEL);
+    }
+
+    private static EnvironmentKey keyOf(String recordKey) {
+        String[] parts = recordKey.split("\n", 4);
+        return new EnvironmentKey(parts[1], parts[2], NULL_LABEL.equals(parts[3]) ? null : parts[3]);
+    }
+
+    private final class Segment {
+
+        private final File file;
+        private final long number;
+        private final FileChannel channel;
+        private long size;
+        private MappedByteBuffer mapped;
+
+        private Segment(File file) throws IOException {
+            this.file = file;
+            String name = file.getName();
+            this.number = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                                                        name.length() - SEGMENT_SUFFIX.length()));
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                            StandardOpenOption.WRITE);
+            restrictPermissions(file.toPath(), "rw-------");
+            this.size = channel.size();
+        }
+
+        /**
+         * Read all records into the index, cutting off a torn or corrupt tail.
+         */
+        private void scan() throws IOException {
+            ByteBuffer buffer = map();
+            int position = 0;
+            while (true) {
+                int end = recordEnd(buffer, position);
+                if (end < 0) {
+                    break;
+                }
+                byte type = buffer.get(position + 4);
+                int keyLength = buffer.getInt(position + 5);
+                byte[] keyBytes = new byte[keyLength];
+                ByteBuffer key = buffer.duplicate();
+                key.position(position + 9);
+                key.get(keyBytes);
+                String recordKey = new String(keyBytes, StandardCharsets.UTF_8);
+                String version = recordKey.substring(0, recordKey.indexOf('\n'));
+                EnvironmentKey environmentKey = keyOf(recordKey);
+                int payloadOffset = position + 9 + keyLength + 4;
+                if (type == PAYLOAD) {
+                    records.put(recordKey, new Location(this, payloadOffset, buffer.getInt(payloadOffset - 4),
+                                                        version, environmentKey));
+                    latest.put(environmentKey, version);
+                }
+                else if (records.containsKey(recordKey)) {
+                    latest.put(environmentKey, version);
+                }
+                position = end;
+            }
+            if (position < size) {
+                LOG.warn("Cutting off {} bytes of a torn or corrupt record at the end of {}", size - position, file);
+                channel.truncate(position);
+                size = position;
+                mapped = null;
+            }
+        }
+
+        /**
+         * Validate the record at a position.
+         *
+         * @return the position after the record, -1 if there is no valid record
+         */
+        private int recordEnd(ByteBuffer buffer, int position) {
+            if (size - position < RECORD_OVERHEAD || buffer.getInt(position) != MAGIC) {
+                return -1;
+            }
+            byte type = buffer.get(position + 4);
+            long keyLength = buffer.getInt(position + 5);
+            if (type != PAYLOAD && type != HEAD || keyLength < 0 || position + 9 + keyLength + 4 > size) {
+                return -1;
+            }
+            long payloadLength = buffer.getInt((int) (position + 9 + keyLength));
+            long end = position + RECORD_OVERHEAD + keyLength + payloadLength;
+            if (payloadLength < 0 || end > size) {
+                return -1;
+            }
+            CRC32 crc = new CRC32();
+            ByteBuffer checked = buffer.duplicate();
+            checked.position(position + 4);
+            checked.limit((int) end - 4);
+            crc.update(checked);
+            return buffer.getInt((int) end - 4) == (int) crc.getValue() ? (int) end : -1;
+        }
+
+        private long append(ByteBuffer record) throws IOException {
+            long offset = size;
+            long position = offset;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            size = position;
+            return offset;
+        }
+
+        private ByteBuffer read(long offset, int length) throws IOException {
+            ByteBuffer buffer = map().duplicate();
+            buffer.position((int) offset);
+            buffer.limit((int) offset + length);
+            return buffer.slice();
+        }
+
+        private ByteBuffer map() throws IOException {
+            if (mapped == null || mapped.limit() < size) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            return mapped;
+        }
+
+        private void close() {
+            mapped = null;
+            try {
+                channel.close();
+            }
+            catch (IOException exception) {
+                LOG.warn("Could not close {}: {}", file, exception.toString());
+            }
+        }
+
+        private void delete() {
+            close();
+            if (!file.delete()) {
+                LOG.warn("Could not delete {}", file);
+            }
+        }
+    }
+
+    private static final class Location {
+
+        private final Segment segment;
+        private final long offset;
+        private final int length;
+        private final String version;
+        private final EnvironmentKey key;
+
+        private Location(Segment segment, long offset, int length, String version, EnvironmentKey key) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.version = version;
+            this.key = key;
+        }
+
+        private ByteBuffer read() throws IOException {
+            return segment.read(offset, length);
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.haufe.demo.spring.configserver.deadline.DeadlineExceededException;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import com.haufe.demo.spring.configserver.environment.EnvironmentVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded in-memory cache of the environments read from the config server's repository.
+ * <p>
+ * Entries expire after a configurable time to live, so changes in the repository become visible with that delay at
+ * the latest; they can be invalidated explicitly as well. Concurrent misses of the same environment (e.g., all
+ * clients asking a freshly started node at once) share a single repository read. The cache stores and returns
+ * copies because the config server modifies the environments it serves (e.g., it adds the overrides).
+ * <p>
+ * If the cache is backed by a {@link DiskEnvironmentStore}, loaded environments are written to the store, and
+ * environments requested by commit id are read from it.
+ */
+public class EnvironmentCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvironmentCache.class);
+
+    private final long timeToLive;
+    private final DiskEnvironmentStore diskStore;
+    private final LongSupplier clock;
+    private final Map<EnvironmentKey, Entry> entries;
+    private final ConcurrentMap<EnvironmentKey, FutureTask<Environment>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final List<VersionListener> versionListeners = new CopyOnWriteArrayList<>();
+    private final List<InvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
+    private final List<HitListener> hitListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Construct a cache that measures time with {@link System#currentTimeMillis()}.
+     *
+     * @param maxEntries
+     *         the maximum number of cached environments, must be positive
+     * @param timeToLive
+     *         the time in milliseconds an environment is served from the cache, values less than 1 disable
+     *         the expiration
+     */
+    public EnvironmentCache(int maxEntries, long timeToLive) {
+        this(maxEntries, timeToLive, null);
+    }
+
+    /**
+     * Construct a cache backed by an on-disk store that measures time with {@link System#currentTimeMillis()}.
+     * The cache starts with the latest environments of the store, so a restarted node can serve them right away.
+     *
+     * @param maxEntries
+     *         the maximum number of cached environments, must be positive
+     * @param timeToLive
+     *         the time in milliseconds an environment is served from the cache, values less than 1 disable
+     *         the expiration
+     * @param diskStore
+     *         the store the loaded environments are written to, might be {@literal null}
+     */
+    public EnvironmentCache(int maxEntries, long timeToLive, DiskEnvironmentStore diskStore) {
+        this(maxEntries, timeToLive, diskStore, System::currentTimeMillis);
+    }
+
+    EnvironmentCache(int maxEntries, long timeToLive, DiskEnvironmentStore diskStore, LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.timeToLive = timeToLive;
+        this.diskStore = diskStore;
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<EnvironmentKey, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EnvironmentKey, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        if (diskStore != null) {
+            long now = clock.getAsLong();
+            diskStore.latest().forEach((key, environment) -> entries.put(key, new Entry(environment, now)));
+        }
+    }
+
+    /**
+     * Get an environment from the cache or load it if it is missing or expired.
+     *
+     * @param key
+     *         the environment's key, must not be {@literal null}
+     * @param loader
+     *         reads the environment from the repository, must not be {@literal null}
+     * @return a copy of the cached or loaded environment, {@literal null} if the loader returned {@literal null}
+     * @throws RuntimeException
+     *         the exception thrown by the loader; failures are not cached. If a concurrent load this call waited for
+     *         was abandoned with a {@link DeadlineExceededException}, the environment is loaded again.
+     */
+    public Environment get(EnvironmentKey key, Supplier<Environment> loader) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(loader, "loader must not be null");
+        long start = hitListeners.isEmpty() ? 0L : System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isExpired(clock.getAsLong())) {
+            hits.incrementAndGet();
+            Environment copy = copyOf(entry.environment);
+            if (start != 0L) {
+                hit(key, System.nanoTime() - start);
+            }
+            return copy;
+        }
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        FutureTask<Environment> load = new FutureTask<>(
+                () -> copyOf(diskStore != null ? diskStore.load(key, loader) : loader.get()));
+        FutureTask<Environment> running = loading.putIfAbsent(key, load);
+        if (running == null) {
+            try {
+                load.run();
+                Environment environment = await(load);
+                // an invalidation during the load might have been missed by the loaded environment
+                if (environment != null && generation.get() == loadGeneration) {
+                    Entry loaded = new Entry(environment, clock.getAsLong());
+                    entries.put(key, loaded);
+                    if (entry != null && !entry.version.equals(loaded.version)) {
+                        versionChanged(key, entry.version, loaded.version);
+                    }
+                }
+            }
+            finally {
+                loading.remove(key, load);
+            }
+        }
+        if (running != null) {
+            try {
+                return copyOf(await(running));
+            }
+            catch (DeadlineExceededException exception) {
+                // the load was abandoned for the deadline of the request that started it, not for this one
+                return get(key, loader);
+            }
+        }
+        return copyOf(await(load));
+    }
+
+    /**
+     * Is an environment in the cache and not expired, i.e., would {@link #get(EnvironmentKey, Supplier)} answer it
+     * without loading?
+     *
+     * @param key
+     *         the environment's key, must not be {@literal null}
+     * @return {@literal true} if the environment is cached
+     */
+    public boolean isCached(EnvironmentKey key) {
+        Objects.requireNonNull(key, "key must not be null");
+        Entry entry = entries.get(key);
+        return entry != null && !entry.isExpired(clock.getAsLong());
+    }
+
+    private void versionChanged(EnvironmentKey key, String previousVersion, String version) {
+        for (VersionListener listener : versionListeners) {
+            try {
+                listener.versionChanged(key, previousVersion, version);
+            }
+            catch (RuntimeException exception) {
+                LOG.warn("Version listener {} failed: {}", listener, exception.toString());
+            }
+        }
+    }
+
+    private void hit(EnvironmentKey key, long nanos) {
+        // indexed rather than iterated, so answering from the cache allocates nothing but the copy
+        for (int i = 0; i < hitListeners.size(); i++) {
+            hitListeners.get(i).hit(key, nanos);
+        }
+    }
+
+    private static Environment await(FutureTask<Environment> load) {
+        try {
+            return load.get();
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for the environment", interruptedException);
+        }
+        catch (ExecutionException executionException) {
+            Throwable cause = executionException.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Remove an environment from the cache.
+     *
+     * @param key
+     *         the environment's key, must not be {@literal null}
+     */
+    public void invalidate(EnvironmentKey key) {
+        Objects.requireNonNull(key, "key must not be null");
+        generation.incrementAndGet();
+        if (entries.remove(key) != null) {
+            invalidated(Collections.singletonList(key));
+        }
+    }
+
+    /**
+     * Remove all environments whose keys match a condition from the cache.
+     *
+     * @param condition
+     *         selects the keys to remove, must not be {@literal null}
+     * @return the number of removed environments
+     */
+    public int invalidateIf(Predicate<EnvironmentKey> condition) {
+        Objects.requireNonNull(condition, "condition must not be null");
+        generation.incrementAndGet();
+        List<EnvironmentKey> removed = new ArrayList<>();
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> condition.test(key) && removed.add(key));
+        }
+        invalidated(removed);
+        return removed.size();
+    }
+
+    /**
+     * Remove all environments whose keys and versions match a condition from the cache. Unlike the other
+     * invalidations, this one does not notify the {@link InvalidationListener invalidation listeners}, since it
+     * applies versions observed elsewhere rather than dropping environments whose new version is unknown.
+     *
+     * @param condition
+     *         selects the keys and versions (see {@link EnvironmentVersions}) to remove, must not be {@literal null}
+     * @return the number of removed environments
+     */
+    public int invalidateVersionsIf(BiPredicate<EnvironmentKey, String> condition) {
+        Objects.requireNonNull(condition, "condition must not be null");
+        generation.incrementAndGet();
+        synchronized (entries) {
+            int size = entries.size();
+            entries.entrySet().removeIf(entry -> condition.test(entry.getKey(), entry.getValue().version));
+            return size - entries.size();
+        }
+    }
+
+    /**
+     * Register a listener that is called whenever a reloaded environment has a different version than the one
+     * cached before, i.e., when this node observes a change in the repository.
+     *
+     * @param listener
+     *         the listener, must not be {@literal null}; it is called on the loading thread and must not block
+     */
+    public void addVersionListener(VersionListener listener) {
+        versionListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
+    }
+
+    /**
+     * Register a listener that is called whenever environments are removed from the cache by key (e.g., by the
+     * webhook), i.e., before a reload could observe their new versions.
+     *
+     * @param listener
+     *         the listener, must not be {@literal null}; it is called on the invalidating thread and must not block
+     */
+    public void addInvalidationListener(InvalidationListener listener) {
+        invalidationListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
+    }
+
+    private void invalidated(Collection<EnvironmentKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        for (InvalidationListener listener : invalidationListeners) {
+            try {
+                listener.invalidated(keys);
+            }
+            catch (RuntimeException exception) {
+                LOG.warn("Invalidation listener {} failed: {}", listener, exception.toString());
+            }
+        }
+    }
+
+    /**
+     * Add a listener told about each request answered from the cache.
+     *
+     * @param listener
+     *         the listener, must not be {@literal null}; it is called on the requesting thread and must not block
+     */
+    public void addHitListener(HitListener listener) {
+        hitListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
+    }
+
+    /**
+     * Remove all environments from the cache.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        List<EnvironmentKey> removed;
+        synchronized (entries) {
+            removed = new ArrayList<>(entries.keySet());
+            entries.clear();
+        }
+        invalidated(removed);
+    }
+
+    /**
+     * The keys of the cached environments (including expired ones not yet replaced).
+     *
+     * @return a snapshot of the keys, never {@literal null}
+     */
+    public List<EnvironmentKey> getKeys() {
+        synchronized (entries) {
+            return new ArrayList<>(entries.keySet());
+        }
+    }
+
+    /**
+     * The number of cached environments.
+     *
+     * @return the size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The number of requests answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * The number of requests that had to read (or wait for) the repository.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Copy an environment including its property sources, so the copy can be modified freely.
+     *
+     * @param environment
+     *         the environment to copy, might be {@literal null}
+     * @return the copy, {@literal null} if {@code environment} is {@literal null}
+     */
+    static Environment copyOf(Environment environment) {
+        if (environment == null) {
+            return null;
+        }
+        String[] profiles = environment.getProfiles() != null ? environment.getProfiles().clone() : null;
+        Environment copy = new Environment(environment.getName(), profiles, environment.getLabel(),
+                                           environment.getVersion(), environment.getState());
+        for (PropertySource propertySource : environment.getPropertySources()) {
+            copy.add(new PropertySource(propertySource.getName(), new LinkedHashMap<>(propertySource.getSource())));
+        }
+        return copy;
+    }
+
+    /**
+     * Callback for version changes observed by the cache.
+     */
+    @FunctionalInterface
+    public interface VersionListener {
+
+        /**
+         * Called when a reloaded environment has a different version than the one cached before.
+         *
+         * @param key
+         *         the environment's key
+         * @param previousVersion
+         *         the version cached before
+         * @param version
+         *         the version just loaded
+         */
+        void versionChanged(EnvironmentKey key, String previousVersion, String version);
+    }
+
+    /**
+     * Callback for environments removed from the cache by key.
+     */
+    @FunctionalInterface
+    public interface InvalidationListener {
+
+        /**
+         * Called when environments were removed from the cache by key.
+         *
+         * @param keys
+         *         the keys of the removed environments, never empty
+         */
+        void invalidated(Collection<EnvironmentKey> keys);
+    }
+
+    /**
+     * Callback for the requests answered from the cache.
+     */
+    @FunctionalInterface
+    public interface HitListener {
+
+        /**
+         * Called when a request was answered from the cache.
+         *
+         * @param key
+         *         the environment's key
+         * @param nanos
+         *         the time in nanoseconds it took to answer the request, i.e., to look up and copy the environment
+         */
+        void hit(EnvironmentKey key, long nanos);
+    }
+
+    private final class Entry {
+
+        private final Environment environment;
+        private final String version;
+        private final long loadedAt;
+
+        private Entry(Environment environment, long loadedAt) {
+            this.environment = environment;
+            this.version = EnvironmentVersions.versionOf(environment);
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isExpired(long now) {
+            return timeToLive > 0 && now - loadedAt >= timeToLive;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+
+/**
+ * Spring Java Configuration of the environment cache, active only if the configuration property
+ * {@code haufe.configserver.cache.enabled} is {@literal true}.
+ * <p>
+ * The cache is opt-in because it trades freshness for latency: a commit or a Vault write becomes visible only when
+ * the cached environment expires (after {@code haufe.configserver.cache.timeToLive} milliseconds), unless the
+ * webhook or the cluster invalidation drops it earlier.
+ *
+ * @see EnvironmentCache
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.cache", name = "enabled")
+@EnableConfigurationProperties(EnvironmentCacheProperties.class)
+public class EnvironmentCacheConfiguration {
+
+    /**
+     * The post processor putting the cache in front of the environment repository.
+     *
+     * @return the post processor
+     */
+    @Bean
+    public static CachingEnvironmentRepositoryPostProcessor cachingEnvironmentRepositoryPostProcessor() {
+        return new CachingEnvironmentRepositoryPostProcessor();
+    }
+
+    /**
+     * The environment cache.
+     *
+     * @param environmentCacheProperties
+     *         the cache's configuration properties
+     * @param diskEnvironmentStore
+     *         the on-disk store backing the cache, if enabled
+     * @return the cache
+     */
+    @Bean
+    public EnvironmentCache environmentCache(EnvironmentCacheProperties environmentCacheProperties,
+                                             ObjectProvider<DiskEnvironmentStore> diskEnvironmentStore) {
+        return new EnvironmentCache(environmentCacheProperties.getMaxEntries(),
+                                    environmentCacheProperties.getTimeToLive(),
+                                    diskEnvironmentStore.getIfAvailable());
+    }
+
+    /**
+     * The on-disk store of the cached environments, active if the configuration property
+     * {@code haufe.configserver.cache.disk.enabled} is {@literal true}. Environments of commits that are no longer
+     * reachable in the config server's git clones are dropped periodically. The stored environments are encrypted
+     * with the key {@code haufe.configserver.cache.disk.key}, which must be set.
+     *
+     * @param environmentCacheProperties
+     *         the cache's configuration properties
+     * @param objectMapper
+     *         the object mapper (de)serializing the environments
+     * @param beanFactory
+     *         the bean factory providing the environment repositories
+     * @return the store
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "haufe.configserver.cache.disk", name = "enabled")
+    public DiskEnvironmentStore diskEnvironmentStore(EnvironmentCacheProperties environmentCacheProperties,
+                                                     ObjectMapper objectMapper,
+                                                     ListableBeanFactory beanFactory) {
+        EnvironmentCacheProperties.Disk disk = environmentCacheProperties.getDisk();
+        if (!StringUtils.hasText(disk.getKey())) {
+            throw new IllegalStateException("haufe.configserver.cache.disk.key must be set");
+        }
+        DiskEnvironmentStore store = new DiskEnvironmentStore(new File(disk.getDirectory()), disk.getSegmentSize(),
+                                                              objectMapper, disk.getKey());
+        store.scheduleGarbageCollection(new GitCommitReachability(() -> GitCommitReachability.clonesOf(
+                beanFactory.getBeansOfType(EnvironmentRepository.class).values())), disk.getGcInterval());
+        return store;
+    }
+
+    /**
+     * The webhook invalidating the environments changed by a git push, active unless the configuration property
+     * {@code haufe.configserver.cache.webhook.enabled} is {@literal false}.
+     *
+     * @param environmentCache
+     *         the environment cache
+     * @param beanFactory
+     *         the bean factory providing the environment repositories
+     * @return the controller
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "haufe.configserver.cache.webhook", name = "enabled", matchIfMissing = true)
+    public CacheInvalidationController cacheInvalidationController(EnvironmentCache environmentCache,
+                                                                   ListableBeanFactory beanFactory) {
+        return new CacheInvalidationController(environmentCache, () -> ChangedPathMatcher.of(
+                beanFactory.getBeansOfType(EnvironmentRepository.class).values()));
+    }
+}
@@ -0,0 +1,382 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's environment cache.
+ */
+@ConfigurationProperties("haufe.configserver.cache")
+public class EnvironmentCacheProperties {
+
+    /**
+     * Flag to enable or disable the environment cache.
+     */
+    private boolean enabled;
+
+    /**
+     * The maximum number of cached environments.
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * The time in milliseconds an environment is served from the cache before it is read from the repository again;
+     * values less than 1 disable the expiration.
+     */
+    private long timeToLive = 30000L;
+
+    /**
+     * The persistent on-disk store of the cached environments.
+     */
+    private Disk disk = new Disk();
+
+    /**
+     * The webhook invalidating the environments changed by a git push.
+     */
+    private Webhook webhook = new Webhook();
+
+    /**
+     * Is the environment cache enabled?
+     *
+     * @return {@literal true} if the cache is enabled, {@literal false} (the default) if every request reads the
+     * environment repository
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the environment cache.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The maximum number of cached environments.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set the maximum number of cached environments.
+     *
+     * @param maxEntries
+     *         the new maximum number of entries, must be positive
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The time to live of cached environments in milliseconds.
+     *
+     * @return the time to live
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Set the time to live of cached environments in milliseconds.
+     *
+     * @param timeToLive
+     *         the new time to live, values less than 1 disable the expiration
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * The settings of the on-disk store.
+     *
+     * @return the settings, never {@literal null}
+     */
+    public Disk getDisk() {
+        return disk;
+    }
+
+    /**
+     * Overwrite the settings of the on-disk store.
+     *
+     * @param disk
+     *         the new settings
+     */
+    public void setDisk(Disk disk) {
+        this.disk = disk != null ? disk : new Disk();
+    }
+
+    /**
+     * The settings of the webhook.
+     *
+     * @return the settings, never {@literal null}
+     */
+    public Webhook getWebhook() {
+        return webhook;
+    }
+
+    /**
+     * Overwrite the settings of the webhook.
+     *
+     * @param webhook
+     *         the new settings
+     */
+    public void setWebhook(Webhook webhook) {
+        this.webhook = webhook != null ? webhook : new Webhook();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnvironmentCacheProperties)) {
+            return false;
+        }
+        EnvironmentCacheProperties that = (EnvironmentCacheProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getMaxEntries() == that.getMaxEntries() &&
+                getTimeToLive() == that.getTimeToLive() &&
+                Objects.equals(getDisk(), that.getDisk()) &&
+                Objects.equals(getWebhook(), that.getWebhook());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getMaxEntries(), getTimeToLive(), getDisk(), getWebhook());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("EnvironmentCacheProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", maxEntries=").append(maxEntries);
+        sb.append(", timeToLive=").append(timeToLive);
+        sb.append(", disk=").append(disk);
+        sb.append(", webhook=").append(webhook);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Type-safe configuration object for the persistent on-disk store of the cached environments.
+     */
+    public static class Disk {
+
+        /**
+         * Flag to enable or disable the on-disk store.
+         */
+        private boolean enabled;
+
+        /**
+         * The directory of the store's segment files; it should survive restarts of the config server.
+         */
+        private String directory = "config-server-cache";
+
+        /**
+         * The size in bytes after which a new segment file is started.
+         */
+        private long segmentSize = 64L * 1024L * 1024L;
+
+        /**
+         * The interval in milliseconds of the garbage collection of environments of unreachable commits.
+         */
+        private long gcInterval = 3600000L;
+
+        /**
+         * The Base64-encoded AES key (16, 24, or 32 bytes) the stored environments are encrypted with; required if the
+         * store is enabled.
+         */
+        private String key;
+
+        /**
+         * Is the on-disk store enabled?
+         *
+         * @return {@literal true} if the store is enabled, {@literal false} (the default) otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enable or disable the on-disk store.
+         *
+         * @param enabled
+         *         the new flag value
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * The directory of the segment files.
+         *
+         * @return the directory
+         */
+        public String getDirectory() {
+            return directory;
+        }
+
+        /**
+         * Set the directory of the segment files.
+         *
+         * @param directory
+         *         the new directory
+         */
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * The maximum size of a segment file in bytes.
+         *
+         * @return the segment size
+         */
+        public long getSegmentSize() {
+            return segmentSize;
+        }
+
+        /**
+         * Set the maximum size of a segment file in bytes.
+         *
+         * @param segmentSize
+         *         the new segment size, must be positive and less than 2 GB
+         */
+        public void setSegmentSize(long segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        /**
+         * The interval of the garbage collection in milliseconds.
+         *
+         * @return the interval
+         */
+        public long getGcInterval() {
+            return gcInterval;
+        }
+
+        /**
+         * Set the interval of the garbage collection in milliseconds.
+         *
+         * @param gcInterval
+         *         the new interval, must be positive
+         */
+        public void setGcInterval(long gcInterval) {
+            this.gcInterval = gcInterval;
+        }
+
+        /**
+         * The Base64-encoded AES key the stored environments are encrypted with.
+         *
+         * @return the key, might be {@literal null}
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Set the Base64-encoded AES key the stored environments are encrypted with.
+         *
+         * @param key
+         *         the new key
+         */
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Disk)) {
+                return false;
+            }
+            Disk that = (Disk) o;
+            return isEnabled() == that.isEnabled() &&
+                    getSegmentSize() == that.getSegmentSize() &&
+                    getGcInterval() == that.getGcInterval() &&
+                    Objects.equals(getDirectory(), that.getDirectory()) &&
+                    Objects.equals(getKey(), that.getKey());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(isEnabled(), getDirectory(), getSegmentSize(), getGcInterval(), getKey());
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("Disk{");
+            sb.append("enabled=").append(enabled);
+            sb.append(", directory='").append(directory).append('\'');
+            sb.append(", segmentSize=").append(segmentSize);
+            sb.append(", gcInterval=").append(gcInterval);
+            sb.append(", key=").append(key != null ? "******" : null);
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Type-safe configuration object for the webhook invalidating the environments changed by a git push.
+     */
+    public static class Webhook {
+
+        /**
+         * Flag to enable or disable the webhook.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Is the webhook enabled?
+         *
+         * @return {@literal true} (the default) if the webhook is enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enable or disable the webhook.
+         *
+         * @param enabled
+         *         the new flag value
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Webhook)) {
+                return false;
+            }
+            Webhook that = (Webhook) o;
+            return isEnabled() == that.isEnabled();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(isEnabled());
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("Webhook{");
+            sb.append("enabled=").append(enabled);
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Tells whether an environment version, i.e., a git commit id, is still reachable from a branch or tag in one of the
+ * config server's local git clones.
+ * <p>
+ * Versions that are no commit ids (e.g., the digests of the native backend) are unreachable. If a clone cannot be
+ * read, all versions count as reachable, so no environment is dropped by mistake.
+ */
+public class GitCommitReachability implements Predicate<String> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GitCommitReachability.class);
+
+    private final Supplier<Collection<File>> clones;
+
+    /**
+     * Construct a reachability check.
+     *
+     * @param clones
+     *         supplies the directories of the local git clones, must not be {@literal null}
+     */
+    public GitCommitReachability(Supplier<Collection<File>> clones) {
+        this.clones = Objects.requireNonNull(clones, "clones must not be null");
+    }
+
+    @Override
+    public boolean test(String version) {
+        if (version == null || !ObjectId.isId(version)) {
+            return false;
+        }
+        for (File clone : clones.get()) {
+            if (!clone.isDirectory()) {
+                continue;
+            }
+            try (Git git = Git.open(clone); RevWalk walk = new RevWalk(git.getRepository())) {
+                if (isReachable(git, walk, ObjectId.fromString(version))) {
+                    return true;
+                }
+            }
+            catch (IOException exception) {
+                LOG.warn("Could not check the reachability of {} in {}: {}", version, clone, exception.toString());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isReachable(Git git, RevWalk walk, ObjectId commitId) throws IOException {
+        RevCommit commit;
+        try {
+            commit = walk.parseCommit(commitId);
+        }
+        catch (MissingObjectException | IncorrectObjectTypeException exception) {
+            return false;
+        }
+        for (Ref ref : git.getRepository().getAllRefs().values()) {
+            ObjectId target = ref.getPeeledObjectId() != null ? ref.getPeeledObjectId() : ref.getObjectId();
+            if (target == null) {
+                continue;
+            }
+            RevCommit head;
+            try {
+                head = walk.parseCommit(target);
+            }
+            catch (IncorrectObjectTypeException exception) {
+                continue;
+            }
+            walk.reset();
+            if (walk.isMergedInto(commit, head)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find the local clones of the git backed repositories among the config server's environment repositories.
+     *
+     * @param repositories
+     *         the environment repositories, possibly proxied, must not be {@literal null}
+     * @return the clone directories, never {@literal null}
+     */
+    public static List<File> clonesOf(Collection<EnvironmentRepository> repositories) {
+        List<File> clones = new ArrayList<>();
+        GitRepositories.of(repositories).forEach(repository -> clones.add(repository.getBasedir()));
+        return clones;
+    }
+}
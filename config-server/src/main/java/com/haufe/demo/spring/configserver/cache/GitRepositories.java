@@ -0,0 +1,54 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.Advised;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.MultipleJGitEnvironmentRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds the git backed repositories among the config server's environment repositories.
+ */
+final class GitRepositories {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GitRepositories.class);
+
+    private GitRepositories() {
+    }
+
+    /**
+     * Find the git backed repositories, including the pattern matching repositories of a
+     * {@link MultipleJGitEnvironmentRepository}.
+     *
+     * @param repositories
+     *         the environment repositories, possibly proxied, must not be {@literal null}
+     * @return the git repositories, never {@literal null}
+     */
+    static List<JGitEnvironmentRepository> of(Collection<EnvironmentRepository> repositories) {
+        List<JGitEnvironmentRepository> gitRepositories = new ArrayList<>();
+        for (EnvironmentRepository repository : repositories) {
+            Object target = repository;
+            while (target instanceof Advised) {
+                try {
+                    target = ((Advised) target).getTargetSource().getTarget();
+                }
+                catch (Exception exception) {
+                    LOG.warn("Could not unwrap the environment repository {}: {}", repository, exception.toString());
+                    break;
+                }
+            }
+            if (target instanceof JGitEnvironmentRepository) {
+                gitRepositories.add((JGitEnvironmentRepository) target);
+            }
+            if (target instanceof MultipleJGitEnvironmentRepository) {
+                gitRepositories.addAll(((MultipleJGitEnvironmentRepository) target).getRepos().values());
+            }
+        }
+        return gitRepositories;
+    }
+}
@@ -0,0 +1,93 @@
+package com.haufe.demo.spring.configserver.cluster;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+
+import java.util.Objects;
+
+/**
+ * A message telling the peers of a config server node that the node has observed a new version of an environment.
+ */
+public final class CacheInvalidation {
+
+    /**
+     * The version of an invalidation whose sender dropped the environment without knowing its new version (e.g.,
+     * after a webhook call); the peers drop the environment whatever version they have cached.
+     */
+    public static final String UNKNOWN_VERSION = "";
+
+    private final String origin;
+    private final EnvironmentKey key;
+    private final String version;
+
+    /**
+     * Construct an invalidation message.
+     *
+     * @param origin
+     *         the id of the node that observed the new version, must not be {@literal null}
+     * @param key
+     *         the environment, must not be {@literal null}
+     * @param version
+     *         the new version or {@link #UNKNOWN_VERSION}, must not be {@literal null}
+     */
+    public CacheInvalidation(String origin, EnvironmentKey key, String version) {
+        this.origin = Objects.requireNonNull(origin, "origin must not be null");
+        this.key = Objects.requireNonNull(key, "key must not be null");
+        this.version = Objects.requireNonNull(version, "version must not be null");
+    }
+
+    /**
+     * The id of the node that observed the new version.
+     *
+     * @return the node id, never {@literal null}
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * The environment.
+     *
+     * @return the environment's key, never {@literal null}
+     */
+    public EnvironmentKey getKey() {
+        return key;
+    }
+
+    /**
+     * The new version.
+     *
+     * @return the version or {@link #UNKNOWN_VERSION}, never {@literal null}
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return Objects.equals(getOrigin(), that.getOrigin()) &&
+                Objects.equals(getKey(), that.getKey()) &&
+                Objects.equals(getVersion(), that.getVersion());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getOrigin(), getKey(), getVersion());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CacheInvalidation{");
+        sb.append("origin='").append(origin).append('\'');
+        sb.append(", key=").append(key);
+        sb.append(", version='").append(version).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package com.haufe.demo.spring.configserver.cluster;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the environment caches of several config server nodes consistent: as soon as one node reloads an environment
+ * and finds a new version, it tells its peers, and all nodes drop the cached environments the new version supersedes.
+ * <p>
+ * If the new version is a git commit id, it supersedes every environment of the same label cached with another
+ * version, since they are read from the same branch; other versions (e.g., the digests of the native backend)
+ * supersede the environment they belong to only. The environments are reloaded on the next request, so the nodes
+ * switch to the new commit within a round trip instead of whenever their cache entries expire.
+ * <p>
+ * Environments dropped by key (e.g., by the webhook) are sent to the peers with an
+ * {@link CacheInvalidation#UNKNOWN_VERSION unknown version}, so the peers drop them as well: after the drop, the next
+ * load of this node has no cached version to compare with and therefore would not observe the change.
+ */
+public class ClusterCacheInvalidator
+        implements EnvironmentCache.VersionListener, EnvironmentCache.InvalidationListener, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterCacheInvalidator.class);
+
+    private static final Pattern COMMIT_ID = Pattern.compile("[0-9a-f]{40}");
+
+    private final String nodeId;
+    private final EnvironmentCache cache;
+    private final PeerInvalidationChannel channel;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+
+    /**
+     * Construct an invalidator and start listening to the cache and the peers.
+     *
+     * @param nodeId
+     *         the id of this node, unique in the cluster, must not be {@literal null}
+     * @param cache
+     *         the node's environment cache, must not be {@literal null}
+     * @param channel
+     *         the channel to the peers, must not be {@literal null}
+     */
+    public ClusterCacheInvalidator(String nodeId, EnvironmentCache cache, PeerInvalidationChannel channel) {
+        this.nodeId = Objects.requireNonNull(nodeId, "nodeId must not be null");
+        this.cache = Objects.requireNonNull(cache, "cache must not be null");
+        this.channel = Objects.requireNonNull(channel, "channel must not be null");
+        channel.start(this::received);
+        cache.addVersionListener(this);
+        cache.addInvalidationListener(this);
+    }
+
+    /**
+     * Invalidate the superseded environments locally and on all peers.
+     *
+     * @param key
+     *         the environment's key
+     * @param previousVersion
+     *         the version cached before
+     * @param version
+     *         the version just loaded
+     */
+    @Override
+    public void versionChanged(EnvironmentKey key, String previousVersion, String version) {
+        LOG.info("Environment {} changed from version {} to {}", key, previousVersion, version);
+        invalidate(key, version);
+        channel.publish(new CacheInvalidation(nodeId, key, version));
+        published.incrementAndGet();
+    }
+
+    /**
+     * Invalidate environments dropped by key on all peers.
+     *
+     * @param keys
+     *         the keys of the dropped environments
+     */
+    @Override
+    public void invalidated(Collection<EnvironmentKey> keys) {
+        LOG.info("Invalidating {} on the peers", keys);
+        for (EnvironmentKey key : keys) {
+            channel.publish(new CacheInvalidation(nodeId, key, CacheInvalidation.UNKNOWN_VERSION));
+            published.incrementAndGet();
+        }
+    }
+
+    private void received(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        int invalidated = invalidate(invalidation.getKey(), invalidation.getVersion());
+        applied.incrementAndGet();
+        LOG.debug("Applied {}, {} cached environments invalidated", invalidation, invalidated);
+    }
+
+    private int invalidate(EnvironmentKey key, String version) {
+        boolean commit = COMMIT_ID.matcher(version).matches();
+        return cache.invalidateVersionsIf((cachedKey, cachedVersion) -> !version.equals(cachedVersion)
+                && (cachedKey.equals(key) || commit && sameLabel(cachedKey, key)));
+    }
+
+    private static boolean sameLabel(EnvironmentKey one, EnvironmentKey other) {
+        return one.getLabel() == null || other.getLabel() == null || one.getLabel().equals(other.getLabel());
+    }
+
+    /**
+     * The id of this node.
+     *
+     * @return the node id, never {@literal null}
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * The number of version changes and invalidations by key this node has published.
+     *
+     * @return the published count
+     */
+    public long getPublished() {
+        return published.get();
+    }
+
+    /**
+     * The number of invalidations of peers this node has applied.
+     *
+     * @return the applied count
+     */
+    public long getApplied() {
+        return applied.get();
+    }
+
+    /**
+     * Close the channel to the peers.
+     */
+    @Override
+    public void destroy() {
+        channel.destroy();
+    }
+}
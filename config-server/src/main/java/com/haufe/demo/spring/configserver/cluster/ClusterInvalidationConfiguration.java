@@ -0,0 +1,84 @@
+package com.haufe.demo.spring.configserver.cluster;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Java Configuration of the cache invalidation between config server nodes, active if the configuration
+ * property {@code haufe.configserver.cluster.enabled} is {@literal true}. It requires the environment cache and the
+ * shared secret {@code haufe.configserver.cluster.secret}.
+ *
+ * @see ClusterCacheInvalidator
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.cluster", name = "enabled")
+@EnableConfigurationProperties(ClusterInvalidationProperties.class)
+public class ClusterInvalidationConfiguration {
+
+    /**
+     * The invalidator exchanging version changes with the peers.
+     *
+     * @param environmentCache
+     *         the node's environment cache
+     * @param clusterInvalidationProperties
+     *         the invalidation's configuration properties
+     * @return the invalidator
+     * @throws SocketException
+     *         the local address cannot be bound
+     * @throws IllegalStateException
+     *         the secret is not set
+     */
+    @Bean
+    public ClusterCacheInvalidator clusterCacheInvalidator(EnvironmentCache environmentCache,
+                                                           ClusterInvalidationProperties clusterInvalidationProperties)
+            throws SocketException {
+        if (!StringUtils.hasText(clusterInvalidationProperties.getSecret())) {
+            throw new IllegalStateException("haufe.configserver.cluster.secret must be set");
+        }
+        DatagramSocket socket = new DatagramSocket(new InetSocketAddress(
+                clusterInvalidationProperties.getBindAddress(), clusterInvalidationProperties.getPort()));
+        PeerInvalidationChannel channel = new PeerInvalidationChannel(
+                socket, peers(clusterInvalidationProperties.getPeers()), clusterInvalidationProperties.getSecret(),
+                clusterInvalidationProperties.getMaxMessageAge());
+        String nodeId = StringUtils.hasText(clusterInvalidationProperties.getNodeId())
+                ? clusterInvalidationProperties.getNodeId()
+                : UUID.randomUUID().toString();
+        return new ClusterCacheInvalidator(nodeId, environmentCache, channel);
+    }
+
+    /**
+     * Parse the addresses of the peers.
+     *
+     * @param peers
+     *         the peers as {@code host:port}
+     * @return the socket addresses, never {@literal null}
+     * @throws IllegalArgumentException
+     *         a peer is malformed
+     */
+    static List<InetSocketAddress> peers(List<String> peers) {
+        List<InetSocketAddress> addresses = new ArrayList<>(peers.size());
+        for (String peer : peers) {
+            int colon = peer.lastIndexOf(':');
+            if (colon < 1 || colon == peer.length() - 1) {
+                throw new IllegalArgumentException("peer '" + peer + "' does not match {host}:{port}");
+            }
+            String host = peer.substring(0, colon).trim();
+            if (host.startsWith("[") && host.endsWith("]")) {
+                host = host.substring(1, host.length() - 1);
+            }
+            addresses.add(new InetSocketAddress(host, Integer.parseInt(peer.substring(colon + 1).trim())));
+        }
+        return addresses;
+    }
+}
@@ -0,0 +1,222 @@
+package com.haufe.demo.spring.configserver.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the cache invalidation between config server nodes.
+ */
+@ConfigurationProperties("haufe.configserver.cluster")
+public class ClusterInvalidationProperties {
+
+    /**
+     * Flag to enable or disable the cache invalidation between nodes.
+     */
+    private boolean enabled;
+
+    /**
+     * The id of this node; a random id is generated on startup if empty.
+     */
+    private String nodeId;
+
+    /**
+     * The local address the node receives the invalidations of its peers on, the node's address on the cluster
+     * network in practice.
+     */
+    private String bindAddress = "127.0.0.1";
+
+    /**
+     * The local UDP port the node receives the invalidations of its peers on.
+     */
+    private int port = 9401;
+
+    /**
+     * The addresses of the other nodes as {@code host:port}.
+     */
+    private List<String> peers = new ArrayList<>();
+
+    /**
+     * The secret shared by all nodes to sign the invalidations, required if the invalidation is enabled.
+     */
+    private String secret;
+
+    /**
+     * The maximum age in milliseconds of a received invalidation, measured with the sender's and the receiver's
+     * clocks; older invalidations are dropped.
+     */
+    private long maxMessageAge = 10000L;
+
+    /**
+     * Is the cache invalidation between nodes enabled?
+     *
+     * @return {@literal true} if the invalidation is enabled, {@literal false} (the default) otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the cache invalidation between nodes.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The id of this node.
+     *
+     * @return the node id, {@literal null} to generate one
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Set the id of this node.
+     *
+     * @param nodeId
+     *         the new node id, unique in the cluster
+     */
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * The local address to receive on.
+     *
+     * @return the bind address
+     */
+    public String getBindAddress() {
+        return bindAddress;
+    }
+
+    /**
+     * Set the local address to receive on.
+     *
+     * @param bindAddress
+     *         the new bind address
+     */
+    public void setBindAddress(String bindAddress) {
+        this.bindAddress = bindAddress;
+    }
+
+    /**
+     * The local UDP port to receive on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Set the local UDP port to receive on.
+     *
+     * @param port
+     *         the new port, 0 for an ephemeral port
+     */
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    /**
+     * The addresses of the other nodes.
+     *
+     * @return the peers as {@code host:port}, never {@literal null}
+     */
+    public List<String> getPeers() {
+        return peers;
+    }
+
+    /**
+     * Set the addresses of the other nodes.
+     *
+     * @param peers
+     *         the new peers as {@code host:port}
+     */
+    public void setPeers(List<String> peers) {
+        this.peers = peers != null ? peers : new ArrayList<>();
+    }
+
+    /**
+     * The secret shared by all nodes.
+     *
+     * @return the secret, {@literal null} if not set
+     */
+    public String getSecret() {
+        return secret;
+    }
+
+    /**
+     * Set the secret shared by all nodes.
+     *
+     * @param secret
+     *         the new secret
+     */
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    /**
+     * The maximum age of a received invalidation.
+     *
+     * @return the age in milliseconds
+     */
+    public long getMaxMessageAge() {
+        return maxMessageAge;
+    }
+
+    /**
+     * Set the maximum age of a received invalidation.
+     *
+     * @param maxMessageAge
+     *         the new age in milliseconds, must be positive
+     */
+    public void setMaxMessageAge(long maxMessageAge) {
+        this.maxMessageAge = maxMessageAge;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClusterInvalidationProperties)) {
+            return false;
+        }
+        ClusterInvalidationProperties that = (ClusterInvalidationProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getPort() == that.getPort() &&
+                getMaxMessageAge() == that.getMaxMessageAge() &&
+                Objects.equals(getNodeId(), that.getNodeId()) &&
+                Objects.equals(getBindAddress(), that.getBindAddress()) &&
+                Objects.equals(getPeers(), that.getPeers()) &&
+                Objects.equals(getSecret(), that.getSecret());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getNodeId(), getBindAddress(), getPort(), getPeers(), getSecret(),
+                            getMaxMessageAge());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ClusterInvalidationProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", nodeId='").append(nodeId).append('\'');
+        sb.append(", bindAddress='").append(bindAddress).append('\'');
+        sb.append(", port=").append(port);
+        sb.append(", peers=").append(peers);
+        sb.append(", secret=").append(secret != null ? "'******'" : null);
+        sb.append(", maxMessageAge=").append(maxMessageAge);
+        sb.append('}');
+        return sb.toString();
+    }
+}
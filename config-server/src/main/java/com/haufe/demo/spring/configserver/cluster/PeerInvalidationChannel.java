@@ -0,0 +1,262 @@
+package com.haufe.demo.spring.configserver.cluster;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Exchanges {@link CacheInvalidation cache invalidations} between config server nodes via UDP datagrams.
+ * <p>
+ * Every node sends its invalidations to all configured peers (a full mesh, messages are not forwarded). A message is
+ * a few lines of UTF-8 text signed with HMAC-SHA256 using a secret shared by all nodes; unsigned or forged messages
+ * are dropped. The signed text contains the sender's time, and messages older (or further in the future) than the
+ * maximum message age are dropped, as are replays of a message received within that age. Datagrams may get lost, in
+ * which case the peers pick up the new version when their cache entries expire, just like without this channel.
+ */
+public class PeerInvalidationChannel implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PeerInvalidationChannel.class);
+
+    private static final String PROTOCOL = "config-server-invalidation/2";
+    private static final String NULL_LABEL = "\u0000";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAX_DATAGRAM_SIZE = 8192;
+    private static final int BODY_LINES = 7;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+    private final SecretKeySpec secret;
+    private final long maxMessageAge;
+    private final LongSupplier clock;
+    private final Map<String, Long> recentSignatures = new HashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private Thread receiver;
+
+    /**
+     * Construct a channel.
+     *
+     * @param socket
+     *         the bound socket the channel receives on and sends from, must not be {@literal null}
+     * @param peers
+     *         the addresses of the other nodes, must not be {@literal null}
+     * @param secret
+     *         the secret shared by all nodes to sign the messages, must not be empty
+     * @param maxMessageAge
+     *         the maximum difference in milliseconds between the sender's time of a message and the time it is
+     *         received, must be positive
+     */
+    public PeerInvalidationChannel(DatagramSocket socket, List<InetSocketAddress> peers, String secret,
+                                   long maxMessageAge) {
+        this(socket, peers, secret, maxMessageAge, System::currentTimeMillis);
+    }
+
+    PeerInvalidationChannel(DatagramSocket socket, List<InetSocketAddress> peers, String secret, long maxMessageAge,
+                            LongSupplier clock) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("secret must not be empty");
+        }
+        if (maxMessageAge < 1) {
+            throw new IllegalArgumentException("maxMessageAge must be positive");
+        }
+        this.socket = Objects.requireNonNull(socket, "socket must not be null");
+        this.peers = new ArrayList<>(Objects.requireNonNull(peers, "peers must not be null"));
+        this.secret = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+        this.maxMessageAge = maxMessageAge;
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    /**
+     * Start receiving messages on a daemon thread.
+     *
+     * @param handler
+     *         the callback receiving the messages of the peers, must not be {@literal null}
+     */
+    public synchronized void start(Consumer<CacheInvalidation> handler) {
+        Objects.requireNonNull(handler, "handler must not be null");
+        if (receiver != null) {
+            throw new IllegalStateException("channel already started");
+        }
+        receiver = new Thread(() -> receive(handler), "peer-invalidation");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    private void receive(Consumer<CacheInvalidation> handler) {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            }
+            catch (IOException exception) {
+                if (!socket.isClosed()) {
+                    LOG.warn("Receiving a cache invalidation failed: {}", exception.toString());
+                }
+                continue;
+            }
+            CacheInvalidation invalidation = decode(packet.getData(), packet.getLength());
+            if (invalidation == null) {
+                rejected.incrementAndGet();
+                LOG.warn("Dropped an invalid, unsigned, stale or replayed cache invalidation from {}",
+                         packet.getSocketAddress());
+                continue;
+            }
+            received.incrementAndGet();
+            try {
+                handler.accept(invalidation);
+            }
+            catch (RuntimeException exception) {
+                LOG.warn("Applying {} failed: {}", invalidation, exception.toString());
+            }
+        }
+    }
+
+    /**
+     * Send a message to all peers.
+     *
+     * @param invalidation
+     *         the message, must not be {@literal null}
+     */
+    public void publish(CacheInvalidation invalidation) {
+        byte[] message = encode(Objects.requireNonNull(invalidation, "invalidation must not be null"));
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(message, message.length, peer));
+                sent.incrementAndGet();
+            }
+            catch (IOException exception) {
+                LOG.warn("Sending {} to {} failed: {}", invalidation, peer, exception.toString());
+            }
+        }
+    }
+
+    byte[] encode(CacheInvalidation invalidation) {
+        EnvironmentKey key = invalidation.getKey();
+        String body = String.join("\n", PROTOCOL, Long.toString(clock.getAsLong()), invalidation.getOrigin(),
+                                  key.getName(), key.getProfiles(),
+                                  key.getLabel() != null ? key.getLabel() : NULL_LABEL, invalidation.getVersion());
+        return (body + '\n' + toHex(sign(body))).getBytes(StandardCharsets.UTF_8);
+    }
+
+    synchronized CacheInvalidation decode(byte[] data, int length) {
+        String[] lines = new String(data, 0, length, StandardCharsets.UTF_8).split("\n", -1);
+        if (lines.length != BODY_LINES + 1 || !PROTOCOL.equals(lines[0])) {
+            return null;
+        }
+        String body = String.join("\n", Arrays.copyOf(lines, BODY_LINES));
+        String signature = toHex(sign(body));
+        if (!MessageDigest.isEqual(signature.getBytes(StandardCharsets.US_ASCII),
+                                   lines[BODY_LINES].getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(lines[1]);
+        }
+        catch (NumberFormatException exception) {
+            return null;
+        }
+        if (Math.abs(now - timestamp) > maxMessageAge) {
+            return null;
+        }
+        // a replay is accepted by the age check until the sender's time plus the maximum age has passed
+        recentSignatures.values().removeIf(expiry -> expiry < now);
+        if (recentSignatures.putIfAbsent(signature, timestamp + maxMessageAge) != null) {
+            return null;
+        }
+        try {
+            return new CacheInvalidation(lines[2], new EnvironmentKey(lines[3], lines[4],
+                                                                      NULL_LABEL.equals(lines[5]) ? null : lines[5]),
+                                         lines[6]);
+        }
+        catch (RuntimeException exception) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String body) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secret);
+            return mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("cannot sign cache invalidation", exception);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * The local port the channel receives on.
+     *
+     * @return the port
+     */
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * The number of datagrams sent.
+     *
+     * @return the sent count
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * The number of valid messages received.
+     *
+     * @return the received count
+     */
+    public long getReceived() {
+        return received.get();
+    }
+
+    /**
+     * The number of invalid, unsigned, forged, stale or replayed messages dropped.
+     *
+     * @return the rejected count
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Close the socket, which stops the receiving thread.
+     */
+    @Override
+    public synchronized void destroy() {
+        socket.close();
+    }
+}
@@ -0,0 +1,43 @@
+package com.haufe.demo.spring.configserver.deadline;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the client deadlines, active unless the configuration property
+ * {@code haufe.configserver.deadline.enabled} is {@literal false}.
+ *
+ * @see RequestDeadline
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.deadline", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfiguration {
+
+    /**
+     * The post processor letting the environment repositories check the deadlines.
+     *
+     * @return the post processor
+     */
+    @Bean
+    public static DeadlineEnforcingPostProcessor deadlineEnforcingPostProcessor() {
+        return new DeadlineEnforcingPostProcessor();
+    }
+
+    /**
+     * The filter reading the deadlines, registered in front of Spring Security, so requests arriving too late are
+     * not even authenticated.
+     *
+     * @return the filter's registration
+     */
+    @Bean
+    public FilterRegistrationBean deadlineFilter() {
+        FilterRegistrationBean registration = new FilterRegistrationBean(new DeadlineFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
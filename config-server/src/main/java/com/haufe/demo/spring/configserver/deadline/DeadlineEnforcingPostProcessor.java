@@ -0,0 +1,90 @@
+package com.haufe.demo.spring.configserver.deadline;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.VaultEnvironmentRepository;
+import org.springframework.core.Ordered;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lets the config server's {@link EnvironmentRepository} beans abandon the work for requests whose client deadline
+ * (see {@link RequestDeadline}) has expired.
+ * <p>
+ * Each repository checks the deadline before it is read, i.e., the composite repository checks it before each of its
+ * backends. The Vault backend checks it before each of its reads from Vault as well. The post processor is ordered,
+ * so it runs before the unordered
+ * {@link com.haufe.demo.spring.configserver.cache.CachingEnvironmentRepositoryPostProcessor cache}: environments in
+ * the cache are served regardless of the deadline, since answering them costs next to nothing.
+ */
+public class DeadlineEnforcingPostProcessor implements BeanPostProcessor, Ordered {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeadlineEnforcingPostProcessor.class);
+
+    private static final Method FIND_ONE =
+            ClassUtils.getMethod(EnvironmentRepository.class, "findOne", String.class, String.class, String.class);
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof EnvironmentRepository)) {
+            return bean;
+        }
+        if (bean instanceof VaultEnvironmentRepository) {
+            checkBeforeVaultReads((VaultEnvironmentRepository) bean);
+        }
+        String work = "reading " + beanName;
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setInterfaces(ClassUtils.getAllInterfaces(bean));
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Method method = invocation.getMethod();
+            if (method.getName().equals(FIND_ONE.getName())
+                    && Arrays.equals(method.getParameterTypes(), FIND_ONE.getParameterTypes())) {
+                RequestDeadline.check(work);
+            }
+            return invocation.proceed();
+        });
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * Add a deadline check to the rest template the Vault backend reads the secrets with. The config server creates
+     * that rest template itself and offers no way to customize it, hence the field access.
+     */
+    private static void checkBeforeVaultReads(VaultEnvironmentRepository repository) {
+        DirectFieldAccessor accessor = new DirectFieldAccessor(repository);
+        Object rest = accessor.isReadableProperty("rest") ? accessor.getPropertyValue("rest") : null;
+        if (!(rest instanceof RestTemplate)) {
+            LOG.warn("Vault reads do not check the client's deadline: no rest template found in {}", repository);
+            return;
+        }
+        RestTemplate restTemplate = (RestTemplate) rest;
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+        interceptors.add(0, (request, body, execution) -> {
+            RequestDeadline.check("reading " + request.getURI().getPath() + " from Vault");
+            return execution.execute(request, body);
+        });
+        restTemplate.setInterceptors(interceptors);
+    }
+}
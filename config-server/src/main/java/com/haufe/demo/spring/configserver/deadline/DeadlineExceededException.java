@@ -0,0 +1,24 @@
+package com.haufe.demo.spring.configserver.deadline;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Signals that a request was abandoned because the client's deadline (see {@link RequestDeadline}) had expired.
+ * The request is answered with 504 (Gateway Timeout), so abandoned requests can be told apart from overload (503).
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construct an exception.
+     *
+     * @param work
+     *         the work that was not started, e.g., {@code "the repository read"}
+     */
+    public DeadlineExceededException(String work) {
+        super("the client's deadline expired before " + work);
+    }
+}
@@ -0,0 +1,47 @@
+package com.haufe.demo.spring.configserver.deadline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Reads the client's deadline from the header {@value RequestDeadline#HEADER} and stores it in the request.
+ * <p>
+ * The header is relative (the remaining milliseconds), so the deadline starts when this filter sees the request;
+ * the time the request waited in the servlet container's queue is invisible to it by design, since client and server
+ * clocks need not agree. Only a request that arrives with no time left (a value of 0 or less) is answered with 504
+ * (Gateway Timeout) right away, without authentication and without reading the repository; all others are abandoned
+ * when their deadline expires during processing. Malformed headers are ignored.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeadlineFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header != null) {
+            long now = System.nanoTime();
+            RequestDeadline deadline = RequestDeadline.parse(header, now);
+            if (deadline == null) {
+                LOG.debug("Ignoring malformed header {}: {}", RequestDeadline.HEADER, header);
+            }
+            else if (deadline.isExpired(now)) {
+                response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "the client's deadline has expired");
+                return;
+            }
+            else {
+                request.setAttribute(RequestDeadline.ATTRIBUTE, deadline);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,61 @@
+package com.haufe.demo.spring.configserver.deadline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for honoring the deadlines sent by the config clients.
+ */
+@ConfigurationProperties("haufe.configserver.deadline")
+public class DeadlineProperties {
+
+    /**
+     * Flag to enable or disable honoring the client deadlines.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Are the client deadlines honored?
+     *
+     * @return {@literal true} (the default) if requests are abandoned once the client's deadline has expired
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable honoring the client deadlines.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DeadlineProperties)) {
+            return false;
+        }
+        DeadlineProperties that = (DeadlineProperties) o;
+        return isEnabled() == that.isEnabled();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DeadlineProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package com.haufe.demo.spring.configserver.deadline;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time after which the client of a request no longer waits for the answer.
+ * <p>
+ * Clients send the time they are going to wait in the header {@value #HEADER} in milliseconds, relative to the
+ * moment they send the request, so the clocks of client and server need not agree. The {@link DeadlineFilter} stores
+ * the deadline in the request; the work done for the request looks it up with {@link #current()}, on the request
+ * thread as well as on threads the request attributes are passed on to (e.g., the bulkhead threads).
+ */
+public final class RequestDeadline {
+
+    /**
+     * The request header carrying the client's remaining time in milliseconds.
+     */
+    public static final String HEADER = "X-Config-Deadline";
+
+    static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private final long expiresAt;
+
+    private RequestDeadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Parse the header sent by a client.
+     *
+     * @param header
+     *         the value of the header {@value #HEADER}, might be {@literal null}
+     * @param now
+     *         the time the request arrived as of {@link System#nanoTime()}
+     * @return the deadline, {@literal null} if the header is missing or malformed
+     */
+    static RequestDeadline parse(String header, long now) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return new RequestDeadline(now + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(header.trim())));
+        }
+        catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * The deadline of the current request.
+     *
+     * @return the deadline, {@literal null} if there is no current request or the client did not send a deadline
+     */
+    public static RequestDeadline current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        // read from the request itself: the request attributes refuse access once the request thread has returned
+        Object deadline = ((ServletRequestAttributes) requestAttributes).getRequest().getAttribute(ATTRIBUTE);
+        return deadline instanceof RequestDeadline ? (RequestDeadline) deadline : null;
+    }
+
+    /**
+     * Abandon work for the current request if its deadline has expired.
+     *
+     * @param work
+     *         the work about to be started, for the exception message
+     * @throws DeadlineExceededException
+     *         the deadline of the current request has expired
+     */
+    public static void check(String work) {
+        RequestDeadline deadline = current();
+        if (deadline != null && deadline.isExpired(System.nanoTime())) {
+            throw new DeadlineExceededException(work);
+        }
+    }
+
+    /**
+     * Has the deadline expired?
+     *
+     * @param now
+     *         the current time as of {@link System#nanoTime()}
+     * @return {@literal true} if the client no longer waits for the answer
+     */
+    public boolean isExpired(long now) {
+        return now - expiresAt >= 0;
+    }
+
+    /**
+     * The time left until the deadline.
+     *
+     * @param now
+     *         the current time as of {@link System#nanoTime()}
+     * @return the remaining time in milliseconds, not positive if the deadline has expired
+     */
+    public long remaining(long now) {
+        return TimeUnit.NANOSECONDS.toMillis(expiresAt - now);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestDeadline{remaining=" + remaining(System.nanoTime()) + "ms}";
+    }
+}
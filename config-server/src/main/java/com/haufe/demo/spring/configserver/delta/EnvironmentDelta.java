@@ -0,0 +1,232 @@
+package com.haufe.demo.spring.configserver.delta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The difference between two versions of an environment, as returned by the delta endpoint.
+ * <p>
+ * The delta lists the changes of each property source that differs between the two versions and the names of all
+ * property sources of the new version in their order of precedence; property sources missing from that list have
+ * been removed. If the server does not know the client's version any more, the delta is {@link #isComplete()
+ * complete}, i.e., every property of the new version is listed as added and the client has to replace its
+ * property sources rather than patch them.
+ */
+public class EnvironmentDelta {
+
+    private final String name;
+    private final String[] profiles;
+    private final String label;
+    private final String fromVersion;
+    private final String toVersion;
+    private final boolean complete;
+    private final List<String> propertySourceNames;
+    private final List<PropertySourceDelta> propertySources;
+
+    /**
+     * Construct a delta.
+     *
+     * @param name
+     *         the application name, must not be {@literal null}
+     * @param profiles
+     *         the profiles, must not be {@literal null}
+     * @param label
+     *         the label, might be {@literal null}
+     * @param fromVersion
+     *         the client's version the delta starts from, might be {@literal null}
+     * @param toVersion
+     *         the current version, must not be {@literal null}
+     * @param complete
+     *         {@literal true} if the delta lists all properties of the current version
+     * @param propertySourceNames
+     *         the names of the current version's property sources in order of precedence, must not be
+     *         {@literal null}
+     * @param propertySources
+     *         the changes per property source, must not be {@literal null}
+     */
+    public EnvironmentDelta(String name, String[] profiles, String label, String fromVersion, String toVersion,
+                            boolean complete, List<String> propertySourceNames,
+                            List<PropertySourceDelta> propertySources) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.profiles = Objects.requireNonNull(profiles, "profiles must not be null").clone();
+        this.label = label;
+        this.fromVersion = fromVersion;
+        this.toVersion = Objects.requireNonNull(toVersion, "toVersion must not be null");
+        this.complete = complete;
+        this.propertySourceNames = Collections.unmodifiableList(new ArrayList<>(
+                Objects.requireNonNull(propertySourceNames, "propertySourceNames must not be null")));
+        this.propertySources = Collections.unmodifiableList(new ArrayList<>(
+                Objects.requireNonNull(propertySources, "propertySources must not be null")));
+    }
+
+    /**
+     * The application name.
+     *
+     * @return the name, never {@literal null}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The profiles.
+     *
+     * @return a copy of the profiles, never {@literal null}
+     */
+    public String[] getProfiles() {
+        return profiles.clone();
+    }
+
+    /**
+     * The label.
+     *
+     * @return the label, might be {@literal null}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * The version the delta starts from.
+     *
+     * @return the client's version, might be {@literal null}
+     */
+    public String getFromVersion() {
+        return fromVersion;
+    }
+
+    /**
+     * The version the delta leads to.
+     *
+     * @return the current version, never {@literal null}
+     */
+    public String getToVersion() {
+        return toVersion;
+    }
+
+    /**
+     * Does the delta list all properties of the current version?
+     *
+     * @return {@literal true} if the client has to replace its property sources
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * The names of the current version's property sources in order of precedence.
+     *
+     * @return the property source names, never {@literal null}
+     */
+    public List<String> getPropertySourceNames() {
+        return propertySourceNames;
+    }
+
+    /**
+     * The changes of the property sources that differ between the two versions.
+     *
+     * @return the property source changes, never {@literal null}
+     */
+    public List<PropertySourceDelta> getPropertySources() {
+        return propertySources;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("EnvironmentDelta{");
+        sb.append("name='").append(name).append('\'');
+        sb.append(", label='").append(label).append('\'');
+        sb.append(", fromVersion='").append(fromVersion).append('\'');
+        sb.append(", toVersion='").append(toVersion).append('\'');
+        sb.append(", complete=").append(complete);
+        sb.append(", propertySources=").append(propertySources);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * The changes of a single property source.
+     */
+    public static class PropertySourceDelta {
+
+        private final String name;
+        private final Map<String, Object> added;
+        private final Map<String, Object> changed;
+        private final List<String> removed;
+
+        /**
+         * Construct a property source delta.
+         *
+         * @param name
+         *         the name of the property source, must not be {@literal null}
+         * @param added
+         *         the added properties, must not be {@literal null}
+         * @param changed
+         *         the properties with changed values, must not be {@literal null}
+         * @param removed
+         *         the names of the removed properties, must not be {@literal null}
+         */
+        public PropertySourceDelta(String name, Map<String, Object> added, Map<String, Object> changed,
+                                   List<String> removed) {
+            this.name = Objects.requireNonNull(name, "name must not be null");
+            this.added = Collections.unmodifiableMap(new LinkedHashMap<>(
+                    Objects.requireNonNull(added, "added must not be null")));
+            this.changed = Collections.unmodifiableMap(new LinkedHashMap<>(
+                    Objects.requireNonNull(changed, "changed must not be null")));
+            this.removed = Collections.unmodifiableList(new ArrayList<>(
+                    Objects.requireNonNull(removed, "removed must not be null")));
+        }
+
+        /**
+         * The name of the property source.
+         *
+         * @return the name, never {@literal null}
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * The added properties.
+         *
+         * @return the added properties, never {@literal null}
+         */
+        public Map<String, Object> getAdded() {
+            return added;
+        }
+
+        /**
+         * The properties with changed values.
+         *
+         * @return the changed properties, never {@literal null}
+         */
+        public Map<String, Object> getChanged() {
+            return changed;
+        }
+
+        /**
+         * The names of the removed properties.
+         *
+         * @return the removed property names, never {@literal null}
+         */
+        public List<String> getRemoved() {
+            return removed;
+        }
+
+        @Override
+        public String toString() {
+            // values are left out on purpose, they might be decrypted secrets
+            final StringBuilder sb = new StringBuilder("PropertySourceDelta{");
+            sb.append("name='").append(name).append('\'');
+            sb.append(", added=").append(added.keySet());
+            sb.append(", changed=").append(changed.keySet());
+            sb.append(", removed=").append(removed);
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+}
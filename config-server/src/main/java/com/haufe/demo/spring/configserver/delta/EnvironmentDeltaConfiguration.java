@@ -0,0 +1,57 @@
+package com.haufe.demo.spring.configserver.delta;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.config.ConfigServerProperties;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the delta endpoint, active unless the configuration property
+ * {@code haufe.configserver.delta.enabled} is {@literal false}.
+ *
+ * @see EnvironmentDeltaController
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.delta", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(EnvironmentDeltaProperties.class)
+public class EnvironmentDeltaConfiguration {
+
+    /**
+     * The service computing the deltas.
+     *
+     * @param environmentRepository
+     *         the config server's (unencrypted) environment repository
+     * @param environmentEncryptor
+     *         the config server's encryptor, if any
+     * @param configServerProperties
+     *         the config server's configuration properties (for the overrides)
+     * @param environmentDeltaProperties
+     *         the endpoint's configuration properties
+     * @return the delta service
+     */
+    @Bean
+    public EnvironmentDeltaService environmentDeltaService(EnvironmentRepository environmentRepository,
+                                                           ObjectProvider<EnvironmentEncryptor> environmentEncryptor,
+                                                           ConfigServerProperties configServerProperties,
+                                                           EnvironmentDeltaProperties environmentDeltaProperties) {
+        return new EnvironmentDeltaService(environmentRepository, environmentEncryptor.getIfAvailable(),
+                                           configServerProperties.getOverrides(),
+                                           environmentDeltaProperties.getHistorySize());
+    }
+
+    /**
+     * The delta endpoint.
+     *
+     * @param environmentDeltaService
+     *         the service computing the deltas
+     * @return the controller
+     */
+    @Bean
+    public EnvironmentDeltaController environmentDeltaController(EnvironmentDeltaService environmentDeltaService) {
+        return new EnvironmentDeltaController(environmentDeltaService);
+    }
+}
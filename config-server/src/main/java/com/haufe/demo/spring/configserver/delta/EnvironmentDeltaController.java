@@ -0,0 +1,83 @@
+package com.haufe.demo.spring.configserver.delta;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Objects;
+
+/**
+ * Endpoint that returns only the properties changed since the client's version of an environment.
+ * <p>
+ * {@code GET /delta/{name}/{profiles}[/{label}]?since=...} answers with an {@link EnvironmentDelta} or with 304
+ * (Not Modified) if the environment still has the client's version. The versions are the ones reported by the
+ * change notification endpoint.
+ * <p>
+ * The controller is not a component on purpose: it is registered by {@link EnvironmentDeltaConfiguration} only if
+ * the endpoint is enabled.
+ */
+@ResponseBody
+@RequestMapping(method = RequestMethod.GET, path = "${spring.cloud.config.server.prefix:}/delta")
+public class EnvironmentDeltaController {
+
+    private final EnvironmentDeltaService deltaService;
+
+    /**
+     * Construct the controller.
+     *
+     * @param deltaService
+     *         the service computing the deltas, must not be {@literal null}
+     */
+    public EnvironmentDeltaController(EnvironmentDeltaService deltaService) {
+        this.deltaService = Objects.requireNonNull(deltaService, "deltaService must not be null");
+    }
+
+    /**
+     * The delta of an environment with the default label.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param since
+     *         the client's version, might be {@literal null} for a complete delta
+     * @return the delta or 304 (Not Modified)
+     */
+    @RequestMapping("/{name}/{profiles}")
+    public ResponseEntity<EnvironmentDelta> delta(@PathVariable String name, @PathVariable String profiles,
+                                                  @RequestParam(required = false) String since) {
+        return respond(deltaService.delta(name, profiles, null, since));
+    }
+
+    /**
+     * The delta of a labelled environment.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param label
+     *         the label, with {@code (_)} standing for a slash like in the config server's environment endpoint
+     * @param since
+     *         the client's version, might be {@literal null} for a complete delta
+     * @return the delta or 304 (Not Modified)
+     */
+    @RequestMapping("/{name}/{profiles}/{label}")
+    public ResponseEntity<EnvironmentDelta> delta(@PathVariable String name, @PathVariable String profiles,
+                                                  @PathVariable String label,
+                                                  @RequestParam(required = false) String since) {
+        String decodedLabel = label.contains("(_)") ? label.replace("(_)", "/") : label;
+        return respond(deltaService.delta(name, profiles, decodedLabel, since));
+    }
+
+    private static ResponseEntity<EnvironmentDelta> respond(EnvironmentDelta delta) {
+        if (delta.getToVersion().equals(delta.getFromVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(delta);
+    }
+}
@@ -0,0 +1,87 @@
+package com.haufe.demo.spring.configserver.delta;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's delta endpoint.
+ */
+@ConfigurationProperties("haufe.configserver.delta")
+public class EnvironmentDeltaProperties {
+
+    /**
+     * Flag to enable or disable the delta endpoint.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of environment versions kept in memory as base of deltas.
+     */
+    private int historySize = 256;
+
+    /**
+     * Is the delta endpoint enabled?
+     *
+     * @return {@literal true} (the default) if the endpoint is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the delta endpoint.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The maximum number of environment versions kept in memory.
+     *
+     * @return the history size
+     */
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     * Set the maximum number of environment versions kept in memory.
+     *
+     * @param historySize
+     *         the new history size, must be positive
+     */
+    public void setHistorySize(int historySize) {
+        this.historySize = historySize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnvironmentDeltaProperties)) {
+            return false;
+        }
+        EnvironmentDeltaProperties that = (EnvironmentDeltaProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getHistorySize() == that.getHistorySize();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getHistorySize());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("EnvironmentDeltaProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", historySize=").append(historySize);
+        sb.append('}');
+        return sb.toString();
+    }
+}
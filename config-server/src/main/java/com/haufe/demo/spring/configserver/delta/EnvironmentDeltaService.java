@@ -0,0 +1,158 @@
+package com.haufe.demo.spring.configserver.delta;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentVersions;
+import com.haufe.demo.spring.configserver.environment.ServedEnvironments;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Computes the {@link EnvironmentDelta difference} between the environment a client has and the current one.
+ * <p>
+ * The service remembers the environments it has served in a bounded history. If the client's version is no longer
+ * in the history, it is read from the repository if the repository is versioned (the git backend accepts commit ids
+ * as labels); otherwise the delta is complete. Decryption and overrides are applied exactly like the config
+ * server's environment endpoint does, so the patched client ends up with the same values as after a full fetch.
+ */
+public class EnvironmentDeltaService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvironmentDeltaService.class);
+
+    private final EnvironmentRepository repository;
+    private final ServedEnvironments servedEnvironments;
+    private final Map<String, List<PropertySource>> history;
+
+    /**
+     * Construct a delta service.
+     *
+     * @param repository
+     *         the config server's (unencrypted) environment repository, must not be {@literal null}
+     * @param environmentEncryptor
+     *         the encryptor that decrypts {@code {cipher}} values, might be {@literal null}
+     * @param overrides
+     *         the config server's property overrides, must not be {@literal null}
+     * @param historySize
+     *         the maximum number of environment versions remembered, must be positive
+     */
+    public EnvironmentDeltaService(EnvironmentRepository repository, EnvironmentEncryptor environmentEncryptor,
+                                   Map<String, String> overrides, int historySize) {
+        this.repository = Objects.requireNonNull(repository, "repository must not be null");
+        this.servedEnvironments = new ServedEnvironments(environmentEncryptor, overrides);
+        if (historySize < 1) {
+            throw new IllegalArgumentException("historySize must be positive");
+        }
+        this.history = Collections.synchronizedMap(new LinkedHashMap<String, List<PropertySource>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<PropertySource>> eldest) {
+                return size() > historySize;
+            }
+        });
+    }
+
+    /**
+     * Compute the delta from the client's version to the current version of an environment.
+     *
+     * @param name
+     *         the application name, must not be {@literal null}
+     * @param profiles
+     *         the comma separated profiles, must not be {@literal null}
+     * @param label
+     *         the label, might be {@literal null}
+     * @param fromVersion
+     *         the client's version, might be {@literal null}
+     * @return the delta, never {@literal null}; its {@link EnvironmentDelta#getToVersion() target version} equals
+     * {@code fromVersion} if the environment has not changed
+     */
+    public EnvironmentDelta delta(String name, String profiles, String label, String fromVersion) {
+        Objects.requireNonNull(name, "name must not be null");
+        Objects.requireNonNull(profiles, "profiles must not be null");
+        Environment raw = repository.findOne(name, profiles, label);
+        String toVersion = EnvironmentVersions.versionOf(raw);
+        boolean versioned = raw.getVersion() != null;
+        Environment current = servedEnvironments.served(raw);
+        remember(name, profiles, label, toVersion, current.getPropertySources());
+
+        List<PropertySource> base = fromVersion == null ? null :
+                                    toVersion.equals(fromVersion) ? current.getPropertySources() :
+                                    history.get(historyKey(name, profiles, label, fromVersion));
+        if (base == null && fromVersion != null && versioned) {
+            base = readVersion(name, profiles, label, fromVersion);
+        }
+        return diff(current, label, fromVersion, toVersion, base);
+    }
+
+    private List<PropertySource> readVersion(String name, String profiles, String label, String version) {
+        try {
+            Environment raw = repository.findOne(name, profiles, version);
+            if (!version.equals(EnvironmentVersions.versionOf(raw))) {
+                return null;
+            }
+            List<PropertySource> propertySources = servedEnvironments.served(raw).getPropertySources();
+            remember(name, profiles, label, version, propertySources);
+            return propertySources;
+        }
+        catch (RuntimeException exception) {
+            LOG.debug("version {} of {}/{} is not available, computing a complete delta: {}",
+                      version, name, profiles, exception.toString());
+            return null;
+        }
+    }
+
+    private void remember(String name, String profiles, String label, String version,
+                          List<PropertySource> propertySources) {
+        history.put(historyKey(name, profiles, label, version), Collections.unmodifiableList(propertySources));
+    }
+
+    private static String historyKey(String name, String profiles, String label, String version) {
+        return name + '/' + profiles + '/' + label + '@' + version;
+    }
+
+    private static EnvironmentDelta diff(Environment current, String label, String fromVersion, String toVersion,
+                                         List<PropertySource> base) {
+        Map<String, Map<?, ?>> baseSources = new LinkedHashMap<>();
+        if (base != null) {
+            base.forEach(propertySource -> baseSources.put(propertySource.getName(), propertySource.getSource()));
+        }
+        List<String> names = new ArrayList<>();
+        List<EnvironmentDelta.PropertySourceDelta> deltas = new ArrayList<>();
+        for (PropertySource propertySource : current.getPropertySources()) {
+            names.add(propertySource.getName());
+            Map<?, ?> baseSource = baseSources.getOrDefault(propertySource.getName(), Collections.emptyMap());
+            EnvironmentDelta.PropertySourceDelta delta = diff(propertySource.getName(), baseSource,
+                                                              propertySource.getSource());
+            if (!delta.getAdded().isEmpty() || !delta.getChanged().isEmpty() || !delta.getRemoved().isEmpty()) {
+                deltas.add(delta);
+            }
+        }
+        return new EnvironmentDelta(current.getName(), current.getProfiles(), label, fromVersion, toVersion,
+                                    base == null, names, deltas);
+    }
+
+    private static EnvironmentDelta.PropertySourceDelta diff(String name, Map<?, ?> base, Map<?, ?> current) {
+        Map<String, Object> added = new LinkedHashMap<>();
+        Map<String, Object> changed = new LinkedHashMap<>();
+        List<String> removed = new ArrayList<>();
+        current.forEach((key, value) -> {
+            if (!base.containsKey(key)) {
+                added.put(key.toString(), value);
+            }
+            else if (!Objects.equals(base.get(key), value)) {
+                changed.put(key.toString(), value);
+            }
+        });
+        base.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> removed.add(key.toString()));
+        return new EnvironmentDelta.PropertySourceDelta(name, added, changed, removed);
+    }
+}
@@ -0,0 +1,51 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the batch encryption endpoints, active unless the configuration property
+ * {@code haufe.configserver.batchEncryption.enabled} is {@literal false}.
+ *
+ * @see BatchEncryptionController
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.batchEncryption", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(BatchEncryptionProperties.class)
+public class BatchEncryptionConfiguration {
+
+    /**
+     * The service processing the batches. It uses the encryptor locator without the decryption cache, so bulk
+     * decryptions do not evict the values the environment endpoints need.
+     *
+     * @param textEncryptorLocator
+     *         the config server's encryptor locator
+     * @param batchEncryptionProperties
+     *         the endpoints' configuration properties
+     * @return the service
+     */
+    @Bean
+    public BatchEncryptionService batchEncryptionService(TextEncryptorLocator textEncryptorLocator,
+                                                         BatchEncryptionProperties batchEncryptionProperties) {
+        return new BatchEncryptionService(CachingTextEncryptorLocator.undecorated(textEncryptorLocator),
+                                          batchEncryptionProperties.getParallelism());
+    }
+
+    /**
+     * The batch encryption endpoints.
+     *
+     * @param batchEncryptionService
+     *         the service processing the batches
+     * @param batchEncryptionProperties
+     *         the endpoints' configuration properties
+     * @return the controller
+     */
+    @Bean
+    public BatchEncryptionController batchEncryptionController(BatchEncryptionService batchEncryptionService,
+                                                               BatchEncryptionProperties batchEncryptionProperties) {
+        return new BatchEncryptionController(batchEncryptionService, batchEncryptionProperties);
+    }
+}
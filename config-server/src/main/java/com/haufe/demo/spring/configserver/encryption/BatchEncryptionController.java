@@ -0,0 +1,147 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Batch variants of the config server's encryption endpoints.
+ * <p>
+ * {@code POST /encrypt/batch[/{name}/{profiles}]} and {@code POST /decrypt/batch[/{name}/{profiles}]} take a JSON
+ * array of values and answer with a JSON array of the results in the same order. Values may carry the same prefixes
+ * as for the single value endpoints (e.g., <code>{key:alias}</code>). The errors are those of the single value
+ * endpoints, plus the index of the first value that could not be decrypted; values are never logged.
+ * <p>
+ * The controller is not a component on purpose: it is registered by {@link BatchEncryptionConfiguration} only if
+ * the endpoints are enabled.
+ */
+@ResponseBody
+@RequestMapping(method = RequestMethod.POST, path = "${spring.cloud.config.server.prefix:}",
+        consumes = MediaType.APPLICATION_JSON_VALUE)
+public class BatchEncryptionController {
+
+    private static final String DEFAULT_APPLICATION_NAME = "application";
+    private static final String DEFAULT_PROFILE = "default";
+
+    private final BatchEncryptionService encryptionService;
+    private final BatchEncryptionProperties properties;
+
+    /**
+     * Construct the controller.
+     *
+     * @param encryptionService
+     *         the service processing the batches, must not be {@literal null}
+     * @param properties
+     *         the endpoints' configuration properties, must not be {@literal null}
+     */
+    public BatchEncryptionController(BatchEncryptionService encryptionService, BatchEncryptionProperties properties) {
+        this.encryptionService = Objects.requireNonNull(encryptionService, "encryptionService must not be null");
+        this.properties = Objects.requireNonNull(properties, "properties must not be null");
+    }
+
+    /**
+     * Encrypt values with the key of the default application.
+     *
+     * @param values
+     *         the values
+     * @return the cipher texts
+     */
+    @RequestMapping("/encrypt/batch")
+    public ResponseEntity<?> encrypt(@RequestBody List<String> values) {
+        return encrypt(DEFAULT_APPLICATION_NAME, DEFAULT_PROFILE, values);
+    }
+
+    /**
+     * Encrypt values with the key of an application.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param values
+     *         the values
+     * @return the cipher texts
+     */
+    @RequestMapping("/encrypt/batch/{name}/{profiles}")
+    public ResponseEntity<?> encrypt(@PathVariable String name, @PathVariable String profiles,
+                                     @RequestBody List<String> values) {
+        return process(name, profiles, values, () -> encryptionService.encrypt(name, profiles, values));
+    }
+
+    /**
+     * Decrypt values with the key of the default application.
+     *
+     * @param values
+     *         the cipher texts
+     * @return the plain texts
+     */
+    @RequestMapping("/decrypt/batch")
+    public ResponseEntity<?> decrypt(@RequestBody List<String> values) {
+        return decrypt(DEFAULT_APPLICATION_NAME, DEFAULT_PROFILE, values);
+    }
+
+    /**
+     * Decrypt values with the key of an application.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param values
+     *         the cipher texts
+     * @return the plain texts
+     */
+    @RequestMapping("/decrypt/batch/{name}/{profiles}")
+    public ResponseEntity<?> decrypt(@PathVariable String name, @PathVariable String profiles,
+                                     @RequestBody List<String> values) {
+        return process(name, profiles, values, () -> encryptionService.decrypt(name, profiles, values));
+    }
+
+    private ResponseEntity<?> process(String name, String profiles, List<String> values,
+                                      Supplier<List<String>> operation) {
+        if (values == null || values.isEmpty() || values.size() > properties.getMaxValues()
+                || values.contains(null)) {
+            return error(HttpStatus.BAD_REQUEST, "BAD_REQUEST",
+                         "Expected an array of 1 to " + properties.getMaxValues() + " strings", null);
+        }
+        if (!encryptionService.isKeyInstalled(name, profiles)) {
+            return error(HttpStatus.NOT_FOUND, "NO_KEY", "No key was installed for encryption service", null);
+        }
+        return ResponseEntity.ok(operation.get());
+    }
+
+    /**
+     * Answer a batch with a value that cannot be decrypted.
+     *
+     * @param exception
+     *         the exception carrying the index of the value
+     * @return 400 (Bad Request) with the index
+     */
+    @ExceptionHandler(InvalidCipherTextException.class)
+    public ResponseEntity<Map<String, Object>> invalidCipherText(InvalidCipherTextException exception) {
+        return error(HttpStatus.BAD_REQUEST, "INVALID", "Text not encrypted with this key", exception.getIndex());
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus httpStatus, String status,
+                                                             String description, Integer index) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status);
+        body.put("description", description);
+        if (index != null) {
+            body.put("index", index);
+        }
+        return new ResponseEntity<>(body, httpStatus);
+    }
+}
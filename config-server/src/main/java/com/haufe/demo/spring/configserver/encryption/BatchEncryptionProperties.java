@@ -0,0 +1,113 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's batch encryption endpoints.
+ */
+@ConfigurationProperties("haufe.configserver.batchEncryption")
+public class BatchEncryptionProperties {
+
+    /**
+     * Flag to enable or disable the batch encryption endpoints.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of values in a batch.
+     */
+    private int maxValues = 1000;
+
+    /**
+     * The maximum number of values processed at the same time, shared by all batches.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Are the batch encryption endpoints enabled?
+     *
+     * @return {@literal true} (the default) if the endpoints are enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the batch encryption endpoints.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The maximum number of values in a batch.
+     *
+     * @return the maximum batch size
+     */
+    public int getMaxValues() {
+        return maxValues;
+    }
+
+    /**
+     * Set the maximum number of values in a batch.
+     *
+     * @param maxValues
+     *         the new maximum batch size
+     */
+    public void setMaxValues(int maxValues) {
+        this.maxValues = maxValues;
+    }
+
+    /**
+     * The maximum number of values processed at the same time.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the maximum number of values processed at the same time.
+     *
+     * @param parallelism
+     *         the new parallelism, must be positive
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchEncryptionProperties)) {
+            return false;
+        }
+        BatchEncryptionProperties that = (BatchEncryptionProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getMaxValues() == that.getMaxValues() &&
+                getParallelism() == that.getParallelism();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getMaxValues(), getParallelism());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BatchEncryptionProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", maxValues=").append(maxValues);
+        sb.append(", parallelism=").append(parallelism);
+        sb.append('}');
+        return sb.toString();
+    }
+}
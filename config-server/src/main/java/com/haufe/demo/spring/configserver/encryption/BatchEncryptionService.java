@@ -0,0 +1,152 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Encrypts or decrypts many values at once, like the config server's {@code /encrypt} and {@code /decrypt}
+ * endpoints would one by one.
+ * <p>
+ * The encryptor is located once per distinct key (i.e., per distinct set of prefixes) in a batch and reused for all
+ * its values, which spares reading the key store again and again; the values are processed in parallel on a
+ * bounded thread pool shared by all batches. The results are in the order of the values.
+ */
+public class BatchEncryptionService implements DisposableBean {
+
+    private static final String PROBE = "FOO";
+
+    private final TextEncryptorLocator encryptorLocator;
+    private final ExecutorService executor;
+
+    /**
+     * Construct a batch encryption service.
+     *
+     * @param encryptorLocator
+     *         the config server's encryptor locator, must not be {@literal null}
+     * @param parallelism
+     *         the maximum number of values processed at the same time, must be positive
+     */
+    public BatchEncryptionService(TextEncryptorLocator encryptorLocator, int parallelism) {
+        this.encryptorLocator = Objects.requireNonNull(encryptorLocator, "encryptorLocator must not be null");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-encryption-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Is a key installed for an application, i.e., is encryption not a no-op?
+     *
+     * @param name
+     *         the application name, must not be {@literal null}
+     * @param profiles
+     *         the comma separated profiles, must not be {@literal null}
+     * @return {@literal true} if values can be encrypted
+     */
+    public boolean isKeyInstalled(String name, String profiles) {
+        return !PROBE.equals(encryptorLocator.locate(EncryptorKeys.of(name, profiles, "")).encrypt(PROBE));
+    }
+
+    /**
+     * Encrypt values.
+     *
+     * @param name
+     *         the application name, must not be {@literal null}
+     * @param profiles
+     *         the comma separated profiles, must not be {@literal null}
+     * @param values
+     *         the values, optionally with prefixes selecting the key, must not be {@literal null}
+     * @return the cipher texts with the prefixes, in the order of the values, never {@literal null}
+     */
+    public List<String> encrypt(String name, String profiles, List<String> values) {
+        return process(name, profiles, values, (encryptor, value) -> encryptor.encrypt(value), false);
+    }
+
+    /**
+     * Decrypt values.
+     *
+     * @param name
+     *         the application name, must not be {@literal null}
+     * @param profiles
+     *         the comma separated profiles, must not be {@literal null}
+     * @param values
+     *         the cipher texts, optionally with prefixes selecting the key, must not be {@literal null}
+     * @return the plain texts, in the order of the cipher texts, never {@literal null}
+     * @throws InvalidCipherTextException
+     *         a cipher text was not encrypted with the selected key
+     */
+    public List<String> decrypt(String name, String profiles, List<String> values) {
+        return process(name, profiles, values, (encryptor, value) -> encryptor.decrypt(value), true);
+    }
+
+    private List<String> process(String name, String profiles, List<String> values,
+                                 BiFunction<TextEncryptor, String, String> operation, boolean decrypt) {
+        Objects.requireNonNull(name, "name must not be null");
+        Objects.requireNonNull(profiles, "profiles must not be null");
+        Map<Map<String, String>, TextEncryptor> encryptors = new HashMap<>();
+        List<Callable<String>> tasks = new ArrayList<>(values.size());
+        for (int index = 0; index < values.size(); index++) {
+            int position = index;
+            Map<String, String> keys = EncryptorKeys.of(name, profiles, values.get(index));
+            TextEncryptor encryptor = encryptors.computeIfAbsent(keys, encryptorLocator::locate);
+            String text = EncryptorKeys.stripPrefix(values.get(index));
+            tasks.add(() -> {
+                try {
+                    String result = operation.apply(encryptor, text);
+                    return decrypt ? result : EncryptorKeys.addPrefix(keys, result);
+                }
+                catch (IllegalArgumentException | IllegalStateException exception) {
+                    if (decrypt) {
+                        throw new InvalidCipherTextException(position, exception);
+                    }
+                    throw exception;
+                }
+            });
+        }
+        try {
+            List<String> results = new ArrayList<>(values.size());
+            for (Future<String> result : executor.invokeAll(tasks)) {
+                results.add(result.get());
+            }
+            return results;
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while processing the batch", interruptedException);
+        }
+        catch (ExecutionException executionException) {
+            Throwable cause = executionException.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Stop the thread pool.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
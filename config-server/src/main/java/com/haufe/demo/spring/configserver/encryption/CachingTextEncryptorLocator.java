@@ -0,0 +1,81 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Puts the {@link DecryptedValueCache} in front of the config server's {@link TextEncryptorLocator}: decryptions are
+ * answered from the cache, and the (possibly expensive) lookup of the key, e.g., in a key store, happens on a miss
+ * only. Encryptions are not cached.
+ * <p>
+ * The key id is made up of the {@code key} and {@code secret} prefixes of the cipher text (e.g.,
+ * <code>{cipher}{key:alias}...</code>), the only ones the config server's locators select the key by.
+ */
+public class CachingTextEncryptorLocator implements TextEncryptorLocator {
+
+    private static final String KEY = "key";
+    private static final String SECRET = "secret";
+
+    private final TextEncryptorLocator delegate;
+    private final DecryptedValueCache cache;
+
+    /**
+     * Construct a caching locator.
+     *
+     * @param delegate
+     *         the locator providing the encryptors, must not be {@literal null}
+     * @param cache
+     *         the cache of the decrypted values, must not be {@literal null}
+     */
+    public CachingTextEncryptorLocator(TextEncryptorLocator delegate, DecryptedValueCache cache) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.cache = Objects.requireNonNull(cache, "cache must not be null");
+    }
+
+    /**
+     * Strip the cache off a locator, for callers whose decryptions must not fill it (e.g., bulk decryptions, which
+     * would evict the values the environment endpoints need).
+     *
+     * @param locator
+     *         the locator, possibly a caching one, must not be {@literal null}
+     * @return the locator providing the encryptors without the cache
+     */
+    public static TextEncryptorLocator undecorated(TextEncryptorLocator locator) {
+        Objects.requireNonNull(locator, "locator must not be null");
+        return locator instanceof CachingTextEncryptorLocator
+                ? ((CachingTextEncryptorLocator) locator).delegate
+                : locator;
+    }
+
+    @Override
+    public TextEncryptor locate(Map<String, String> keys) {
+        String keyId = keys.getOrDefault(KEY, "") + '\u0000' + keys.getOrDefault(SECRET, "");
+        return new TextEncryptor() {
+
+            private volatile TextEncryptor encryptor;
+
+            @Override
+            public String encrypt(String text) {
+                return encryptor().encrypt(text);
+            }
+
+            @Override
+            public String decrypt(String encryptedText) {
+                return cache.decrypt(keyId, encryptedText, () -> encryptor().decrypt(encryptedText));
+            }
+
+            // the key is looked up once per located encryptor, so callers can reuse it for many values
+            private TextEncryptor encryptor() {
+                TextEncryptor located = encryptor;
+                if (located == null) {
+                    located = delegate.locate(keys);
+                    encryptor = located;
+                }
+                return located;
+            }
+        };
+    }
+}
@@ -0,0 +1,201 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A bounded in-memory cache of decrypted {@code {cipher}} values, keyed by cipher text and key id.
+ * <p>
+ * The plain texts are held in character arrays that are overwritten with zeros when they are evicted, expire or are
+ * invalidated; they are never logged or written to disk. (The strings handed out to the config server are ordinary
+ * strings, of course, and live as long as the responses built from them.) The cache is invalidated when a
+ * configuration property of the {@code encrypt} namespace changes, i.e., when the keys are rotated.
+ */
+public class DecryptedValueCache implements ApplicationListener<EnvironmentChangeEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DecryptedValueCache.class);
+
+    private static final String KEY_PROPERTIES_PREFIX = "encrypt.";
+
+    private final long timeToLive;
+    private final LongSupplier clock;
+    private final Map<CacheKey, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Construct a cache that measures time with {@link System#currentTimeMillis()}.
+     *
+     * @param maxEntries
+     *         the maximum number of cached plain texts, must be positive
+     * @param timeToLive
+     *         the time in milliseconds a plain text is kept, values less than 1 disable the expiration
+     */
+    public DecryptedValueCache(int maxEntries, long timeToLive) {
+        this(maxEntries, timeToLive, System::currentTimeMillis);
+    }
+
+    DecryptedValueCache(int maxEntries, long timeToLive, LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.timeToLive = timeToLive;
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<CacheKey, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                if (size() > maxEntries) {
+                    eldest.getValue().clear();
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Get the plain text of a cipher text from the cache or decrypt it.
+     *
+     * @param keyId
+     *         identifies the key the cipher text was encrypted with, must not be {@literal null}
+     * @param cipherText
+     *         the cipher text (without prefixes), must not be {@literal null}
+     * @param decryptor
+     *         decrypts the cipher text, must not be {@literal null}
+     * @return the plain text, {@literal null} if the decryptor returned {@literal null}
+     * @throws RuntimeException
+     *         the exception thrown by the decryptor; failures are not cached
+     */
+    public String decrypt(String keyId, String cipherText, Supplier<String> decryptor) {
+        Objects.requireNonNull(decryptor, "decryptor must not be null");
+        CacheKey key = new CacheKey(keyId, cipherText);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(clock.getAsLong())) {
+                    hits.incrementAndGet();
+                    return new String(entry.plainText);
+                }
+                entries.remove(key).clear();
+            }
+        }
+        misses.incrementAndGet();
+        String plainText = decryptor.get();
+        if (plainText != null) {
+            Entry previous = entries.put(key, new Entry(plainText.toCharArray(), clock.getAsLong()));
+            if (previous != null) {
+                previous.clear();
+            }
+        }
+        return plainText;
+    }
+
+    /**
+     * Remove and zero all plain texts.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.values().forEach(Entry::clear);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Invalidate the cache if a key property (e.g., {@code encrypt.key} or {@code encrypt.keyStore.alias}) changed.
+     *
+     * @param event
+     *         the event listing the changed configuration properties
+     */
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(KEY_PROPERTIES_PREFIX))) {
+            LOG.info("Encryption keys changed, invalidating the decrypted values");
+            invalidateAll();
+        }
+    }
+
+    /**
+     * The number of cached plain texts.
+     *
+     * @return the size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The number of decryptions answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * The number of decryptions that had to decrypt the cipher text.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class CacheKey {
+
+        private final String keyId;
+        private final String cipherText;
+
+        private CacheKey(String keyId, String cipherText) {
+            this.keyId = Objects.requireNonNull(keyId, "keyId must not be null");
+            this.cipherText = Objects.requireNonNull(cipherText, "cipherText must not be null");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return keyId.equals(that.keyId) && cipherText.equals(that.cipherText);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyId, cipherText);
+        }
+    }
+
+    private final class Entry {
+
+        private final char[] plainText;
+        private final long decryptedAt;
+
+        private Entry(char[] plainText, long decryptedAt) {
+            this.plainText = plainText;
+            this.decryptedAt = decryptedAt;
+        }
+
+        private boolean isExpired(long now) {
+            return timeToLive > 0 && now - decryptedAt >= timeToLive;
+        }
+
+        private void clear() {
+            Arrays.fill(plainText, '\0');
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the cache of decrypted values, active unless the configuration property
+ * {@code haufe.configserver.decryptionCache.enabled} is {@literal false}.
+ *
+ * @see DecryptedValueCache
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.decryptionCache", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(DecryptionCacheProperties.class)
+public class DecryptionCacheConfiguration {
+
+    /**
+     * The post processor putting the cache in front of the text encryptor locator.
+     *
+     * @return the post processor
+     */
+    @Bean
+    public static DecryptionCachePostProcessor decryptionCachePostProcessor() {
+        return new DecryptionCachePostProcessor();
+    }
+
+    /**
+     * The cache of decrypted values.
+     *
+     * @param decryptionCacheProperties
+     *         the cache's configuration properties
+     * @return the cache
+     */
+    @Bean
+    public DecryptedValueCache decryptedValueCache(DecryptionCacheProperties decryptionCacheProperties) {
+        return new DecryptedValueCache(decryptionCacheProperties.getMaxEntries(),
+                                       decryptionCacheProperties.getTimeToLive());
+    }
+}
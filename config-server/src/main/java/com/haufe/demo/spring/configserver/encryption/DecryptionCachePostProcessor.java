@@ -0,0 +1,35 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+
+/**
+ * Wraps the config server's {@link TextEncryptorLocator} beans in a {@link CachingTextEncryptorLocator}, so the
+ * environment endpoint, the resource endpoint and the delta endpoint decrypt each {@code {cipher}} value once.
+ */
+public class DecryptionCachePostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof TextEncryptorLocator) || bean instanceof CachingTextEncryptorLocator) {
+            return bean;
+        }
+        return new CachingTextEncryptorLocator((TextEncryptorLocator) bean,
+                                               beanFactory.getBean(DecryptedValueCache.class));
+    }
+}
@@ -0,0 +1,113 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's cache of decrypted values.
+ */
+@ConfigurationProperties("haufe.configserver.decryptionCache")
+public class DecryptionCacheProperties {
+
+    /**
+     * Flag to enable or disable the cache of decrypted values.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of cached plain texts.
+     */
+    private int maxEntries = 10000;
+
+    /**
+     * The time in milliseconds a plain text is kept in memory; values less than 1 disable the expiration.
+     */
+    private long timeToLive = 3600000L;
+
+    /**
+     * Is the cache of decrypted values enabled?
+     *
+     * @return {@literal true} (the default) if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the cache of decrypted values.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The maximum number of cached plain texts.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set the maximum number of cached plain texts.
+     *
+     * @param maxEntries
+     *         the new maximum number of entries, must be positive
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The time to live of cached plain texts in milliseconds.
+     *
+     * @return the time to live
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Set the time to live of cached plain texts in milliseconds.
+     *
+     * @param timeToLive
+     *         the new time to live, values less than 1 disable the expiration
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DecryptionCacheProperties)) {
+            return false;
+        }
+        DecryptionCacheProperties that = (DecryptionCacheProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getMaxEntries() == that.getMaxEntries() &&
+                getTimeToLive() == that.getTimeToLive();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getMaxEntries(), getTimeToLive());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DecryptionCacheProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", maxEntries=").append(maxEntries);
+        sb.append(", timeToLive=").append(timeToLive);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Handles the prefixes of values to encrypt and of cipher texts (e.g., <code>{key:alias}{secret:name}</code>) the
+ * same way as the config server's encryption endpoints, whose helper is not public.
+ */
+final class EncryptorKeys {
+
+    private static final String NAME = "name";
+    private static final String PROFILES = "profiles";
+    private static final String ESCAPE = "{plain}";
+
+    private EncryptorKeys() {
+    }
+
+    /**
+     * Determine the keys selecting the encryptor of a value.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param text
+     *         the value, possibly with prefixes
+     * @return the keys, the prefixes plus the name and profiles, never {@literal null}
+     */
+    static Map<String, String> of(String name, String profiles, String text) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        String remaining = text.replaceFirst("\\{name:.*\\}", "").replaceFirst("\\{profiles:.*\\}", "");
+        keys.put(NAME, name);
+        keys.put(PROFILES, profiles);
+        if (remaining.contains(ESCAPE)) {
+            remaining = remaining.substring(0, remaining.indexOf(ESCAPE));
+        }
+        String[] tokens = StringUtils.split(remaining, "}");
+        while (tokens != null) {
+            String token = tokens[0].trim();
+            if (token.startsWith("{")) {
+                int colon = token.indexOf(':');
+                if (colon > 0 && !token.endsWith(":")) {
+                    keys.put(token.substring(1, colon), token.substring(colon + 1));
+                }
+                else {
+                    keys.put(token.substring(1), "");
+                }
+            }
+            tokens = StringUtils.split(tokens[1], "}");
+        }
+        return keys;
+    }
+
+    /**
+     * Prepend the prefixes to a cipher text, so it can be decrypted with the same key.
+     *
+     * @param keys
+     *         the keys the value was encrypted with
+     * @param cipherText
+     *         the cipher text
+     * @return the cipher text with prefixes, never {@literal null}
+     */
+    static String addPrefix(Map<String, String> keys, String cipherText) {
+        StringBuilder builder = new StringBuilder();
+        keys.forEach((key, value) -> {
+            if (!NAME.equals(key) && !PROFILES.equals(key)) {
+                builder.append('{').append(key).append(':').append(value).append('}');
+            }
+        });
+        return builder.append(cipherText).toString();
+    }
+
+    /**
+     * Remove the prefixes from a value.
+     *
+     * @param value
+     *         the value, possibly with prefixes
+     * @return the value without prefixes, never {@literal null}
+     */
+    static String stripPrefix(String value) {
+        if (!value.contains("}")) {
+            return value;
+        }
+        if (value.contains(ESCAPE)) {
+            return value.substring(value.indexOf(ESCAPE) + ESCAPE.length());
+        }
+        return value.substring(value.lastIndexOf('}') + 1);
+    }
+}
@@ -0,0 +1,34 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+/**
+ * Signals that a value of a batch could not be decrypted. The exception carries the position of the value only,
+ * never the value itself.
+ */
+public class InvalidCipherTextException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+
+    /**
+     * Construct an exception.
+     *
+     * @param index
+     *         the position of the value in the batch
+     * @param cause
+     *         the failure of the decryption
+     */
+    public InvalidCipherTextException(int index, Throwable cause) {
+        super("value " + index + " was not encrypted with this key", cause);
+        this.index = index;
+    }
+
+    /**
+     * The position of the value in the batch.
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+}
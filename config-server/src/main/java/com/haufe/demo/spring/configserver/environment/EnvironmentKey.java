@@ -0,0 +1,85 @@
+package com.haufe.demo.spring.configserver.environment;
+
+import java.util.Objects;
+
+/**
+ * Identifies an environment by application name, profiles and label, just like a config server request.
+ */
+public final class EnvironmentKey {
+
+    private final String name;
+    private final String profiles;
+    private final String label;
+
+    /**
+     * Construct an environment key.
+     *
+     * @param name
+     *         the application name, must not be {@literal null}
+     * @param profiles
+     *         the comma separated profiles, must not be {@literal null}
+     * @param label
+     *         the label (e.g., the git branch), {@literal null} selects the repository's default label
+     */
+    public EnvironmentKey(String name, String profiles, String label) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.profiles = Objects.requireNonNull(profiles, "profiles must not be null");
+        this.label = label;
+    }
+
+    /**
+     * The application name.
+     *
+     * @return the name, never {@literal null}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The comma separated profiles.
+     *
+     * @return the profiles, never {@literal null}
+     */
+    public String getProfiles() {
+        return profiles;
+    }
+
+    /**
+     * The label.
+     *
+     * @return the label, {@literal null} for the repository's default label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnvironmentKey)) {
+            return false;
+        }
+        EnvironmentKey that = (EnvironmentKey) o;
+        return Objects.equals(getName(), that.getName()) &&
+                Objects.equals(getProfiles(), that.getProfiles()) &&
+                Objects.equals(getLabel(), that.getLabel());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName(), getProfiles(), getLabel());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("EnvironmentKey{");
+        sb.append("name='").append(name).append('\'');
+        sb.append(", profiles='").append(profiles).append('\'');
+        sb.append(", label='").append(label).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.haufe.demo.spring.configserver.environment;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Determines the versions of environments that clients compare to detect changes.
+ */
+public final class EnvironmentVersions {
+
+    private EnvironmentVersions() {
+    }
+
+    /**
+     * Determine the version of an environment: the version reported by the repository (e.g., the git commit id)
+     * or, if there is none (like for the native backend), a digest of the property sources.
+     *
+     * @param environment
+     *         the environment, must not be {@literal null}
+     * @return the version, never {@literal null}
+     */
+    public static String versionOf(Environment environment) {
+        Objects.requireNonNull(environment, "environment must not be null");
+        if (environment.getVersion() != null) {
+            return environment.getVersion();
+        }
+        StringBuilder content = new StringBuilder();
+        for (PropertySource propertySource : environment.getPropertySources()) {
+            content.append(propertySource.getName()).append('\n')
+                    .append(new TreeMap<>(propertySource.getSource())).append('\n');
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
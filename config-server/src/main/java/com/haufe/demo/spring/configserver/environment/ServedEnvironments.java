@@ -0,0 +1,47 @@
+package com.haufe.demo.spring.configserver.environment;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentEncryptorEnvironmentRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Post-processes environments read from the (unencrypted) repository the way the config server's environment
+ * endpoint serves them, i.e., decrypts {@code {cipher}} values and applies the property overrides.
+ */
+public class ServedEnvironments {
+
+    private final EnvironmentEncryptor environmentEncryptor;
+    private final Map<String, String> overrides;
+
+    /**
+     * Construct the post-processing.
+     *
+     * @param environmentEncryptor
+     *         the encryptor that decrypts {@code {cipher}} values, might be {@literal null}
+     * @param overrides
+     *         the config server's property overrides, must not be {@literal null}
+     */
+    public ServedEnvironments(EnvironmentEncryptor environmentEncryptor, Map<String, String> overrides) {
+        this.environmentEncryptor = environmentEncryptor;
+        this.overrides = new LinkedHashMap<>(Objects.requireNonNull(overrides, "overrides must not be null"));
+    }
+
+    /**
+     * Post-process an environment like the config server's environment endpoint does.
+     *
+     * @param raw
+     *         the environment read from the repository, must not be {@literal null}
+     * @return the environment as served to the clients
+     */
+    public Environment served(Environment raw) {
+        Objects.requireNonNull(raw, "raw must not be null");
+        EnvironmentEncryptorEnvironmentRepository encrypted =
+                new EnvironmentEncryptorEnvironmentRepository((name, profiles, label) -> raw, environmentEncryptor);
+        encrypted.setOverrides(overrides);
+        return encrypted.findOne(raw.getName(), null, raw.getLabel());
+    }
+}
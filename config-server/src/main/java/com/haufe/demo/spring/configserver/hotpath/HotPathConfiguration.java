@@ -0,0 +1,67 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the latency histograms of the config fetches' phases, active unless the
+ * configuration property {@code haufe.configserver.hotpath.enabled} is {@literal false}.
+ * <p>
+ * The phases are {@code auth} (the password check of the basic authentication, see
+ * {@link com.haufe.demo.spring.configserver.security.WebSecurityConfig}), {@code cache} (answering from the
+ * environment cache), {@code backend.<kind>} (reading a backend, e.g., git or Vault) and {@code serialization}
+ * (writing the environment to the response).
+ *
+ * @see HotPathMetrics
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.hotpath", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(HotPathProperties.class)
+public class HotPathConfiguration {
+
+    /**
+     * The post processor recording the backend reads.
+     *
+     * @return the post processor
+     */
+    @Bean
+    public static TimingEnvironmentRepositoryPostProcessor timingEnvironmentRepositoryPostProcessor() {
+        return new TimingEnvironmentRepositoryPostProcessor();
+    }
+
+    /**
+     * The post processor recording the serialization of the environments.
+     *
+     * @return the post processor
+     */
+    @Bean
+    public static TimingMessageConverterPostProcessor timingMessageConverterPostProcessor() {
+        return new TimingMessageConverterPostProcessor();
+    }
+
+    /**
+     * The latency histograms, recording the cache hits as well if the environment cache is enabled.
+     *
+     * @param hotPathProperties
+     *         the histograms' configuration properties
+     * @param environmentCache
+     *         the environment cache, if enabled
+     * @return the histograms
+     */
+    @Bean
+    public HotPathMetrics hotPathMetrics(HotPathProperties hotPathProperties,
+                                         ObjectProvider<EnvironmentCache> environmentCache) {
+        HotPathMetrics hotPathMetrics = new HotPathMetrics(hotPathProperties.getMaxSeries());
+        EnvironmentCache cache = environmentCache.getIfAvailable();
+        if (cache != null) {
+            HotPathMetrics.Phase phase = hotPathMetrics.phase("cache");
+            cache.addHitListener((key, nanos) -> phase.record(key.getName(), key.getProfiles(), key.getLabel(),
+                                                              nanos));
+        }
+        return hotPathMetrics;
+    }
+}
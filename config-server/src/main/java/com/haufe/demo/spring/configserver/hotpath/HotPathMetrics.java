@@ -0,0 +1,175 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency histograms of the phases of the config fetches (e.g., authentication, backend reads, serialization),
+ * exposed in the actuator's metrics endpoint.
+ * <p>
+ * Each phase has a histogram of all its latencies, {@code hotpath.<phase>}, and one per environment, i.e., per
+ * application, profiles and label, {@code hotpath.<phase>.<application>.<profiles>.<label>}. The number of
+ * environment histograms is bounded; once the bound is reached, the latencies of further environments go to
+ * {@code hotpath.<phase>.overflow}. Each histogram is exposed as {@code count} and as {@code mean}, {@code p50},
+ * {@code p95}, {@code p99} and {@code max} in milliseconds.
+ * <p>
+ * Recording a latency of an environment that already has its histogram allocates nothing: the phases are created
+ * up front and the histograms are looked up by the strings the request already carries.
+ */
+public class HotPathMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "hotpath.";
+    private static final String NO_LABEL = "none";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final int maxSeries;
+    private final AtomicInteger seriesCount = new AtomicInteger();
+    private final ConcurrentMap<String, Phase> phases = new ConcurrentHashMap<>();
+
+    /**
+     * Construct the metrics.
+     *
+     * @param maxSeries
+     *         the maximum number of environment histograms of all phases together
+     */
+    public HotPathMetrics(int maxSeries) {
+        this.maxSeries = maxSeries;
+    }
+
+    /**
+     * Get a phase, creating it if it does not exist yet. Look the phases up once and keep them, rather than on each
+     * request.
+     *
+     * @param name
+     *         the phase's name, e.g., {@code auth} or {@code backend.git}, must not be {@literal null}
+     * @return the phase, never {@literal null}
+     */
+    public Phase phase(String name) {
+        return phases.computeIfAbsent(name, Phase::new);
+    }
+
+    /**
+     * The number of environment histograms.
+     *
+     * @return the number of histograms tagged with an environment
+     */
+    public int getSeriesCount() {
+        return seriesCount.get();
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        phases.values().forEach(phase -> {
+            String phasePrefix = PREFIX + phase.name;
+            addMetrics(metrics, phasePrefix, phase.all);
+            addMetrics(metrics, phasePrefix + ".overflow", phase.overflow);
+            phase.series.forEach((application, byProfiles) -> byProfiles.forEach(
+                    (profiles, byLabel) -> byLabel.forEach((label, histogram) -> addMetrics(
+                            metrics, phasePrefix + '.' + application + '.' + profiles + '.' + label, histogram))));
+        });
+        return metrics;
+    }
+
+    private static void addMetrics(List<Metric<?>> metrics, String name, LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        if (count == 0L) {
+            return;
+        }
+        metrics.add(new Metric<>(name + ".count", count));
+        metrics.add(new Metric<>(name + ".mean", histogram.getMean() / NANOS_PER_MILLI));
+        metrics.add(new Metric<>(name + ".p50", histogram.getPercentile(50.0) / NANOS_PER_MILLI));
+        metrics.add(new Metric<>(name + ".p95", histogram.getPercentile(95.0) / NANOS_PER_MILLI));
+        metrics.add(new Metric<>(name + ".p99", histogram.getPercentile(99.0) / NANOS_PER_MILLI));
+        metrics.add(new Metric<>(name + ".max", histogram.getMax() / NANOS_PER_MILLI));
+    }
+
+    /**
+     * A phase of the config fetches with its histograms.
+     */
+    public final class Phase {
+
+        private final String name;
+        private final LatencyHistogram all = new LatencyHistogram();
+        private final LatencyHistogram overflow = new LatencyHistogram();
+        private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>>> series =
+                new ConcurrentHashMap<>();
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * The phase's name.
+         *
+         * @return the name, never {@literal null}
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Record a latency not attributable to an environment.
+         *
+         * @param nanos
+         *         the latency in nanoseconds
+         */
+        public void record(long nanos) {
+            all.record(nanos);
+        }
+
+        /**
+         * Record a latency of an environment.
+         *
+         * @param application
+         *         the environment's application name, might be {@literal null} to record the latency untagged
+         * @param profiles
+         *         the environment's comma separated profiles, might be {@literal null} to record the latency untagged
+         * @param label
+         *         the environment's label, might be {@literal null}
+         * @param nanos
+         *         the latency in nanoseconds
+         */
+        public void record(String application, String profiles, String label, long nanos) {
+            all.record(nanos);
+            if (application != null && profiles != null) {
+                histogramOf(application, profiles, label != null ? label : NO_LABEL).record(nanos);
+            }
+        }
+
+        private LatencyHistogram histogramOf(String application, String profiles, String label) {
+            Map<String, ConcurrentMap<String, LatencyHistogram>> byProfiles = series.get(application);
+            if (byProfiles != null) {
+                Map<String, LatencyHistogram> byLabel = byProfiles.get(profiles);
+                if (byLabel != null) {
+                    LatencyHistogram histogram = byLabel.get(label);
+                    if (histogram != null) {
+                        return histogram;
+                    }
+                }
+            }
+            if (seriesCount.get() >= maxSeries) {
+                return overflow;
+            }
+            LatencyHistogram histogram = series
+                    .computeIfAbsent(application, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(profiles, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(label, key -> {
+                        if (seriesCount.incrementAndGet() > maxSeries) {
+                            seriesCount.decrementAndGet();
+                            return null;
+                        }
+                        return new LatencyHistogram();
+                    });
+            return histogram != null ? histogram : overflow;
+        }
+    }
+}
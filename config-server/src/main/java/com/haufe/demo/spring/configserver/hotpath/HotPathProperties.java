@@ -0,0 +1,88 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the latency histograms of the config fetches' phases.
+ */
+@ConfigurationProperties("haufe.configserver.hotpath")
+public class HotPathProperties {
+
+    /**
+     * Flag to enable or disable the latency histograms.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of histograms tagged with an environment.
+     */
+    private int maxSeries = 200;
+
+    /**
+     * Are the latency histograms enabled?
+     *
+     * @return {@literal true} (the default) if the latencies of the phases are recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the latency histograms.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The maximum number of histograms tagged with an environment, i.e., with application, profiles and label, of
+     * all phases together; the latencies of further environments are recorded as overflow.
+     *
+     * @return the maximum number of tagged histograms
+     */
+    public int getMaxSeries() {
+        return maxSeries;
+    }
+
+    /**
+     * Set the maximum number of histograms tagged with an environment.
+     *
+     * @param maxSeries
+     *         the new maximum number of tagged histograms
+     */
+    public void setMaxSeries(int maxSeries) {
+        this.maxSeries = maxSeries;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HotPathProperties)) {
+            return false;
+        }
+        HotPathProperties that = (HotPathProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getMaxSeries() == that.getMaxSeries();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getMaxSeries());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("HotPathProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", maxSeries=").append(maxSeries);
+        sb.append('}');
+        return sb.toString();
+    }
+}
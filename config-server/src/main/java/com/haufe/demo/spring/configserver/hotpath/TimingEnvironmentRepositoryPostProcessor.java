@@ -0,0 +1,78 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import com.haufe.demo.spring.configserver.bulkhead.EnvironmentBulkheads;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.server.environment.CompositeEnvironmentRepository;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Records the latencies of the config server's backends, i.e., of its {@link EnvironmentRepository} beans but the
+ * composite one, in the phase {@code backend.<kind>} of the {@link HotPathMetrics} (e.g., {@code backend.git} or
+ * {@code backend.vault}).
+ * <p>
+ * The post processor is ordered, so it runs before the unordered
+ * {@link com.haufe.demo.spring.configserver.cache.CachingEnvironmentRepositoryPostProcessor cache}: environments
+ * served from the cache are not recorded as backend reads.
+ */
+public class TimingEnvironmentRepositoryPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private static final Method FIND_ONE =
+            ClassUtils.getMethod(EnvironmentRepository.class, "findOne", String.class, String.class, String.class);
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof EnvironmentRepository)
+                || CompositeEnvironmentRepository.class.isAssignableFrom(AopProxyUtils.ultimateTargetClass(bean))) {
+            return bean;
+        }
+        HotPathMetrics.Phase phase = beanFactory.getBean(HotPathMetrics.class)
+                .phase("backend." + EnvironmentBulkheads.kindOf((EnvironmentRepository) bean));
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setInterfaces(ClassUtils.getAllInterfaces(bean));
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Method method = invocation.getMethod();
+            if (!method.getName().equals(FIND_ONE.getName())
+                    || !Arrays.equals(method.getParameterTypes(), FIND_ONE.getParameterTypes())) {
+                return invocation.proceed();
+            }
+            Object[] arguments = invocation.getArguments();
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            }
+            finally {
+                phase.record((String) arguments[0], (String) arguments[1], (String) arguments[2],
+                             System.nanoTime() - start);
+            }
+        });
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+}
@@ -0,0 +1,124 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records the time it takes to write environments (e.g., as JSON or Smile) to the response, attributed to the
+ * written environment. All other reads and writes are delegated untimed.
+ */
+public class TimingHttpMessageConverter implements GenericHttpMessageConverter<Object> {
+
+    private final GenericHttpMessageConverter<Object> delegate;
+    private final HotPathMetrics.Phase phase;
+
+    /**
+     * Construct a converter.
+     *
+     * @param delegate
+     *         the converter doing the work, must not be {@literal null}
+     * @param phase
+     *         the phase to record the writes of environments in, must not be {@literal null}
+     */
+    public TimingHttpMessageConverter(GenericHttpMessageConverter<Object> delegate, HotPathMetrics.Phase phase) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.phase = Objects.requireNonNull(phase, "phase must not be null");
+    }
+
+    /**
+     * The converter doing the work.
+     *
+     * @return the delegate, never {@literal null}
+     */
+    public GenericHttpMessageConverter<Object> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return delegate.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return delegate.read(type, contextClass, inputMessage);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return delegate.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    public void write(Object t, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(t instanceof Environment)) {
+            delegate.write(t, type, contentType, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.write(t, type, contentType, outputMessage);
+        }
+        finally {
+            record((Environment) t, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return delegate.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return delegate.read(clazz, inputMessage);
+    }
+
+    @Override
+    public void write(Object t, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(t instanceof Environment)) {
+            delegate.write(t, contentType, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.write(t, contentType, outputMessage);
+        }
+        finally {
+            record((Environment) t, System.nanoTime() - start);
+        }
+    }
+
+    private void record(Environment environment, long nanos) {
+        String[] profiles = environment.getProfiles();
+        // the usual single profile is looked up as is, only several profiles are joined
+        String joinedProfiles = profiles == null || profiles.length == 0 ? null
+                : profiles.length == 1 ? profiles[0] : StringUtils.arrayToCommaDelimitedString(profiles);
+        phase.record(environment.getName(), joinedProfiles, environment.getLabel(), nanos);
+    }
+}
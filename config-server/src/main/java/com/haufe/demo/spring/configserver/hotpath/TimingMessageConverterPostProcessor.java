@@ -0,0 +1,55 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps the message converters writing environments (e.g., the JSON and the Smile converter) of Spring MVC's
+ * {@link RequestMappingHandlerAdapter} in {@link TimingHttpMessageConverter}s recording the phase
+ * {@code serialization} of the {@link HotPathMetrics}. The converters are wrapped before the adapter is initialized,
+ * i.e., after all {@link org.springframework.web.servlet.config.annotation.WebMvcConfigurer}s have added theirs.
+ */
+public class TimingMessageConverterPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof RequestMappingHandlerAdapter)) {
+            return bean;
+        }
+        RequestMappingHandlerAdapter adapter = (RequestMappingHandlerAdapter) bean;
+        HotPathMetrics.Phase phase = beanFactory.getBean(HotPathMetrics.class).phase("serialization");
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(adapter.getMessageConverters());
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter instanceof GenericHttpMessageConverter && !(converter instanceof TimingHttpMessageConverter)
+                    && converter.canWrite(Environment.class, null)) {
+                converters.set(i, new TimingHttpMessageConverter((GenericHttpMessageConverter<Object>) converter,
+                                                                 phase));
+            }
+        }
+        adapter.setMessageConverters(converters);
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+}
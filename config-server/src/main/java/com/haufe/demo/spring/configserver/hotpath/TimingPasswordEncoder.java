@@ -0,0 +1,45 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Objects;
+
+/**
+ * Records the time the password checks of the basic authentication take, i.e., the BCrypt hashing on every request.
+ * The latencies are not attributed to environments: authentication is over before the request is dispatched, and
+ * its cost depends on the credentials only.
+ */
+public class TimingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final HotPathMetrics.Phase phase;
+
+    /**
+     * Construct an encoder.
+     *
+     * @param delegate
+     *         the encoder doing the work, must not be {@literal null}
+     * @param phase
+     *         the phase to record the password checks in, must not be {@literal null}
+     */
+    public TimingPasswordEncoder(PasswordEncoder delegate, HotPathMetrics.Phase phase) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.phase = Objects.requireNonNull(phase, "phase must not be null");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        finally {
+            phase.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the config server authenticating a request, including the password check.
+ */
+@Name("com.haufe.configserver.AuthenticationDecision")
+@Label("Authentication Decision")
+@Category({"Haufe", "Config Server"})
+@Description("A request authenticated by the config server")
+@StackTrace(false)
+class AuthenticationDecisionEvent extends jdk.jfr.Event {
+
+    @Label("Username")
+    String username;
+
+    @Label("Granted")
+    boolean granted;
+
+    @Label("Reason")
+    @Description("The exception denying the authentication")
+    String reason;
+}
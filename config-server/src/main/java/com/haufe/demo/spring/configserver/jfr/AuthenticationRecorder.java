@@ -0,0 +1,46 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.Objects;
+
+/**
+ * Records the authentication decisions of an {@link AuthenticationManager} as flight recorder events
+ * ({@code com.haufe.configserver.AuthenticationDecision}) with the username, the decision and its duration. The
+ * credentials are never recorded.
+ */
+public class AuthenticationRecorder {
+
+    /**
+     * Wrap an authentication manager in one recording its decisions.
+     *
+     * @param authenticationManager
+     *         the authentication manager deciding, must not be {@literal null}
+     * @return the recording authentication manager
+     */
+    public AuthenticationManager recording(AuthenticationManager authenticationManager) {
+        Objects.requireNonNull(authenticationManager, "authenticationManager must not be null");
+        return authentication -> {
+            AuthenticationDecisionEvent event = new AuthenticationDecisionEvent();
+            if (!event.isEnabled()) {
+                return authenticationManager.authenticate(authentication);
+            }
+            event.begin();
+            event.username = authentication.getName();
+            try {
+                Authentication result = authenticationManager.authenticate(authentication);
+                event.granted = result != null && result.isAuthenticated();
+                return result;
+            }
+            catch (AuthenticationException authenticationException) {
+                event.reason = authenticationException.getClass().getSimpleName();
+                throw authenticationException;
+            }
+            finally {
+                event.commit();
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+
+/**
+ * Records the requests answered from the {@link EnvironmentCache} as flight recorder events
+ * ({@code com.haufe.configserver.EnvironmentCacheHit}).
+ */
+public class CacheHitRecorder implements EnvironmentCache.HitListener {
+
+    @Override
+    public void hit(EnvironmentKey key, long nanos) {
+        EnvironmentCacheHitEvent event = new EnvironmentCacheHitEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.application = key.getName();
+        event.profiles = key.getProfiles();
+        event.label = key.getLabel();
+        event.lookupTime = nanos;
+        event.commit();
+    }
+}
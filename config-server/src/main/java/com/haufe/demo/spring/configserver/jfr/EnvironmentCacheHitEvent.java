@@ -0,0 +1,33 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of the config server answering a request for an environment from its cache. The cache
+ * reports its hits when they are over, so the event carries the lookup time as a field.
+ */
+@Name("com.haufe.configserver.EnvironmentCacheHit")
+@Label("Environment Cache Hit")
+@Category({"Haufe", "Config Server"})
+@Description("An environment answered from the config server's cache")
+@StackTrace(false)
+class EnvironmentCacheHitEvent extends jdk.jfr.Event {
+
+    @Label("Application")
+    String application;
+
+    @Label("Profiles")
+    String profiles;
+
+    @Label("Label")
+    String label;
+
+    @Label("Lookup Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long lookupTime;
+}
@@ -0,0 +1,43 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the config server reading an environment from one of its repositories, i.e., from a
+ * backend (e.g., git or Vault) or from the composite repository delegating to the backends.
+ */
+@Name("com.haufe.configserver.EnvironmentResolution")
+@Label("Environment Resolution")
+@Category({"Haufe", "Config Server"})
+@Description("An environment read from a repository of the config server")
+@StackTrace(false)
+class EnvironmentResolutionEvent extends jdk.jfr.Event {
+
+    @Label("Application")
+    String application;
+
+    @Label("Profiles")
+    String profiles;
+
+    @Label("Label")
+    String label;
+
+    @Label("Repository")
+    @Description("The name of the repository bean")
+    String repository;
+
+    @Label("Kind")
+    @Description("The kind of the repository, e.g., git, vault or composite")
+    String kind;
+
+    @Label("Version")
+    String version;
+
+    @Label("Outcome")
+    @Description("found, not found or the exception abandoning the read")
+    String outcome;
+}
@@ -0,0 +1,63 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the flight recorder events, active unless the configuration property
+ * {@code haufe.configserver.jfr.enabled} is {@literal false} or the JVM lacks the flight recorder API
+ * ({@code jdk.jfr}, part of Java 8 since update 262).
+ * <p>
+ * The events are in the category {@code Haufe / Config Server}: environment reads from the repositories, cache hits
+ * and authentication decisions. They cost next to nothing unless a recording enables them, e.g., with
+ * {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start}.
+ */
+@Configuration
+@ConditionalOnClass(name = "jdk.jfr.Event")
+@ConditionalOnProperty(prefix = "haufe.configserver.jfr", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfiguration {
+
+    /**
+     * The post processor recording the repository reads.
+     *
+     * @return the post processor
+     */
+    @Bean
+    public static RecordingEnvironmentRepositoryPostProcessor recordingEnvironmentRepositoryPostProcessor() {
+        return new RecordingEnvironmentRepositoryPostProcessor();
+    }
+
+    /**
+     * The recorder of the authentication decisions, see
+     * {@link com.haufe.demo.spring.configserver.security.WebSecurityConfig}.
+     *
+     * @return the recorder
+     */
+    @Bean
+    public AuthenticationRecorder authenticationRecorder() {
+        return new AuthenticationRecorder();
+    }
+
+    /**
+     * The recorder of the cache hits, if the environment cache is enabled.
+     *
+     * @param environmentCache
+     *         the environment cache, if enabled
+     * @return the recorder
+     */
+    @Bean
+    public CacheHitRecorder cacheHitRecorder(ObjectProvider<EnvironmentCache> environmentCache) {
+        CacheHitRecorder recorder = new CacheHitRecorder();
+        EnvironmentCache cache = environmentCache.getIfAvailable();
+        if (cache != null) {
+            cache.addHitListener(recorder);
+        }
+        return recorder;
+    }
+}
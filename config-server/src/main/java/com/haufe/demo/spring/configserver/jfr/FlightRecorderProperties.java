@@ -0,0 +1,61 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's flight recorder events.
+ */
+@ConfigurationProperties("haufe.configserver.jfr")
+public class FlightRecorderProperties {
+
+    /**
+     * Flag to enable or disable the flight recorder events.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Are the flight recorder events enabled?
+     *
+     * @return {@literal true} (the default) if the config server emits its events to recordings
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the flight recorder events.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FlightRecorderProperties)) {
+            return false;
+        }
+        FlightRecorderProperties that = (FlightRecorderProperties) o;
+        return isEnabled() == that.isEnabled();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("FlightRecorderProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append('}');
+        return sb.toString();
+    }
+}
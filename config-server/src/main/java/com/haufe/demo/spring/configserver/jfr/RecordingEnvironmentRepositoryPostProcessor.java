@@ -0,0 +1,81 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import com.haufe.demo.spring.configserver.bulkhead.EnvironmentBulkheads;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Records the reads of the config server's {@link EnvironmentRepository} beans as flight recorder events
+ * ({@code com.haufe.configserver.EnvironmentResolution}). The reads of the composite repository and of its
+ * backends are recorded separately, so a recording shows which backend a read spent its time in.
+ * <p>
+ * The post processor is ordered, so it runs before the unordered
+ * {@link com.haufe.demo.spring.configserver.cache.CachingEnvironmentRepositoryPostProcessor cache}; the cache hits
+ * are recorded by the cache's hit listener instead.
+ */
+public class RecordingEnvironmentRepositoryPostProcessor implements BeanPostProcessor, Ordered {
+
+    private static final Method FIND_ONE =
+            ClassUtils.getMethod(EnvironmentRepository.class, "findOne", String.class, String.class, String.class);
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof EnvironmentRepository)) {
+            return bean;
+        }
+        String kind = EnvironmentBulkheads.kindOf((EnvironmentRepository) bean);
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setInterfaces(ClassUtils.getAllInterfaces(bean));
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Method method = invocation.getMethod();
+            if (!method.getName().equals(FIND_ONE.getName())
+                    || !Arrays.equals(method.getParameterTypes(), FIND_ONE.getParameterTypes())) {
+                return invocation.proceed();
+            }
+            EnvironmentResolutionEvent event = new EnvironmentResolutionEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            Object[] arguments = invocation.getArguments();
+            event.begin();
+            event.application = (String) arguments[0];
+            event.profiles = (String) arguments[1];
+            event.label = (String) arguments[2];
+            event.repository = beanName;
+            event.kind = kind;
+            try {
+                Object result = invocation.proceed();
+                event.outcome = result != null ? "found" : "not found";
+                event.version = result instanceof Environment ? ((Environment) result).getVersion() : null;
+                return result;
+            }
+            catch (Throwable throwable) {
+                event.outcome = throwable.getClass().getSimpleName();
+                throw throwable;
+            }
+            finally {
+                event.commit();
+            }
+        });
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+}
@@ -0,0 +1,65 @@
+package com.haufe.demo.spring.configserver.lanes;
+
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Determines the client class of a request from the application it fetches, i.e., from the first segment of its path
+ * ({@code /{application}/{profiles}[/{label}]}, also for the resource requests) or the second one of the watch and
+ * delta requests ({@code /watch/{application}/...}, {@code /delta/{application}/...}).
+ * <p>
+ * All config clients share the same credentials, so the application name is what tells them apart. It needs no
+ * authentication, so the requests can be sorted into the lanes before their passwords are checked.
+ */
+public class ApplicationClientClasses implements Function<HttpServletRequest, String> {
+
+    private static final String[] APPLICATION_PREFIXES = {"watch", "delta"};
+
+    private final String prefix;
+    private final Map<String, String> classes;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /**
+     * Construct the classification.
+     *
+     * @param prefix
+     *         the config server's path prefix, might be {@literal null}
+     * @param classes
+     *         the client class by application name, must not be {@literal null}
+     */
+    public ApplicationClientClasses(String prefix, Map<String, String> classes) {
+        this.prefix = prefix != null ? prefix : "";
+        this.classes = new LinkedHashMap<>(Objects.requireNonNull(classes, "classes must not be null"));
+    }
+
+    /**
+     * The client class of a request.
+     *
+     * @param request
+     *         the request, must not be {@literal null}
+     * @return the class configured for the request's application, {@literal null} if there is none
+     */
+    @Override
+    public String apply(HttpServletRequest request) {
+        if (classes.isEmpty()) {
+            return null;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        if (!path.startsWith(prefix + "/")) {
+            return null;
+        }
+        String[] segments = path.substring(prefix.length() + 1).split("/", 3);
+        String application = segments[0];
+        for (String applicationPrefix : APPLICATION_PREFIXES) {
+            if (applicationPrefix.equals(application)) {
+                application = segments.length > 1 ? segments[1] : "";
+            }
+        }
+        return classes.get(application);
+    }
+}
@@ -0,0 +1,163 @@
+package com.haufe.demo.spring.configserver.lanes;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request-processing lane of the config fetches (i.e., all requests but the actuator's), limited to a share of
+ * the servlet container's threads so the remaining threads stay reserved for health checks and other actuator
+ * requests.
+ * <p>
+ * Each client class may fill the lane up to its own limit only: with the lane filling up, requests of the lower
+ * classes are turned away first, and the highest class can use the whole lane. Requests of unknown classes count as
+ * requests of the default class.
+ */
+public class FetchLane {
+
+    private final int capacity;
+    private final String defaultClass;
+    private final Map<String, Integer> limits;
+    private final Map<String, AtomicLong> rejected;
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * Construct a lane.
+     *
+     * @param capacity
+     *         the maximum number of concurrent requests, must be positive
+     * @param shares
+     *         the share of the capacity in percent each client class may fill, must not be {@literal null}
+     * @param defaultClass
+     *         the class of requests without or with an unknown class, must not be {@literal null}
+     */
+    public FetchLane(int capacity, Map<String, Integer> shares, String defaultClass) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        Objects.requireNonNull(shares, "shares must not be null");
+        this.capacity = capacity;
+        this.defaultClass = Objects.requireNonNull(defaultClass, "defaultClass must not be null");
+        Map<String, Integer> limitMap = new LinkedHashMap<>();
+        Map<String, AtomicLong> rejectedMap = new LinkedHashMap<>();
+        shares.forEach((clientClass, share) -> {
+            limitMap.put(clientClass, limitOf(capacity, share));
+            rejectedMap.put(clientClass, new AtomicLong());
+        });
+        limitMap.putIfAbsent(defaultClass, capacity);
+        rejectedMap.putIfAbsent(defaultClass, new AtomicLong());
+        this.limits = Collections.unmodifiableMap(limitMap);
+        this.rejected = Collections.unmodifiableMap(rejectedMap);
+    }
+
+    private static int limitOf(int capacity, Integer share) {
+        int percent = share != null ? Math.max(0, Math.min(100, share)) : 100;
+        return Math.max(1, capacity * percent / 100);
+    }
+
+    /**
+     * Enter the lane unless it is filled up to the limit of the request's client class. Requests that entered must
+     * {@link #exit()} when they are done.
+     *
+     * @param clientClass
+     *         the client class of the request, might be {@literal null} for the default class
+     * @return {@literal true} if the request entered the lane, {@literal false} if it was turned away
+     */
+    public boolean tryEnter(String clientClass) {
+        String effectiveClass = classOf(clientClass);
+        int limit = limits.get(effectiveClass);
+        while (true) {
+            int current = active.get();
+            if (current >= limit) {
+                rejected.get(effectiveClass).incrementAndGet();
+                return false;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Leave the lane.
+     */
+    public void exit() {
+        active.decrementAndGet();
+    }
+
+    /**
+     * The client class a request counts for.
+     *
+     * @param clientClass
+     *         the client class sent with the request, might be {@literal null}
+     * @return the class if it is known, the default class otherwise
+     */
+    public String classOf(String clientClass) {
+        return clientClass != null && limits.containsKey(clientClass) ? clientClass : defaultClass;
+    }
+
+    /**
+     * The client class a request counts for, given the class configured for it: a request may claim a lower class
+     * than the configured one (e.g., a batch job of a critical client), but never a higher one.
+     *
+     * @param claimedClass
+     *         the client class sent with the request, might be {@literal null}
+     * @param entitledClass
+     *         the client class configured for the request, might be {@literal null} for the default class
+     * @return the claimed class if it is known and not higher than the entitled class, the entitled class (or the
+     * default class if it is unknown) otherwise
+     */
+    public String classOf(String claimedClass, String entitledClass) {
+        String entitled = classOf(entitledClass);
+        if (claimedClass == null || !limits.containsKey(claimedClass)) {
+            return entitled;
+        }
+        return limits.get(claimedClass) <= limits.get(entitled) ? claimedClass : entitled;
+    }
+
+    /**
+     * The maximum number of concurrent requests.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The number of requests in the lane.
+     *
+     * @return the number of active requests
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * The maximum number of concurrent requests by client class.
+     *
+     * @return the limits, never {@literal null}
+     */
+    public Map<String, Integer> getLimits() {
+        return limits;
+    }
+
+    /**
+     * The number of requests turned away by client class.
+     *
+     * @return the counts, never {@literal null}
+     */
+    public Map<String, Long> getRejected() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        rejected.forEach((clientClass, count) -> counts.put(clientClass, count.get()));
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "FetchLane{capacity=" + capacity + ", limits=" + limits + '}';
+    }
+}
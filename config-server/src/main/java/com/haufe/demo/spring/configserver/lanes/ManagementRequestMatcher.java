@@ -0,0 +1,61 @@
+package com.haufe.demo.spring.configserver.lanes;
+
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Tells whether a request is one of the actuator's, i.e., whether its path is the path of an actuator endpoint (e.g.,
+ * {@code /health}), possibly followed by an extension ({@code /health.json}) or a sub-path ({@code /metrics/mem}).
+ * <p>
+ * The endpoint paths are looked up on the first request, when all endpoints are registered.
+ */
+public class ManagementRequestMatcher implements Predicate<HttpServletRequest> {
+
+    private final Supplier<Collection<String>> endpointPaths;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private volatile List<String> paths;
+
+    /**
+     * Construct a matcher.
+     *
+     * @param endpointPaths
+     *         supplies the paths of the actuator endpoints including the management context path, must not be
+     *         {@literal null}
+     */
+    public ManagementRequestMatcher(Supplier<Collection<String>> endpointPaths) {
+        this.endpointPaths = Objects.requireNonNull(endpointPaths, "endpointPaths must not be null");
+    }
+
+    @Override
+    public boolean test(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (String endpointPath : paths()) {
+            if (path.startsWith(endpointPath) && (path.length() == endpointPath.length()
+                    || path.charAt(endpointPath.length()) == '/' || path.charAt(endpointPath.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> paths() {
+        List<String> current = paths;
+        if (current == null) {
+            current = new ArrayList<>();
+            for (String path : endpointPaths.get()) {
+                if (path != null && !path.isEmpty() && !"/".equals(path)) {
+                    current.add(path);
+                }
+            }
+            paths = current;
+        }
+        return current;
+    }
+}
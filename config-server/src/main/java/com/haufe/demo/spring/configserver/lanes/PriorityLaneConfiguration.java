@@ -0,0 +1,125 @@
+package com.haufe.demo.spring.configserver.lanes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.autoconfigure.ManagementServerProperties;
+import org.springframework.boot.actuate.endpoint.mvc.MvcEndpoint;
+import org.springframework.boot.actuate.endpoint.mvc.MvcEndpoints;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.config.server.config.ConfigServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Java Configuration of the request-processing lanes, active unless the configuration property
+ * {@code haufe.configserver.lanes.enabled} is {@literal false}.
+ *
+ * @see PriorityLaneFilter
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.lanes", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(PriorityLaneProperties.class)
+public class PriorityLaneConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PriorityLaneConfiguration.class);
+
+    /**
+     * Tomcat's default maximum number of worker threads.
+     */
+    private static final int DEFAULT_MAX_THREADS = 200;
+
+    /**
+     * The lane of the config fetches, getting all of Tomcat's worker threads but the reserved ones.
+     *
+     * @param properties
+     *         the lanes' configuration
+     * @param serverProperties
+     *         the servlet container's configuration
+     * @return the fetch lane
+     */
+    @Bean
+    public FetchLane fetchLane(PriorityLaneProperties properties, ServerProperties serverProperties) {
+        int maxThreads = serverProperties.getTomcat().getMaxThreads();
+        if (maxThreads <= 0) {
+            maxThreads = DEFAULT_MAX_THREADS;
+        }
+        if (properties.getReserved() < 0 || properties.getReserved() >= maxThreads) {
+            throw new IllegalStateException("haufe.configserver.lanes.reserved must be between 0 and "
+                    + (maxThreads - 1) + " (server.tomcat.max-threads - 1)");
+        }
+        FetchLane fetchLane = new FetchLane(maxThreads - properties.getReserved(), properties.getClasses(),
+                properties.getDefaultClass());
+        LOG.info("{} of {} container threads for config fetches, {} for the actuator", fetchLane.getCapacity(),
+                maxThreads, properties.getReserved());
+        return fetchLane;
+    }
+
+    /**
+     * The filter sorting the requests into the lanes, registered behind the deadline filter and in front of Spring
+     * Security, so requests turned away are not even authenticated.
+     *
+     * @param properties
+     *         the lanes' configuration
+     * @param fetchLane
+     *         the lane of the config fetches
+     * @param configServerProperties
+     *         the config server's configuration, might be unavailable
+     * @param mvcEndpoints
+     *         the actuator's endpoints, might be unavailable
+     * @param managementServerProperties
+     *         the actuator's configuration, might be unavailable
+     * @return the filter's registration
+     */
+    @Bean
+    public FilterRegistrationBean priorityLaneFilter(PriorityLaneProperties properties, FetchLane fetchLane,
+                                                     ObjectProvider<ConfigServerProperties> configServerProperties,
+                                                     ObjectProvider<MvcEndpoints> mvcEndpoints,
+                                                     ObjectProvider<ManagementServerProperties> managementServerProperties) {
+        ManagementRequestMatcher matcher = new ManagementRequestMatcher(
+                () -> endpointPaths(mvcEndpoints.getIfAvailable(), managementServerProperties.getIfAvailable()));
+        ConfigServerProperties server = configServerProperties.getIfAvailable();
+        ApplicationClientClasses clientClasses = new ApplicationClientClasses(
+                server != null ? server.getPrefix() : null, properties.getApplications());
+        FilterRegistrationBean registration = new FilterRegistrationBean(
+                new PriorityLaneFilter(fetchLane, matcher, clientClasses));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 5);
+        return registration;
+    }
+
+    private static Collection<String> endpointPaths(MvcEndpoints mvcEndpoints,
+                                                    ManagementServerProperties managementServerProperties) {
+        List<String> paths = new ArrayList<>();
+        if (mvcEndpoints != null) {
+            String contextPath = managementServerProperties != null ? managementServerProperties.getContextPath() : "";
+            for (MvcEndpoint endpoint : mvcEndpoints.getEndpoints()) {
+                paths.add(contextPath + endpoint.getPath());
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * The lanes' metrics.
+     *
+     * @param fetchLane
+     *         the lane of the config fetches
+     * @param priorityLaneFilter
+     *         the registration of the filter sorting the requests into the lanes
+     * @return the metrics
+     */
+    @Bean
+    public PriorityLaneMetrics priorityLaneMetrics(FetchLane fetchLane,
+                                                   @Qualifier("priorityLaneFilter") FilterRegistrationBean priorityLaneFilter) {
+        return new PriorityLaneMetrics(fetchLane, (PriorityLaneFilter) priorityLaneFilter.getFilter());
+    }
+}
@@ -0,0 +1,111 @@
+package com.haufe.demo.spring.configserver.lanes;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Sorts the requests into two request-processing lanes: the actuator's requests (e.g., the health checks of the
+ * orchestrator) are never limited, all other requests go through the {@link FetchLane}.
+ * <p>
+ * A request the fetch lane turns away is answered with 503 (Service Unavailable) and {@code Retry-After}. Since the
+ * fetch lane is smaller than the servlet container's thread pool, the actuator's requests always find a thread,
+ * however deep the fetch backlog is. The filter runs in front of Spring Security, so requests turned away do not
+ * hold a thread for a password check. The client class of a request is the one configured on the server for what it
+ * fetches (e.g., by {@link ApplicationClientClasses}), the default class otherwise. A request may lower its class
+ * with the header {@value #CLIENT_CLASS_HEADER} (config clients can send it with
+ * {@code spring.cloud.config.headers}), but cannot raise it.
+ * <p>
+ * The lanes count the requests holding a container thread: asynchronous requests (e.g., the watch requests and the
+ * environment requests processed in the bulkheads) leave their lane when they release the thread.
+ */
+public class PriorityLaneFilter extends OncePerRequestFilter {
+
+    /**
+     * The request header carrying the client class.
+     */
+    public static final String CLIENT_CLASS_HEADER = "X-Config-Client-Class";
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final FetchLane fetchLane;
+    private final Predicate<HttpServletRequest> isManagementRequest;
+    private final Function<HttpServletRequest, String> clientClasses;
+    private final AtomicInteger managementActive = new AtomicInteger();
+
+    /**
+     * Construct the filter.
+     *
+     * @param fetchLane
+     *         the lane of all requests but the actuator's, must not be {@literal null}
+     * @param isManagementRequest
+     *         tells whether a request is one of the actuator's, must not be {@literal null}
+     */
+    public PriorityLaneFilter(FetchLane fetchLane, Predicate<HttpServletRequest> isManagementRequest) {
+        this(fetchLane, isManagementRequest, request -> null);
+    }
+
+    /**
+     * Construct the filter.
+     *
+     * @param fetchLane
+     *         the lane of all requests but the actuator's, must not be {@literal null}
+     * @param isManagementRequest
+     *         tells whether a request is one of the actuator's, must not be {@literal null}
+     * @param clientClasses
+     *         tells the client class configured for a request, {@literal null} for the default class, must not be
+     *         {@literal null}
+     */
+    public PriorityLaneFilter(FetchLane fetchLane, Predicate<HttpServletRequest> isManagementRequest,
+                              Function<HttpServletRequest, String> clientClasses) {
+        this.fetchLane = Objects.requireNonNull(fetchLane, "fetchLane must not be null");
+        this.isManagementRequest = Objects.requireNonNull(isManagementRequest, "isManagementRequest must not be null");
+        this.clientClasses = Objects.requireNonNull(clientClasses, "clientClasses must not be null");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isManagementRequest.test(request)) {
+            managementActive.incrementAndGet();
+            try {
+                filterChain.doFilter(request, response);
+            }
+            finally {
+                managementActive.decrementAndGet();
+            }
+            return;
+        }
+        String entitledClass = clientClasses.apply(request);
+        if (!fetchLane.tryEnter(fetchLane.classOf(request.getHeader(CLIENT_CLASS_HEADER), entitledClass))) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "the config server is busy");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        }
+        finally {
+            fetchLane.exit();
+        }
+    }
+
+    /**
+     * The number of actuator requests being processed.
+     *
+     * @return the number of active requests in the management lane
+     */
+    public int getManagementActive() {
+        return managementActive.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.haufe.demo.spring.configserver.lanes;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Exposes the state of the request-processing lanes in the actuator's metrics endpoint as
+ * {@code lanes.fetch.capacity}, {@code lanes.fetch.active}, {@code lanes.fetch.rejected.<class>} and
+ * {@code lanes.management.active}.
+ */
+public class PriorityLaneMetrics implements PublicMetrics {
+
+    private final FetchLane fetchLane;
+    private final PriorityLaneFilter filter;
+
+    /**
+     * Construct the metrics.
+     *
+     * @param fetchLane
+     *         the fetch lane, must not be {@literal null}
+     * @param filter
+     *         the filter sorting the requests into the lanes, must not be {@literal null}
+     */
+    public PriorityLaneMetrics(FetchLane fetchLane, PriorityLaneFilter filter) {
+        this.fetchLane = Objects.requireNonNull(fetchLane, "fetchLane must not be null");
+        this.filter = Objects.requireNonNull(filter, "filter must not be null");
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>("lanes.fetch.capacity", fetchLane.getCapacity()));
+        metrics.add(new Metric<>("lanes.fetch.active", fetchLane.getActive()));
+        fetchLane.getRejected().forEach(
+                (clientClass, count) -> metrics.add(new Metric<>("lanes.fetch.rejected." + clientClass, count)));
+        metrics.add(new Metric<>("lanes.management.active", filter.getManagementActive()));
+        return metrics;
+    }
+}
@@ -0,0 +1,178 @@
+package com.haufe.demo.spring.configserver.lanes;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's request-processing lanes.
+ */
+@ConfigurationProperties("haufe.configserver.lanes")
+public class PriorityLaneProperties {
+
+    /**
+     * Flag to enable or disable the lanes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The number of servlet container threads reserved for the actuator's requests.
+     */
+    private int reserved = 20;
+
+    /**
+     * The client class of requests without or with an unknown class.
+     */
+    private String defaultClass = "standard";
+
+    /**
+     * The share of the fetch lane in percent each client class may fill.
+     */
+    private Map<String, Integer> classes = new LinkedHashMap<>();
+
+    /**
+     * The client class by name of the application a request fetches; the requests of other applications are of the
+     * default class.
+     */
+    private Map<String, String> applications = new LinkedHashMap<>();
+
+    /**
+     * Construct the properties with the client classes {@code critical} (100%), {@code standard} (80%) and
+     * {@code batch} (50%).
+     */
+    public PriorityLaneProperties() {
+        classes.put("critical", 100);
+        classes.put("standard", 80);
+        classes.put("batch", 50);
+    }
+
+    /**
+     * Are the lanes enabled?
+     *
+     * @return {@literal true} (the default) if the fetch requests are limited
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the lanes.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The number of servlet container threads reserved for the actuator's requests; the fetch lane gets the others.
+     *
+     * @return the number of reserved threads
+     */
+    public int getReserved() {
+        return reserved;
+    }
+
+    /**
+     * Set the number of servlet container threads reserved for the actuator's requests.
+     *
+     * @param reserved
+     *         the new number of reserved threads, must be less than the number of container threads
+     */
+    public void setReserved(int reserved) {
+        this.reserved = reserved;
+    }
+
+    /**
+     * The client class of requests without or with an unknown class.
+     *
+     * @return the default class
+     */
+    public String getDefaultClass() {
+        return defaultClass;
+    }
+
+    /**
+     * Set the client class of requests without or with an unknown class.
+     *
+     * @param defaultClass
+     *         the new default class, must not be {@literal null}
+     */
+    public void setDefaultClass(String defaultClass) {
+        this.defaultClass = defaultClass;
+    }
+
+    /**
+     * The share of the fetch lane each client class may fill.
+     *
+     * @return the shares in percent by client class, never {@literal null}
+     */
+    public Map<String, Integer> getClasses() {
+        return classes;
+    }
+
+    /**
+     * Set the share of the fetch lane each client class may fill.
+     *
+     * @param classes
+     *         the new shares in percent by client class
+     */
+    public void setClasses(Map<String, Integer> classes) {
+        this.classes = classes != null ? classes : new LinkedHashMap<>();
+    }
+
+    /**
+     * The client class of each application.
+     *
+     * @return the client classes by application name, never {@literal null}
+     */
+    public Map<String, String> getApplications() {
+        return applications;
+    }
+
+    /**
+     * Set the client class of each application.
+     *
+     * @param applications
+     *         the new client classes by application name
+     */
+    public void setApplications(Map<String, String> applications) {
+        this.applications = applications != null ? applications : new LinkedHashMap<>();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PriorityLaneProperties)) {
+            return false;
+        }
+        PriorityLaneProperties that = (PriorityLaneProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getReserved() == that.getReserved() &&
+                Objects.equals(getDefaultClass(), that.getDefaultClass()) &&
+                Objects.equals(getClasses(), that.getClasses()) &&
+                Objects.equals(getApplications(), that.getApplications());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getReserved(), getDefaultClass(), getClasses(), getApplications());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("PriorityLaneProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", reserved=").append(reserved);
+        sb.append(", defaultClass='").append(defaultClass).append('\'');
+        sb.append(", classes=").append(classes);
+        sb.append(", applications=").append(applications);
+        sb.append('}');
+        return sb.toString();
+    }
+}
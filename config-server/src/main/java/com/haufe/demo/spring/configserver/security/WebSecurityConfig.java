@@ -1,13 +1,19 @@
 package com.haufe.demo.spring.configserver.security;
 
+import com.haufe.demo.spring.configserver.hotpath.HotPathMetrics;
+import com.haufe.demo.spring.configserver.hotpath.TimingPasswordEncoder;
+import com.haufe.demo.spring.configserver.jfr.AuthenticationRecorder;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.ManagementServerProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
@@ -45,10 +51,14 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     private static final SimpleGrantedAuthority USER_GRANTED_AUTHORITY = new SimpleGrantedAuthority("ROLE_USER");
 
+    private static final String HEALTH_PATH = "/health";
+
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     private final ConfigServerSecurityProperties configServerSecurityProperties;
     private final boolean basicAuthEnabled;
-
+    private HotPathMetrics hotPathMetrics;
+    private AuthenticationRecorder authenticationRecorder;
+    private ManagementServerProperties managementServerProperties;
 
     /**
      * Constructor that injects the config client credentials.
@@ -73,6 +83,39 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         this.basicAuthEnabled = isBasicAuthEnabled(getBasicAuthProperties());
     }
 
+    /**
+     * Inject the latency histograms, if enabled, to record the password checks in.
+     *
+     * @param hotPathMetrics
+     *         the latency histograms of the config fetches' phases
+     */
+    @Autowired(required = false)
+    public void setHotPathMetrics(HotPathMetrics hotPathMetrics) {
+        this.hotPathMetrics = hotPathMetrics;
+    }
+
+    /**
+     * Inject the flight recorder of the authentication decisions, if enabled.
+     *
+     * @param authenticationRecorder
+     *         the recorder of the authentication decisions
+     */
+    @Autowired(required = false)
+    public void setAuthenticationRecorder(AuthenticationRecorder authenticationRecorder) {
+        this.authenticationRecorder = authenticationRecorder;
+    }
+
+    /**
+     * Inject the actuator's configuration, if available, to locate the health endpoint.
+     *
+     * @param managementServerProperties
+     *         the actuator's configuration
+     */
+    @Autowired(required = false)
+    public void setManagementServerProperties(ManagementServerProperties managementServerProperties) {
+        this.managementServerProperties = managementServerProperties;
+    }
+
     /**
      * Getter for property 'basicAuthEnabled'. This web security configuration adapter has an effect if and only if
      * basic auth <em>is</em> enabled.
@@ -110,6 +153,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     /**
      * Make Spring Security require basic authentication on _any_ endpoint if both username and password are configured.
+     * The webhook, batch, encryption and decryption endpoints are exempt from CSRF protection.
      *
      * @param httpSecurity the {@link HttpSecurity} object to configure, must not be {@literal null}
      * @throws Exception configuration of {@code httpSecurity} failed
@@ -117,6 +161,10 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     @Override
     protected void configure(HttpSecurity httpSecurity) throws Exception {
         Objects.requireNonNull(httpSecurity, "httpSecurity must not be null");
+        // git push webhooks, batch clients and the clients of /encrypt and /decrypt (single values and batches alike,
+        // e.g., curl or the Spring Boot CLI) cannot present a CSRF token
+        httpSecurity.csrf().ignoringAntMatchers("/monitor", "/**/monitor", "/batch", "/**/batch",
+                                                "/**/encrypt/**", "/**/decrypt/**");
         if (basicAuthEnabled) {
             httpSecurity
                     .authorizeRequests()
@@ -126,6 +174,20 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         }
     }
 
+    /**
+     * Let the health checks bypass Spring Security, so the liveness of the config server does not depend on the
+     * password checks (one BCrypt hash each). Unauthenticated health requests get the status only, no details.
+     *
+     * @param web the {@link WebSecurity} object to configure, must not be {@literal null}
+     */
+    @Override
+    public void configure(WebSecurity web) {
+        Objects.requireNonNull(web, "web must not be null");
+        String healthPath = (managementServerProperties != null ? managementServerProperties.getContextPath() : "")
+                + HEALTH_PATH;
+        web.ignoring().antMatchers(healthPath, healthPath + ".json");
+    }
+
     /**
      * User detail serice backed by an {@link InMemoryUserDetailsManager in-memory store} that holds the credentials
      * found in the {@link ConfigServerSecurityProperties.BasicAuthProperties basic auth properties}.
@@ -159,7 +221,24 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
         auth.userDetailsService(userDetailsService())
-                .passwordEncoder(passwordEncoder);
+                .passwordEncoder(hotPathMetrics != null
+                                         ? new TimingPasswordEncoder(passwordEncoder, hotPathMetrics.phase("auth"))
+                                         : passwordEncoder);
+    }
+
+    /**
+     * The authentication manager built from {@link #configure(AuthenticationManagerBuilder)}, recording its decisions
+     * if the flight recorder events are enabled.
+     *
+     * @return the authentication manager
+     * @throws Exception the authentication manager could not be built
+     */
+    @Override
+    protected AuthenticationManager authenticationManager() throws Exception {
+        AuthenticationManager authenticationManager = super.authenticationManager();
+        return authenticationRecorder != null
+                ? authenticationRecorder.recording(authenticationManager)
+                : authenticationManager;
     }
 
 }
@@ -0,0 +1,140 @@
+package com.haufe.demo.spring.configserver.shutdown;
+
+import org.apache.catalina.connector.Connector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.boot.context.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+
+import java.util.Objects;
+
+/**
+ * Shuts the config server node down without cutting off the requests in flight, so rolling deploys do not fail
+ * client fetches. When the application context is closed (by the shutdown actuator endpoint, by SIGTERM, ...), and
+ * before any bean is destroyed, the node
+ * <ol>
+ * <li>reports itself out of service (see {@link GracefulShutdownHealthIndicator}) and keeps serving requests until
+ * the load balancers had time to notice,</li>
+ * <li>pauses Tomcat's connector, so no new requests are accepted,</li>
+ * <li>waits until the requests in flight are complete or the drain timeout is over,</li>
+ * </ol>
+ * and only then lets the context close.
+ */
+public class GracefulShutdown implements TomcatConnectorCustomizer, ApplicationListener<ContextClosedEvent>,
+        ApplicationContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GracefulShutdown.class);
+
+    /**
+     * The stages of the shutdown.
+     */
+    public enum State {
+        /**
+         * The node is serving requests.
+         */
+        RUNNING,
+        /**
+         * The node reports itself out of service and waits for the load balancers.
+         */
+        OUT_OF_SERVICE,
+        /**
+         * The node does not accept new requests and waits for the requests in flight.
+         */
+        DRAINING,
+        /**
+         * The requests in flight are complete or the drain timeout is over.
+         */
+        DRAINED
+    }
+
+    private final InFlightRequestFilter inFlightRequests;
+    private final long outOfServiceDelay;
+    private final long drainTimeout;
+    private volatile ApplicationContext applicationContext;
+    private volatile Connector connector;
+    private volatile State state = State.RUNNING;
+
+    /**
+     * Construct a graceful shutdown.
+     *
+     * @param inFlightRequests
+     *         the filter counting the requests in flight, must not be {@literal null}
+     * @param outOfServiceDelay
+     *         the time in milliseconds the node keeps serving requests after reporting itself out of service
+     * @param drainTimeout
+     *         the maximum time in milliseconds to wait for the requests in flight
+     */
+    public GracefulShutdown(InFlightRequestFilter inFlightRequests, long outOfServiceDelay, long drainTimeout) {
+        this.inFlightRequests = Objects.requireNonNull(inFlightRequests, "inFlightRequests must not be null");
+        this.outOfServiceDelay = outOfServiceDelay;
+        this.drainTimeout = drainTimeout;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void customize(Connector connector) {
+        this.connector = connector;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        // ignore the closing of child contexts, the events of which are propagated to this context
+        if (event.getApplicationContext() == applicationContext) {
+            shutdown();
+        }
+    }
+
+    /**
+     * Run the shutdown sequence; the sequence runs once only.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (state != State.RUNNING) {
+                return;
+            }
+            state = State.OUT_OF_SERVICE;
+        }
+        try {
+            LOG.info("Shutting down: out of service, serving requests for another {} ms", outOfServiceDelay);
+            if (outOfServiceDelay > 0) {
+                Thread.sleep(outOfServiceDelay);
+            }
+            state = State.DRAINING;
+            Connector currentConnector = connector;
+            if (currentConnector != null) {
+                currentConnector.pause();
+            }
+            int remaining = inFlightRequests.awaitDrained(drainTimeout);
+            if (remaining > 0) {
+                LOG.warn("Shutting down: {} requests still in flight after {} ms", remaining, drainTimeout);
+            }
+            else {
+                LOG.info("Shutting down: all requests complete");
+            }
+        }
+        catch (InterruptedException interruptedException) {
+            LOG.warn("Shutting down: interrupted, not waiting for the requests in flight");
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            state = State.DRAINED;
+        }
+    }
+
+    /**
+     * The stage of the shutdown.
+     *
+     * @return the state, never {@literal null}
+     */
+    public State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,93 @@
+package com.haufe.demo.spring.configserver.shutdown;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
+import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the graceful shutdown, active unless the configuration property
+ * {@code haufe.configserver.shutdown.enabled} is {@literal false}.
+ *
+ * @see GracefulShutdown
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.shutdown", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(GracefulShutdownProperties.class)
+public class GracefulShutdownConfiguration {
+
+    /**
+     * The filter counting the requests in flight.
+     *
+     * @param gracefulShutdownProperties
+     *         the graceful shutdown's configuration properties
+     * @return the filter
+     */
+    @Bean
+    public InFlightRequestFilter inFlightRequestFilter(GracefulShutdownProperties gracefulShutdownProperties) {
+        return new InFlightRequestFilter(gracefulShutdownProperties.getIgnoredPaths());
+    }
+
+    /**
+     * The registration of the filter counting the requests in flight, in front of all other filters of the config
+     * server, so every request that is accepted is waited for.
+     *
+     * @param inFlightRequestFilter
+     *         the filter counting the requests in flight
+     * @return the filter's registration
+     */
+    @Bean
+    public FilterRegistrationBean inFlightRequestFilterRegistration(InFlightRequestFilter inFlightRequestFilter) {
+        FilterRegistrationBean registration = new FilterRegistrationBean(inFlightRequestFilter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 20);
+        return registration;
+    }
+
+    /**
+     * The graceful shutdown, run when the application context is closed.
+     *
+     * @param inFlightRequestFilter
+     *         the filter counting the requests in flight
+     * @param gracefulShutdownProperties
+     *         the graceful shutdown's configuration properties
+     * @return the graceful shutdown
+     */
+    @Bean
+    public GracefulShutdown gracefulShutdown(InFlightRequestFilter inFlightRequestFilter,
+                                             GracefulShutdownProperties gracefulShutdownProperties) {
+        return new GracefulShutdown(inFlightRequestFilter, gracefulShutdownProperties.getOutOfServiceDelay(),
+                                    gracefulShutdownProperties.getDrainTimeout());
+    }
+
+    /**
+     * Hands Tomcat's connector to the graceful shutdown, which pauses it.
+     *
+     * @param gracefulShutdown
+     *         the graceful shutdown
+     * @return the customizer
+     */
+    @Bean
+    public EmbeddedServletContainerCustomizer gracefulShutdownCustomizer(GracefulShutdown gracefulShutdown) {
+        return container -> {
+            if (container instanceof TomcatEmbeddedServletContainerFactory) {
+                ((TomcatEmbeddedServletContainerFactory) container).addConnectorCustomizers(gracefulShutdown);
+            }
+        };
+    }
+
+    /**
+     * The health indicator reporting the node out of service during the shutdown.
+     *
+     * @param gracefulShutdown
+     *         the graceful shutdown
+     * @return the health indicator
+     */
+    @Bean
+    public GracefulShutdownHealthIndicator gracefulShutdownHealthIndicator(GracefulShutdown gracefulShutdown) {
+        return new GracefulShutdownHealthIndicator(gracefulShutdown);
+    }
+}
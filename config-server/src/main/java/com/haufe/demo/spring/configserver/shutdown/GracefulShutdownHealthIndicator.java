@@ -0,0 +1,36 @@
+package com.haufe.demo.spring.configserver.shutdown;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import java.util.Objects;
+
+/**
+ * Reports the config server node out of service as soon as the {@link GracefulShutdown} has started, so load
+ * balancers stop sending clients to it while it still serves the requests in flight.
+ */
+public class GracefulShutdownHealthIndicator extends AbstractHealthIndicator {
+
+    private final GracefulShutdown gracefulShutdown;
+
+    /**
+     * Construct a health indicator.
+     *
+     * @param gracefulShutdown
+     *         the shutdown to report, must not be {@literal null}
+     */
+    public GracefulShutdownHealthIndicator(GracefulShutdown gracefulShutdown) {
+        this.gracefulShutdown = Objects.requireNonNull(gracefulShutdown, "gracefulShutdown must not be null");
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        GracefulShutdown.State state = gracefulShutdown.getState();
+        builder.withDetail("state", state);
+        if (state != GracefulShutdown.State.RUNNING) {
+            builder.outOfService();
+            return;
+        }
+        builder.up();
+    }
+}
@@ -0,0 +1,143 @@
+package com.haufe.demo.spring.configserver.shutdown;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's graceful shutdown.
+ */
+@ConfigurationProperties("haufe.configserver.shutdown")
+public class GracefulShutdownProperties {
+
+    /**
+     * Flag to enable or disable the graceful shutdown.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The time in milliseconds the node keeps serving requests after reporting itself out of service.
+     */
+    private long outOfServiceDelay = 5000L;
+
+    /**
+     * The maximum time in milliseconds to wait for the requests in flight.
+     */
+    private long drainTimeout = 30000L;
+
+    /**
+     * The Ant-style patterns of the paths of requests not to wait for.
+     */
+    private List<String> ignoredPaths = new ArrayList<>(Collections.singletonList("/watch/**"));
+
+    /**
+     * Is the graceful shutdown enabled?
+     *
+     * @return {@literal true} (the default) if the node drains the requests in flight before shutting down
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the graceful shutdown.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The time in milliseconds the node keeps serving requests after reporting itself out of service, i.e., the
+     * time the load balancers need to notice.
+     *
+     * @return the delay in milliseconds
+     */
+    public long getOutOfServiceDelay() {
+        return outOfServiceDelay;
+    }
+
+    /**
+     * Set the time in milliseconds the node keeps serving requests after reporting itself out of service.
+     *
+     * @param outOfServiceDelay
+     *         the new delay in milliseconds
+     */
+    public void setOutOfServiceDelay(long outOfServiceDelay) {
+        this.outOfServiceDelay = outOfServiceDelay;
+    }
+
+    /**
+     * The maximum time in milliseconds to wait for the requests in flight.
+     *
+     * @return the drain timeout in milliseconds
+     */
+    public long getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    /**
+     * Set the maximum time in milliseconds to wait for the requests in flight.
+     *
+     * @param drainTimeout
+     *         the new drain timeout in milliseconds
+     */
+    public void setDrainTimeout(long drainTimeout) {
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * The Ant-style patterns of the paths of requests not to wait for, by default the watch requests.
+     *
+     * @return the patterns, never {@literal null}
+     */
+    public List<String> getIgnoredPaths() {
+        return ignoredPaths;
+    }
+
+    /**
+     * Set the Ant-style patterns of the paths of requests not to wait for.
+     *
+     * @param ignoredPaths
+     *         the new patterns
+     */
+    public void setIgnoredPaths(List<String> ignoredPaths) {
+        this.ignoredPaths = ignoredPaths != null ? ignoredPaths : new ArrayList<>();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GracefulShutdownProperties)) {
+            return false;
+        }
+        GracefulShutdownProperties that = (GracefulShutdownProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getOutOfServiceDelay() == that.getOutOfServiceDelay() &&
+                getDrainTimeout() == that.getDrainTimeout() &&
+                Objects.equals(getIgnoredPaths(), that.getIgnoredPaths());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getOutOfServiceDelay(), getDrainTimeout(), getIgnoredPaths());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("GracefulShutdownProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", outOfServiceDelay=").append(outOfServiceDelay);
+        sb.append(", drainTimeout=").append(drainTimeout);
+        sb.append(", ignoredPaths=").append(ignoredPaths);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,161 @@
+package com.haufe.demo.spring.configserver.shutdown;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Counts the requests in flight so the {@link GracefulShutdown} can wait for them. An asynchronous request (e.g., an
+ * environment request processed in a bulkhead) is in flight until its response is complete.
+ * <p>
+ * Requests whose path matches one of the ignored patterns are not counted: the watch requests wait idly for minutes
+ * and their clients simply reconnect to another node.
+ */
+public class InFlightRequestFilter extends OncePerRequestFilter {
+
+    private final List<String> ignoredPaths;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final Object lock = new Object();
+    private int inFlight;
+
+    /**
+     * Construct a filter.
+     *
+     * @param ignoredPaths
+     *         the Ant-style patterns of the paths of requests not to wait for, must not be {@literal null}
+     */
+    public InFlightRequestFilter(List<String> ignoredPaths) {
+        this.ignoredPaths = new ArrayList<>(Objects.requireNonNull(ignoredPaths, "ignoredPaths must not be null"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isIgnored(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        enter();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ExitListener());
+                async = true;
+            }
+        }
+        finally {
+            if (!async) {
+                exit();
+            }
+        }
+    }
+
+    private boolean isIgnored(HttpServletRequest request) {
+        if (ignoredPaths.isEmpty()) {
+            return false;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (String ignoredPath : ignoredPaths) {
+            if (pathMatcher.match(ignoredPath, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void enter() {
+        synchronized (lock) {
+            inFlight++;
+        }
+    }
+
+    private void exit() {
+        synchronized (lock) {
+            inFlight--;
+            if (inFlight == 0) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * The number of requests in flight.
+     *
+     * @return the number of requests being processed
+     */
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    /**
+     * Wait until no request is in flight any more.
+     *
+     * @param timeout
+     *         the maximum time to wait in milliseconds
+     * @return the number of requests still in flight, {@literal 0} if all requests completed in time
+     * @throws InterruptedException
+     *         the waiting thread was interrupted
+     */
+    public int awaitDrained(long timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout * 1_000_000L;
+        synchronized (lock) {
+            while (inFlight > 0) {
+                long remaining = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remaining <= 0) {
+                    break;
+                }
+                lock.wait(remaining);
+            }
+            return inFlight;
+        }
+    }
+
+    private class ExitListener implements AsyncListener {
+
+        private boolean exited;
+
+        private synchronized void exitOnce() {
+            if (!exited) {
+                exited = true;
+                exit();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            exitOnce();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // the request completes after the timeout handling, see onComplete
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            exitOnce();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // a new asynchronous cycle drops the listeners, stay registered until the request completes
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
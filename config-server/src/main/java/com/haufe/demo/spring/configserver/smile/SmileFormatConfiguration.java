@@ -0,0 +1,48 @@
+package com.haufe.demo.spring.configserver.smile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+import java.util.List;
+
+/**
+ * Spring Java Configuration of the Smile response format, active unless the configuration property
+ * {@code haufe.configserver.smile.enabled} is {@literal false}.
+ * <p>
+ * Clients get Smile instead of JSON from the environment endpoints (and the other endpoints returning objects)
+ * if they send {@code Accept: application/x-jackson-smile}. The converter is appended after the JSON converter, so
+ * clients accepting any media type (e.g., browsers and curl) still get JSON. The Smile object mapper is configured
+ * like the JSON one.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.smile", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SmileFormatProperties.class)
+public class SmileFormatConfiguration extends WebMvcConfigurerAdapter {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    /**
+     * Construct the configuration.
+     *
+     * @param objectMapperBuilder
+     *         the builder configuring Spring Boot's JSON object mapper, if any
+     */
+    public SmileFormatConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ObjectMapper objectMapper = new ObjectMapper(new SmileFactory());
+        Jackson2ObjectMapperBuilder builder = objectMapperBuilder.getIfAvailable();
+        (builder != null ? builder : Jackson2ObjectMapperBuilder.json()).configure(objectMapper);
+        converters.add(new SmileHttpMessageConverter(objectMapper));
+    }
+}
@@ -0,0 +1,61 @@
+package com.haufe.demo.spring.configserver.smile;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's Smile response format.
+ */
+@ConfigurationProperties("haufe.configserver.smile")
+public class SmileFormatProperties {
+
+    /**
+     * Flag to enable or disable the Smile response format.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Is the Smile response format enabled?
+     *
+     * @return {@literal true} (the default) if clients can request Smile
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the Smile response format.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SmileFormatProperties)) {
+            return false;
+        }
+        SmileFormatProperties that = (SmileFormatProperties) o;
+        return isEnabled() == that.isEnabled();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("SmileFormatProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.haufe.demo.spring.configserver.smile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * Reads and writes the binary JSON format <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>
+ * with Jackson, i.e., the same object model as JSON in fewer bytes and with cheaper parsing (property names and
+ * short strings are back-referenced instead of repeated, numbers are not printed as text).
+ */
+public class SmileHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    /**
+     * The media type of Smile.
+     */
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Construct a converter.
+     *
+     * @param objectMapper
+     *         an object mapper with a {@link SmileFactory}, must not be {@literal null}
+     */
+    public SmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_SMILE);
+        if (!(objectMapper.getFactory() instanceof SmileFactory)) {
+            throw new IllegalArgumentException("objectMapper must have a SmileFactory");
+        }
+    }
+}
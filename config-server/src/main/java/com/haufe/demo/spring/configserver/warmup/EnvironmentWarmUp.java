@@ -0,0 +1,281 @@
+package com.haufe.demo.spring.configserver.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads environments when the config server has started, so the first clients do not pay for cloning the
+ * repository, reading the files and initializing the serialization.
+ * <p>
+ * The environments are the declared ones plus, if enabled, one per application that has a configuration file in the
+ * repository's search locations. They are read in parallel through the cached repository, i.e., into the
+ * {@link com.haufe.demo.spring.configserver.cache.EnvironmentCache}, and serialized once; the
+ * {@link EnvironmentWarmUpHealthIndicator} reports the node out of service until the warm-up is over.
+ */
+public class EnvironmentWarmUp implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvironmentWarmUp.class);
+
+    private static final String[] CONFIGURATION_FILE_EXTENSIONS = {".yml", ".yaml", ".properties"};
+
+    private static final String SHARED_APPLICATION_NAME = "application";
+
+    /**
+     * The states of a warm-up.
+     */
+    public enum State {
+        PENDING, RUNNING, COMPLETED
+    }
+
+    private final EnvironmentRepository repository;
+    private final ObjectMapper objectMapper;
+    private final EnvironmentWarmUpProperties properties;
+    private final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+    private volatile State state = State.PENDING;
+    private volatile int environments;
+    private volatile int failures;
+    private volatile int timeouts;
+    private volatile long duration;
+
+    /**
+     * Construct a warm-up.
+     *
+     * @param repository
+     *         the repository to read the environments from, must not be {@literal null}
+     * @param objectMapper
+     *         the object mapper used by the config server's endpoints, must not be {@literal null}
+     * @param properties
+     *         the warm-up's configuration properties, must not be {@literal null}
+     */
+    public EnvironmentWarmUp(EnvironmentRepository repository, ObjectMapper objectMapper,
+                             EnvironmentWarmUpProperties properties) {
+        this.repository = Objects.requireNonNull(repository, "repository must not be null");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.properties = Objects.requireNonNull(properties, "properties must not be null");
+        if (properties.getParallelism() < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+    }
+
+    /**
+     * Start the warm-up in the background once the application is ready.
+     *
+     * @param event
+     *         the event signalling that the application is ready
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (state != State.PENDING) {
+            return;
+        }
+        state = State.RUNNING;
+        Thread thread = new Thread(this::run, "environment-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Preload the environments and wait until all are loaded or the timeout has elapsed.
+     */
+    public void run() {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "environment-warm-up-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Collection<EnvironmentKey> keys = environmentKeys();
+            List<Callable<Object>> loads = new ArrayList<>(keys.size());
+            keys.forEach(key -> loads.add(() -> load(key)));
+            List<Future<Object>> results = executor.invokeAll(loads, properties.getTimeout(), TimeUnit.MILLISECONDS);
+            int failed = 0;
+            int timedOut = 0;
+            for (Future<Object> result : results) {
+                try {
+                    result.get();
+                }
+                catch (CancellationException cancellationException) {
+                    timedOut++;
+                }
+                catch (ExecutionException executionException) {
+                    failed++;
+                }
+            }
+            environments = keys.size();
+            failures = failed;
+            timeouts = timedOut;
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Environment warm-up was interrupted");
+        }
+        catch (RuntimeException exception) {
+            LOG.warn("Environment warm-up failed: {}", exception.toString());
+        }
+        finally {
+            executor.shutdownNow();
+            duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            state = State.COMPLETED;
+        }
+        LOG.info("Warmed up {} environments in {} ms ({} failed, {} timed out)",
+                 environments, duration, failures, timeouts);
+    }
+
+    private Object load(EnvironmentKey key) throws IOException {
+        try {
+            Environment environment = repository.findOne(key.getName(), key.getProfiles(), key.getLabel());
+            return objectMapper.writeValueAsBytes(environment);
+        }
+        catch (IOException | RuntimeException exception) {
+            LOG.warn("Could not preload environment {}: {}", key, exception.toString());
+            throw exception;
+        }
+    }
+
+    /**
+     * Collect the environments to preload.
+     *
+     * @return the declared and discovered environments, never {@literal null}
+     */
+    Collection<EnvironmentKey> environmentKeys() {
+        Set<EnvironmentKey> keys = new LinkedHashSet<>();
+        for (String environment : properties.getEnvironments()) {
+            keys.add(parse(environment));
+        }
+        if (properties.isAutoDiscover() && repository instanceof SearchPathLocator) {
+            for (String application : discoverApplications((SearchPathLocator) repository)) {
+                keys.add(new EnvironmentKey(application, properties.getProfiles(), properties.getLabel()));
+            }
+        }
+        return keys;
+    }
+
+    private Set<String> discoverApplications(SearchPathLocator locator) {
+        Set<String> applications = new LinkedHashSet<>();
+        String[] profiles = StringUtils.commaDelimitedListToStringArray(properties.getProfiles());
+        for (String location : locator.getLocations(SHARED_APPLICATION_NAME, properties.getProfiles(),
+                                                    properties.getLabel()).getLocations()) {
+            String directory = location.endsWith("/") ? location : location + "/";
+            for (String extension : CONFIGURATION_FILE_EXTENSIONS) {
+                try {
+                    for (Resource resource : resourcePatternResolver.getResources(directory + "*" + extension)) {
+                        String application = applicationName(resource.getFilename(), extension, profiles);
+                        if (!application.isEmpty() && !SHARED_APPLICATION_NAME.equals(application)) {
+                            applications.add(application);
+                        }
+                    }
+                }
+                catch (IOException exception) {
+                    LOG.warn("Could not list configuration files in {}: {}", location, exception.toString());
+                }
+            }
+        }
+        return applications;
+    }
+
+    private static String applicationName(String filename, String extension, String[] profiles) {
+        String name = filename.substring(0, filename.length() - extension.length());
+        for (String profile : profiles) {
+            if (name.endsWith("-" + profile)) {
+                return name.substring(0, name.length() - profile.length() - 1);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Parse a declared environment.
+     *
+     * @param environment
+     *         the environment as {@code {application}/{profiles}[/{label}]}; like in config server requests,
+     *         slashes in the label are written as {@code (_)}
+     * @return the key of the environment, never {@literal null}
+     * @throws IllegalArgumentException
+     *         the environment is malformed
+     */
+    static EnvironmentKey parse(String environment) {
+        String[] parts = environment != null ? environment.trim().split("/", 3) : new String[0];
+        if (parts.length < 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+            throw new IllegalArgumentException(
+                    "environment '" + environment + "' does not match {application}/{profiles}[/{label}]");
+        }
+        String label = parts.length > 2 && !parts[2].isEmpty() ? parts[2].replace("(_)", "/") : null;
+        return new EnvironmentKey(parts[0], parts[1], label);
+    }
+
+    /**
+     * The state of the warm-up.
+     *
+     * @return the state, never {@literal null}
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * The number of environments the warm-up tried to preload.
+     *
+     * @return the number of environments, 0 before the warm-up has completed
+     */
+    public int getEnvironments() {
+        return environments;
+    }
+
+    /**
+     * The number of environments that could not be preloaded.
+     *
+     * @return the number of failures
+     */
+    public int getFailures() {
+        return failures;
+    }
+
+    /**
+     * The number of environments that were not preloaded before the timeout.
+     *
+     * @return the number of timeouts
+     */
+    public int getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * The duration of the completed warm-up in milliseconds.
+     *
+     * @return the duration, 0 before the warm-up has completed
+     */
+    public long getDuration() {
+        return duration;
+    }
+}
@@ -0,0 +1,61 @@
+package com.haufe.demo.spring.configserver.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the warm-up phase, active only if the configuration property
+ * {@code haufe.configserver.warmup.enabled} is {@literal true}.
+ * <p>
+ * The warm-up requires the {@link EnvironmentCache} ({@code haufe.configserver.cache.enabled}): without it, the
+ * preloaded environments would be read and thrown away while the node is reported out of service.
+ *
+ * @see EnvironmentWarmUp
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.warmup", name = "enabled")
+@EnableConfigurationProperties(EnvironmentWarmUpProperties.class)
+public class EnvironmentWarmUpConfiguration {
+
+    /**
+     * The warm-up, started when the application is ready.
+     *
+     * @param environmentRepository
+     *         the config server's cached environment repository
+     * @param objectMapper
+     *         the object mapper used by the config server's endpoints
+     * @param environmentWarmUpProperties
+     *         the warm-up's configuration properties
+     * @param environmentCache
+     *         the environment cache the warm-up fills
+     * @return the warm-up
+     */
+    @Bean
+    public EnvironmentWarmUp environmentWarmUp(EnvironmentRepository environmentRepository,
+                                               ObjectMapper objectMapper,
+                                               EnvironmentWarmUpProperties environmentWarmUpProperties,
+                                               ObjectProvider<EnvironmentCache> environmentCache) {
+        if (environmentCache.getIfAvailable() == null) {
+            throw new IllegalStateException("haufe.configserver.warmup requires haufe.configserver.cache.enabled");
+        }
+        return new EnvironmentWarmUp(environmentRepository, objectMapper, environmentWarmUpProperties);
+    }
+
+    /**
+     * The health indicator reporting the node out of service during the warm-up.
+     *
+     * @param environmentWarmUp
+     *         the warm-up
+     * @return the health indicator
+     */
+    @Bean
+    public EnvironmentWarmUpHealthIndicator environmentWarmUpHealthIndicator(EnvironmentWarmUp environmentWarmUp) {
+        return new EnvironmentWarmUpHealthIndicator(environmentWarmUp);
+    }
+}
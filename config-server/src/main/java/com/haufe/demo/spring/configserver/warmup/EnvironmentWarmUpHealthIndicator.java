@@ -0,0 +1,41 @@
+package com.haufe.demo.spring.configserver.warmup;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import java.util.Objects;
+
+/**
+ * Reports the config server node out of service until the {@link EnvironmentWarmUp} is over, so load balancers do
+ * not send clients to a cold node. Environments that could not be preloaded do not make the node unhealthy; they are
+ * read on demand as without a warm-up.
+ */
+public class EnvironmentWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final EnvironmentWarmUp warmUp;
+
+    /**
+     * Construct a health indicator.
+     *
+     * @param warmUp
+     *         the warm-up to report, must not be {@literal null}
+     */
+    public EnvironmentWarmUpHealthIndicator(EnvironmentWarmUp warmUp) {
+        this.warmUp = Objects.requireNonNull(warmUp, "warmUp must not be null");
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        EnvironmentWarmUp.State state = warmUp.getState();
+        builder.withDetail("state", state);
+        if (state != EnvironmentWarmUp.State.COMPLETED) {
+            builder.outOfService();
+            return;
+        }
+        builder.up()
+                .withDetail("environments", warmUp.getEnvironments())
+                .withDetail("failures", warmUp.getFailures())
+                .withDetail("timeouts", warmUp.getTimeouts())
+                .withDetail("duration", warmUp.getDuration());
+    }
+}
@@ -0,0 +1,222 @@
+package com.haufe.demo.spring.configserver.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's warm-up phase.
+ */
+@ConfigurationProperties("haufe.configserver.warmup")
+public class EnvironmentWarmUpProperties {
+
+    /**
+     * Flag to enable or disable the warm-up.
+     */
+    private boolean enabled;
+
+    /**
+     * The environments to preload, given like the path of a config server request:
+     * {@code {application}/{profiles}[/{label}]}.
+     */
+    private List<String> environments = new ArrayList<>();
+
+    /**
+     * Flag to preload the environments of all applications that have a configuration file in the repository's search
+     * locations (besides the shared {@code application.*} files).
+     */
+    private boolean autoDiscover = true;
+
+    /**
+     * The comma separated profiles the discovered applications are preloaded with.
+     */
+    private String profiles = "default";
+
+    /**
+     * The label the discovered applications are preloaded with, the repository's default label if not set.
+     */
+    private String label;
+
+    /**
+     * The number of environments preloaded in parallel.
+     */
+    private int parallelism = 4;
+
+    /**
+     * The maximum duration of the warm-up in milliseconds; the node reports healthy afterwards in any case.
+     */
+    private long timeout = 120000L;
+
+    /**
+     * Is the warm-up enabled?
+     *
+     * @return {@literal true} if the warm-up is enabled, {@literal false} (the default) otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the warm-up.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The declared environments to preload.
+     *
+     * @return the environments as {@code {application}/{profiles}[/{label}]}, never {@literal null}
+     */
+    public List<String> getEnvironments() {
+        return environments;
+    }
+
+    /**
+     * Set the declared environments to preload.
+     *
+     * @param environments
+     *         the new environments as {@code {application}/{profiles}[/{label}]}
+     */
+    public void setEnvironments(List<String> environments) {
+        this.environments = environments != null ? environments : new ArrayList<>();
+    }
+
+    /**
+     * Are the applications discovered in the repository preloaded?
+     *
+     * @return {@literal true} (the default) if the applications are discovered
+     */
+    public boolean isAutoDiscover() {
+        return autoDiscover;
+    }
+
+    /**
+     * Enable or disable the discovery of applications in the repository.
+     *
+     * @param autoDiscover
+     *         the new flag value
+     */
+    public void setAutoDiscover(boolean autoDiscover) {
+        this.autoDiscover = autoDiscover;
+    }
+
+    /**
+     * The profiles of the discovered applications.
+     *
+     * @return the comma separated profiles
+     */
+    public String getProfiles() {
+        return profiles;
+    }
+
+    /**
+     * Set the profiles of the discovered applications.
+     *
+     * @param profiles
+     *         the new comma separated profiles
+     */
+    public void setProfiles(String profiles) {
+        this.profiles = profiles;
+    }
+
+    /**
+     * The label of the discovered applications.
+     *
+     * @return the label, might be {@literal null}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Set the label of the discovered applications.
+     *
+     * @param label
+     *         the new label, might be {@literal null}
+     */
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    /**
+     * The number of environments preloaded in parallel.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the number of environments preloaded in parallel.
+     *
+     * @param parallelism
+     *         the new parallelism, must be positive
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * The maximum duration of the warm-up in milliseconds.
+     *
+     * @return the timeout
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the maximum duration of the warm-up in milliseconds.
+     *
+     * @param timeout
+     *         the new timeout, must be positive
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnvironmentWarmUpProperties)) {
+            return false;
+        }
+        EnvironmentWarmUpProperties that = (EnvironmentWarmUpProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                isAutoDiscover() == that.isAutoDiscover() &&
+                getParallelism() == that.getParallelism() &&
+                getTimeout() == that.getTimeout() &&
+                Objects.equals(getEnvironments(), that.getEnvironments()) &&
+                Objects.equals(getProfiles(), that.getProfiles()) &&
+                Objects.equals(getLabel(), that.getLabel());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getEnvironments(), isAutoDiscover(), getProfiles(), getLabel(),
+                            getParallelism(), getTimeout());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("EnvironmentWarmUpProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", environments=").append(environments);
+        sb.append(", autoDiscover=").append(autoDiscover);
+        sb.append(", profiles='").append(profiles).append('\'');
+        sb.append(", label='").append(label).append('\'');
+        sb.append(", parallelism=").append(parallelism);
+        sb.append(", timeout=").append(timeout);
+        sb.append('}');
+        return sb.toString();
+    }
+}
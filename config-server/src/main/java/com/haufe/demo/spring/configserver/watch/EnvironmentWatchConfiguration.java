@@ -0,0 +1,68 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Java Configuration of the change notification endpoint, active unless the configuration property
+ * {@code haufe.configserver.watch.enabled} is {@literal false}.
+ *
+ * @see EnvironmentWatchController
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "haufe.configserver.watch", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(EnvironmentWatchProperties.class)
+public class EnvironmentWatchConfiguration {
+
+    /**
+     * The registry of watches, checking the watched environments in the configured interval.
+     *
+     * @param environmentRepository
+     *         the config server's (unencrypted) environment repository
+     * @param environmentWatchProperties
+     *         the endpoint's configuration properties
+     * @return the registry
+     */
+    @Bean
+    public EnvironmentWatchRegistry environmentWatchRegistry(EnvironmentRepository environmentRepository,
+                                                             EnvironmentWatchProperties environmentWatchProperties) {
+        return new EnvironmentWatchRegistry(environmentRepository,
+                                            environmentWatchProperties.getCheckInterval(),
+                                            environmentWatchProperties.getMaxSubscriptions());
+    }
+
+    /**
+     * The sender of the Server-Sent Events.
+     *
+     * @param environmentWatchProperties
+     *         the endpoint's configuration properties
+     * @return the sender
+     */
+    @Bean
+    public EventStreamSender eventStreamSender(EnvironmentWatchProperties environmentWatchProperties) {
+        return new EventStreamSender(environmentWatchProperties.getSseSenderThreads(),
+                                     environmentWatchProperties.getSseSendQueueCapacity());
+    }
+
+    /**
+     * The change notification endpoint.
+     *
+     * @param environmentWatchRegistry
+     *         the registry of watches
+     * @param eventStreamSender
+     *         the sender of the Server-Sent Events
+     * @param environmentWatchProperties
+     *         the endpoint's configuration properties
+     * @return the controller
+     */
+    @Bean
+    public EnvironmentWatchController environmentWatchController(EnvironmentWatchRegistry environmentWatchRegistry,
+                                                                 EventStreamSender eventStreamSender,
+                                                                 EnvironmentWatchProperties environmentWatchProperties) {
+        return new EnvironmentWatchController(environmentWatchRegistry, eventStreamSender,
+                                              environmentWatchProperties);
+    }
+}
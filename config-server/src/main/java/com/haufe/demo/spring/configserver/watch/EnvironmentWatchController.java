@@ -0,0 +1,195 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Endpoint that notifies clients as soon as the version of an environment changes, either by long-polling or by
+ * Server-Sent Events.
+ * <p>
+ * Both variants use asynchronous request processing, i.e., a waiting client holds a connection but no servlet
+ * container thread:
+ * <ul>
+ * <li>{@code GET /watch/{name}/{profiles}[/{label}]?version=...} answers with the current version (as JSON) as soon
+ * as it differs from the given version, or with 304 (Not Modified) after the long-polling timeout.</li>
+ * <li>The same request with {@code Accept: text/event-stream} opens a stream of {@code version} events. The event
+ * id is the version, so reconnecting clients resume via the {@code Last-Event-ID} header.</li>
+ * </ul>
+ * Requests beyond the configured maximum number of watches are answered with 503 (Service Unavailable). The events
+ * are written by the {@link EventStreamSender}, since a write blocks as long as the client does not read.
+ * <p>
+ * The controller is not a component on purpose: it is registered by {@link EnvironmentWatchConfiguration} only if
+ * the endpoint is enabled.
+ */
+@ResponseBody
+@RequestMapping(method = RequestMethod.GET, path = "${spring.cloud.config.server.prefix:}/watch")
+public class EnvironmentWatchController {
+
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final EnvironmentWatchRegistry registry;
+    private final EventStreamSender sender;
+    private final EnvironmentWatchProperties properties;
+
+    /**
+     * Construct the controller.
+     *
+     * @param registry
+     *         the registry of watches, must not be {@literal null}
+     * @param sender
+     *         the sender of the Server-Sent Events, must not be {@literal null}
+     * @param properties
+     *         the endpoint's configuration properties, must not be {@literal null}
+     */
+    public EnvironmentWatchController(EnvironmentWatchRegistry registry, EventStreamSender sender,
+                                      EnvironmentWatchProperties properties) {
+        this.registry = Objects.requireNonNull(registry, "registry must not be null");
+        this.sender = Objects.requireNonNull(sender, "sender must not be null");
+        this.properties = Objects.requireNonNull(properties, "properties must not be null");
+    }
+
+    /**
+     * Long-poll the version of an environment with the default label.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param version
+     *         the version the client already has, might be {@literal null}
+     * @return the deferred response
+     */
+    @RequestMapping("/{name}/{profiles}")
+    public DeferredResult<ResponseEntity<EnvironmentWatchEvent>> poll(
+            @PathVariable String name, @PathVariable String profiles,
+            @RequestParam(required = false) String version) {
+        return poll(new EnvironmentWatchKey(name, profiles, null), version);
+    }
+
+    /**
+     * Long-poll the version of a labelled environment.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param label
+     *         the label, with {@code (_)} standing for a slash like in the config server's environment endpoint
+     * @param version
+     *         the version the client already has, might be {@literal null}
+     * @return the deferred response
+     */
+    @RequestMapping("/{name}/{profiles}/{label}")
+    public DeferredResult<ResponseEntity<EnvironmentWatchEvent>> poll(
+            @PathVariable String name, @PathVariable String profiles, @PathVariable String label,
+            @RequestParam(required = false) String version) {
+        return poll(new EnvironmentWatchKey(name, profiles, decodeLabel(label)), version);
+    }
+
+    /**
+     * Stream the versions of an environment with the default label.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param version
+     *         the version the client already has, might be {@literal null}
+     * @param lastEventId
+     *         the last version received before a reconnect, used if {@code version} is {@literal null}
+     * @return the event stream
+     */
+    @RequestMapping(path = "/{name}/{profiles}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @PathVariable String name, @PathVariable String profiles,
+            @RequestParam(required = false) String version,
+            @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return stream(new EnvironmentWatchKey(name, profiles, null), version != null ? version : lastEventId);
+    }
+
+    /**
+     * Stream the versions of a labelled environment.
+     *
+     * @param name
+     *         the application name
+     * @param profiles
+     *         the comma separated profiles
+     * @param label
+     *         the label, with {@code (_)} standing for a slash like in the config server's environment endpoint
+     * @param version
+     *         the version the client already has, might be {@literal null}
+     * @param lastEventId
+     *         the last version received before a reconnect, used if {@code version} is {@literal null}
+     * @return the event stream
+     */
+    @RequestMapping(path = "/{name}/{profiles}/{label}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @PathVariable String name, @PathVariable String profiles, @PathVariable String label,
+            @RequestParam(required = false) String version,
+            @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return stream(new EnvironmentWatchKey(name, profiles, decodeLabel(label)),
+                      version != null ? version : lastEventId);
+    }
+
+    private DeferredResult<ResponseEntity<EnvironmentWatchEvent>> poll(EnvironmentWatchKey key, String version) {
+        ResponseEntity<EnvironmentWatchEvent> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        DeferredResult<ResponseEntity<EnvironmentWatchEvent>> result =
+                new DeferredResult<>(properties.getLongPollTimeout(), notModified);
+        try {
+            EnvironmentWatchRegistry.Subscription subscription = registry.subscribe(
+                    key, version, true,
+                    newVersion -> result.setResult(ResponseEntity.ok(new EnvironmentWatchEvent(key, newVersion))));
+            result.onCompletion(subscription::cancel);
+        }
+        catch (RejectedExecutionException rejectedExecutionException) {
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        }
+        return result;
+    }
+
+    private ResponseEntity<SseEmitter> stream(EnvironmentWatchKey key, String version) {
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeout());
+        EnvironmentWatchRegistry.Subscription subscription;
+        try {
+            subscription = registry.subscribe(key, version, false, sender.listener(newVersion -> {
+                try {
+                    emitter.send(SseEmitter.event()
+                                         .name("version")
+                                         .id(newVersion)
+                                         .data(new EnvironmentWatchEvent(key, newVersion)));
+                }
+                catch (IOException ioException) {
+                    throw new UncheckedIOException(ioException);
+                }
+            }, emitter::completeWithError));
+        }
+        catch (RejectedExecutionException rejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(() -> {
+            // end the stream regularly, the client reconnects with the last event id
+            subscription.cancel();
+            emitter.complete();
+        });
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static String decodeLabel(String label) {
+        return label.contains("(_)") ? label.replace("(_)", "/") : label;
+    }
+}
@@ -0,0 +1,97 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import java.util.Objects;
+
+/**
+ * The notification sent to a watching client: the environment's identity and its current version.
+ */
+public class EnvironmentWatchEvent {
+
+    private final String name;
+    private final String profiles;
+    private final String label;
+    private final String version;
+
+    /**
+     * Construct an event.
+     *
+     * @param key
+     *         the watched environment, must not be {@literal null}
+     * @param version
+     *         the environment's current version, must not be {@literal null}
+     */
+    public EnvironmentWatchEvent(EnvironmentWatchKey key, String version) {
+        Objects.requireNonNull(key, "key must not be null");
+        this.name = key.getName();
+        this.profiles = key.getProfiles();
+        this.label = key.getLabel();
+        this.version = Objects.requireNonNull(version, "version must not be null");
+    }
+
+    /**
+     * The application name.
+     *
+     * @return the name, never {@literal null}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The comma separated profiles.
+     *
+     * @return the profiles, never {@literal null}
+     */
+    public String getProfiles() {
+        return profiles;
+    }
+
+    /**
+     * The label.
+     *
+     * @return the label, might be {@literal null}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * The environment's current version; pass it to the next watch request.
+     *
+     * @return the version, never {@literal null}
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnvironmentWatchEvent)) {
+            return false;
+        }
+        EnvironmentWatchEvent that = (EnvironmentWatchEvent) o;
+        return Objects.equals(getName(), that.getName()) &&
+                Objects.equals(getProfiles(), that.getProfiles()) &&
+                Objects.equals(getLabel(), that.getLabel()) &&
+                Objects.equals(getVersion(), that.getVersion());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName(), getProfiles(), getLabel(), getVersion());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("EnvironmentWatchEvent{");
+        sb.append("name='").append(name).append('\'');
+        sb.append(", profiles='").append(profiles).append('\'');
+        sb.append(", label='").append(label).append('\'');
+        sb.append(", version='").append(version).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
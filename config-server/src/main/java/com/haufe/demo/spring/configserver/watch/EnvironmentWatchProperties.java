@@ -0,0 +1,219 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the config server's change notification endpoint.
+ */
+@ConfigurationProperties("haufe.configserver.watch")
+public class EnvironmentWatchProperties {
+
+    /**
+     * Flag to enable or disable the change notification endpoint.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The interval in milliseconds between two version checks of the watched environments.
+     */
+    private long checkInterval = 5000L;
+
+    /**
+     * The time in milliseconds a long-polling request waits for a change before it is answered with 304.
+     */
+    private long longPollTimeout = 30000L;
+
+    /**
+     * The time in milliseconds after which a Server-Sent Events stream is closed (clients reconnect automatically).
+     */
+    private long sseTimeout = 300000L;
+
+    /**
+     * The maximum number of concurrent watch requests; further requests are answered with 503.
+     */
+    private int maxSubscriptions = 50000;
+
+    /**
+     * The number of threads writing the Server-Sent Events; a client that stops reading blocks one of them until the
+     * write times out.
+     */
+    private int sseSenderThreads = 8;
+
+    /**
+     * The number of event streams waiting for a sender thread; streams beyond are closed (clients reconnect).
+     */
+    private int sseSendQueueCapacity = 10000;
+
+    /**
+     * Is the change notification endpoint enabled?
+     *
+     * @return {@literal true} (the default) if the endpoint is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the change notification endpoint.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The interval between two version checks in milliseconds.
+     *
+     * @return the check interval
+     */
+    public long getCheckInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * Set the interval between two version checks in milliseconds.
+     *
+     * @param checkInterval
+     *         the new check interval, must be positive
+     */
+    public void setCheckInterval(long checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * The long-polling timeout in milliseconds.
+     *
+     * @return the long-polling timeout
+     */
+    public long getLongPollTimeout() {
+        return longPollTimeout;
+    }
+
+    /**
+     * Set the long-polling timeout in milliseconds.
+     *
+     * @param longPollTimeout
+     *         the new long-polling timeout
+     */
+    public void setLongPollTimeout(long longPollTimeout) {
+        this.longPollTimeout = longPollTimeout;
+    }
+
+    /**
+     * The lifetime of a Server-Sent Events stream in milliseconds.
+     *
+     * @return the stream timeout
+     */
+    public long getSseTimeout() {
+        return sseTimeout;
+    }
+
+    /**
+     * Set the lifetime of a Server-Sent Events stream in milliseconds.
+     *
+     * @param sseTimeout
+     *         the new stream timeout
+     */
+    public void setSseTimeout(long sseTimeout) {
+        this.sseTimeout = sseTimeout;
+    }
+
+    /**
+     * The maximum number of concurrent watch requests.
+     *
+     * @return the maximum number of subscriptions
+     */
+    public int getMaxSubscriptions() {
+        return maxSubscriptions;
+    }
+
+    /**
+     * Set the maximum number of concurrent watch requests.
+     *
+     * @param maxSubscriptions
+     *         the new maximum number of subscriptions
+     */
+    public void setMaxSubscriptions(int maxSubscriptions) {
+        this.maxSubscriptions = maxSubscriptions;
+    }
+
+    /**
+     * The number of threads writing the Server-Sent Events.
+     *
+     * @return the sender thread count
+     */
+    public int getSseSenderThreads() {
+        return sseSenderThreads;
+    }
+
+    /**
+     * Set the number of threads writing the Server-Sent Events.
+     *
+     * @param sseSenderThreads
+     *         the new sender thread count, must be positive
+     */
+    public void setSseSenderThreads(int sseSenderThreads) {
+        this.sseSenderThreads = sseSenderThreads;
+    }
+
+    /**
+     * The number of event streams waiting for a sender thread.
+     *
+     * @return the queue capacity
+     */
+    public int getSseSendQueueCapacity() {
+        return sseSendQueueCapacity;
+    }
+
+    /**
+     * Set the number of event streams waiting for a sender thread.
+     *
+     * @param sseSendQueueCapacity
+     *         the new queue capacity, 0 for none
+     */
+    public void setSseSendQueueCapacity(int sseSendQueueCapacity) {
+        this.sseSendQueueCapacity = sseSendQueueCapacity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnvironmentWatchProperties)) {
+            return false;
+        }
+        EnvironmentWatchProperties that = (EnvironmentWatchProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getCheckInterval() == that.getCheckInterval() &&
+                getLongPollTimeout() == that.getLongPollTimeout() &&
+                getSseTimeout() == that.getSseTimeout() &&
+                getMaxSubscriptions() == that.getMaxSubscriptions() &&
+                getSseSenderThreads() == that.getSseSenderThreads() &&
+                getSseSendQueueCapacity() == that.getSseSendQueueCapacity();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getCheckInterval(), getLongPollTimeout(), getSseTimeout(),
+                            getMaxSubscriptions(), getSseSenderThreads(), getSseSendQueueCapacity());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("EnvironmentWatchProperties{");
+        sb.append("enabled=").append(enabled);
+        sb.append(", checkInterval=").append(checkInterval);
+        sb.append(", longPollTimeout=").append(longPollTimeout);
+        sb.append(", sseTimeout=").append(sseTimeout);
+        sb.append(", maxSubscriptions=").append(maxSubscriptions);
+        sb.append(", sseSenderThreads=").append(sseSenderThreads);
+        sb.append(", sseSendQueueCapacity=").append(sseSendQueueCapacity);
+        sb.append('}');
+        return sb.toString();
+    }
+}
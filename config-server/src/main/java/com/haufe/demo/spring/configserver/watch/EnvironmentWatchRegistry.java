@@ -0,0 +1,241 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the clients watching environments and notifies them when an environment's version changes.
+ * <p>
+ * A single daemon thread checks the version of every watched environment periodically, no matter how many clients
+ * watch it; the clients themselves do not occupy any thread while they wait. The version is the one reported by
+ * the {@link EnvironmentRepository} as determined by {@link EnvironmentVersions}.
+ */
+public class EnvironmentWatchRegistry implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvironmentWatchRegistry.class);
+
+    private final EnvironmentRepository repository;
+    private final int maxSubscriptions;
+    private final ScheduledExecutorService checker;
+    private final ConcurrentMap<EnvironmentWatchKey, WatchedEnvironment> watched = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriptionCount = new AtomicInteger();
+
+    /**
+     * Construct a registry and start the periodic version checks.
+     *
+     * @param repository
+     *         the repository the watched environments are read from, must not be {@literal null}
+     * @param checkInterval
+     *         the interval between two version checks in milliseconds, must be positive
+     * @param maxSubscriptions
+     *         the maximum number of concurrent subscriptions
+     */
+    public EnvironmentWatchRegistry(EnvironmentRepository repository, long checkInterval, int maxSubscriptions) {
+        this.repository = Objects.requireNonNull(repository, "repository must not be null");
+        if (checkInterval < 1) {
+            throw new IllegalArgumentException("checkInterval must be positive");
+        }
+        this.maxSubscriptions = maxSubscriptions;
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "environment-watch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checker.scheduleWithFixedDelay(this::checkAll, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribe to the version changes of an environment.
+     * <p>
+     * The listener is called with the current version as soon as it is known and differs from {@code knownVersion},
+     * and again on every later change unless the subscription is a one-shot subscription. Listeners are called on
+     * the registry's checker thread (or on the calling thread if the version is already known) and must not block,
+     * since a blocked listener delays the notifications of all other subscriptions; a listener that throws an
+     * exception is unsubscribed.
+     *
+     * @param key
+     *         the environment to watch, must not be {@literal null}
+     * @param knownVersion
+     *         the version the client already has, might be {@literal null}
+     * @param once
+     *         {@literal true} to cancel the subscription after the first notification
+     * @param listener
+     *         the callback receiving the new version, must not be {@literal null}
+     * @return the subscription, never {@literal null}
+     * @throws RejectedExecutionException
+     *         the maximum number of subscriptions is reached
+     */
+    public Subscription subscribe(EnvironmentWatchKey key, String knownVersion, boolean once,
+                                  Consumer<String> listener) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(listener, "listener must not be null");
+        if (subscriptionCount.incrementAndGet() > maxSubscriptions) {
+            subscriptionCount.decrementAndGet();
+            throw new RejectedExecutionException("maximum number of " + maxSubscriptions + " watches reached");
+        }
+        Subscription subscription = new Subscription(key, knownVersion, once, listener);
+        boolean[] created = new boolean[1];
+        WatchedEnvironment watchedEnvironment = watched.compute(key, (k, existing) -> {
+            WatchedEnvironment environment = existing;
+            if (environment == null) {
+                environment = new WatchedEnvironment();
+                created[0] = true;
+            }
+            environment.subscriptions.add(subscription);
+            return environment;
+        });
+        if (created[0]) {
+            checker.execute(() -> check(key));
+        }
+        else {
+            subscription.offer(watchedEnvironment.version);
+        }
+        return subscription;
+    }
+
+    /**
+     * Check the version of all watched environments now and notify the subscribers of changed environments.
+     */
+    public void checkAll() {
+        watched.keySet().forEach(this::check);
+    }
+
+    /**
+     * Check the version of a watched environment now and notify its subscribers if it has changed.
+     *
+     * @param key
+     *         the environment to check, must not be {@literal null}
+     */
+    public void check(EnvironmentWatchKey key) {
+        WatchedEnvironment watchedEnvironment = watched.get(key);
+        if (watchedEnvironment == null) {
+            return;
+        }
+        String version;
+        try {
+            version = EnvironmentVersions.versionOf(
+                    repository.findOne(key.getName(), key.getProfiles(), key.getLabel()));
+        }
+        catch (RuntimeException exception) {
+            LOG.warn("version check of {} failed: {}", key, exception.toString());
+            return;
+        }
+        String previousVersion = watchedEnvironment.version;
+        watchedEnvironment.version = version;
+        if (previousVersion != null && !previousVersion.equals(version)) {
+            LOG.info("{} changed from version {} to {}, notifying {} watches",
+                     key, previousVersion, version, watchedEnvironment.subscriptions.size());
+        }
+        watchedEnvironment.subscriptions.forEach(subscription -> subscription.offer(version));
+    }
+
+    /**
+     * The environments watched by at least one subscription.
+     *
+     * @return the watched environments, never {@literal null}
+     */
+    public Set<EnvironmentWatchKey> getWatchedKeys() {
+        return Collections.unmodifiableSet(new HashSet<>(watched.keySet()));
+    }
+
+    /**
+     * The number of active subscriptions.
+     *
+     * @return the subscription count
+     */
+    public int getSubscriptionCount() {
+        return subscriptionCount.get();
+    }
+
+    /**
+     * Stop the version checks.
+     */
+    @Override
+    public void destroy() {
+        checker.shutdownNow();
+    }
+
+    private static class WatchedEnvironment {
+        private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+        private volatile String version;
+    }
+
+    /**
+     * A client's interest in the version changes of one environment.
+     */
+    public final class Subscription {
+
+        private final EnvironmentWatchKey key;
+        private final boolean once;
+        private final Consumer<String> listener;
+        private String lastVersion;
+        private boolean cancelled;
+
+        private Subscription(EnvironmentWatchKey key, String knownVersion, boolean once, Consumer<String> listener) {
+            this.key = key;
+            this.lastVersion = knownVersion;
+            this.once = once;
+            this.listener = listener;
+        }
+
+        private synchronized void offer(String version) {
+            if (cancelled || version == null || version.equals(lastVersion)) {
+                return;
+            }
+            lastVersion = version;
+            try {
+                listener.accept(version);
+            }
+            catch (RuntimeException exception) {
+                LOG.debug("notification about {} failed, cancelling the watch: {}", key, exception.toString());
+                cancel();
+                return;
+            }
+            if (once) {
+                cancel();
+            }
+        }
+
+        /**
+         * The watched environment.
+         *
+         * @return the key of the watched environment, never {@literal null}
+         */
+        public EnvironmentWatchKey getKey() {
+            return key;
+        }
+
+        /**
+         * Stop watching; cancelling a subscription more than once has no effect.
+         */
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+            subscriptionCount.decrementAndGet();
+            watched.computeIfPresent(key, (k, environment) -> {
+                environment.subscriptions.remove(this);
+                return environment.subscriptions.isEmpty() ? null : environment;
+            });
+        }
+    }
+}
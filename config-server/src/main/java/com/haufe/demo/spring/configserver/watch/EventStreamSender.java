@@ -0,0 +1,157 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Sends the version events of Server-Sent Events streams on a bounded thread pool, so a client that stops reading
+ * blocks a sender thread instead of the {@link EnvironmentWatchRegistry}'s checker thread.
+ * <p>
+ * A stream has at most one send in flight; versions arriving meanwhile replace each other, and only the latest one
+ * is sent afterwards. Hence a stalled client occupies one sender thread at most. If all threads are busy and the
+ * queue is full, the stream is failed and its subscription cancelled; the client reconnects with the last event id.
+ */
+public class EventStreamSender implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Construct a sender.
+     *
+     * @param threads
+     *         the number of sender threads, must be positive
+     * @param queueCapacity
+     *         the number of streams waiting for a sender thread, 0 for none
+     */
+    public EventStreamSender(int threads, int queueCapacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+        BlockingQueue<Runnable> queue =
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "environment-watch-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create the registry listener of a stream.
+     * <p>
+     * The listener returns right away. It throws a {@link RejectedExecutionException}, which cancels the
+     * subscription, if the sender is full.
+     *
+     * @param send
+     *         sends a version to the client, might block; a {@link RuntimeException} ends the stream
+     * @param onFailure
+     *         called once with the reason if the stream ends because of a failed or rejected send
+     * @return the listener, never {@literal null}
+     */
+    public Consumer<String> listener(Consumer<String> send, Consumer<RuntimeException> onFailure) {
+        return new Stream(Objects.requireNonNull(send, "send must not be null"),
+                          Objects.requireNonNull(onFailure, "onFailure must not be null"));
+    }
+
+    /**
+     * The number of streams waiting for a sender thread.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * The number of streams failed because the sender was full.
+     *
+     * @return the rejection count
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Stop the sender threads.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private final class Stream implements Consumer<String> {
+
+        private final Consumer<String> send;
+        private final Consumer<RuntimeException> onFailure;
+        private final AtomicReference<String> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean failed;
+
+        private Stream(Consumer<String> send, Consumer<RuntimeException> onFailure) {
+            this.send = send;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        public void accept(String version) {
+            if (failed) {
+                throw new IllegalStateException("stream failed");
+            }
+            pending.set(version);
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            }
+            catch (RejectedExecutionException rejectedExecutionException) {
+                rejected.incrementAndGet();
+                fail(rejectedExecutionException);
+                throw rejectedExecutionException;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                String version = pending.getAndSet(null);
+                if (version == null) {
+                    scheduled.set(false);
+                    // a version offered between the check and the reset has not scheduled a drain
+                    if (pending.get() == null || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    send.accept(version);
+                }
+                catch (RuntimeException exception) {
+                    fail(exception);
+                    return;
+                }
+            }
+        }
+
+        private void fail(RuntimeException exception) {
+            failed = true;
+            onFailure.accept(exception);
+        }
+    }
+}
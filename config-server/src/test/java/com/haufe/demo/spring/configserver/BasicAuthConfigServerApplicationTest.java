@@ -81,6 +81,16 @@ public class BasicAuthConfigServerApplicationTest {
         assertThat(entity.getStatusCodeValue()).isEqualTo(401);
     }
 
+    @Test
+    public void testThatHealthIsReportedWithoutCheckingTheCredentials() {
+        ConfigServerSecurityProperties.BasicAuthProperties basicAuth = configServerSecurityProperties.getBasicAuth();
+        injectBasicAuthClientHttpRequestInterceptor(basicAuth.getUsername(), basicAuth.getPassword() + "xyz");
+
+        ResponseEntity<String> entity = this.testRestTemplate.getForEntity("/health", String.class);
+        assertThat(entity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(JsonPath.parse(entity.getBody()).<String>read("$.status")).isEqualTo("UP");
+    }
+
     private void injectBasicAuthClientHttpRequestInterceptor(String username, String password) {
         List<ClientHttpRequestInterceptor> interceptors =
                 StringUtils.isNoneBlank(username, password) ?
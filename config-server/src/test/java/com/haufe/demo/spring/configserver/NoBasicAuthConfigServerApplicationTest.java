@@ -13,8 +13,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
@@ -50,4 +53,26 @@ public class NoBasicAuthConfigServerApplicationTest {
         assertThat(context.<List>read("$.propertySources[?(@.name =~ /.*testservice.yml/)].source['foo.bar']"))
                 .isEqualTo(Collections.singletonList("baz"));
     }
+
+    @Test
+    public void testThatMonitorInvalidatesTheChangedEnvironmentsOnly() {
+        this.restTemplate.getForEntity("/testservice/default/", String.class);
+        Map<String, Object> push = new HashMap<>();
+        push.put("ref", "refs/heads/master");
+        push.put("commits", Collections.singletonList(
+                Collections.singletonMap("modified", Arrays.asList("testservice-prod.yml", "README.md"))));
+
+        ResponseEntity<String> entity = this.restTemplate.postForEntity("/monitor", push, String.class);
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(200);
+        DocumentContext context = JsonPath.parse(entity.getBody());
+        assertThat(context.<List>read("$.paths")).isEqualTo(Arrays.asList("testservice-prod.yml", "README.md"));
+        assertThat(context.<List>read("$.invalidated")).isEmpty();
+
+        push.put("paths", Collections.singletonList("testservice.yml"));
+        entity = this.restTemplate.postForEntity("/monitor", push, String.class);
+
+        context = JsonPath.parse(entity.getBody());
+        assertThat(context.<List>read("$.invalidated[*].name")).isEqualTo(Collections.singletonList("testservice"));
+    }
 }
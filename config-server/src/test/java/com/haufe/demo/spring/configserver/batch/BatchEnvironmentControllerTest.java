@@ -0,0 +1,82 @@
+package com.haufe.demo.spring.configserver.batch;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Integration tests of the batch endpoint {@link BatchEnvironmentController}.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"integrationtest"})
+@TestPropertySource(properties = {
+        "haufe.configserver.security.basicAuth.username=",
+        "haufe.configserver.security.basicAuth.password=",
+        "haufe.configserver.batch.maxEnvironments=2"
+})
+public class BatchEnvironmentControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private ResponseEntity<String> post(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity("/batch", new HttpEntity<>(body, headers), String.class);
+    }
+
+    @Test
+    public void testThatEachEnvironmentIsStreamedOnItsOwnLine() {
+        ResponseEntity<String> entity = post("[{\"name\": \"testservice\", \"profiles\": \"default\"},"
+                                                     + "{\"name\": \"otherservice\", \"profiles\": \"default\","
+                                                     + "\"label\": \"master\"}]");
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(entity.getHeaders().getContentType().isCompatibleWith(BatchEnvironmentController.APPLICATION_NDJSON))
+                .isTrue();
+        String[] lines = entity.getBody().split("\n");
+        assertThat(lines).hasSize(2);
+        Map<Integer, DocumentContext> results = new HashMap<>();
+        for (String line : lines) {
+            DocumentContext context = JsonPath.parse(line);
+            results.put(context.read("$.index"), context);
+        }
+        assertThat(results.get(0).<Integer>read("$.status")).isEqualTo(200);
+        assertThat(results.get(0).<String>read("$.environment.name")).isEqualTo("testservice");
+        assertThat(results.get(0).read("$.environment.propertySources[?(@.name =~ /.*testservice.yml/)]"
+                                               + ".source['foo.bar']", List.class))
+                .isEqualTo(Collections.singletonList("baz"));
+        assertThat(results.get(1).<String>read("$.name")).isEqualTo("otherservice");
+        assertThat(results.get(1).<String>read("$.label")).isEqualTo("master");
+        assertThat(results.get(1).<Integer>read("$.status")).isEqualTo(200);
+    }
+
+    @Test
+    public void testThatIncompleteOrOversizedBatchIsRejected() {
+        assertThat(post("[]").getStatusCodeValue()).isEqualTo(400);
+        assertThat(post("[{\"name\": \"testservice\"}]").getStatusCodeValue()).isEqualTo(400);
+        assertThat(post("[{\"name\": \"a\", \"profiles\": \"default\"}, {\"name\": \"b\", \"profiles\": \"default\"},"
+                                + "{\"name\": \"c\", \"profiles\": \"default\"}]").getStatusCodeValue())
+                .isEqualTo(400);
+    }
+}
@@ -0,0 +1,90 @@
+package com.haufe.demo.spring.configserver.batch;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.NoSuchLabelException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link BatchEnvironmentService}.
+ */
+public class BatchEnvironmentServiceTest {
+
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+
+    private final BatchEnvironmentService service = new BatchEnvironmentService((name, profiles, label) -> {
+        if ("slow".equals(name)) {
+            try {
+                slowRelease.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if ("missing".equals(label)) {
+            throw new NoSuchLabelException("No such label: missing");
+        }
+        if ("broken".equals(name)) {
+            throw new IllegalStateException("repository unavailable");
+        }
+        Environment environment = new Environment(name, profiles);
+        environment.add(new PropertySource(name + ".yml", Collections.singletonMap("foo.bar", "baz")));
+        return environment;
+    }, null, Collections.singletonMap("foo.overridden", "yes"), 2);
+
+    @After
+    public void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    public void testThatResultsAreDeliveredInCompletionOrder() throws Exception {
+        List<BatchEnvironmentResult> results = Collections.synchronizedList(new ArrayList<>());
+
+        service.resolve(Arrays.asList(new EnvironmentKey("slow", "default", null),
+                                      new EnvironmentKey("fast", "default", null)),
+                        result -> {
+                            results.add(result);
+                            slowRelease.countDown();
+                        })
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(results, hasSize(2));
+        assertThat(results.get(0).getIndex(), is(1));
+        assertThat(results.get(1).getIndex(), is(0));
+        assertThat(results.get(1).getStatus(), is(200));
+        Environment environment = results.get(1).getEnvironment();
+        assertThat(environment.getPropertySources().get(0).getName(), is("overrides"));
+        assertThat(environment.getPropertySources().get(1).getSource().get("foo.bar"), is("baz"));
+    }
+
+    @Test
+    public void testThatFailuresAreReportedPerEnvironment() throws Exception {
+        List<BatchEnvironmentResult> results = Collections.synchronizedList(new ArrayList<>());
+
+        service.resolve(Arrays.asList(new EnvironmentKey("testservice", "default", "missing"),
+                                      new EnvironmentKey("broken", "default", null),
+                                      new EnvironmentKey("testservice", "default", null)),
+                        results::add)
+                .get(5, TimeUnit.SECONDS);
+
+        results.sort((one, other) -> Integer.compare(one.getIndex(), other.getIndex()));
+        assertThat(results.get(0).getStatus(), is(404));
+        assertThat(results.get(0).getError(), is("No such label: missing"));
+        assertThat(results.get(1).getStatus(), is(500));
+        assertThat(results.get(1).getError(), not(containsString("repository")));
+        assertThat(results.get(2).getStatus(), is(200));
+    }
+}
@@ -0,0 +1,84 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Integration tests of the asynchronous environment endpoints {@link AsyncEnvironmentController}.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"integrationtest"})
+@TestPropertySource(properties = {
+        "haufe.configserver.security.basicAuth.username=",
+        "haufe.configserver.security.basicAuth.password="
+})
+public class AsyncEnvironmentControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EnvironmentBulkheads environmentBulkheads;
+
+    @Autowired
+    private EnvironmentCache environmentCache;
+
+    @Before
+    @After
+    public void invalidateCache() {
+        environmentCache.invalidateAll();
+    }
+
+    private long completed() {
+        return environmentBulkheads.getBulkheads().stream().mapToLong(Bulkhead::getCompleted).sum();
+    }
+
+    @Test
+    public void testThatTheBackendIsANativeBulkhead() {
+        assertThat(environmentBulkheads.getBulkheads().stream().map(Bulkhead::getName).collect(Collectors.toList()))
+                .containsExactly("native");
+    }
+
+    @Test
+    public void testThatMissesAreReadInTheBulkheadAndHitsOnTheRequestThread() throws Exception {
+        long before = completed();
+
+        ResponseEntity<String> miss = restTemplate.getForEntity("/testservice/default", String.class);
+        Thread.sleep(100L);
+        long afterMiss = completed();
+        ResponseEntity<String> hit = restTemplate.getForEntity("/testservice/default", String.class);
+        Thread.sleep(100L);
+
+        assertThat(miss.getStatusCodeValue()).isEqualTo(200);
+        assertThat(hit.getStatusCodeValue()).isEqualTo(200);
+        assertThat(JsonPath.parse(miss.getBody()).<String>read("$.name")).isEqualTo("testservice");
+        assertThat(hit.getBody()).isEqualTo(miss.getBody());
+        assertThat(afterMiss).isEqualTo(before + 1);
+        assertThat(completed()).isEqualTo(afterMiss);
+    }
+
+    @Test
+    public void testThatLabelledEnvironmentsAreServed() {
+        ResponseEntity<String> entity = restTemplate.getForEntity("/testservice/default/master", String.class);
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(JsonPath.parse(entity.getBody()).<String>read("$.label")).isEqualTo("master");
+    }
+}
@@ -0,0 +1,77 @@
+package com.haufe.demo.spring.configserver.bulkhead;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests of {@link Bulkhead}.
+ */
+public class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead("git", 1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        bulkhead.shutdown();
+    }
+
+    private String blocked() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    @Test
+    public void testThatTasksBeyondThreadsAndQueueAreRejected() throws Exception {
+        CompletableFuture<String> running = bulkhead.submit(this::blocked);
+        CompletableFuture<String> queued = bulkhead.submit(this::blocked);
+        CompletableFuture<String> rejected = bulkhead.submit(this::blocked);
+
+        try {
+            rejected.get(1, TimeUnit.SECONDS);
+            fail("a task beyond the capacity was accepted");
+        }
+        catch (ExecutionException executionException) {
+            assertThat(executionException.getCause(), instanceOf(RejectedExecutionException.class));
+        }
+        assertThat(bulkhead.getQueueDepth(), is(1));
+        assertThat(bulkhead.getRejected(), is(1L));
+
+        release.countDown();
+        assertThat(running.get(1, TimeUnit.SECONDS), is("done"));
+        assertThat(queued.get(1, TimeUnit.SECONDS), is("done"));
+    }
+
+    @Test
+    public void testThatFailuresAreReportedByTheFuture() throws Exception {
+        CompletableFuture<String> failed = bulkhead.submit(() -> {
+            throw new IllegalStateException("hung up");
+        });
+
+        try {
+            failed.get(1, TimeUnit.SECONDS);
+            fail("the failure was not reported");
+        }
+        catch (ExecutionException executionException) {
+            assertThat(executionException.getCause().getMessage(), is("hung up"));
+        }
+        assertThat(bulkhead.getRejected(), is(0L));
+    }
+}
@@ -0,0 +1,66 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link CacheInvalidationController}.
+ */
+public class CacheInvalidationControllerTest {
+
+    private static final String GITHUB_PUSH = "{\"ref\": \"refs/heads/master\", \"after\": \"abc\", \"commits\": ["
+            + "{\"added\": [\"testservice-prod.yml\"], \"modified\": [\"testservice.yml\"], \"removed\": []},"
+            + "{\"added\": [], \"modified\": [\"testservice.yml\"], \"removed\": [\"README.md\"]}]}";
+
+    private static final String TRUNCATED_GITLAB_PUSH = "{\"ref\": \"refs/heads/release\", "
+            + "\"total_commits_count\": 30, \"commits\": [{\"modified\": [\"testservice.yml\"]}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> event(String json) throws IOException {
+        return objectMapper.readValue(json, Map.class);
+    }
+
+    @Test
+    public void testThatBranchAndChangedPathsAreExtracted() throws IOException {
+        Map<String, Object> event = event(GITHUB_PUSH);
+
+        assertThat(CacheInvalidationController.branchOf(event), is("master"));
+        assertThat(CacheInvalidationController.changedPathsOf(event),
+                   contains("testservice-prod.yml", "testservice.yml", "README.md"));
+    }
+
+    @Test
+    public void testThatTruncatedCommitListHasUnknownPaths() throws IOException {
+        Map<String, Object> event = event(TRUNCATED_GITLAB_PUSH);
+
+        assertThat(CacheInvalidationController.branchOf(event), is("release"));
+        assertThat(CacheInvalidationController.changedPathsOf(event), is(nullValue()));
+    }
+
+    @Test
+    public void testThatOnlyChangedEnvironmentsAreInvalidated() throws IOException {
+        EnvironmentCache cache = new EnvironmentCache(10, 0L);
+        EnvironmentKey testservice = new EnvironmentKey("testservice", "default", null);
+        EnvironmentKey otherservice = new EnvironmentKey("otherservice", "default", null);
+        cache.get(testservice, () -> new Environment("testservice", "default"));
+        cache.get(otherservice, () -> new Environment("otherservice", "default"));
+        CacheInvalidationController controller = new CacheInvalidationController(
+                cache, () -> new ChangedPathMatcher(Collections.emptyList(), "master"));
+
+        Map<String, Object> result = controller.push(event(GITHUB_PUSH));
+
+        assertThat(result.get("invalidated"), is(Collections.singletonList(testservice)));
+        assertThat(cache.getKeys(), contains(otherservice));
+    }
+}
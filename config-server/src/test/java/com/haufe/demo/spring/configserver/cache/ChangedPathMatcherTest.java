@@ -0,0 +1,90 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Predicate;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link ChangedPathMatcher}.
+ */
+public class ChangedPathMatcherTest {
+
+    private static final EnvironmentKey TESTSERVICE = new EnvironmentKey("testservice", "default", null);
+    private static final EnvironmentKey TESTSERVICE_PROD = new EnvironmentKey("testservice", "prod", null);
+    private static final EnvironmentKey OTHERSERVICE = new EnvironmentKey("otherservice", "default", null);
+
+    private final ChangedPathMatcher matcher =
+            new ChangedPathMatcher(Arrays.asList("configurations", "services/{application}/"), "master");
+
+    private Predicate<EnvironmentKey> affectedBy(String... paths) {
+        return matcher.affectedBy("master", Arrays.asList(paths));
+    }
+
+    @Test
+    public void testThatApplicationFileAffectsItsApplicationOnly() {
+        Predicate<EnvironmentKey> affected = affectedBy("configurations/testservice.yml");
+
+        assertThat(affected.test(TESTSERVICE), is(true));
+        assertThat(affected.test(TESTSERVICE_PROD), is(true));
+        assertThat(affected.test(OTHERSERVICE), is(false));
+    }
+
+    @Test
+    public void testThatProfileFileAffectsEnvironmentsWithThatProfileOnly() {
+        Predicate<EnvironmentKey> affected = affectedBy("testservice-prod.properties");
+
+        assertThat(affected.test(TESTSERVICE), is(false));
+        assertThat(affected.test(TESTSERVICE_PROD), is(true));
+        assertThat(affected.test(new EnvironmentKey("testservice", "default,prod", null)), is(true));
+    }
+
+    @Test
+    public void testThatSharedFileAffectsAllApplications() {
+        Predicate<EnvironmentKey> affected = affectedBy("configurations/application.yml");
+
+        assertThat(affected.test(TESTSERVICE), is(true));
+        assertThat(affected.test(OTHERSERVICE), is(true));
+    }
+
+    @Test
+    public void testThatSearchPathPlaceholdersAreReplaced() {
+        Predicate<EnvironmentKey> affected = affectedBy("services/otherservice/application.yml");
+
+        assertThat(affected.test(TESTSERVICE), is(false));
+        assertThat(affected.test(OTHERSERVICE), is(true));
+    }
+
+    @Test
+    public void testThatFilesOutsideTheSearchPathsAndOtherFilesAreIgnored() {
+        Predicate<EnvironmentKey> affected = affectedBy("unrelated/testservice.yml", "configurations/testservice.txt",
+                                                        "README.md");
+
+        assertThat(affected.test(TESTSERVICE), is(false));
+    }
+
+    @Test
+    public void testThatOtherBranchesAndCommitsAreNotAffected() {
+        Predicate<EnvironmentKey> affected = matcher.affectedBy("release", null);
+
+        assertThat(affected.test(TESTSERVICE), is(false));
+        assertThat(affected.test(new EnvironmentKey("testservice", "default", "release")), is(true));
+        assertThat(matcher.affectedBy(null, null)
+                           .test(new EnvironmentKey("testservice", "default",
+                                                    "0123456789abcdef0123456789abcdef01234567")), is(false));
+    }
+
+    @Test
+    public void testThatUnknownPathsAffectAllEnvironmentsOfTheBranch() {
+        Predicate<EnvironmentKey> affected = matcher.affectedBy("master", null);
+
+        assertThat(affected.test(TESTSERVICE), is(true));
+        assertThat(affected.test(OTHERSERVICE), is(true));
+        assertThat(matcher.affectedBy("master", Collections.emptyList()).test(TESTSERVICE), is(false));
+    }
+}
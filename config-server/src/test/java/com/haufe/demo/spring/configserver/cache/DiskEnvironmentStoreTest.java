@@ -0,0 +1,187 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link DiskEnvironmentStore}.
+ */
+public class DiskEnvironmentStoreTest {
+
+    private static final EnvironmentKey KEY = new EnvironmentKey("testservice", "default", null);
+    private static final String STORE_KEY = Base64.getEncoder().encodeToString(new byte[16]);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DiskEnvironmentStore store;
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void testThatStoredEnvironmentIsReadBack() throws IOException {
+        store = open(1024L * 1024L);
+
+        store.put(KEY, environment("c1", "baz"));
+
+        Environment environment = store.get(KEY, "c1");
+        assertThat(environment.getVersion(), is("c1"));
+        assertThat(environment.getPropertySources().get(0).getSource(), hasEntry("foo.bar", "baz"));
+        assertThat(store.get(KEY, "c2"), is(nullValue()));
+    }
+
+    @Test
+    public void testThatReopenedStoreProvidesLatestEnvironments() throws IOException {
+        store = open(100L);
+        store.put(KEY, environment("c1", "baz"));
+        store.put(KEY, environment("c2", "qux"));
+        store.put(KEY, environment("c1", "baz"));
+        store.destroy();
+
+        store = open(100L);
+
+        assertThat(store.latest(), hasKey(KEY));
+        assertThat(store.latest().get(KEY).getVersion(), is("c1"));
+        assertThat(store.get(KEY, "c2").getVersion(), is("c2"));
+        assertThat(segmentFiles().length, is(greaterThan(1)));
+    }
+
+    @Test
+    public void testThatRequestByCommitIdIsServedFromDisk() throws IOException {
+        store = open(1024L * 1024L);
+        EnvironmentKey byCommit = new EnvironmentKey("testservice", "default", "c1");
+        store.put(byCommit, environment("c1", "baz"));
+        AtomicInteger repositoryReads = new AtomicInteger();
+
+        Environment environment = store.load(byCommit, () -> {
+            repositoryReads.incrementAndGet();
+            return environment("c1", "baz");
+        });
+
+        assertThat(environment.getVersion(), is("c1"));
+        assertThat(repositoryReads.get(), is(0));
+    }
+
+    @Test
+    public void testThatLoadedEnvironmentIsStored() {
+        store = open(1024L * 1024L);
+
+        store.load(KEY, () -> environment("c1", "baz"));
+
+        assertThat(store.get(KEY, "c1"), is(notNullValue()));
+    }
+
+    @Test
+    public void testThatGarbageCollectionDropsUnreachableVersionsButKeepsLatest() throws IOException {
+        store = open(1024L * 1024L);
+        store.put(KEY, environment("c1", "a"));
+        store.put(KEY, environment("c2", "b"));
+        store.put(KEY, environment("c3", "c"));
+
+        assertThat(store.collectGarbage("c2"::equals), is(1));
+
+        assertThat(store.get(KEY, "c1"), is(nullValue()));
+        assertThat(store.get(KEY, "c2"), is(notNullValue()));
+        assertThat(store.get(KEY, "c3"), is(notNullValue()));
+        assertThat(segmentFiles().length, is(1));
+        store.destroy();
+        store = open(1024L * 1024L);
+        assertThat(store.size(), is(2));
+        assertThat(store.latest().get(KEY).getVersion(), is("c3"));
+    }
+
+    @Test
+    public void testThatTornRecordIsCutOff() throws IOException {
+        store = open(1024L * 1024L);
+        store.put(KEY, environment("c1", "baz"));
+        store.destroy();
+        File segment = segmentFiles()[0];
+        long intactLength = segment.length();
+        try (FileOutputStream out = new FileOutputStream(segment, true)) {
+            out.write(new byte[]{0x45, 0x43, 0x56, 0x32, 1, 0, 0});
+        }
+
+        store = open(1024L * 1024L);
+
+        assertThat(store.get(KEY, "c1"), is(notNullValue()));
+        assertThat(segment.length(), is(intactLength));
+    }
+
+    @Test
+    public void testThatEnvironmentsAreEncryptedAndOwnerOnly() throws IOException {
+        store = open(1024L * 1024L);
+        store.put(KEY, environment("c1", "top-secret"));
+        store.destroy();
+        File segment = segmentFiles()[0];
+
+        String content = new String(Files.readAllBytes(segment.toPath()), StandardCharsets.ISO_8859_1);
+        assertThat(content, not(containsString("top-secret")));
+        assertThat(content, not(containsString("foo.bar")));
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(segment.toPath())),
+                   is("rw-------"));
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(segment.getParentFile().toPath())),
+                   is("rwx------"));
+    }
+
+    @Test
+    public void testThatEnvironmentsStoredWithAnotherKeyAreMissing() throws IOException {
+        store = open(1024L * 1024L);
+        store.put(KEY, environment("c1", "baz"));
+        store.destroy();
+
+        byte[] otherKey = new byte[16];
+        otherKey[0] = 1;
+        store = new DiskEnvironmentStore(new File(temporaryFolder.getRoot(), "store"), 1024L * 1024L, objectMapper,
+                                         Base64.getEncoder().encodeToString(otherKey));
+
+        assertThat(store.get(KEY, "c1"), is(nullValue()));
+        assertThat(store.latest().isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatInvalidKeyIsRejected() {
+        new DiskEnvironmentStore(new File(temporaryFolder.getRoot(), "store"), 1024L, objectMapper,
+                                 Base64.getEncoder().encodeToString(new byte[7]));
+    }
+
+    private DiskEnvironmentStore open(long segmentSize) {
+        return new DiskEnvironmentStore(new File(temporaryFolder.getRoot(), "store"), segmentSize, objectMapper,
+                                        STORE_KEY);
+    }
+
+    private File[] segmentFiles() {
+        return new File(temporaryFolder.getRoot(), "store").listFiles();
+    }
+
+    private static Environment environment(String version, String value) {
+        Environment environment = new Environment("testservice", "default");
+        environment.setVersion(version);
+        environment.add(new PropertySource("testservice.yml", Collections.singletonMap("foo.bar", value)));
+        return environment;
+    }
+}
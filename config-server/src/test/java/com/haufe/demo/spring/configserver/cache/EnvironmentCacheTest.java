@@ -0,0 +1,187 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import com.haufe.demo.spring.configserver.deadline.DeadlineExceededException;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests of {@link EnvironmentCache}.
+ */
+public class EnvironmentCacheTest {
+
+    private static final EnvironmentKey KEY = new EnvironmentKey("testservice", "default", null);
+
+    private final AtomicLong now = new AtomicLong(1000L);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final EnvironmentCache cache = new EnvironmentCache(2, 500L, null, now::get);
+
+    private final Supplier<Environment> loader = () -> {
+        Environment environment = new Environment("testservice", "default");
+        environment.setVersion("v" + loads.incrementAndGet());
+        environment.add(new PropertySource("testservice.yml", Collections.singletonMap("foo.bar", "baz")));
+        return environment;
+    };
+
+    @Test
+    public void testThatEnvironmentIsLoadedOnceUntilItExpires() {
+        assertThat(cache.get(KEY, loader).getVersion(), is("v1"));
+        now.addAndGet(499L);
+        assertThat(cache.get(KEY, loader).getVersion(), is("v1"));
+        now.addAndGet(1L);
+        assertThat(cache.get(KEY, loader).getVersion(), is("v2"));
+
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(2L));
+    }
+
+    @Test
+    public void testThatCallersCannotModifyTheCachedEnvironment() {
+        Environment environment = cache.get(KEY, loader);
+        environment.addFirst(new PropertySource("overrides", Collections.singletonMap("foo.bar", "override")));
+
+        Environment cached = cache.get(KEY, loader);
+
+        assertThat(cached.getPropertySources(), hasSize(1));
+        assertThat(cached.getPropertySources().get(0).getName(), is("testservice.yml"));
+    }
+
+    @Test
+    public void testThatInvalidatedEnvironmentIsLoadedAgain() {
+        cache.get(KEY, loader);
+        cache.invalidate(KEY);
+
+        assertThat(cache.get(KEY, loader).getVersion(), is("v2"));
+    }
+
+    @Test
+    public void testThatInvalidateIfRemovesMatchingEnvironmentsOnly() {
+        EnvironmentKey other = new EnvironmentKey("otherservice", "default", null);
+        cache.get(KEY, loader);
+        cache.get(other, loader);
+
+        assertThat(cache.invalidateIf(key -> key.getName().equals("otherservice")), is(1));
+
+        assertThat(cache.getKeys(), contains(KEY));
+    }
+
+    @Test
+    public void testThatLeastRecentlyUsedEnvironmentIsEvicted() {
+        EnvironmentKey second = new EnvironmentKey("testservice", "dev", null);
+        EnvironmentKey third = new EnvironmentKey("testservice", "prod", null);
+        cache.get(KEY, loader);
+        cache.get(second, loader);
+        cache.get(KEY, loader);
+        cache.get(third, loader);
+
+        assertThat(cache.getKeys(), containsInAnyOrder(KEY, third));
+    }
+
+    @Test
+    public void testThatEnvironmentLoadedDuringInvalidationIsNotCached() {
+        cache.get(KEY, () -> {
+            Environment environment = loader.get();
+            cache.invalidateAll();
+            return environment;
+        });
+
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testThatFailedLoadIsNotCached() {
+        try {
+            cache.get(KEY, () -> {
+                throw new IllegalStateException("repository unavailable");
+            });
+        }
+        catch (IllegalStateException expected) {
+            assertThat(expected.getMessage(), is("repository unavailable"));
+        }
+
+        assertThat(cache.get(KEY, loader).getVersion(), is("v1"));
+    }
+
+    @Test
+    public void testThatConcurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Environment> slowLoader = () -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.get();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Environment> first = executor.submit(() -> cache.get(KEY, slowLoader));
+            assertThat(loading.await(5, TimeUnit.SECONDS), is(true));
+            Future<Environment> second = executor.submit(() -> cache.get(KEY, slowLoader));
+            Thread.sleep(100L);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getVersion(), is("v1"));
+            assertThat(second.get(5, TimeUnit.SECONDS).getVersion(), is("v1"));
+            assertThat(loads.get(), is(1));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testThatALoadAbandonedForTheLoadersDeadlineIsRetriedByTheWaitingCallers() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Environment> expiredLoader = () -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new DeadlineExceededException("the repository read");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Environment> first = executor.submit(() -> cache.get(KEY, expiredLoader));
+            assertThat(loading.await(5, TimeUnit.SECONDS), is(true));
+            Future<Environment> second = executor.submit(() -> cache.get(KEY, loader));
+            Thread.sleep(100L);
+            release.countDown();
+
+            try {
+                first.get(5, TimeUnit.SECONDS);
+                fail("the abandoned load must fail for the caller that started it");
+            }
+            catch (ExecutionException expected) {
+                assertThat(expected.getCause(), is(instanceOf(DeadlineExceededException.class)));
+            }
+            assertThat(second.get(5, TimeUnit.SECONDS).getVersion(), is("v1"));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.haufe.demo.spring.configserver.cache;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link GitCommitReachability}.
+ */
+public class GitCommitReachabilityTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testThatOnlyCommitsOfExistingBranchesAreReachable() throws Exception {
+        File clone = temporaryFolder.newFolder("clone");
+        String reachable;
+        String abandoned;
+        try (Git git = Git.init().setDirectory(clone).call()) {
+            RevCommit first = git.commit().setMessage("first").call();
+            reachable = first.getName();
+            git.checkout().setCreateBranch(true).setName("feature").call();
+            abandoned = git.commit().setMessage("abandoned").call().getName();
+            git.checkout().setName("master").call();
+            git.commit().setMessage("second").call();
+            git.branchDelete().setBranchNames("feature").setForce(true).call();
+        }
+        GitCommitReachability reachability = new GitCommitReachability(() -> Collections.singletonList(clone));
+
+        assertThat(reachability.test(reachable), is(true));
+        assertThat(reachability.test(abandoned), is(false));
+        assertThat(reachability.test("0123456789012345678901234567890123456789"), is(false));
+        assertThat(reachability.test("d41d8cd98f00b204e9800998ecf8427e"), is(false));
+    }
+}
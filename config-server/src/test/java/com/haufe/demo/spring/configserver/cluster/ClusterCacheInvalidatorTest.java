@@ -0,0 +1,233 @@
+package com.haufe.demo.spring.configserver.cluster;
+
+import com.haufe.demo.spring.configserver.cache.CacheInvalidationController;
+import com.haufe.demo.spring.configserver.cache.ChangedPathMatcher;
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link ClusterCacheInvalidator}, running several nodes in-process on localhost.
+ */
+public class ClusterCacheInvalidatorTest {
+
+    private static final String COMMIT_1 = "1111111111111111111111111111111111111111";
+    private static final String COMMIT_2 = "2222222222222222222222222222222222222222";
+
+    private static final EnvironmentKey SERVICE = new EnvironmentKey("testservice", "default", "master");
+    private static final EnvironmentKey OTHER_SERVICE = new EnvironmentKey("otherservice", "default", "master");
+    private static final EnvironmentKey OTHER_LABEL = new EnvironmentKey("testservice", "default", "release");
+
+    private static final long MAX_MESSAGE_AGE = 10000L;
+
+    private final AtomicReference<String> head = new AtomicReference<>(COMMIT_1);
+    private final List<ClusterCacheInvalidator> invalidators = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        invalidators.forEach(ClusterCacheInvalidator::destroy);
+    }
+
+    private Supplier<Environment> loader(EnvironmentKey key) {
+        return () -> {
+            Environment environment = new Environment(key.getName(), key.getProfiles());
+            environment.setLabel(key.getLabel());
+            environment.setVersion("master".equals(key.getLabel()) ? head.get() : "3333333333333333333333333333333333333333");
+            return environment;
+        };
+    }
+
+    /**
+     * Start nodes with the given caches, each sending to all others.
+     */
+    private void startNodes(String secret, EnvironmentCache... caches) throws SocketException {
+        List<DatagramSocket> sockets = new ArrayList<>();
+        for (EnvironmentCache ignored : caches) {
+            sockets.add(new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)));
+        }
+        for (int i = 0; i < caches.length; i++) {
+            DatagramSocket socket = sockets.get(i);
+            List<InetSocketAddress> peers = sockets.stream()
+                    .filter(peer -> peer != socket)
+                    .map(peer -> new InetSocketAddress(InetAddress.getLoopbackAddress(), peer.getLocalPort()))
+                    .collect(Collectors.toList());
+            invalidators.add(new ClusterCacheInvalidator("node-" + i, caches[i],
+                                                         new PeerInvalidationChannel(socket, peers, secret,
+                                                                                     MAX_MESSAGE_AGE)));
+        }
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10L);
+        }
+        return true;
+    }
+
+    @Test
+    public void testThatNewCommitObservedByOneNodeInvalidatesAllNodes() throws Exception {
+        // the first node reloads on every request, the others never expire their entries
+        EnvironmentCache observer = new EnvironmentCache(10, 1L);
+        EnvironmentCache peer1 = new EnvironmentCache(10, 0L);
+        EnvironmentCache peer2 = new EnvironmentCache(10, 0L);
+        startNodes("secret", observer, peer1, peer2);
+        for (EnvironmentCache cache : new EnvironmentCache[]{observer, peer1, peer2}) {
+            cache.get(SERVICE, loader(SERVICE));
+            cache.get(OTHER_SERVICE, loader(OTHER_SERVICE));
+            cache.get(OTHER_LABEL, loader(OTHER_LABEL));
+        }
+
+        head.set(COMMIT_2);
+        Thread.sleep(2L);
+        assertThat(observer.get(SERVICE, loader(SERVICE)).getVersion(), is(COMMIT_2));
+
+        assertThat(eventually(() -> !peer1.getKeys().contains(OTHER_SERVICE)
+                && !peer2.getKeys().contains(OTHER_SERVICE)), is(true));
+        for (EnvironmentCache cache : new EnvironmentCache[]{peer1, peer2}) {
+            assertThat(cache.getKeys(), contains(OTHER_LABEL));
+            assertThat(cache.get(SERVICE, loader(SERVICE)).getVersion(), is(COMMIT_2));
+        }
+        assertThat(observer.getKeys(), containsInAnyOrder(SERVICE, OTHER_LABEL));
+        assertThat(invalidators.get(0).getPublished(), is(1L));
+        assertThat(invalidators.get(1).getApplied(), is(1L));
+        assertThat(invalidators.get(2).getApplied(), is(1L));
+    }
+
+    @Test
+    public void testThatNonCommitVersionInvalidatesTheSameEnvironmentOnly() throws Exception {
+        EnvironmentCache observer = new EnvironmentCache(10, 0L);
+        EnvironmentCache peer = new EnvironmentCache(10, 0L);
+        startNodes("secret", observer, peer);
+        peer.get(SERVICE, loader(SERVICE));
+        peer.get(OTHER_SERVICE, loader(OTHER_SERVICE));
+
+        invalidators.get(0).versionChanged(SERVICE, COMMIT_1, "0123abcd");
+
+        assertThat(eventually(() -> peer.size() == 1), is(true));
+        assertThat(peer.getKeys(), contains(OTHER_SERVICE));
+    }
+
+    @Test
+    public void testThatWebhookInvalidationIsSentToThePeers() throws Exception {
+        EnvironmentCache webhookNode = new EnvironmentCache(10, 0L);
+        EnvironmentCache peer = new EnvironmentCache(10, 0L);
+        startNodes("secret", webhookNode, peer);
+        for (EnvironmentCache cache : new EnvironmentCache[]{webhookNode, peer}) {
+            cache.get(SERVICE, loader(SERVICE));
+            cache.get(OTHER_SERVICE, loader(OTHER_SERVICE));
+        }
+        CacheInvalidationController controller = new CacheInvalidationController(
+                webhookNode, () -> new ChangedPathMatcher(Collections.emptyList(), "master"));
+        Map<String, Object> push = new HashMap<>();
+        push.put("ref", "refs/heads/master");
+        push.put("paths", Collections.singletonList("testservice.yml"));
+
+        controller.push(push);
+
+        assertThat(eventually(() -> peer.size() == 1), is(true));
+        assertThat(peer.getKeys(), contains(OTHER_SERVICE));
+        assertThat(webhookNode.getKeys(), contains(OTHER_SERVICE));
+        assertThat(invalidators.get(0).getPublished(), is(1L));
+        assertThat(invalidators.get(1).getApplied(), is(1L));
+    }
+
+    @Test
+    public void testThatInvalidationsWithWrongSignatureAreDropped() throws Exception {
+        DatagramSocket receiverSocket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        PeerInvalidationChannel receiver = new PeerInvalidationChannel(receiverSocket, Collections.emptyList(), "a",
+                                                                       MAX_MESSAGE_AGE);
+        PeerInvalidationChannel sender = new PeerInvalidationChannel(
+                new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)),
+                Collections.singletonList(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                                                receiverSocket.getLocalPort())),
+                "b", MAX_MESSAGE_AGE);
+        List<CacheInvalidation> received = Collections.synchronizedList(new ArrayList<>());
+        receiver.start(received::add);
+        try {
+            sender.publish(new CacheInvalidation("sender", SERVICE, COMMIT_2));
+
+            assertThat(eventually(() -> receiver.getRejected() == 1L), is(true));
+            assertThat(received, is(empty()));
+        }
+        finally {
+            sender.destroy();
+            receiver.destroy();
+        }
+    }
+
+    @Test
+    public void testThatEncodedInvalidationIsDecoded() throws Exception {
+        PeerInvalidationChannel channel = new PeerInvalidationChannel(new DatagramSocket(null),
+                                                                      Collections.emptyList(), "secret",
+                                                                      MAX_MESSAGE_AGE);
+        try {
+            for (EnvironmentKey key : new EnvironmentKey[]{SERVICE, OTHER_LABEL}) {
+                for (String version : new String[]{COMMIT_1, CacheInvalidation.UNKNOWN_VERSION}) {
+                    CacheInvalidation invalidation = new CacheInvalidation("node", key, version);
+                    byte[] message = channel.encode(invalidation);
+
+                    assertThat(channel.decode(message, message.length), is(invalidation));
+                }
+            }
+        }
+        finally {
+            channel.destroy();
+        }
+    }
+
+    @Test
+    public void testThatStaleAndReplayedInvalidationsAreDropped() throws Exception {
+        AtomicLong now = new AtomicLong(1000000L);
+        PeerInvalidationChannel channel = new PeerInvalidationChannel(new DatagramSocket(null),
+                                                                      Collections.emptyList(), "secret",
+                                                                      MAX_MESSAGE_AGE, now::get);
+        try {
+            CacheInvalidation invalidation = new CacheInvalidation("node", SERVICE, COMMIT_1);
+            byte[] message = channel.encode(invalidation);
+
+            now.addAndGet(MAX_MESSAGE_AGE);
+            assertThat(channel.decode(message, message.length), is(invalidation));
+            assertThat(channel.decode(message, message.length), is(nullValue()));
+
+            byte[] stale = channel.encode(invalidation);
+            now.addAndGet(MAX_MESSAGE_AGE + 1L);
+            assertThat(channel.decode(stale, stale.length), is(nullValue()));
+
+            byte[] future = channel.encode(invalidation);
+            now.addAndGet(-MAX_MESSAGE_AGE - 1L);
+            assertThat(channel.decode(future, future.length), is(nullValue()));
+        }
+        finally {
+            channel.destroy();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatChannelRequiresSecret() throws Exception {
+        new PeerInvalidationChannel(new DatagramSocket(null), Collections.emptyList(), "", MAX_MESSAGE_AGE);
+    }
+}
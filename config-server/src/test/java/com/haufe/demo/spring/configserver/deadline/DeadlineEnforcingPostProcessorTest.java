@@ -0,0 +1,73 @@
+package com.haufe.demo.spring.configserver.deadline;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests of {@link DeadlineEnforcingPostProcessor}.
+ */
+public class DeadlineEnforcingPostProcessorTest {
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private final EnvironmentRepository repository = (EnvironmentRepository) new DeadlineEnforcingPostProcessor()
+            .postProcessAfterInitialization((EnvironmentRepository) (name, profiles, label) -> {
+                reads.incrementAndGet();
+                return new Environment(name, profiles);
+            }, "testRepository");
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void request(String deadline) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RequestDeadline.ATTRIBUTE, RequestDeadline.parse(deadline, System.nanoTime()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    public void testThatTheRepositoryIsNotReadForAnExpiredDeadline() {
+        request("0");
+
+        try {
+            repository.findOne("testservice", "default", null);
+            throw new AssertionError("the read must be abandoned");
+        }
+        catch (DeadlineExceededException expected) {
+            assertThat(expected.getMessage()).contains("testRepository");
+        }
+        assertThat(reads.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatTheRepositoryIsReadBeforeTheDeadline() {
+        request("60000");
+
+        assertThat(repository.findOne("testservice", "default", null).getName()).isEqualTo("testservice");
+        assertThat(reads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatTheRepositoryIsReadWithoutRequest() {
+        assertThat(repository.findOne("testservice", "default", null).getName()).isEqualTo("testservice");
+        assertThat(reads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatMalformedDeadlinesAreIgnored() {
+        assertThat(RequestDeadline.parse("soon", System.nanoTime())).isNull();
+        assertThat(RequestDeadline.parse(null, System.nanoTime())).isNull();
+        assertThat(RequestDeadline.parse(" 1000 ", 0L).remaining(0L)).isEqualTo(1000L);
+    }
+}
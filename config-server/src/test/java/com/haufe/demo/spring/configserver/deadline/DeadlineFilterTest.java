@@ -0,0 +1,54 @@
+package com.haufe.demo.spring.configserver.deadline;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Integration tests of the client deadlines.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"integrationtest"})
+@TestPropertySource(properties = {
+        "haufe.configserver.security.basicAuth.username=",
+        "haufe.configserver.security.basicAuth.password="
+})
+public class DeadlineFilterTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private ResponseEntity<String> get(String deadline) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RequestDeadline.HEADER, deadline);
+        return restTemplate.exchange("/testservice/default", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    public void testThatRequestsWithAnExpiredDeadlineAreAbandoned() {
+        assertThat(get("0").getStatusCodeValue()).isEqualTo(504);
+    }
+
+    @Test
+    public void testThatRequestsBeforeTheDeadlineAreServed() {
+        assertThat(get("60000").getStatusCodeValue()).isEqualTo(200);
+    }
+
+    @Test
+    public void testThatMalformedDeadlinesAreIgnored() {
+        assertThat(get("soon").getStatusCodeValue()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,118 @@
+package com.haufe.demo.spring.configserver.delta;
+
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link EnvironmentDeltaService}.
+ */
+public class EnvironmentDeltaServiceTest {
+
+    private final Map<String, Object> applicationYml = new LinkedHashMap<>();
+    private final Map<String, Object> testserviceYml = new LinkedHashMap<>();
+    private String repositoryVersion;
+
+    private final EnvironmentDeltaService deltaService = new EnvironmentDeltaService(
+            (application, profiles, label) -> {
+                String version = label != null && label.startsWith("commit-") ? label : repositoryVersion;
+                Environment environment = new Environment(application, profiles.split(","));
+                environment.setVersion(version);
+                environment.add(new PropertySource("testservice.yml", new LinkedHashMap<>(testserviceYml)));
+                environment.add(new PropertySource("application.yml", new LinkedHashMap<>(applicationYml)));
+                return environment;
+            },
+            null,
+            Collections.emptyMap(),
+            16);
+
+    @Test
+    public void testThatDeltaWithoutClientVersionIsComplete() {
+        testserviceYml.put("foo.bar", "baz");
+
+        EnvironmentDelta delta = deltaService.delta("testservice", "default", null, null);
+
+        assertThat(delta.isComplete(), is(true));
+        assertThat(delta.getPropertySourceNames(), contains("testservice.yml", "application.yml"));
+        assertThat(delta.getPropertySources(), hasSize(1));
+        assertThat(delta.getPropertySources().get(0).getAdded(), hasEntry("foo.bar", "baz"));
+    }
+
+    @Test
+    public void testThatDeltaContainsAddedChangedAndRemovedProperties() {
+        testserviceYml.put("foo.bar", "baz");
+        testserviceYml.put("foo.old", "x");
+        applicationYml.put("common", "unchanged");
+        String fromVersion = deltaService.delta("testservice", "default", null, null).getToVersion();
+        testserviceYml.put("foo.bar", "qux");
+        testserviceYml.remove("foo.old");
+        testserviceYml.put("foo.new", 42);
+
+        EnvironmentDelta delta = deltaService.delta("testservice", "default", null, fromVersion);
+
+        assertThat(delta.isComplete(), is(false));
+        assertThat(delta.getFromVersion(), is(fromVersion));
+        assertThat(delta.getToVersion(), not(fromVersion));
+        assertThat(delta.getPropertySources(), hasSize(1));
+        EnvironmentDelta.PropertySourceDelta propertySourceDelta = delta.getPropertySources().get(0);
+        assertThat(propertySourceDelta.getName(), is("testservice.yml"));
+        assertThat(propertySourceDelta.getAdded(), is(Collections.singletonMap("foo.new", 42)));
+        assertThat(propertySourceDelta.getChanged(), is(Collections.singletonMap("foo.bar", "qux")));
+        assertThat(propertySourceDelta.getRemoved(), contains("foo.old"));
+    }
+
+    @Test
+    public void testThatUnchangedEnvironmentHasEmptyDelta() {
+        testserviceYml.put("foo.bar", "baz");
+        String version = deltaService.delta("testservice", "default", null, null).getToVersion();
+
+        EnvironmentDelta delta = deltaService.delta("testservice", "default", null, version);
+
+        assertThat(delta.getToVersion(), is(version));
+        assertThat(delta.getPropertySources(), is(empty()));
+    }
+
+    @Test
+    public void testThatUnknownVersionOfUnversionedRepositoryYieldsCompleteDelta() {
+        testserviceYml.put("foo.bar", "baz");
+
+        EnvironmentDelta delta = deltaService.delta("testservice", "default", null, "unknown");
+
+        assertThat(delta.isComplete(), is(true));
+        assertThat(delta.getFromVersion(), is("unknown"));
+    }
+
+    @Test
+    public void testThatUnknownVersionOfVersionedRepositoryIsReadFromRepository() {
+        repositoryVersion = "commit-2";
+        testserviceYml.put("foo.bar", "baz");
+
+        EnvironmentDelta delta = deltaService.delta("testservice", "default", null, "commit-1");
+
+        assertThat(delta.isComplete(), is(false));
+        assertThat(delta.getToVersion(), is("commit-2"));
+        assertThat(delta.getPropertySources(), is(empty()));
+    }
+
+    @Test
+    public void testThatRemovedPropertySourceIsMissingFromNames() {
+        applicationYml.put("common", "value");
+        String fromVersion = deltaService.delta("testservice", "default", null, null).getToVersion();
+        applicationYml.clear();
+        testserviceYml.put("foo.bar", "baz");
+
+        EnvironmentDelta delta = deltaService.delta("testservice", "default", null, fromVersion);
+
+        assertThat(delta.getPropertySourceNames(), is(Arrays.asList("testservice.yml", "application.yml")));
+        assertThat(delta.getPropertySources(), hasSize(2));
+        assertThat(delta.getPropertySources().get(1).getRemoved(), contains("common"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Integration tests of the batch encryption endpoints {@link BatchEncryptionController}.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"integrationtest"})
+@TestPropertySource(properties = {
+        "haufe.configserver.security.basicAuth.username=",
+        "haufe.configserver.security.basicAuth.password=",
+        "haufe.configserver.batchEncryption.maxValues=3"
+})
+public class BatchEncryptionControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private ResponseEntity<String> post(String path, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity(path, new HttpEntity<>(body, headers), String.class);
+    }
+
+    @Test
+    public void testThatBatchesWithoutAKeyAreRejected() {
+        ResponseEntity<String> entity = post("/encrypt/batch", "[\"a\", \"b\"]");
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(404);
+        DocumentContext body = JsonPath.parse(entity.getBody());
+        assertThat(body.<String>read("$.status")).isEqualTo("NO_KEY");
+    }
+
+    @Test
+    public void testThatSingleValuesAreExemptFromCsrfLikeBatches() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+
+        for (String path : new String[]{"/encrypt", "/decrypt", "/encrypt/testservice/default"}) {
+            ResponseEntity<String> entity = restTemplate.postForEntity(path, new HttpEntity<>("a", headers),
+                                                                       String.class);
+
+            assertThat(entity.getStatusCodeValue()).as(path).isNotEqualTo(403);
+        }
+    }
+
+    @Test
+    public void testThatOversizedBatchesAreRejected() {
+        ResponseEntity<String> entity = post("/decrypt/batch/testservice/default", "[\"a\", \"b\", \"c\", \"d\"]");
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(400);
+    }
+
+    @Test
+    public void testThatNullValuesAreRejected() {
+        ResponseEntity<String> entity = post("/encrypt/batch", "[\"a\", null]");
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(400);
+        List<String> status = JsonPath.parse(entity.getBody()).read("$..status");
+        assertThat(status).containsExactly("BAD_REQUEST");
+    }
+}
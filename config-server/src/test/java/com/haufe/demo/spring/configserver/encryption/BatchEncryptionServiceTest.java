@@ -0,0 +1,106 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests of {@link BatchEncryptionService}.
+ */
+public class BatchEncryptionServiceTest {
+
+    private final AtomicInteger locates = new AtomicInteger();
+
+    private final TextEncryptorLocator locator = keys -> {
+        locates.incrementAndGet();
+        String alias = keys.getOrDefault("key", "default");
+        return new TextEncryptor() {
+            @Override
+            public String encrypt(String text) {
+                return alias + ":" + text;
+            }
+
+            @Override
+            public String decrypt(String encryptedText) {
+                if (!encryptedText.startsWith(alias + ":")) {
+                    throw new IllegalStateException("not encrypted with " + alias);
+                }
+                return encryptedText.substring(alias.length() + 1);
+            }
+        };
+    };
+
+    private final BatchEncryptionService service = new BatchEncryptionService(locator, 2);
+
+    @After
+    public void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    public void testThatResultsAreInTheOrderOfTheValues() {
+        assertThat(service.encrypt("app", "default", Arrays.asList("a", "b", "c", "d", "e")),
+                   contains("default:a", "default:b", "default:c", "default:d", "default:e"));
+        assertThat(service.decrypt("app", "default", Arrays.asList("default:e", "default:d", "default:c")),
+                   contains("e", "d", "c"));
+    }
+
+    @Test
+    public void testThatTheEncryptorIsLocatedOncePerKey() {
+        service.encrypt("app", "default", Arrays.asList("a", "{key:other}b", "c", "{key:other}d"));
+
+        assertThat(locates.get(), is(2));
+    }
+
+    @Test
+    public void testThatEncryptedValuesKeepTheirKeyPrefix() {
+        assertThat(service.encrypt("app", "default", Collections.singletonList("{key:other}b")),
+                   contains("{key:other}other:b"));
+        assertThat(service.decrypt("app", "default", Collections.singletonList("{key:other}other:b")),
+                   contains("b"));
+    }
+
+    @Test
+    public void testThatAnInvalidCipherTextReportsItsIndex() {
+        try {
+            service.decrypt("app", "default", Arrays.asList("default:a", "default:b", "other:c", "default:d"));
+            fail("decrypted a value encrypted with another key");
+        }
+        catch (InvalidCipherTextException exception) {
+            assertThat(exception.getIndex(), is(2));
+            assertThat(exception.getMessage().contains("other:c"), is(false));
+        }
+    }
+
+    @Test
+    public void testThatAMissingKeyIsDetected() {
+        BatchEncryptionService noKey = new BatchEncryptionService(keys -> new TextEncryptor() {
+            @Override
+            public String encrypt(String text) {
+                return text;
+            }
+
+            @Override
+            public String decrypt(String encryptedText) {
+                return encryptedText;
+            }
+        }, 1);
+        try {
+            assertThat(noKey.isKeyInstalled("app", "default"), is(false));
+            assertThat(service.isKeyInstalled("app", "default"), is(true));
+        }
+        finally {
+            noKey.destroy();
+        }
+    }
+}
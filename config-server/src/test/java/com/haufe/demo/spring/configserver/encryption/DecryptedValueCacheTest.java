@@ -0,0 +1,134 @@
+package com.haufe.demo.spring.configserver.encryption;
+
+import org.junit.Test;
+import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link DecryptedValueCache} and {@link CachingTextEncryptorLocator}.
+ */
+public class DecryptedValueCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1000L);
+    private final AtomicInteger locates = new AtomicInteger();
+    private final AtomicInteger decryptions = new AtomicInteger();
+    private final DecryptedValueCache cache = new DecryptedValueCache(2, 500L, now::get);
+
+    private final TextEncryptorLocator locator = keys -> {
+        locates.incrementAndGet();
+        String alias = keys.getOrDefault("key", "default");
+        return new TextEncryptor() {
+            @Override
+            public String encrypt(String text) {
+                return alias + ":" + text;
+            }
+
+            @Override
+            public String decrypt(String encryptedText) {
+                decryptions.incrementAndGet();
+                return encryptedText.substring(alias.length() + 1);
+            }
+        };
+    };
+
+    private final TextEncryptorLocator cachingLocator = new CachingTextEncryptorLocator(locator, cache);
+
+    private String decrypt(String key, String cipherText) {
+        Map<String, String> keys = new HashMap<>();
+        if (key != null) {
+            keys.put("key", key);
+        }
+        return cachingLocator.locate(keys).decrypt(cipherText);
+    }
+
+    @Test
+    public void testThatValueIsDecryptedOnceUntilItExpires() {
+        assertThat(decrypt(null, "default:secret"), is("secret"));
+        now.addAndGet(499L);
+        assertThat(decrypt(null, "default:secret"), is("secret"));
+        assertThat(decryptions.get(), is(1));
+        assertThat(locates.get(), is(1));
+
+        now.addAndGet(1L);
+        assertThat(decrypt(null, "default:secret"), is("secret"));
+        assertThat(decryptions.get(), is(2));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(2L));
+    }
+
+    @Test
+    public void testThatSameCipherTextOfDifferentKeysIsCachedSeparately() {
+        assertThat(decrypt("aa", "aa:xyz"), is("xyz"));
+        assertThat(decrypt("b", "aa:xyz"), is(":xyz"));
+
+        assertThat(decryptions.get(), is(2));
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void testThatLeastRecentlyUsedValueIsEvicted() {
+        decrypt(null, "default:1");
+        decrypt(null, "default:2");
+        decrypt(null, "default:1");
+        decrypt(null, "default:3");
+
+        decrypt(null, "default:1");
+        assertThat(decryptions.get(), is(3));
+        decrypt(null, "default:2");
+        assertThat(decryptions.get(), is(4));
+    }
+
+    @Test
+    public void testThatFailuresAreNotCached() {
+        TextEncryptorLocator failing = new CachingTextEncryptorLocator(keys -> {
+            throw new IllegalStateException("no key");
+        }, cache);
+        for (int i = 0; i < 2; i++) {
+            try {
+                failing.locate(Collections.emptyMap()).decrypt("x");
+            }
+            catch (IllegalStateException expected) {
+                // expected
+            }
+        }
+
+        assertThat(cache.getMisses(), is(2L));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testThatKeyRotationInvalidatesTheCache() {
+        decrypt(null, "default:secret");
+
+        cache.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton("server.port")));
+        assertThat(cache.size(), is(1));
+        cache.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton("encrypt.keyStore.alias")));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testThatTheUndecoratedLocatorBypassesTheCache() {
+        TextEncryptorLocator undecorated = CachingTextEncryptorLocator.undecorated(cachingLocator);
+
+        assertThat(undecorated.locate(Collections.emptyMap()).decrypt("default:secret"), is("secret"));
+        assertThat(cache.size(), is(0));
+        assertThat(CachingTextEncryptorLocator.undecorated(locator) == locator, is(true));
+    }
+
+    @Test
+    public void testThatEncryptionIsNotCached() {
+        cachingLocator.locate(Collections.emptyMap()).encrypt("secret");
+
+        assertThat(cache.size(), is(0));
+    }
+}
@@ -0,0 +1,40 @@
+package com.haufe.demo.spring.configserver.environment;
+
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link EnvironmentVersions}.
+ */
+public class EnvironmentVersionsTest {
+
+    @Test
+    public void testThatVersionOfVersionedEnvironmentIsRepositoryVersion() {
+        Environment environment = new Environment("testservice", "default");
+        environment.setVersion("0123abcd");
+
+        assertThat(EnvironmentVersions.versionOf(environment), is("0123abcd"));
+    }
+
+    @Test
+    public void testThatVersionOfUnversionedEnvironmentIsDigestOfPropertySources() {
+        Environment environment = new Environment("testservice", "default");
+        environment.add(new PropertySource("testservice.yml", Collections.singletonMap("foo.bar", "baz")));
+        Environment sameEnvironment = new Environment("testservice", "default");
+        sameEnvironment.add(new PropertySource("testservice.yml", Collections.singletonMap("foo.bar", "baz")));
+        Environment changedEnvironment = new Environment("testservice", "default");
+        changedEnvironment.add(new PropertySource("testservice.yml", Collections.singletonMap("foo.bar", "qux")));
+
+        String version = EnvironmentVersions.versionOf(environment);
+
+        assertThat(version, not(isEmptyOrNullString()));
+        assertThat(EnvironmentVersions.versionOf(sameEnvironment), is(version));
+        assertThat(EnvironmentVersions.versionOf(changedEnvironment), not(version));
+    }
+}
@@ -0,0 +1,71 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import com.haufe.demo.spring.configserver.cache.EnvironmentCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Integration tests of the latency histograms of the config fetches' phases.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"integrationtest"})
+@TestPropertySource(properties = {
+        "haufe.configserver.security.basicAuth.username=",
+        "haufe.configserver.security.basicAuth.password="
+})
+public class HotPathIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private HotPathMetrics hotPathMetrics;
+
+    @Autowired
+    private EnvironmentCache environmentCache;
+
+    @Before
+    @After
+    public void invalidateCache() {
+        environmentCache.invalidateAll();
+    }
+
+    private long countOf(String name) {
+        Map<String, Number> values = hotPathMetrics.metrics().stream()
+                .collect(Collectors.toMap(Metric::getName, Metric::getValue));
+        Number count = values.get("hotpath." + name + ".count");
+        return count != null ? count.longValue() : 0L;
+    }
+
+    @Test
+    public void testThatThePhasesOfAFetchAreRecorded() {
+        long backend = countOf("backend.native.testservice.default.none");
+        long cache = countOf("cache.testservice.default.none");
+        long serialization = countOf("serialization.testservice.default.none");
+
+        assertThat(restTemplate.getForEntity("/testservice/default", String.class).getStatusCodeValue())
+                .isEqualTo(200);
+        assertThat(restTemplate.getForEntity("/testservice/default", String.class).getStatusCodeValue())
+                .isEqualTo(200);
+
+        assertThat(countOf("backend.native.testservice.default.none")).isEqualTo(backend + 1);
+        assertThat(countOf("cache.testservice.default.none")).isEqualTo(cache + 1);
+        assertThat(countOf("serialization.testservice.default.none")).isGreaterThanOrEqualTo(serialization + 2);
+    }
+}
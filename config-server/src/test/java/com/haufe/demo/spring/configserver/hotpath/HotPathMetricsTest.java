@@ -0,0 +1,81 @@
+package com.haufe.demo.spring.configserver.hotpath;
+
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests of {@link HotPathMetrics} and {@link LatencyHistogram}.
+ */
+public class HotPathMetricsTest {
+
+    private static Map<String, Number> valuesOf(HotPathMetrics metrics) {
+        return metrics.metrics().stream().collect(Collectors.toMap(Metric::getName, Metric::getValue));
+    }
+
+    @Test
+    public void testThatTheBucketsCoverAllLatencies() {
+        for (long value : new long[]{0L, 1L, 7L, 8L, 15L, 16L, 17L, 1000L, 123456789L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.upperBoundOf(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBoundOf(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void testThatPercentilesAreAccurateToTheBucketSize() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 100; millis++) {
+            histogram.record(millis * 1_000_000L);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100L);
+        assertThat(histogram.getMean()).isEqualTo(50_500_000.0);
+        assertThat(histogram.getMax()).isEqualTo(100_000_000L);
+        assertThat(histogram.getPercentile(50.0)).isBetween(50_000_000L, 56_250_000L);
+        assertThat(histogram.getPercentile(99.0)).isBetween(99_000_000L, 100_000_000L);
+        assertThat(histogram.getPercentile(100.0)).isEqualTo(100_000_000L);
+        assertThat(new LatencyHistogram().getPercentile(50.0)).isEqualTo(0L);
+    }
+
+    @Test
+    public void testThatLatenciesAreTaggedByEnvironment() {
+        HotPathMetrics metrics = new HotPathMetrics(10);
+        HotPathMetrics.Phase phase = metrics.phase("backend.git");
+        phase.record("testservice", "default", null, 2_000_000L);
+        phase.record("testservice", "default", null, 4_000_000L);
+        metrics.phase("auth").record(1_000_000L);
+
+        Map<String, Number> values = valuesOf(metrics);
+        assertThat(metrics.phase("backend.git")).isSameAs(phase);
+        assertThat(values.get("hotpath.backend.git.count")).isEqualTo(2L);
+        assertThat(values.get("hotpath.backend.git.testservice.default.none.count")).isEqualTo(2L);
+        assertThat(values.get("hotpath.backend.git.testservice.default.none.mean")).isEqualTo(3.0);
+        assertThat(values.get("hotpath.backend.git.testservice.default.none.max")).isEqualTo(4.0);
+        assertThat(values.get("hotpath.auth.count")).isEqualTo(1L);
+        assertThat(values).doesNotContainKey("hotpath.backend.git.overflow.count");
+    }
+
+    @Test
+    public void testThatTheNumberOfTaggedHistogramsIsBounded() {
+        HotPathMetrics metrics = new HotPathMetrics(2);
+        HotPathMetrics.Phase phase = metrics.phase("serialization");
+        for (int i = 0; i < 5; i++) {
+            phase.record("app" + i, "default", "master", 1_000_000L);
+        }
+        phase.record("app0", "default", "master", 1_000_000L);
+
+        Map<String, Number> values = valuesOf(metrics);
+        assertThat(metrics.getSeriesCount()).isEqualTo(2);
+        assertThat(values.get("hotpath.serialization.count")).isEqualTo(6L);
+        assertThat(values.get("hotpath.serialization.app0.default.master.count")).isEqualTo(2L);
+        assertThat(values.get("hotpath.serialization.overflow.count")).isEqualTo(3L);
+        assertThat(values).doesNotContainKey("hotpath.serialization.app4.default.master.count");
+    }
+}
@@ -0,0 +1,123 @@
+package com.haufe.demo.spring.configserver.jfr;
+
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Unit tests of the config server's flight recorder events.
+ */
+public class FlightRecorderEventsTest {
+
+    private Recording recording;
+
+    @Before
+    public void startRecording() {
+        recording = new Recording();
+        recording.enable("com.haufe.configserver.EnvironmentResolution");
+        recording.enable("com.haufe.configserver.EnvironmentCacheHit");
+        recording.enable("com.haufe.configserver.AuthenticationDecision");
+        recording.start();
+    }
+
+    @After
+    public void closeRecording() {
+        recording.close();
+    }
+
+    private List<RecordedEvent> stopRecording(String eventName) throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("config-server", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(eventName))
+                    .collect(Collectors.toList());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testThatRepositoryReadsAreRecorded() throws IOException {
+        EnvironmentRepository backend = (application, profiles, label) -> {
+            Environment environment = new Environment(application, new String[]{profiles}, label, "4711", null);
+            return environment;
+        };
+        EnvironmentRepository recorded = (EnvironmentRepository) new RecordingEnvironmentRepositoryPostProcessor()
+                .postProcessAfterInitialization(backend, "testRepository");
+
+        recorded.findOne("testservice", "default", "master");
+
+        List<RecordedEvent> events = stopRecording("com.haufe.configserver.EnvironmentResolution");
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("application")).isEqualTo("testservice");
+        assertThat(event.getString("profiles")).isEqualTo("default");
+        assertThat(event.getString("label")).isEqualTo("master");
+        assertThat(event.getString("repository")).isEqualTo("testRepository");
+        assertThat(event.getString("version")).isEqualTo("4711");
+        assertThat(event.getString("outcome")).isEqualTo("found");
+    }
+
+    @Test
+    public void testThatCacheHitsAreRecorded() throws IOException {
+        new CacheHitRecorder().hit(new EnvironmentKey("testservice", "default", null), 1234L);
+
+        List<RecordedEvent> events = stopRecording("com.haufe.configserver.EnvironmentCacheHit");
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("application")).isEqualTo("testservice");
+        assertThat(events.get(0).getDuration("lookupTime").toNanos()).isEqualTo(1234L);
+    }
+
+    @Test
+    public void testThatAuthenticationDecisionsAreRecorded() throws IOException {
+        AuthenticationManager authenticationManager = new AuthenticationRecorder().recording(authentication -> {
+            if (!"secret".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("wrong password");
+            }
+            return new UsernamePasswordAuthenticationToken(authentication.getPrincipal(), null,
+                                                           AuthorityUtils.createAuthorityList("ROLE_USER"));
+        });
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("client", "secret"));
+        try {
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("client", "guess"));
+            fail("wrong credentials were accepted");
+        }
+        catch (BadCredentialsException expected) {
+            // recorded as denied
+        }
+
+        List<RecordedEvent> events = stopRecording("com.haufe.configserver.AuthenticationDecision");
+        assertThat(events).hasSize(2);
+        RecordedEvent granted = events.get(0).getBoolean("granted") ? events.get(0) : events.get(1);
+        RecordedEvent denied = granted == events.get(0) ? events.get(1) : events.get(0);
+        assertThat(granted.getBoolean("granted")).isTrue();
+        assertThat(granted.getString("reason")).isNull();
+        assertThat(granted.getString("username")).isEqualTo("client");
+        assertThat(denied.getBoolean("granted")).isFalse();
+        assertThat(denied.getString("reason")).isEqualTo("BadCredentialsException");
+        assertThat(denied.getString("username")).isEqualTo("client");
+    }
+}
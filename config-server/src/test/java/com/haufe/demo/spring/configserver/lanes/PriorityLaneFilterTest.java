@@ -0,0 +1,135 @@
+package com.haufe.demo.spring.configserver.lanes;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link PriorityLaneFilter}, {@link FetchLane} and {@link ApplicationClientClasses}.
+ */
+public class PriorityLaneFilterTest {
+
+    private final FetchLane fetchLane = new FetchLane(10, shares(), "standard");
+    private final PriorityLaneFilter filter = new PriorityLaneFilter(fetchLane,
+            new ManagementRequestMatcher(() -> Arrays.asList("/health", "/metrics")),
+            new ApplicationClientClasses(null, Collections.singletonMap("paymentservice", "critical")));
+
+    private static Map<String, Integer> shares() {
+        Map<String, Integer> shares = new LinkedHashMap<>();
+        shares.put("critical", 100);
+        shares.put("standard", 80);
+        shares.put("batch", 50);
+        return shares;
+    }
+
+    private static MockHttpServletRequest request(String path, String clientClass) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (clientClass != null) {
+            request.addHeader(PriorityLaneFilter.CLIENT_CLASS_HEADER, clientClass);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertThat(chain.getRequest() != null, is(response.getStatus() == 200));
+        return response;
+    }
+
+    private void fill(int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(fetchLane.tryEnter("critical"), is(true));
+        }
+    }
+
+    @Test
+    public void testThatTheLimitsAreTheSharesOfTheCapacity() {
+        assertThat(fetchLane.getLimits().get("critical"), is(10));
+        assertThat(fetchLane.getLimits().get("standard"), is(8));
+        assertThat(fetchLane.getLimits().get("batch"), is(5));
+        assertThat(fetchLane.classOf("unknown"), is("standard"));
+        assertThat(fetchLane.classOf(null), is("standard"));
+        assertThat(new FetchLane(1, Collections.singletonMap("batch", 10), "other").getLimits().get("batch"), is(1));
+    }
+
+    @Test
+    public void testThatTheLowerClassesAreTurnedAwayFirst() throws Exception {
+        fill(5);
+
+        MockHttpServletResponse batch = filter(request("/testservice/default", "batch"));
+        assertThat(batch.getStatus(), is(503));
+        assertThat(batch.getHeader("Retry-After"), is("1"));
+        assertThat(filter(request("/testservice/default", null)).getStatus(), is(200));
+
+        fill(3);
+        assertThat(filter(request("/testservice/default", "unknown")).getStatus(), is(503));
+        assertThat(filter(request("/paymentservice/default", null)).getStatus(), is(200));
+        assertThat(fetchLane.getRejected().get("batch"), is(1L));
+        assertThat(fetchLane.getRejected().get("standard"), is(1L));
+        assertThat(fetchLane.getActive(), is(8));
+    }
+
+    @Test
+    public void testThatClientsCannotClaimAHigherClassThanTheirApplications() throws Exception {
+        fill(8);
+
+        assertThat(filter(request("/testservice/default", "critical")).getStatus(), is(503));
+        assertThat(filter(request("/watch/testservice/default", "critical")).getStatus(), is(503));
+        assertThat(filter(request("/paymentservice/default", "batch")).getStatus(), is(503));
+        assertThat(fetchLane.getRejected().get("standard"), is(2L));
+        assertThat(fetchLane.getRejected().get("batch"), is(1L));
+        assertThat(filter(request("/paymentservice/default", "critical")).getStatus(), is(200));
+        assertThat(fetchLane.classOf("batch", null), is("batch"));
+        assertThat(fetchLane.classOf("critical", "standard"), is("standard"));
+    }
+
+    @Test
+    public void testThatTheApplicationIsTakenFromTheRequestPath() {
+        ApplicationClientClasses clientClasses =
+                new ApplicationClientClasses("/config", Collections.singletonMap("paymentservice", "critical"));
+
+        assertThat(clientClasses.apply(request("/config/paymentservice/default/master", null)), is("critical"));
+        assertThat(clientClasses.apply(request("/config/paymentservice/default/master/logback.xml", null)),
+                   is("critical"));
+        assertThat(clientClasses.apply(request("/config/watch/paymentservice/default", null)), is("critical"));
+        assertThat(clientClasses.apply(request("/config/delta/paymentservice/default", null)), is("critical"));
+        assertThat(clientClasses.apply(request("/config/testservice/default", null)), nullValue());
+        assertThat(clientClasses.apply(request("/config/watch", null)), nullValue());
+        assertThat(clientClasses.apply(request("/paymentservice/default", null)), nullValue());
+    }
+
+    @Test
+    public void testThatActuatorRequestsPassAFullFetchLane() throws Exception {
+        fill(10);
+
+        assertThat(filter(request("/testservice/default", "critical")).getStatus(), is(503));
+        assertThat(filter(request("/health", null)).getStatus(), is(200));
+        assertThat(filter(request("/health.json", null)).getStatus(), is(200));
+        assertThat(filter(request("/metrics/mem", null)).getStatus(), is(200));
+        assertThat(filter(request("/healthy/default", null)).getStatus(), is(503));
+        assertThat(filter.getManagementActive(), is(0));
+    }
+
+    @Test
+    public void testThatRequestsLeaveTheLane() throws Exception {
+        MockHttpServletResponse response = filter(request("/testservice/default", "batch"));
+
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.getHeader("Retry-After"), nullValue());
+        assertThat(fetchLane.getActive(), is(0));
+        assertThat(fetchLane.toString(), notNullValue());
+    }
+}
@@ -0,0 +1,87 @@
+package com.haufe.demo.spring.configserver.shutdown;
+
+import org.junit.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link GracefulShutdown} and {@link InFlightRequestFilter}.
+ */
+public class GracefulShutdownTest {
+
+    private final InFlightRequestFilter filter = new InFlightRequestFilter(Collections.singletonList("/watch/**"));
+    private final GracefulShutdown gracefulShutdown = new GracefulShutdown(filter, 0, 5000);
+    private final GracefulShutdownHealthIndicator healthIndicator =
+            new GracefulShutdownHealthIndicator(gracefulShutdown);
+
+    private void filter(String path, FilterChain chain) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", path), new MockHttpServletResponse(), chain);
+    }
+
+    @Test
+    public void testThatTheShutdownWaitsForTheRequestsInFlight() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> request = CompletableFuture.runAsync(() -> {
+            try {
+                filter("/testservice/default", (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    }
+                    catch (InterruptedException interruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(healthIndicator.health().getStatus(), is(Status.UP));
+
+        CompletableFuture<Void> shutdown = CompletableFuture.runAsync(gracefulShutdown::shutdown);
+        Thread.sleep(200);
+        assertThat(shutdown.isDone(), is(false));
+        assertThat(gracefulShutdown.getState(), is(GracefulShutdown.State.DRAINING));
+        assertThat(healthIndicator.health().getStatus(), is(Status.OUT_OF_SERVICE));
+
+        release.countDown();
+        request.get(5, TimeUnit.SECONDS);
+        shutdown.get(5, TimeUnit.SECONDS);
+        assertThat(gracefulShutdown.getState(), is(GracefulShutdown.State.DRAINED));
+        assertThat(healthIndicator.health().getStatus(), is(Status.OUT_OF_SERVICE));
+    }
+
+    @Test
+    public void testThatAsynchronousRequestsAreInFlightUntilComplete() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/testservice/default");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertThat(filter.getInFlight(), is(1));
+        assertThat(filter.awaitDrained(50), is(1));
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(filter.getInFlight(), is(0));
+        assertThat(filter.awaitDrained(50), is(0));
+    }
+
+    @Test
+    public void testThatIgnoredRequestsAreNotWaitedFor() throws Exception {
+        filter("/watch/testservice/default", (req, res) -> assertThat(filter.getInFlight(), is(0)));
+        filter("/testservice/default", (req, res) -> assertThat(filter.getInFlight(), is(1)));
+        assertThat(filter.getInFlight(), is(0));
+    }
+}
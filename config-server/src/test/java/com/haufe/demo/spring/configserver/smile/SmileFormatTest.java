@@ -0,0 +1,75 @@
+package com.haufe.demo.spring.configserver.smile;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Integration tests of the Smile response format.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"integrationtest"})
+@TestPropertySource(properties = {
+        "haufe.configserver.security.basicAuth.username=",
+        "haufe.configserver.security.basicAuth.password="
+})
+public class SmileFormatTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private ResponseEntity<byte[]> get(MediaType... accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Arrays.asList(accept));
+        return restTemplate.exchange("/testservice/default", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    @Test
+    public void testThatEnvironmentsAreServedAsSmileOnRequest() throws Exception {
+        ResponseEntity<byte[]> smile = get(SmileHttpMessageConverter.APPLICATION_SMILE, MediaType.APPLICATION_JSON);
+        ResponseEntity<byte[]> json = get(MediaType.APPLICATION_JSON);
+
+        assertThat(smile.getStatusCodeValue()).isEqualTo(200);
+        assertThat(smile.getHeaders().getContentType().isCompatibleWith(SmileHttpMessageConverter.APPLICATION_SMILE))
+                .isTrue();
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        ObjectMapper jsonMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Environment fromSmile = smileMapper.readValue(smile.getBody(), Environment.class);
+        Environment fromJson = jsonMapper.readValue(json.getBody(), Environment.class);
+        assertThat(fromSmile.getName()).isEqualTo("testservice");
+        assertThat(fromSmile.getPropertySources()).hasSameSizeAs(fromJson.getPropertySources());
+        for (int i = 0; i < fromJson.getPropertySources().size(); i++) {
+            assertThat(fromSmile.getPropertySources().get(i).getSource())
+                    .isEqualTo(fromJson.getPropertySources().get(i).getSource());
+        }
+    }
+
+    @Test
+    public void testThatClientsAcceptingAnyMediaTypeGetJson() {
+        ResponseEntity<byte[]> entity = get(MediaType.ALL);
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(entity.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package com.haufe.demo.spring.configserver.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufe.demo.spring.configserver.environment.EnvironmentKey;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link EnvironmentWarmUp} and {@link EnvironmentWarmUpHealthIndicator}.
+ */
+public class EnvironmentWarmUpTest {
+
+    private final List<EnvironmentKey> loaded = new CopyOnWriteArrayList<>();
+    private final EnvironmentWarmUpProperties properties = new EnvironmentWarmUpProperties();
+
+    @Test
+    public void testThatDeclaredAndDiscoveredEnvironmentsArePreloaded() {
+        properties.setEnvironments(Arrays.asList("otherservice/dev,cloud/feature(_)x", "testservice/default"));
+        EnvironmentWarmUp warmUp = new EnvironmentWarmUp(new Repository(), new ObjectMapper(), properties);
+
+        warmUp.run();
+
+        assertThat(loaded, containsInAnyOrder(new EnvironmentKey("otherservice", "dev,cloud", "feature/x"),
+                                              new EnvironmentKey("testservice", "default", null)));
+        assertThat(warmUp.getState(), is(EnvironmentWarmUp.State.COMPLETED));
+        assertThat(warmUp.getEnvironments(), is(2));
+        assertThat(warmUp.getFailures(), is(0));
+    }
+
+    @Test
+    public void testThatDiscoveredApplicationsAreOnlyTheDeclaredOnesIfDiscoveryIsOff() {
+        properties.setAutoDiscover(false);
+        properties.setEnvironments(Arrays.asList("otherservice/dev"));
+
+        assertThat(new EnvironmentWarmUp(new Repository(), new ObjectMapper(), properties).environmentKeys(),
+                   contains(new EnvironmentKey("otherservice", "dev", null)));
+    }
+
+    @Test
+    public void testThatFailuresAreCountedAndNodeBecomesHealthyAnyway() {
+        EnvironmentWarmUp warmUp = new EnvironmentWarmUp((application, profiles, label) -> {
+            throw new IllegalStateException("repository unavailable");
+        }, new ObjectMapper(), properties);
+        properties.setEnvironments(Arrays.asList("testservice/default"));
+        EnvironmentWarmUpHealthIndicator healthIndicator = new EnvironmentWarmUpHealthIndicator(warmUp);
+        assertThat(healthIndicator.health().getStatus(), is(Status.OUT_OF_SERVICE));
+
+        warmUp.run();
+
+        assertThat(warmUp.getFailures(), is(1));
+        assertThat(healthIndicator.health().getStatus(), is(Status.UP));
+        assertThat(healthIndicator.health().getDetails(), hasEntry("failures", (Object) 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatMalformedEnvironmentIsRejected() {
+        EnvironmentWarmUp.parse("testservice");
+    }
+
+    private class Repository implements EnvironmentRepository, SearchPathLocator {
+
+        @Override
+        public Environment findOne(String application, String profiles, String label) {
+            loaded.add(new EnvironmentKey(application, profiles, label));
+            return new Environment(application, profiles.split(","));
+        }
+
+        @Override
+        public Locations getLocations(String application, String profile, String label) {
+            return new Locations(application, profile, label, null, new String[]{"classpath:/testconfigurations"});
+        }
+    }
+}
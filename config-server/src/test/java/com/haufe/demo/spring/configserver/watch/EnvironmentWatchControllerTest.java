@@ -0,0 +1,76 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Integration tests of the change notification endpoint {@link EnvironmentWatchController}.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"integrationtest"})
+@TestPropertySource(properties = {
+        "haufe.configserver.security.basicAuth.username=",
+        "haufe.configserver.security.basicAuth.password=",
+        "haufe.configserver.watch.longPollTimeout=500",
+        "haufe.configserver.watch.sseTimeout=500"
+})
+public class EnvironmentWatchControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void testThatLongPollWithoutVersionReturnsCurrentVersion() {
+        ResponseEntity<String> entity = restTemplate.getForEntity("/watch/testservice/default", String.class);
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(200);
+        DocumentContext context = JsonPath.parse(entity.getBody());
+        assertThat(context.<String>read("$.name")).isEqualTo("testservice");
+        assertThat(context.<String>read("$.profiles")).isEqualTo("default");
+        assertThat(context.<String>read("$.version")).isNotEmpty();
+    }
+
+    @Test
+    public void testThatLongPollWithCurrentVersionTimesOutWithNotModified() {
+        String version = JsonPath.parse(restTemplate.getForEntity("/watch/testservice/default/master", String.class)
+                                                .getBody())
+                .read("$.version");
+
+        ResponseEntity<String> entity = restTemplate.getForEntity(
+                "/watch/testservice/default/master?version={version}", String.class, version);
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(304);
+    }
+
+    @Test
+    public void testThatEventStreamSendsCurrentVersion() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Collections.singletonList(MediaType.TEXT_EVENT_STREAM));
+
+        ResponseEntity<String> entity = restTemplate.exchange("/watch/testservice/default", HttpMethod.GET,
+                                                              new HttpEntity<>(headers), String.class);
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(entity.getHeaders().getContentType().isCompatibleWith(MediaType.TEXT_EVENT_STREAM)).isTrue();
+        assertThat(entity.getBody()).contains("event:version").contains("\"name\":\"testservice\"");
+    }
+}
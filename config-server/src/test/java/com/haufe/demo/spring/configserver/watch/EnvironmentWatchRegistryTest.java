@@ -0,0 +1,113 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link EnvironmentWatchRegistry}.
+ */
+public class EnvironmentWatchRegistryTest {
+
+    private static final EnvironmentWatchKey KEY = new EnvironmentWatchKey("testservice", "default", null);
+
+    private final AtomicReference<String> repositoryVersion = new AtomicReference<>("v1");
+
+    private final EnvironmentWatchRegistry registry = new EnvironmentWatchRegistry(
+            (application, profiles, label) -> {
+                Environment environment = new Environment(application, profiles.split(","));
+                environment.setVersion(repositoryVersion.get());
+                return environment;
+            },
+            TimeUnit.HOURS.toMillis(1),
+            2);
+
+    @After
+    public void tearDown() {
+        registry.destroy();
+    }
+
+    @Test
+    public void testThatNewSubscriberIsNotifiedOfCurrentVersion() throws InterruptedException {
+        List<String> versions = new CopyOnWriteArrayList<>();
+
+        registry.subscribe(KEY, null, false, versions::add);
+
+        awaitSize(versions, 1);
+        assertThat(versions, contains("v1"));
+    }
+
+    @Test
+    public void testThatSubscriberWithCurrentVersionIsNotifiedOfChangesOnly() throws InterruptedException {
+        List<String> versions = new CopyOnWriteArrayList<>();
+        registry.subscribe(KEY, "v1", false, versions::add);
+        registry.check(KEY);
+        assertThat(versions, is(empty()));
+
+        repositoryVersion.set("v2");
+        registry.check(KEY);
+        registry.check(KEY);
+
+        assertThat(versions, contains("v2"));
+    }
+
+    @Test
+    public void testThatOneShotSubscriptionIsCancelledAfterNotification() throws InterruptedException {
+        List<String> versions = new CopyOnWriteArrayList<>();
+        registry.subscribe(KEY, "v0", true, versions::add);
+        awaitSize(versions, 1);
+
+        repositoryVersion.set("v2");
+        registry.check(KEY);
+
+        assertThat(versions, contains("v1"));
+        assertThat(registry.getSubscriptionCount(), is(0));
+        assertThat(registry.getWatchedKeys(), is(empty()));
+    }
+
+    @Test
+    public void testThatFailingListenerIsUnsubscribed() throws InterruptedException {
+        EnvironmentWatchRegistry.Subscription subscription = registry.subscribe(KEY, "v0", false, version -> {
+            throw new IllegalStateException("client gone");
+        });
+        registry.check(KEY);
+
+        assertThat(registry.getSubscriptionCount(), is(0));
+        subscription.cancel();
+        assertThat(registry.getSubscriptionCount(), is(0));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testThatSubscriptionsBeyondMaximumAreRejected() {
+        registry.subscribe(KEY, "v1", false, version -> { });
+        registry.subscribe(KEY, "v1", false, version -> { });
+        registry.subscribe(KEY, "v1", false, version -> { });
+    }
+
+    @Test
+    public void testThatCancelledSubscriptionFreesCapacity() {
+        EnvironmentWatchRegistry.Subscription subscription = registry.subscribe(KEY, "v1", false, version -> { });
+        registry.subscribe(KEY, "v1", false, version -> { });
+        subscription.cancel();
+
+        registry.subscribe(KEY, "v1", false, version -> { });
+
+        assertThat(registry.getSubscriptionCount(), is(2));
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (list.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
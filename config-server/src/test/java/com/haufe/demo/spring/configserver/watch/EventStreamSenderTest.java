@@ -0,0 +1,114 @@
+package com.haufe.demo.spring.configserver.watch;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.cloud.config.environment.Environment;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link EventStreamSender}.
+ */
+public class EventStreamSenderTest {
+
+    private static final EnvironmentWatchKey KEY = new EnvironmentWatchKey("testservice", "default", null);
+
+    private final AtomicReference<String> repositoryVersion = new AtomicReference<>("v1");
+    private final CountDownLatch stalled = new CountDownLatch(1);
+
+    private final EnvironmentWatchRegistry registry = new EnvironmentWatchRegistry(
+            (application, profiles, label) -> {
+                Environment environment = new Environment(application, profiles.split(","));
+                environment.setVersion(repositoryVersion.get());
+                return environment;
+            },
+            TimeUnit.HOURS.toMillis(1),
+            10);
+
+    private final EventStreamSender sender = new EventStreamSender(2, 0);
+
+    @After
+    public void tearDown() {
+        stalled.countDown();
+        sender.destroy();
+        registry.destroy();
+    }
+
+    private void stall(String version) {
+        try {
+            stalled.await();
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testThatStalledSubscriberDoesNotDelayOtherSubscribers() throws InterruptedException {
+        List<String> failures = new CopyOnWriteArrayList<>();
+        List<String> versions = new CopyOnWriteArrayList<>();
+        registry.subscribe(KEY, "v1", false, sender.listener(this::stall, exception -> failures.add("stalled")));
+        registry.subscribe(KEY, "v1", false, sender.listener(versions::add, exception -> failures.add("other")));
+        List<String> polled = new CopyOnWriteArrayList<>();
+        registry.subscribe(KEY, "v1", true, polled::add);
+
+        String[] newVersions = {"v2", "v3", "v4"};
+        for (int i = 0; i < newVersions.length; i++) {
+            repositoryVersion.set(newVersions[i]);
+            registry.check(KEY);
+            awaitSize(versions, i + 1);
+        }
+
+        assertThat(versions, contains("v2", "v3", "v4"));
+        assertThat(polled, contains("v2"));
+        assertThat(failures, is(empty()));
+        assertThat(registry.getSubscriptionCount(), is(2));
+    }
+
+    @Test
+    public void testThatStreamIsFailedIfAllSenderThreadsAreStalled() {
+        List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            registry.subscribe(KEY, "v1", false, sender.listener(this::stall, failures::add));
+        }
+
+        repositoryVersion.set("v2");
+        registry.check(KEY);
+
+        assertThat(failures, contains(instanceOf(RejectedExecutionException.class)));
+        assertThat(sender.getRejected(), is(1L));
+        assertThat(registry.getSubscriptionCount(), is(2));
+    }
+
+    @Test
+    public void testThatFailedSendEndsTheStream() throws InterruptedException {
+        List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+        registry.subscribe(KEY, "v1", false, sender.listener(version -> {
+            throw new IllegalStateException("client gone");
+        }, failures::add));
+
+        repositoryVersion.set("v2");
+        registry.check(KEY);
+        awaitSize(failures, 1);
+        repositoryVersion.set("v3");
+        registry.check(KEY);
+
+        assertThat(failures, contains(instanceOf(IllegalStateException.class)));
+        assertThat(registry.getSubscriptionCount(), is(0));
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (list.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
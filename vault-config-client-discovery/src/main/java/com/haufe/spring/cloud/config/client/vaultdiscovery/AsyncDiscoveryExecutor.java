@@ -0,0 +1,126 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for asynchronous Vault lookups.
+ * <p>
+ * Lookups run on a fixed number of daemon threads with a bounded queue; if the queue is full, the returned future
+ * fails with a {@link RejectedExecutionException} instead of piling up blocked threads. Each future completes
+ * exceptionally with a {@link TimeoutException} if the lookup takes longer than the timeout. Cancelling a future
+ * (or its timeout) interrupts the running lookup.
+ */
+public class AsyncDiscoveryExecutor implements DisposableBean {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timeoutScheduler;
+
+    /**
+     * Construct an executor with its own worker threads.
+     *
+     * @param name
+     *         the name prefix of the worker threads, must not be {@literal null}
+     * @param poolSize
+     *         the number of worker threads, must be positive
+     * @param queueCapacity
+     *         the maximum number of lookups waiting for a worker thread, must be positive
+     */
+    public AsyncDiscoveryExecutor(String name, int poolSize, int queueCapacity) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               daemonThreadFactory(name));
+        this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory(name + "-timeout"));
+    }
+
+    /**
+     * Run a lookup asynchronously.
+     *
+     * @param lookup
+     *         the blocking lookup, must not be {@literal null}
+     * @param timeout
+     *         the timeout in milliseconds; values less than 1 disable the timeout
+     * @param <T>
+     *         the lookup's result type
+     * @return a future of the lookup's result, never {@literal null}
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> lookup, long timeout) {
+        Objects.requireNonNull(lookup, "lookup must not be null");
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(lookup.get());
+                }
+                catch (RuntimeException | Error exception) {
+                    result.completeExceptionally(exception);
+                }
+            });
+        }
+        catch (RejectedExecutionException rejectedExecutionException) {
+            result.completeExceptionally(rejectedExecutionException);
+            return result;
+        }
+        ScheduledFuture<?> timeoutTask = timeout > 0 ?
+                                         timeoutScheduler.schedule(() -> result.completeExceptionally(
+                                                 new TimeoutException(name + " lookup timed out after "
+                                                                      + timeout + " ms")),
+                                                                   timeout, TimeUnit.MILLISECONDS) :
+                                         null;
+        result.whenComplete((value, exception) -> {
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+            }
+            // the worker completes the future itself, so it must only be interrupted if someone else completed it
+            if (exception instanceof TimeoutException || exception instanceof CancellationException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The number of lookups waiting for a worker thread.
+     *
+     * @return the queue size
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stop the worker threads, interrupting running lookups.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        timeoutScheduler.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
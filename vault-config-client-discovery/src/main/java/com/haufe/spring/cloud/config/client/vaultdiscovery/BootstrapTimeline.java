@@ -0,0 +1,305 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The timeline of the config client's bootstrap: each phase (Vault login, Vault reads, discovery, config fetch and
+ * context refresh) is recorded with its start, relative to the creation of the timeline, and its duration.
+ * <p>
+ * Phases may overlap (e.g., the discovery includes a Vault read, and the parallel bootstrap reads Vault and fetches
+ * the configuration concurrently) and occur more than once (e.g., a config fetch per profile). Once the timeline is
+ * {@link #complete() complete}, i.e., the application context is refreshed, later occurrences (e.g., the Vault reads
+ * and config fetches of a refresh) are no longer recorded.
+ */
+public class BootstrapTimeline {
+
+    /**
+     * The phase of the Vault login.
+     */
+    public static final String VAULT_LOGIN = "vaultLogin";
+
+    /**
+     * The phase of reading the secrets from Vault.
+     */
+    public static final String VAULT_READ = "vaultRead";
+
+    /**
+     * The phase of looking up the config server instances.
+     */
+    public static final String DISCOVERY = "discovery";
+
+    /**
+     * The phase of fetching the configuration from the config server.
+     */
+    public static final String CONFIG_FETCH = "configFetch";
+
+    /**
+     * The phase of refreshing the application context after the bootstrap.
+     */
+    public static final String CONTEXT_REFRESH = "contextRefresh";
+
+    private static final List<String> PHASES = Collections.unmodifiableList(
+            Arrays.asList(VAULT_LOGIN, VAULT_READ, DISCOVERY, CONFIG_FETCH, CONTEXT_REFRESH));
+
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final List<Entry> entries = new ArrayList<>();
+    private volatile long totalNanos = -1;
+
+    /**
+     * Start a timeline.
+     */
+    public BootstrapTimeline() {
+        this(System::nanoTime);
+    }
+
+    BootstrapTimeline(LongSupplier nanoClock) {
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock must not be null");
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Run an action and record it as an occurrence of a phase, unless the timeline is complete.
+     *
+     * @param phase
+     *         the name of the phase, must not be {@literal null}
+     * @param action
+     *         the action, must not be {@literal null}
+     * @param <T>
+     *         the type of the action's result
+     * @return the action's result
+     */
+    public <T> T time(String phase, Supplier<T> action) {
+        Objects.requireNonNull(action, "action must not be null");
+        Span span = start(phase);
+        boolean succeeded = false;
+        try {
+            T result = action.get();
+            succeeded = true;
+            return result;
+        }
+        finally {
+            span.end(succeeded);
+        }
+    }
+
+    /**
+     * Start an occurrence of a phase that does not fit in a single call, e.g., one that is started and ended by
+     * different callbacks.
+     *
+     * @param phase
+     *         the name of the phase, must not be {@literal null}
+     * @return the started occurrence, to be {@link Span#end(boolean) ended} by the caller
+     */
+    public Span start(String phase) {
+        Objects.requireNonNull(phase, "phase must not be null");
+        return new Span(phase, nanoClock.getAsLong());
+    }
+
+    /**
+     * Complete the timeline: record its total duration and stop recording. Calls after the first have no effect.
+     */
+    public synchronized void complete() {
+        if (totalNanos < 0) {
+            totalNanos = nanoClock.getAsLong() - startNanos;
+        }
+    }
+
+    /**
+     * Is the timeline complete?
+     *
+     * @return {@literal true} if the bootstrap is over and no further phases are recorded
+     */
+    public boolean isComplete() {
+        return totalNanos >= 0;
+    }
+
+    /**
+     * The time from the creation of the timeline to its completion.
+     *
+     * @return the total duration in milliseconds, {@literal -1} if the timeline is not complete yet
+     */
+    public long getTotal() {
+        long total = totalNanos;
+        return total >= 0 ? TimeUnit.NANOSECONDS.toMillis(total) : -1;
+    }
+
+    /**
+     * The recorded occurrences of all phases.
+     *
+     * @return the entries ordered by their start, never {@literal null}
+     */
+    public synchronized List<Entry> getEntries() {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::getStartNanos));
+        return sorted;
+    }
+
+    /**
+     * The total duration of each phase, i.e., the sum of the durations of its occurrences. Since phases may overlap,
+     * the durations may add up to more than the {@link #getTotal() total}.
+     *
+     * @return the durations in milliseconds by phase, ordered as the bootstrap usually runs, never {@literal null}
+     */
+    public Map<String, Long> getDurations() {
+        Map<String, Long> nanosByPhase = new LinkedHashMap<>();
+        for (String phase : PHASES) {
+            nanosByPhase.put(phase, null);
+        }
+        for (Entry entry : getEntries()) {
+            nanosByPhase.merge(entry.getPhase(), entry.getDurationNanos(), Long::sum);
+        }
+        Map<String, Long> durations = new LinkedHashMap<>();
+        nanosByPhase.forEach((phase, nanos) -> {
+            if (nanos != null) {
+                durations.put(phase, TimeUnit.NANOSECONDS.toMillis(nanos));
+            }
+        });
+        return durations;
+    }
+
+    /**
+     * Summarize the timeline in a single line of {@literal key=value} pairs, e.g.,
+     * {@literal "total=2310ms vaultLogin=85ms vaultRead=240ms discovery=310ms configFetch=620ms
+     * contextRefresh=1490ms"}.
+     *
+     * @return the summary, never {@literal null}
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        long total = getTotal();
+        summary.append("total=").append(total >= 0 ? total + "ms" : "incomplete");
+        getDurations().forEach((phase, duration) -> summary.append(' ').append(phase).append('=')
+                .append(duration).append("ms"));
+        long failures = getEntries().stream().filter(entry -> !entry.isSucceeded()).count();
+        if (failures > 0) {
+            summary.append(" failures=").append(failures);
+        }
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "BootstrapTimeline{" + summary() + '}';
+    }
+
+    private synchronized void record(Entry entry) {
+        if (!isComplete()) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * A started occurrence of a phase.
+     */
+    public final class Span {
+
+        private final String phase;
+        private final long startNanos;
+
+        private Span(String phase, long startNanos) {
+            this.phase = phase;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * End the occurrence and record it, unless the timeline is complete.
+         *
+         * @param succeeded
+         *         did the phase succeed?
+         */
+        public void end(boolean succeeded) {
+            long endNanos = nanoClock.getAsLong();
+            record(new Entry(phase, Thread.currentThread().getName(), startNanos - BootstrapTimeline.this.startNanos,
+                             endNanos - startNanos, succeeded));
+        }
+    }
+
+    /**
+     * A recorded occurrence of a phase.
+     */
+    public static final class Entry {
+
+        private final String phase;
+        private final String thread;
+        private final long startNanos;
+        private final long durationNanos;
+        private final boolean succeeded;
+
+        Entry(String phase, String thread, long startNanos, long durationNanos, boolean succeeded) {
+            this.phase = phase;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.succeeded = succeeded;
+        }
+
+        /**
+         * The name of the phase.
+         *
+         * @return the phase, never {@literal null}
+         */
+        public String getPhase() {
+            return phase;
+        }
+
+        /**
+         * The name of the thread that ended the occurrence.
+         *
+         * @return the thread name, never {@literal null}
+         */
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * The start of the occurrence, relative to the creation of the timeline.
+         *
+         * @return the start in milliseconds
+         */
+        public long getStart() {
+            return TimeUnit.NANOSECONDS.toMillis(startNanos);
+        }
+
+        /**
+         * The duration of the occurrence.
+         *
+         * @return the duration in milliseconds
+         */
+        public long getDuration() {
+            return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        }
+
+        /**
+         * Did the phase succeed?
+         *
+         * @return {@literal false} if the phase threw an exception
+         */
+        public boolean isSucceeded() {
+            return succeeded;
+        }
+
+        long getStartNanos() {
+            return startNanos;
+        }
+
+        long getDurationNanos() {
+            return durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return phase + "@" + getStart() + "ms+" + getDuration() + "ms";
+        }
+    }
+}
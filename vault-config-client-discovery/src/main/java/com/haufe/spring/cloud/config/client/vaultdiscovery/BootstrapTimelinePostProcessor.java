@@ -0,0 +1,73 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.core.Ordered;
+import org.springframework.vault.authentication.ClientAuthentication;
+
+/**
+ * Records the Vault login, the Vault reads, the discovery and the config server fetch in the {@link BootstrapTimeline}.
+ * <p>
+ * The post processor runs after the one for the snapshot, so a fetch answered from the snapshot counts as short as
+ * it is for the bootstrap, and before the one for the parallel bootstrap, so each phase is timed on its own rather
+ * than including the wait for the other fetches. The config server fetch is decorated via
+ * {@link RetryingConfigServicePropertySourceLocator#decorateFetch}, the Vault property source locator is wrapped in a
+ * {@link TimedPropertySourceLocator}.
+ */
+class BootstrapTimelinePostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private final String timelineBeanName;
+    private BeanFactory beanFactory;
+
+    BootstrapTimelinePostProcessor(String timelineBeanName) {
+        this.timelineBeanName = timelineBeanName;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigServicePropertySourceLocatorPostProcessor.ORDER + 2;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RetryingConfigServicePropertySourceLocator) {
+            BootstrapTimeline timeline = timeline();
+            ((RetryingConfigServicePropertySourceLocator) bean).decorateFetch(
+                    fetch -> new TimedPropertySourceLocator(fetch, timeline, BootstrapTimeline.CONFIG_FETCH));
+            return bean;
+        }
+        if (bean instanceof VaultBasedDiscoveryClient) {
+            ((VaultBasedDiscoveryClient) bean).setTimeline(timeline());
+            return bean;
+        }
+        if (bean instanceof ClientAuthentication) {
+            ClientAuthentication clientAuthentication = (ClientAuthentication) bean;
+            BootstrapTimeline timeline = timeline();
+            return (ClientAuthentication) () -> timeline.time(BootstrapTimeline.VAULT_LOGIN,
+                                                              clientAuthentication::login);
+        }
+        if (LazyVaultPostProcessor.VAULT_PROPERTY_SOURCE_LOCATOR.equals(beanName) &&
+                bean instanceof PropertySourceLocator) {
+            return new TimedPropertySourceLocator((PropertySourceLocator) bean, timeline(),
+                                                  BootstrapTimeline.VAULT_READ);
+        }
+        return bean;
+    }
+
+    private BootstrapTimeline timeline() {
+        return beanFactory.getBean(timelineBeanName, BootstrapTimeline.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.google.common.base.MoreObjects;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for recording the timeline of the config client's bootstrap.
+ */
+@ConfigurationProperties(BootstrapTimelineProperties.PREFIX)
+public class BootstrapTimelineProperties {
+
+    /**
+     * The common prefix of all bootstrap timeline configuration properties.
+     */
+    public static final String PREFIX = "haufe.cloud.config.bootstrapTimeline";
+
+    /**
+     * Flag to enable or disable the bootstrap timeline.
+     */
+    private boolean enabled;
+
+    /**
+     * Is the bootstrap timeline enabled?
+     *
+     * @return {@literal true} if the durations of the bootstrap phases are recorded and reported, {@literal false}
+     * (the default) otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the bootstrap timeline.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BootstrapTimelineProperties)) {
+            return false;
+        }
+        BootstrapTimelineProperties that = (BootstrapTimelineProperties) o;
+        return isEnabled() == that.isEnabled();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("enabled", enabled)
+                .toString();
+    }
+}
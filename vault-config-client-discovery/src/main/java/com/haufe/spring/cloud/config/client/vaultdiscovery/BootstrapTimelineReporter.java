@@ -0,0 +1,77 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+
+import java.util.Objects;
+
+/**
+ * Records the refresh of the application context in the {@link BootstrapTimeline}, completes the timeline and logs
+ * its {@link BootstrapTimeline#summary() summary} in a single line.
+ * <p>
+ * Spring Cloud applies the {@link ApplicationContextInitializer} beans of the bootstrap context to the application
+ * context. The reporter is the last initializer, i.e., it runs after the bootstrap property sources have been
+ * located, so the context refresh phase starts where the fetches end.
+ */
+public class BootstrapTimelineReporter
+        implements ApplicationContextInitializer<ConfigurableApplicationContext>, Ordered {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BootstrapTimelineReporter.class);
+
+    private final BootstrapTimeline timeline;
+
+    /**
+     * Construct a reporter.
+     *
+     * @param timeline
+     *         the timeline of the bootstrap, must not be {@literal null}
+     */
+    public BootstrapTimelineReporter(BootstrapTimeline timeline) {
+        this.timeline = Objects.requireNonNull(timeline, "timeline must not be null");
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext applicationContext) {
+        if (timeline.isComplete()) {
+            return;
+        }
+        applicationContext.addApplicationListener(
+                new ContextRefreshListener(applicationContext, timeline.start(BootstrapTimeline.CONTEXT_REFRESH)));
+    }
+
+    /**
+     * Ends the context refresh phase and reports the timeline when the application context (rather than one of its
+     * children) is refreshed.
+     */
+    private final class ContextRefreshListener implements ApplicationListener<ContextRefreshedEvent> {
+
+        private final ConfigurableApplicationContext applicationContext;
+        private final BootstrapTimeline.Span contextRefresh;
+
+        private ContextRefreshListener(ConfigurableApplicationContext applicationContext,
+                                       BootstrapTimeline.Span contextRefresh) {
+            this.applicationContext = applicationContext;
+            this.contextRefresh = contextRefresh;
+        }
+
+        @Override
+        public void onApplicationEvent(ContextRefreshedEvent event) {
+            if (event.getApplicationContext() != applicationContext || timeline.isComplete()) {
+                return;
+            }
+            contextRefresh.end(true);
+            timeline.complete();
+            LOG.info("bootstrap timeline: {}", timeline.summary());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * A minimal, thread-safe circuit breaker that opens after a number of consecutive failures.
+ * <p>
+ * While the breaker is {@link State#OPEN open}, all calls are rejected. After the open timeout the breaker becomes
+ * {@link State#HALF_OPEN half-open} and lets calls pass again; the first success closes it, the first failure
+ * opens it again.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openTimeout;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private long openedCount;
+
+    /**
+     * Construct a circuit breaker that measures time with {@link System#currentTimeMillis()}.
+     *
+     * @param name
+     *         the name of the circuit breaker, must not be {@literal null}
+     * @param failureThreshold
+     *         the number of consecutive failures that opens the breaker, must be positive
+     * @param openTimeout
+     *         the time in milliseconds the breaker stays open
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openTimeout) {
+        this(name, failureThreshold, openTimeout, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, long openTimeout, LongSupplier clock) {
+        Objects.requireNonNull(name, "name must not be null");
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openTimeout = openTimeout;
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    /**
+     * The name of the circuit breaker.
+     *
+     * @return the name, never {@literal null}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Check whether a call may pass; an open breaker whose timeout has elapsed becomes half-open.
+     *
+     * @return {@literal true} if and only if the call is permitted
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openTimeout) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+
+    /**
+     * Record a successful call; closes the breaker.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Record a failed call; opens the breaker if it is half-open or if the failure threshold is reached.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            openedCount++;
+        }
+    }
+
+    /**
+     * The current state (without any transition from open to half-open).
+     *
+     * @return the state, never {@literal null}
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * The number of consecutive failures recorded since the last success.
+     *
+     * @return the number of consecutive failures
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * How often the breaker has been opened so far.
+     *
+     * @return the number of transitions to {@link State#OPEN}
+     */
+    public synchronized long getOpenedCount() {
+        return openedCount;
+    }
+}
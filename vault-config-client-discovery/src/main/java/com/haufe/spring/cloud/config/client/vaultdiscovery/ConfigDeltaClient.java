@@ -0,0 +1,68 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * Fetches {@link EnvironmentDelta deltas} from the config server's delta endpoint
+ * {@code /delta/{application}/{profiles}[/{label}]?since={version}}.
+ * <p>
+ * The request uses the same URI, application name, profiles, label, custom headers and credentials (see
+ * {@link ConfigServerRestTemplates#headers(ConfigClientProperties)}) as the config client; if the client is configured
+ * with several labels, the first one is used.
+ */
+public class ConfigDeltaClient {
+
+    private final RestTemplate restTemplate;
+
+    /**
+     * Construct a delta client.
+     *
+     * @param restTemplate
+     *         the rest template used for the requests, must not be {@literal null}
+     */
+    public ConfigDeltaClient(RestTemplate restTemplate) {
+        this.restTemplate = Objects.requireNonNull(restTemplate, "restTemplate must not be null");
+    }
+
+    /**
+     * Fetch the delta since the client's version.
+     *
+     * @param configClientProperties
+     *         the effective config client properties, must not be {@literal null}
+     * @param since
+     *         the client's version, {@literal null} for a complete delta
+     * @return the delta, {@literal null} if the configuration has not changed
+     * @throws org.springframework.web.client.RestClientException
+     *         the request failed
+     */
+    public EnvironmentDelta fetch(ConfigClientProperties configClientProperties, String since) {
+        Objects.requireNonNull(configClientProperties, "configClientProperties must not be null");
+        ResponseEntity<EnvironmentDelta> response = restTemplate.exchange(
+                deltaUri(configClientProperties, since), HttpMethod.GET,
+                new HttpEntity<>(ConfigServerRestTemplates.headers(configClientProperties)), EnvironmentDelta.class);
+        return response.getStatusCode() == HttpStatus.NOT_MODIFIED ? null : response.getBody();
+    }
+
+    static URI deltaUri(ConfigClientProperties configClientProperties, String since) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(configClientProperties.getRawUri())
+                .pathSegment("delta", configClientProperties.getName(), configClientProperties.getProfile());
+        String[] labels = StringUtils.commaDelimitedListToStringArray(configClientProperties.getLabel());
+        if (labels.length > 0 && StringUtils.hasText(labels[0])) {
+            builder.pathSegment(labels[0].trim().replace("/", "(_)"));
+        }
+        if (since != null) {
+            builder.queryParam("since", since);
+        }
+        return builder.build().encode().toUri();
+    }
+}
@@ -0,0 +1,19 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Strategy that checks whether a config server instance is able to serve requests.
+ */
+@FunctionalInterface
+public interface ConfigServerHealthProbe {
+
+    /**
+     * Probe a config server instance.
+     *
+     * @param serviceInstance
+     *         the instance to probe, never {@literal null}
+     * @return {@literal true} if and only if the instance is considered healthy
+     */
+    boolean isHealthy(ServiceInstance serviceInstance);
+}
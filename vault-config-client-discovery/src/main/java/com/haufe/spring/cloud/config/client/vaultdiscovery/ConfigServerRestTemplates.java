@@ -0,0 +1,147 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.Base64Utils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Creates rest templates for the config server fetch that are set up like the default one of the
+ * {@link ConfigServicePropertySourceLocator} (timeout, credentials and custom headers), so the features that replace
+ * the locator's rest template keep its behavior.
+ * <p>
+ * The credentials are read from the {@link ConfigClientProperties} with each request because the config server
+ * discovery may change them after the locator has been created.
+ */
+final class ConfigServerRestTemplates {
+
+    /**
+     * The read timeout in milliseconds of the config client's default rest template.
+     */
+    static final int DEFAULT_READ_TIMEOUT = 185000;
+
+    private ConfigServerRestTemplates() {
+    }
+
+    /**
+     * Create a rest template for the config server fetch.
+     *
+     * @param configClientProperties
+     *         supplies the current config client properties, must not be {@literal null}
+     * @param readTimeout
+     *         the read timeout in milliseconds
+     * @return the rest template, never {@literal null}
+     */
+    static RestTemplate create(Supplier<ConfigClientProperties> configClientProperties, int readTimeout) {
+        Objects.requireNonNull(configClientProperties, "configClientProperties must not be null");
+        RestTemplate restTemplate = new RestTemplate(requestFactory(readTimeout));
+        restTemplate.setInterceptors(Collections.singletonList((request, body, execution) -> {
+            addHeaders(configClientProperties.get(), request.getHeaders());
+            return execution.execute(request, body);
+        }));
+        return restTemplate;
+    }
+
+    /**
+     * Create a rest template for requests to the config server whose headers are set per request with
+     * {@link #headers(ConfigClientProperties)}, e.g., because each request may use different config client properties.
+     *
+     * @param connectTimeout
+     *         the connect timeout in milliseconds; a negative value means the system default
+     * @param readTimeout
+     *         the read timeout in milliseconds
+     * @return the rest template, never {@literal null}
+     */
+    static RestTemplate create(int connectTimeout, int readTimeout) {
+        return new RestTemplate(requestFactory(connectTimeout, readTimeout));
+    }
+
+    /**
+     * The headers the config client sends to the config server: the custom headers and the credentials (either a
+     * username and password or an authorization header).
+     *
+     * @param configClientProperties
+     *         the config client properties, must not be {@literal null}
+     * @return the headers, never {@literal null}
+     */
+    static HttpHeaders headers(ConfigClientProperties configClientProperties) {
+        Objects.requireNonNull(configClientProperties, "configClientProperties must not be null");
+        HttpHeaders headers = new HttpHeaders();
+        addHeaders(configClientProperties, headers);
+        return headers;
+    }
+
+    /**
+     * Change the read timeout of a rest template created by {@link #create(Supplier, int)}.
+     *
+     * @param restTemplate
+     *         the rest template, must not be {@literal null}
+     * @param readTimeout
+     *         the new read timeout in milliseconds
+     */
+    static void setReadTimeout(RestTemplate restTemplate, int readTimeout) {
+        Objects.requireNonNull(restTemplate, "restTemplate must not be null");
+        restTemplate.setRequestFactory(requestFactory(readTimeout));
+    }
+
+    /**
+     * Add an interceptor to a rest template after the interceptors it already has.
+     *
+     * @param restTemplate
+     *         the rest template, must not be {@literal null}
+     * @param interceptor
+     *         the interceptor, must not be {@literal null}
+     */
+    static void addInterceptor(RestTemplate restTemplate, ClientHttpRequestInterceptor interceptor) {
+        Objects.requireNonNull(restTemplate, "restTemplate must not be null");
+        Objects.requireNonNull(interceptor, "interceptor must not be null");
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+        interceptors.add(interceptor);
+        restTemplate.setInterceptors(interceptors);
+    }
+
+    private static SimpleClientHttpRequestFactory requestFactory(int readTimeout) {
+        return requestFactory(-1, readTimeout);
+    }
+
+    private static SimpleClientHttpRequestFactory requestFactory(int connectTimeout, int readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+
+    private static void addHeaders(ConfigClientProperties configClientProperties, HttpHeaders headers) {
+        String password = configClientProperties.getPassword();
+        String authorization = authorizationOf(configClientProperties);
+        if (password != null && authorization != null) {
+            throw new IllegalStateException("You must set either 'password' or 'authorization'");
+        }
+        configClientProperties.getHeaders().forEach(headers::set);
+        if (password != null) {
+            byte[] token = Base64Utils.encode(
+                    (configClientProperties.getUsername() + ":" + password).getBytes(StandardCharsets.UTF_8));
+            headers.set(HttpHeaders.AUTHORIZATION, "Basic " + new String(token, StandardCharsets.UTF_8));
+        }
+        else if (authorization != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+    }
+
+    // spring.cloud.config.authorization is deprecated in favour of a custom Authorization header, but Spring Cloud
+    // Config 1.3's ConfigServicePropertySourceLocator still sends it, so our requests must send it as well
+    @SuppressWarnings("deprecation")
+    private static String authorizationOf(ConfigClientProperties configClientProperties) {
+        return configClientProperties.getAuthorization();
+    }
+}
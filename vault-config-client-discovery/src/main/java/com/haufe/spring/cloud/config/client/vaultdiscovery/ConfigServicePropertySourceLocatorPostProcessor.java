@@ -0,0 +1,55 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.core.Ordered;
+
+/**
+ * Wraps the config client's {@link ConfigServicePropertySourceLocator} bean in a
+ * {@link RetryingConfigServicePropertySourceLocator}.
+ * <p>
+ * The retrying executor is looked up lazily by its bean name because a {@link BeanPostProcessor} must not pull
+ * other beans into early instantiation.
+ */
+class ConfigServicePropertySourceLocatorPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    static final int ORDER = 0;
+
+    private final String retryingExecutorBeanName;
+    private BeanFactory beanFactory;
+
+    ConfigServicePropertySourceLocatorPostProcessor(String retryingExecutorBeanName) {
+        this.retryingExecutorBeanName = retryingExecutorBeanName;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof ConfigServicePropertySourceLocator) ||
+                bean instanceof RetryingConfigServicePropertySourceLocator) {
+            return bean;
+        }
+        return new RetryingConfigServicePropertySourceLocator(
+                beanFactory.getBean(ConfigClientProperties.class),
+                (ConfigServicePropertySourceLocator) bean,
+                beanFactory.getBean(retryingExecutorBeanName, RetryingExecutor.class));
+    }
+}
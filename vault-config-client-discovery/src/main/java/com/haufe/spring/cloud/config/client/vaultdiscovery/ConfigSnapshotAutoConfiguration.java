@@ -0,0 +1,33 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration Auto-configuration} that connects the
+ * config snapshot's background reconciliation to the application context.
+ * <p>
+ * The {@link ConfigSnapshotStore} bean lives in the bootstrap context, i.e., in an ancestor of the application
+ * context.
+ */
+@Configuration
+@ConditionalOnBean(ConfigSnapshotStore.class)
+@AutoConfigureAfter(VaultBasedDiscoveryClientAutoConfiguration.class)
+public class ConfigSnapshotAutoConfiguration {
+
+    /**
+     * Bean factory for the publisher of environment changes found by the reconciliation.
+     *
+     * @param configSnapshotStore
+     *         the snapshot store
+     * @return the publisher
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ConfigSnapshotChangePublisher configSnapshotChangePublisher(ConfigSnapshotStore configSnapshotStore) {
+        return new ConfigSnapshotChangePublisher(configSnapshotStore);
+    }
+}
@@ -0,0 +1,44 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.util.Objects;
+
+/**
+ * Publishes an {@link EnvironmentChangeEvent} in the application context whenever the background reconciliation
+ * of the config snapshot changes properties, so that {@code @ConfigurationProperties} beans are rebound.
+ * <p>
+ * The listener is registered once the application context is refreshed; changes found earlier are published then.
+ */
+public class ConfigSnapshotChangePublisher
+        implements ApplicationListener<ContextRefreshedEvent>, ApplicationEventPublisherAware {
+
+    private final ConfigSnapshotStore snapshotStore;
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Construct a publisher.
+     *
+     * @param snapshotStore
+     *         the snapshot store (usually a bean of the bootstrap context), must not be {@literal null}
+     */
+    public ConfigSnapshotChangePublisher(ConfigSnapshotStore snapshotStore) {
+        this.snapshotStore = Objects.requireNonNull(snapshotStore, "snapshotStore must not be null");
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        snapshotStore.setChangeListener(
+                changedPropertyNames -> applicationEventPublisher.publishEvent(
+                        new EnvironmentChangeEvent(changedPropertyNames)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.core.Ordered;
+
+/**
+ * Lets all bootstrap {@link PropertySourceLocator} beans start from the encrypted last-known-good snapshot.
+ * <p>
+ * The config server fetch is decorated via {@link RetryingConfigServicePropertySourceLocator#decorateFetch}, all
+ * other locators are wrapped in a {@link SnapshotPropertySourceLocator}. The bean names serve as names of the
+ * snapshot entries.
+ */
+class ConfigSnapshotPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private final String snapshotStoreBeanName;
+    private BeanFactory beanFactory;
+
+    ConfigSnapshotPostProcessor(String snapshotStoreBeanName) {
+        this.snapshotStoreBeanName = snapshotStoreBeanName;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigServicePropertySourceLocatorPostProcessor.ORDER + 1;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RetryingConfigServicePropertySourceLocator) {
+            ConfigSnapshotStore snapshotStore = snapshotStore();
+            ((RetryingConfigServicePropertySourceLocator) bean).decorateFetch(
+                    fetch -> new SnapshotPropertySourceLocator(beanName, fetch, snapshotStore));
+            return bean;
+        }
+        if (!(bean instanceof PropertySourceLocator) ||
+                bean instanceof ConfigServicePropertySourceLocator ||
+                bean instanceof DelegatingPropertySourceLocator) {
+            return bean;
+        }
+        return new SnapshotPropertySourceLocator(beanName, (PropertySourceLocator) bean, snapshotStore());
+    }
+
+    private ConfigSnapshotStore snapshotStore() {
+        return beanFactory.getBean(snapshotStoreBeanName, ConfigSnapshotStore.class);
+    }
+}
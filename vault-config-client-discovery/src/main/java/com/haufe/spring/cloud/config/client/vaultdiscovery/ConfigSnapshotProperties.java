@@ -0,0 +1,118 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.google.common.base.MoreObjects;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the encrypted last-known-good snapshot of the bootstrap property sources.
+ */
+@ConfigurationProperties(ConfigSnapshotProperties.PREFIX)
+public class ConfigSnapshotProperties {
+
+    /**
+     * The common prefix of all snapshot configuration properties.
+     */
+    public static final String PREFIX = "haufe.cloud.config.snapshot";
+
+    /**
+     * Flag to enable or disable the snapshot.
+     */
+    private boolean enabled;
+
+    /**
+     * The path of the snapshot file.
+     */
+    private String file = "config-snapshot.bin";
+
+    /**
+     * The Base64-encoded AES key (16, 24, or 32 bytes) used to encrypt the snapshot.
+     */
+    private String key;
+
+    /**
+     * Is the snapshot enabled?
+     *
+     * @return {@literal true} if the snapshot is enabled, {@literal false} (the default) otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the snapshot.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The path of the snapshot file.
+     *
+     * @return the path, never {@literal null} if configured sensibly
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Set the path of the snapshot file.
+     *
+     * @param file
+     *         the new path
+     */
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    /**
+     * The Base64-encoded AES key.
+     *
+     * @return the key, might be {@literal null}
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Set the Base64-encoded AES key.
+     *
+     * @param key
+     *         the new key
+     */
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConfigSnapshotProperties)) {
+            return false;
+        }
+        ConfigSnapshotProperties that = (ConfigSnapshotProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                Objects.equals(getFile(), that.getFile()) &&
+                Objects.equals(getKey(), that.getKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getFile(), getKey());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("enabled", enabled)
+                .add("file", file)
+                .add("key", key != null ? "******" : null)
+                .toString();
+    }
+}
@@ -0,0 +1,367 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Encrypted local store of the last successfully fetched bootstrap property sources.
+ * <p>
+ * The snapshot file holds one entry per locator, each with the name and the (flattened) properties of the property
+ * source. The file is encrypted with AES/GCM, so it is both confidential (it contains Vault secrets) and protected
+ * against tampering; a snapshot that cannot be decrypted is ignored. The file is read once, memory-mapped, and
+ * written atomically by replacing it with a temporary file.
+ * <p>
+ * The store also runs the background reconciliation of the snapshot with the remote property sources and notifies
+ * a listener about changed property names.
+ */
+public class ConfigSnapshotStore implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigSnapshotStore.class);
+
+    private static final byte[] MAGIC = "HCS1".getBytes(StandardCharsets.US_ASCII);
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final Path file;
+    private final SecretKey key;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ExecutorService reconciliationExecutor;
+
+    private Map<String, Entry> entries;
+    private Consumer<Set<String>> changeListener;
+    private final Set<String> pendingChanges = new HashSet<>();
+
+    /**
+     * Construct a store.
+     *
+     * @param file
+     *         the path of the snapshot file, must not be {@literal null}
+     * @param base64Key
+     *         the Base64-encoded AES key (16, 24, or 32 bytes), must not be {@literal null}
+     * @throws IllegalArgumentException
+     *         the key is not a valid AES key
+     */
+    public ConfigSnapshotStore(Path file, String base64Key) {
+        this.file = Objects.requireNonNull(file, "file must not be null");
+        Objects.requireNonNull(base64Key, "base64Key must not be null");
+        byte[] keyBytes = Base64.getDecoder().decode(base64Key.trim());
+        if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+            throw new IllegalArgumentException("snapshot key must have 16, 24, or 32 bytes");
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+        this.reconciliationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "config-snapshot-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Look up the snapshot entry of a locator.
+     *
+     * @param locatorName
+     *         the name of the locator, must not be {@literal null}
+     * @return the entry, or {@literal null} if there is none
+     */
+    public synchronized Entry get(String locatorName) {
+        return loadedEntries().get(locatorName);
+    }
+
+    /**
+     * Store the snapshot entry of a locator and write the snapshot file.
+     *
+     * @param locatorName
+     *         the name of the locator, must not be {@literal null}
+     * @param entry
+     *         the new entry, must not be {@literal null}
+     */
+    public synchronized void put(String locatorName, Entry entry) {
+        Objects.requireNonNull(entry, "entry must not be null");
+        if (entry.equals(loadedEntries().put(locatorName, entry))) {
+            return;
+        }
+        try {
+            write();
+        }
+        catch (IOException | GeneralSecurityException exception) {
+            LOG.warn("could not write config snapshot {}: {}", file, exception.toString());
+        }
+    }
+
+    /**
+     * Run a reconciliation task in the background.
+     *
+     * @param task
+     *         the task, must not be {@literal null}
+     */
+    public void reconcileAsync(Runnable task) {
+        reconciliationExecutor.execute(task);
+    }
+
+    /**
+     * Set the listener that is notified about properties changed by the reconciliation. Changes that happened
+     * before the listener was set are passed to it immediately.
+     *
+     * @param changeListener
+     *         the listener, or {@literal null}
+     */
+    public void setChangeListener(Consumer<Set<String>> changeListener) {
+        Set<String> changes;
+        synchronized (pendingChanges) {
+            this.changeListener = changeListener;
+            if (changeListener == null || pendingChanges.isEmpty()) {
+                return;
+            }
+            changes = new HashSet<>(pendingChanges);
+            pendingChanges.clear();
+        }
+        changeListener.accept(changes);
+    }
+
+    /**
+     * Notify the listener about changed properties.
+     *
+     * @param changedPropertyNames
+     *         the names of the changed properties, must not be {@literal null}
+     */
+    void fireChanged(Set<String> changedPropertyNames) {
+        if (changedPropertyNames.isEmpty()) {
+            return;
+        }
+        Consumer<Set<String>> listener;
+        synchronized (pendingChanges) {
+            listener = changeListener;
+            if (listener == null) {
+                pendingChanges.addAll(changedPropertyNames);
+                return;
+            }
+        }
+        listener.accept(changedPropertyNames);
+    }
+
+    /**
+     * Stop the background reconciliation.
+     */
+    @Override
+    public void destroy() {
+        reconciliationExecutor.shutdownNow();
+    }
+
+    private Map<String, Entry> loadedEntries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<>();
+            if (Files.isRegularFile(file)) {
+                try {
+                    entries.putAll(read());
+                }
+                catch (IOException | GeneralSecurityException | RuntimeException exception) {
+                    LOG.warn("ignoring unreadable config snapshot {}: {}", file, exception.toString());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private Map<String, Entry> read() throws IOException, GeneralSecurityException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] magic = new byte[MAGIC.length];
+            byte[] iv = new byte[IV_LENGTH];
+            mapped.get(magic).get(iv);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("not a config snapshot");
+            }
+            Cipher cipher = cipher(Cipher.DECRYPT_MODE, iv);
+            ByteBuffer plaintext = ByteBuffer.allocate(cipher.getOutputSize(mapped.remaining()));
+            cipher.doFinal(mapped, plaintext);
+            plaintext.flip();
+            return deserialize(plaintext);
+        }
+    }
+
+    private void write() throws IOException, GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        byte[] ciphertext = cipher(Cipher.ENCRYPT_MODE, iv).doFinal(serialize(entries));
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            restrictPermissions(temporaryFile);
+            ByteBuffer content = ByteBuffer.allocate(MAGIC.length + IV_LENGTH + ciphertext.length);
+            content.put(MAGIC).put(iv).put(ciphertext).flip();
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException atomicMoveNotSupportedException) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void restrictPermissions(Path path) {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        }
+        catch (UnsupportedOperationException | IOException exception) {
+            LOG.debug("could not restrict permissions of {}: {}", path, exception.toString());
+        }
+    }
+
+    private Cipher cipher(int mode, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        cipher.updateAAD(MAGIC);
+        return cipher;
+    }
+
+    private static byte[] serialize(Map<String, Entry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue().getName());
+                out.writeInt(entry.getValue().getProperties().size());
+                for (Map.Entry<String, String> property : entry.getValue().getProperties().entrySet()) {
+                    writeString(out, property.getKey());
+                    writeString(out, property.getValue());
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Map<String, Entry> deserialize(ByteBuffer plaintext) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(plaintext.array(), plaintext.position(),
+                                                                      plaintext.remaining()));
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        int entryCount = in.readInt();
+        for (int i = 0; i < entryCount; i++) {
+            String locatorName = readString(in);
+            String name = readString(in);
+            int propertyCount = in.readInt();
+            Map<String, String> properties = new LinkedHashMap<>();
+            for (int j = 0; j < propertyCount; j++) {
+                properties.put(readString(in), readString(in));
+            }
+            entries.put(locatorName, new Entry(name, properties));
+        }
+        return entries;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The snapshot of a single property source.
+     */
+    public static final class Entry {
+
+        private final String name;
+        private final Map<String, String> properties;
+
+        /**
+         * Construct a snapshot entry.
+         *
+         * @param name
+         *         the name of the property source, must not be {@literal null}
+         * @param properties
+         *         the properties, must not be {@literal null}
+         */
+        public Entry(String name, Map<String, String> properties) {
+            this.name = Objects.requireNonNull(name, "name must not be null");
+            this.properties = Collections.unmodifiableMap(
+                    new LinkedHashMap<>(Objects.requireNonNull(properties, "properties must not be null")));
+        }
+
+        /**
+         * The name of the property source.
+         *
+         * @return the name, never {@literal null}
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * The properties of the property source.
+         *
+         * @return an unmodifiable map, never {@literal null}
+         */
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry that = (Entry) o;
+            return name.equals(that.name) && properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, properties);
+        }
+    }
+}
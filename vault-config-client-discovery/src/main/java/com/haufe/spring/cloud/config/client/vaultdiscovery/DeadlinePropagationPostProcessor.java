@@ -0,0 +1,82 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.core.Ordered;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Lets the config client's {@link ConfigServicePropertySourceLocator} send its deadline to the config server, so
+ * the server can abandon a fetch the client has given up on.
+ * <p>
+ * The locator's rest template gets the configured read timeout and sends the time it is going to wait for the answer
+ * in the header {@value #DEADLINE_HEADER} (in milliseconds, relative to the moment the request is sent, so the
+ * clocks of client and server need not agree). If another feature (e.g., the Smile format) has already set a rest
+ * template, that one is customized; otherwise the locator gets one set up like its default one.
+ */
+class DeadlinePropagationPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    /**
+     * The request header carrying the client's remaining time in milliseconds.
+     */
+    static final String DEADLINE_HEADER = "X-Config-Deadline";
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigServicePropertySourceLocatorPostProcessor.ORDER + 5;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof ConfigServicePropertySourceLocator) {
+            int timeout = beanFactory.getBean(DeadlinePropagationProperties.class).getTimeout();
+            RestTemplate restTemplate = bean instanceof RetryingConfigServicePropertySourceLocator
+                    ? ((RetryingConfigServicePropertySourceLocator) bean).getRestTemplate() : null;
+            if (restTemplate == null) {
+                restTemplate = ConfigServerRestTemplates.create(
+                        () -> beanFactory.getBean(ConfigClientProperties.class), timeout);
+            }
+            ((ConfigServicePropertySourceLocator) bean).setRestTemplate(withDeadline(restTemplate, timeout));
+        }
+        return bean;
+    }
+
+    /**
+     * Let a rest template for the config server fetch wait for the answer as long as its deadline allows and send
+     * that deadline.
+     *
+     * @param restTemplate
+     *         a rest template created by {@link ConfigServerRestTemplates}, must not be {@literal null}
+     * @param timeout
+     *         the time in milliseconds the client waits for the answer, must be positive
+     * @return the customized rest template
+     */
+    static RestTemplate withDeadline(RestTemplate restTemplate, int timeout) {
+        if (timeout < 1) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        String deadline = Integer.toString(timeout);
+        ConfigServerRestTemplates.setReadTimeout(restTemplate, timeout);
+        ConfigServerRestTemplates.addInterceptor(restTemplate, (request, body, execution) -> {
+            request.getHeaders().set(DEADLINE_HEADER, deadline);
+            return execution.execute(request, body);
+        });
+        return restTemplate;
+    }
+}
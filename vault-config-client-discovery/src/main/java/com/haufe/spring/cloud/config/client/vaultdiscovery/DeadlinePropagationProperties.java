@@ -0,0 +1,93 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.google.common.base.MoreObjects;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for sending the config client's deadline to the config server.
+ */
+@ConfigurationProperties(DeadlinePropagationProperties.PREFIX)
+public class DeadlinePropagationProperties {
+
+    /**
+     * The common prefix of all deadline propagation configuration properties.
+     */
+    public static final String PREFIX = "haufe.cloud.config.deadline";
+
+    /**
+     * Flag to enable or disable the deadline propagation.
+     */
+    private boolean enabled;
+
+    /**
+     * The time in milliseconds the config client waits for the config server's answer.
+     */
+    private int timeout = ConfigServerRestTemplates.DEFAULT_READ_TIMEOUT;
+
+    /**
+     * Is the deadline propagation enabled?
+     *
+     * @return {@literal true} if the config client sends its deadline, {@literal false} (the default) otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the deadline propagation.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The time the config client waits for the config server's answer, i.e., the read timeout of the config server
+     * fetch and the deadline sent with it.
+     *
+     * @return the timeout in milliseconds, by default the config client's read timeout of 185000 ms
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the time the config client waits for the config server's answer.
+     *
+     * @param timeout
+     *         the new timeout in milliseconds, must be positive
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DeadlinePropagationProperties)) {
+            return false;
+        }
+        DeadlinePropagationProperties that = (DeadlinePropagationProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getTimeout() == that.getTimeout();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getTimeout());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("enabled", enabled)
+                .add("timeout", timeout)
+                .toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Backoff strategy with "decorrelated jitter": each delay is drawn at random from the interval between the initial
+ * backoff and three times the previous delay, capped by the maximum backoff.
+ * <p>
+ * In contrast to a plain exponential backoff, clients that failed at the same time do not retry at the same time,
+ * so a recovering Vault or config server instance is not hit by synchronized waves of requests.
+ */
+public class DecorrelatedJitterBackoff {
+
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final LongBinaryOperator randomBetween;
+
+    /**
+     * Construct a backoff strategy that uses a {@link ThreadLocalRandom} as source of randomness.
+     *
+     * @param initialBackoff
+     *         the minimum delay in milliseconds, must not be negative
+     * @param maxBackoff
+     *         the maximum delay in milliseconds, must not be less than {@code initialBackoff}
+     */
+    public DecorrelatedJitterBackoff(long initialBackoff, long maxBackoff) {
+        this(initialBackoff, maxBackoff,
+             (lower, upper) -> lower < upper ? ThreadLocalRandom.current().nextLong(lower, upper + 1) : lower);
+    }
+
+    /**
+     * Construct a backoff strategy with a custom source of randomness.
+     *
+     * @param initialBackoff
+     *         the minimum delay in milliseconds, must not be negative
+     * @param maxBackoff
+     *         the maximum delay in milliseconds, must not be less than {@code initialBackoff}
+     * @param randomBetween
+     *         function that returns a random value between its first and second argument (both inclusive)
+     */
+    DecorrelatedJitterBackoff(long initialBackoff, long maxBackoff, LongBinaryOperator randomBetween) {
+        if (initialBackoff < 0 || maxBackoff < initialBackoff) {
+            throw new IllegalArgumentException("backoff bounds must satisfy 0 <= initialBackoff <= maxBackoff");
+        }
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.randomBetween = randomBetween;
+    }
+
+    /**
+     * The delay before the first retry.
+     *
+     * @return the delay in milliseconds
+     */
+    public long firstDelay() {
+        return nextDelay(initialBackoff);
+    }
+
+    /**
+     * The delay before the next retry, derived from the delay before the previous retry.
+     *
+     * @param previousDelay
+     *         the previous delay in milliseconds
+     * @return the next delay in milliseconds, between the initial and the maximum backoff
+     */
+    public long nextDelay(long previousDelay) {
+        long upper = Math.min(maxBackoff, Math.max(initialBackoff, previousDelay) * 3);
+        return Math.min(maxBackoff, randomBetween.applyAsLong(initialBackoff, upper));
+    }
+}
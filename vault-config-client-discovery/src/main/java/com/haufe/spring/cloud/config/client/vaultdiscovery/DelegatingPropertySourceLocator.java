@@ -0,0 +1,50 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.OrderUtils;
+
+import java.util.Objects;
+
+/**
+ * Base class of {@link PropertySourceLocator}s that decorate another locator.
+ * <p>
+ * The decorator has the same order as its delegate, so the precedence of the located property source is unchanged.
+ */
+public abstract class DelegatingPropertySourceLocator implements PropertySourceLocator, Ordered {
+
+    private final PropertySourceLocator delegate;
+
+    /**
+     * Wrap a property source locator.
+     *
+     * @param delegate
+     *         the locator that actually fetches the property source, must not be {@literal null}
+     */
+    protected DelegatingPropertySourceLocator(PropertySourceLocator delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    }
+
+    /**
+     * The order of the delegate, taken from {@link Ordered} or an {@link org.springframework.core.annotation.Order}
+     * annotation.
+     *
+     * @return the delegate's order
+     */
+    @Override
+    public int getOrder() {
+        if (delegate instanceof Ordered) {
+            return ((Ordered) delegate).getOrder();
+        }
+        return OrderUtils.getOrder(delegate.getClass(), Ordered.LOWEST_PRECEDENCE);
+    }
+
+    /**
+     * The wrapped locator, for callers that must fetch without the decoration.
+     *
+     * @return the delegate, never {@literal null}
+     */
+    public PropertySourceLocator getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,290 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The difference between the client's version of its configuration and the current one, as returned by the config
+ * server's delta endpoint {@code /delta/{application}/{profiles}[/{label}]?since={version}}.
+ *
+ * @see EnvironmentDeltaApplier
+ */
+public class EnvironmentDelta {
+
+    private String name;
+    private String[] profiles = new String[0];
+    private String label;
+    private String fromVersion;
+    private String toVersion;
+    private boolean complete;
+    private List<String> propertySourceNames = new ArrayList<>();
+    private List<PropertySourceDelta> propertySources = new ArrayList<>();
+
+    /**
+     * The application name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the application name.
+     *
+     * @param name
+     *         the new name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The profiles.
+     *
+     * @return the profiles, never {@literal null}
+     */
+    public String[] getProfiles() {
+        return profiles;
+    }
+
+    /**
+     * Set the profiles.
+     *
+     * @param profiles
+     *         the new profiles
+     */
+    public void setProfiles(String[] profiles) {
+        this.profiles = profiles != null ? profiles : new String[0];
+    }
+
+    /**
+     * The label.
+     *
+     * @return the label, might be {@literal null}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Set the label.
+     *
+     * @param label
+     *         the new label, might be {@literal null}
+     */
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    /**
+     * The version the delta starts from.
+     *
+     * @return the client's version, might be {@literal null}
+     */
+    public String getFromVersion() {
+        return fromVersion;
+    }
+
+    /**
+     * Set the version the delta starts from.
+     *
+     * @param fromVersion
+     *         the client's version, might be {@literal null}
+     */
+    public void setFromVersion(String fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+
+    /**
+     * The version the delta leads to.
+     *
+     * @return the server's current version
+     */
+    public String getToVersion() {
+        return toVersion;
+    }
+
+    /**
+     * Set the version the delta leads to.
+     *
+     * @param toVersion
+     *         the server's current version
+     */
+    public void setToVersion(String toVersion) {
+        this.toVersion = toVersion;
+    }
+
+    /**
+     * Does the delta list all properties of the current version (because the server did not know the client's
+     * version)?
+     *
+     * @return {@literal true} if the property sources have to be replaced rather than patched
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Mark the delta as complete.
+     *
+     * @param complete
+     *         the new flag value
+     */
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    /**
+     * The names of the current property sources in order of precedence; property sources not listed have been
+     * removed.
+     *
+     * @return the property source names, never {@literal null}
+     */
+    public List<String> getPropertySourceNames() {
+        return propertySourceNames;
+    }
+
+    /**
+     * Set the names of the current property sources.
+     *
+     * @param propertySourceNames
+     *         the new property source names
+     */
+    public void setPropertySourceNames(List<String> propertySourceNames) {
+        this.propertySourceNames = propertySourceNames != null ? propertySourceNames : new ArrayList<>();
+    }
+
+    /**
+     * The changes of the property sources that differ between the two versions.
+     *
+     * @return the property source changes, never {@literal null}
+     */
+    public List<PropertySourceDelta> getPropertySources() {
+        return propertySources;
+    }
+
+    /**
+     * Set the changes of the property sources.
+     *
+     * @param propertySources
+     *         the new property source changes
+     */
+    public void setPropertySources(List<PropertySourceDelta> propertySources) {
+        this.propertySources = propertySources != null ? propertySources : new ArrayList<>();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("name", name)
+                .add("label", label)
+                .add("fromVersion", fromVersion)
+                .add("toVersion", toVersion)
+                .add("complete", complete)
+                .add("propertySources", propertySources)
+                .toString();
+    }
+
+    /**
+     * The changes of a single property source.
+     */
+    public static class PropertySourceDelta {
+
+        private String name;
+        private Map<String, Object> added = new LinkedHashMap<>();
+        private Map<String, Object> changed = new LinkedHashMap<>();
+        private List<String> removed = new ArrayList<>();
+
+        /**
+         * The name of the property source.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Set the name of the property source.
+         *
+         * @param name
+         *         the new name
+         */
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        /**
+         * The added properties.
+         *
+         * @return the added properties, never {@literal null}
+         */
+        public Map<String, Object> getAdded() {
+            return added;
+        }
+
+        /**
+         * Set the added properties.
+         *
+         * @param added
+         *         the new added properties
+         */
+        public void setAdded(Map<String, Object> added) {
+            this.added = added != null ? added : new LinkedHashMap<>();
+        }
+
+        /**
+         * The properties with changed values.
+         *
+         * @return the changed properties, never {@literal null}
+         */
+        public Map<String, Object> getChanged() {
+            return changed;
+        }
+
+        /**
+         * Set the properties with changed values.
+         *
+         * @param changed
+         *         the new changed properties
+         */
+        public void setChanged(Map<String, Object> changed) {
+            this.changed = changed != null ? changed : new LinkedHashMap<>();
+        }
+
+        /**
+         * The names of the removed properties.
+         *
+         * @return the removed property names, never {@literal null}
+         */
+        public List<String> getRemoved() {
+            return removed;
+        }
+
+        /**
+         * Set the names of the removed properties.
+         *
+         * @param removed
+         *         the new removed property names
+         */
+        public void setRemoved(List<String> removed) {
+            this.removed = removed != null ? removed : new ArrayList<>();
+        }
+
+        @Override
+        public String toString() {
+            // values are left out on purpose, they might be secrets
+            return MoreObjects.toStringHelper(this)
+                    .add("name", name)
+                    .add("added", added.keySet())
+                    .add("changed", changed.keySet())
+                    .add("removed", removed)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Patches the config server property sources of an environment with an {@link EnvironmentDelta}.
+ * <p>
+ * The config client adds the config server's property sources to the environment as nested property sources of a
+ * {@link CompositePropertySource} named {@value #CONFIG_SERVICE_PROPERTY_SOURCE_NAME}. The applier replaces the
+ * nested property sources that changed by patched copies (so concurrent readers see either the old or the new
+ * values of a property source, never a mix), drops removed ones, restores the server's order of precedence and
+ * updates {@code config.client.version}. All other property sources, e.g., the ones from Vault, are left alone.
+ * <p>
+ * A delta that does not fit the local property sources (e.g., because the environment was started from a config
+ * snapshot) is rejected before anything is changed; the caller should fall back to a full refresh then.
+ */
+public class EnvironmentDeltaApplier {
+
+    /**
+     * The name of the config client's composite property source.
+     */
+    public static final String CONFIG_SERVICE_PROPERTY_SOURCE_NAME = "configService";
+
+    /**
+     * The name of the nested property source holding the config client's version and state.
+     */
+    public static final String CONFIG_CLIENT_PROPERTY_SOURCE_NAME = "configClient";
+
+    /**
+     * The property holding the version of the configuration the client has.
+     */
+    public static final String CONFIG_CLIENT_VERSION_PROPERTY = "config.client.version";
+
+    /**
+     * The version of the config server property sources of an environment.
+     *
+     * @param environment
+     *         the environment, must not be {@literal null}
+     * @return the version, might be {@literal null} if the config server did not report one
+     */
+    public String currentVersion(ConfigurableEnvironment environment) {
+        Objects.requireNonNull(environment, "environment must not be null");
+        CompositePropertySource configService = findConfigService(environment.getPropertySources());
+        Object version = configService != null ? configService.getProperty(CONFIG_CLIENT_VERSION_PROPERTY) : null;
+        return version != null ? version.toString() : null;
+    }
+
+    /**
+     * Apply a delta to the config server property sources of an environment.
+     *
+     * @param environment
+     *         the environment to patch, must not be {@literal null}
+     * @param delta
+     *         the delta, must not be {@literal null}
+     * @return the names of the properties whose values have changed, never {@literal null}
+     * @throws IllegalStateException
+     *         the environment has no config server property sources the delta can be applied to; the environment
+     *         is unchanged
+     */
+    public Set<String> apply(ConfigurableEnvironment environment, EnvironmentDelta delta) {
+        Objects.requireNonNull(environment, "environment must not be null");
+        Objects.requireNonNull(delta, "delta must not be null");
+        CompositePropertySource configService = findConfigService(environment.getPropertySources());
+        if (configService == null) {
+            throw new IllegalStateException("the environment has no composite property source named "
+                                             + CONFIG_SERVICE_PROPERTY_SOURCE_NAME);
+        }
+        synchronized (configService) {
+            Collection<PropertySource<?>> nestedPropertySources = configService.getPropertySources();
+            Map<String, PropertySource<?>> current = new LinkedHashMap<>();
+            nestedPropertySources.forEach(propertySource -> current.put(propertySource.getName(), propertySource));
+            PropertySource<?> configClient = current.remove(CONFIG_CLIENT_PROPERTY_SOURCE_NAME);
+            Map<String, EnvironmentDelta.PropertySourceDelta> deltas = delta.getPropertySources().stream()
+                    .collect(Collectors.toMap(EnvironmentDelta.PropertySourceDelta::getName, Function.identity()));
+
+            SortedSet<String> changedPropertyNames = new TreeSet<>();
+            List<PropertySource<?>> patched = new ArrayList<>();
+            for (String name : delta.getPropertySourceNames()) {
+                PropertySource<?> existing = current.remove(name);
+                EnvironmentDelta.PropertySourceDelta propertySourceDelta = deltas.get(name);
+                if (!delta.isComplete() && propertySourceDelta == null) {
+                    if (existing == null) {
+                        throw new IllegalStateException("unchanged property source " + name + " is missing locally");
+                    }
+                    patched.add(existing);
+                    continue;
+                }
+                Map<String, Object> oldProperties = propertiesOf(existing);
+                Map<String, Object> newProperties =
+                        delta.isComplete() ? new LinkedHashMap<>() : new LinkedHashMap<>(oldProperties);
+                if (propertySourceDelta != null) {
+                    propertySourceDelta.getRemoved().forEach(newProperties::remove);
+                    newProperties.putAll(propertySourceDelta.getAdded());
+                    newProperties.putAll(propertySourceDelta.getChanged());
+                }
+                changedPropertyNames.addAll(changedPropertyNames(oldProperties, newProperties));
+                patched.add(new MapPropertySource(name, newProperties));
+            }
+            current.values().forEach(removed -> changedPropertyNames.addAll(propertiesOf(removed).keySet()));
+
+            nestedPropertySources.clear();
+            nestedPropertySources.add(versioned(configClient, delta.getToVersion()));
+            nestedPropertySources.addAll(patched);
+            return Collections.unmodifiableSortedSet(changedPropertyNames);
+        }
+    }
+
+    private static PropertySource<?> versioned(PropertySource<?> configClient, String version) {
+        Map<String, Object> properties = new HashMap<>(propertiesOf(configClient));
+        if (version != null) {
+            properties.put(CONFIG_CLIENT_VERSION_PROPERTY, version);
+        }
+        return new MapPropertySource(CONFIG_CLIENT_PROPERTY_SOURCE_NAME, properties);
+    }
+
+    private static Set<String> changedPropertyNames(Map<String, Object> oldProperties,
+                                                    Map<String, Object> newProperties) {
+        Set<String> names = new TreeSet<>(oldProperties.keySet());
+        names.addAll(newProperties.keySet());
+        names.removeIf(name -> Objects.equals(oldProperties.get(name), newProperties.get(name)));
+        return names;
+    }
+
+    private static Map<String, Object> propertiesOf(PropertySource<?> propertySource) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (propertySource instanceof EnumerablePropertySource) {
+            EnumerablePropertySource<?> enumerablePropertySource = (EnumerablePropertySource<?>) propertySource;
+            for (String name : enumerablePropertySource.getPropertyNames()) {
+                properties.put(name, enumerablePropertySource.getProperty(name));
+            }
+        }
+        return properties;
+    }
+
+    private static CompositePropertySource findConfigService(Iterable<PropertySource<?>> propertySources) {
+        for (PropertySource<?> propertySource : propertySources) {
+            if (propertySource instanceof CompositePropertySource) {
+                CompositePropertySource composite = (CompositePropertySource) propertySource;
+                if (CONFIG_SERVICE_PROPERTY_SOURCE_NAME.equals(composite.getName())) {
+                    return composite;
+                }
+                CompositePropertySource nested = findConfigService(composite.getPropertySources());
+                if (nested != null) {
+                    return nested;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+
+/**
+ * {@link ConfigServerHealthProbe} that sends a plain HTTP request to the instance's actuator health endpoint.
+ * <p>
+ * Any response with a status code below 500 counts as healthy - in particular a {@literal 401} response of a
+ * config server that requires basic authentication. The probe does not send credentials because all it needs
+ * to know is whether the instance is reachable and responsive.
+ */
+public class HttpConfigServerHealthProbe implements ConfigServerHealthProbe {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpConfigServerHealthProbe.class);
+
+    private final int timeout;
+
+    /**
+     * Construct a health probe.
+     *
+     * @param timeout
+     *         the connect and read timeout in milliseconds
+     */
+    public HttpConfigServerHealthProbe(int timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isHealthy(ServiceInstance serviceInstance) {
+        URI healthUri = serviceInstance.getUri().resolve("health");
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) healthUri.toURL().openConnection();
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setRequestMethod("GET");
+            int status = connection.getResponseCode();
+            LOG.debug("health probe of {} returned status {}", healthUri, status);
+            return status > 0 && status < 500;
+        }
+        catch (IOException ioException) {
+            LOG.info("health probe of {} failed: {}", healthUri, ioException.toString());
+            return false;
+        }
+        finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.ConfigurationBeanFactoryMetaData;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PropertyPlaceholderHelper;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Refreshes the configuration from the config server's delta endpoint and re-creates only the beans bound to the
+ * changed properties.
+ * <p>
+ * Unlike the {@link ContextRefresher}, the incremental refresh neither rebuilds the bootstrap context nor re-reads
+ * Vault: it fetches the {@link EnvironmentDelta} since the client's version, patches the config server property
+ * sources with the {@link EnvironmentDeltaApplier} and then
+ * <ul>
+ * <li>rebinds the {@code @ConfigurationProperties} beans whose prefix covers a changed property,</li>
+ * <li>refreshes the refresh-scoped beans that refer to a changed property by {@code @Value} or
+ * {@code @ConfigurationProperties}; refresh-scoped beans whose bindings cannot be determined (e.g., beans created
+ * by {@code @Bean} methods without annotations on their class) are refreshed to be on the safe side,</li>
+ * <li>passes an {@link EnvironmentChangeEvent} to all other listeners of that event (e.g., the logging level
+ * rebinder); it is not published because the {@link ConfigurationPropertiesRebinder} would rebind all beans.</li>
+ * </ul>
+ * If the incremental refresh fails (e.g., the config server has no delta endpoint or the environment was started
+ * from a config snapshot), the refresher falls back to a full refresh.
+ */
+public class IncrementalContextRefresher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IncrementalContextRefresher.class);
+
+    private static final String REFRESH_SCOPE_NAME = "refresh";
+
+    private static final PropertyPlaceholderHelper PLACEHOLDER_HELPER =
+            new PropertyPlaceholderHelper("${", "}", ":", true);
+
+    private final ConfigurableApplicationContext applicationContext;
+    private final ContextRefresher contextRefresher;
+    private final ConfigClientProperties configClientProperties;
+    private final ConfigDeltaClient deltaClient;
+    private final EnvironmentDeltaApplier deltaApplier;
+    private final ConfigurationPropertiesRebinder rebinder;
+    private ConfigurationBeanFactoryMetaData beanFactoryMetaData;
+    private RefreshScope refreshScope;
+
+    /**
+     * Construct an incremental refresher.
+     *
+     * @param applicationContext
+     *         the application context to refresh, must not be {@literal null}
+     * @param contextRefresher
+     *         the refresher used as fallback, must not be {@literal null}
+     * @param configClientProperties
+     *         the config client properties, must not be {@literal null}
+     * @param deltaClient
+     *         the client of the delta endpoint, must not be {@literal null}
+     * @param deltaApplier
+     *         the delta applier, must not be {@literal null}
+     * @param rebinder
+     *         the rebinder of {@code @ConfigurationProperties} beans, must not be {@literal null}
+     */
+    public IncrementalContextRefresher(ConfigurableApplicationContext applicationContext,
+                                       ContextRefresher contextRefresher,
+                                       ConfigClientProperties configClientProperties,
+                                       ConfigDeltaClient deltaClient,
+                                       EnvironmentDeltaApplier deltaApplier,
+                                       ConfigurationPropertiesRebinder rebinder) {
+        this.applicationContext = Objects.requireNonNull(applicationContext, "applicationContext must not be null");
+        this.contextRefresher = Objects.requireNonNull(contextRefresher, "contextRefresher must not be null");
+        this.configClientProperties = Objects.requireNonNull(configClientProperties,
+                                                             "configClientProperties must not be null");
+        this.deltaClient = Objects.requireNonNull(deltaClient, "deltaClient must not be null");
+        this.deltaApplier = Objects.requireNonNull(deltaApplier, "deltaApplier must not be null");
+        this.rebinder = Objects.requireNonNull(rebinder, "rebinder must not be null");
+    }
+
+    /**
+     * Set the meta data of {@code @ConfigurationProperties} beans created by {@code @Bean} methods.
+     *
+     * @param beanFactoryMetaData
+     *         the meta data, might be {@literal null} (such beans are always rebound then)
+     */
+    public void setBeanFactoryMetaData(ConfigurationBeanFactoryMetaData beanFactoryMetaData) {
+        this.beanFactoryMetaData = beanFactoryMetaData;
+    }
+
+    /**
+     * Set the refresh scope.
+     *
+     * @param refreshScope
+     *         the refresh scope, might be {@literal null} if there is none
+     */
+    public void setRefreshScope(RefreshScope refreshScope) {
+        this.refreshScope = refreshScope;
+    }
+
+    /**
+     * Refresh the configuration incrementally, falling back to a full refresh on failure.
+     *
+     * @return the names of the changed properties, never {@literal null}
+     */
+    public synchronized Set<String> refresh() {
+        try {
+            return refreshIncrementally();
+        }
+        catch (RuntimeException exception) {
+            LOG.warn("incremental refresh failed, falling back to a full refresh: {}", exception.toString());
+            return contextRefresher.refresh();
+        }
+    }
+
+    private Set<String> refreshIncrementally() {
+        ConfigurableListableBeanFactory beanFactory = applicationContext.getBeanFactory();
+        ConfigurableEnvironment environment = applicationContext.getEnvironment();
+        String version = deltaApplier.currentVersion(environment);
+        EnvironmentDelta delta = deltaClient.fetch(configClientProperties.override(environment), version);
+        if (delta == null) {
+            LOG.info("incremental refresh: version {} is up to date", version);
+            return Collections.emptySet();
+        }
+        Set<String> changedPropertyNames = deltaApplier.apply(environment, delta);
+        if (changedPropertyNames.isEmpty()) {
+            return changedPropertyNames;
+        }
+
+        int rebound = 0;
+        for (String beanName : rebinder.getBeanNames()) {
+            if (isBoundTo(configurationPropertiesPrefixes(beanFactory, beanName), changedPropertyNames)
+                    && rebinder.rebind(beanName)) {
+                rebound++;
+            }
+        }
+        int refreshed = 0;
+        if (refreshScope != null) {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+                if (REFRESH_SCOPE_NAME.equals(beanDefinition.getScope())
+                        && isBoundTo(bindings(beanFactory.getType(beanName)), changedPropertyNames)
+                        && refreshScope.refresh(beanName)) {
+                    refreshed++;
+                }
+            }
+        }
+        notifyEnvironmentChangeListeners(new EnvironmentChangeEvent(changedPropertyNames));
+        LOG.info("incremental refresh to version {}: {} properties changed, {} beans rebound, {} beans refreshed",
+                 delta.getToVersion(), changedPropertyNames.size(), rebound, refreshed);
+        return changedPropertyNames;
+    }
+
+    private Set<String> configurationPropertiesPrefixes(ConfigurableListableBeanFactory beanFactory,
+                                                        String beanName) {
+        Class<?> beanType = beanFactory.getType(beanName);
+        ConfigurationProperties annotation = beanType != null ?
+                                             AnnotationUtils.findAnnotation(ClassUtils.getUserClass(beanType),
+                                                                            ConfigurationProperties.class) :
+                                             null;
+        if (annotation == null && beanFactoryMetaData != null) {
+            annotation = beanFactoryMetaData.findFactoryAnnotation(beanName, ConfigurationProperties.class);
+        }
+        return annotation != null ? Collections.singleton(annotation.prefix()) : null;
+    }
+
+    /**
+     * Find the property names (or prefixes) a bean class is bound to.
+     *
+     * @param beanType
+     *         the bean class, might be {@literal null}
+     * @return the property names and prefixes, {@literal null} if no bindings were found
+     */
+    static Set<String> bindings(Class<?> beanType) {
+        if (beanType == null) {
+            return null;
+        }
+        Class<?> userClass = ClassUtils.getUserClass(beanType);
+        Set<String> bindings = new HashSet<>();
+        ConfigurationProperties configurationProperties =
+                AnnotationUtils.findAnnotation(userClass, ConfigurationProperties.class);
+        if (configurationProperties != null) {
+            bindings.add(configurationProperties.prefix());
+        }
+        ReflectionUtils.doWithFields(userClass, field -> addPlaceholders(field.getAnnotation(Value.class), bindings));
+        ReflectionUtils.doWithMethods(userClass, method -> {
+            addPlaceholders(method.getAnnotation(Value.class), bindings);
+            addPlaceholders(method.getParameterAnnotations(), bindings);
+        });
+        for (Constructor<?> constructor : userClass.getDeclaredConstructors()) {
+            addPlaceholders(constructor.getParameterAnnotations(), bindings);
+        }
+        return bindings.isEmpty() ? null : bindings;
+    }
+
+    private static void addPlaceholders(Annotation[][] parameterAnnotations, Set<String> bindings) {
+        for (Annotation[] annotations : parameterAnnotations) {
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Value) {
+                    addPlaceholders((Value) annotation, bindings);
+                }
+            }
+        }
+    }
+
+    private static void addPlaceholders(Value value, Set<String> bindings) {
+        if (value != null) {
+            PLACEHOLDER_HELPER.replacePlaceholders(value.value(), placeholder -> {
+                // the helper asks for "name:default" first and, if that is unresolvable, for "name"
+                if (placeholder.indexOf(':') < 0) {
+                    bindings.add(placeholder);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Check whether a bean with the given bindings is affected by changed properties. Names are compared in
+     * Spring Boot's relaxed form, i.e., ignoring case, dashes and underscores.
+     *
+     * @param bindings
+     *         the property names and prefixes the bean is bound to, {@literal null} if unknown
+     * @param changedPropertyNames
+     *         the names of the changed properties
+     * @return {@literal true} if the bindings are unknown or cover a changed property
+     */
+    static boolean isBoundTo(Set<String> bindings, Set<String> changedPropertyNames) {
+        if (bindings == null) {
+            return true;
+        }
+        for (String binding : bindings) {
+            String prefix = relaxed(binding);
+            if (prefix.isEmpty()) {
+                return true;
+            }
+            for (String changedPropertyName : changedPropertyNames) {
+                String name = relaxed(changedPropertyName);
+                if (name.equals(prefix) || name.startsWith(prefix + ".") || name.startsWith(prefix + "[")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String relaxed(String name) {
+        return name.replace("-", "").replace("_", "").toLowerCase(Locale.ENGLISH);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void notifyEnvironmentChangeListeners(EnvironmentChangeEvent event) {
+        for (ApplicationListener listener : applicationContext.getBeansOfType(ApplicationListener.class).values()) {
+            if (listener instanceof ConfigurationPropertiesRebinder) {
+                continue;
+            }
+            Class<?> eventType = GenericTypeResolver.resolveTypeArgument(ClassUtils.getUserClass(listener),
+                                                                         ApplicationListener.class);
+            if (eventType == EnvironmentChangeEvent.class) {
+                listener.onApplicationEvent(event);
+            }
+        }
+    }
+}
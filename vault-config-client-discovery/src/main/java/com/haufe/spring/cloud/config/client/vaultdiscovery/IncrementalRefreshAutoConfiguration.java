@@ -0,0 +1,106 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationBeanFactoryMetaData;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.autoconfigure.ConfigurationPropertiesRebinderAutoConfiguration;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.autoconfigure.RefreshEndpointAutoConfiguration;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.cloud.endpoint.RefreshEndpoint;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration Auto-configuration} of the
+ * {@link IncrementalContextRefresher}, active only if the configuration property
+ * {@code haufe.cloud.config.incrementalRefresh.enabled} is {@literal true}.
+ * <p>
+ * If Spring Boot Actuator is on the class path, the refresh endpoint is replaced by an
+ * {@link IncrementalRefreshEndpoint}. The {@link ConfigClientProperties} bean usually lives in the bootstrap
+ * context, i.e., in an ancestor of the application context.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = IncrementalRefreshProperties.PREFIX, name = "enabled")
+@ConditionalOnBean({ContextRefresher.class, ConfigurationPropertiesRebinder.class, ConfigClientProperties.class})
+@EnableConfigurationProperties(IncrementalRefreshProperties.class)
+@AutoConfigureAfter({RefreshAutoConfiguration.class, ConfigurationPropertiesRebinderAutoConfiguration.class})
+@AutoConfigureBefore(RefreshEndpointAutoConfiguration.class)
+public class IncrementalRefreshAutoConfiguration {
+
+    /**
+     * Bean factory for the incremental refresher.
+     *
+     * @param applicationContext
+     *         the application context
+     * @param contextRefresher
+     *         the full refresher used as fallback
+     * @param configClientProperties
+     *         the config client properties
+     * @param rebinder
+     *         the rebinder of {@code @ConfigurationProperties} beans
+     * @param beanFactoryMetaData
+     *         the meta data of {@code @ConfigurationProperties} beans created by {@code @Bean} methods, if any
+     * @param refreshScope
+     *         the refresh scope, if any
+     * @param incrementalRefreshProperties
+     *         the incremental refresh settings
+     * @return the incremental refresher
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public IncrementalContextRefresher incrementalContextRefresher(
+            ConfigurableApplicationContext applicationContext,
+            ContextRefresher contextRefresher,
+            ConfigClientProperties configClientProperties,
+            ConfigurationPropertiesRebinder rebinder,
+            ObjectProvider<ConfigurationBeanFactoryMetaData> beanFactoryMetaData,
+            ObjectProvider<RefreshScope> refreshScope,
+            IncrementalRefreshProperties incrementalRefreshProperties) {
+        RestTemplate restTemplate = ConfigServerRestTemplates.create(incrementalRefreshProperties.getConnectTimeout(),
+                                                                     incrementalRefreshProperties.getReadTimeout());
+        IncrementalContextRefresher refresher = new IncrementalContextRefresher(
+                applicationContext, contextRefresher, configClientProperties,
+                new ConfigDeltaClient(restTemplate), new EnvironmentDeltaApplier(), rebinder);
+        refresher.setBeanFactoryMetaData(beanFactoryMetaData.getIfAvailable());
+        refresher.setRefreshScope(refreshScope.getIfAvailable());
+        return refresher;
+    }
+
+    /**
+     * Replacement of the refresh endpoint, active only if Spring Boot Actuator is on the class path.
+     */
+    @Configuration
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnProperty(value = "endpoints.refresh.enabled", matchIfMissing = true)
+    protected static class IncrementalRefreshEndpointConfiguration {
+
+        /**
+         * Bean factory for the incremental refresh endpoint.
+         *
+         * @param contextRefresher
+         *         the full refresher
+         * @param incrementalContextRefresher
+         *         the incremental refresher
+         * @return the endpoint
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public RefreshEndpoint refreshEndpoint(ContextRefresher contextRefresher,
+                                               IncrementalContextRefresher incrementalContextRefresher) {
+            return new IncrementalRefreshEndpoint(contextRefresher, incrementalContextRefresher);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.endpoint.RefreshEndpoint;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Replacement of Spring Cloud's actuator endpoint {@literal "refresh"} that refreshes the configuration
+ * {@link IncrementalContextRefresher incrementally}.
+ */
+public class IncrementalRefreshEndpoint extends RefreshEndpoint {
+
+    private final IncrementalContextRefresher incrementalContextRefresher;
+
+    /**
+     * Construct the endpoint.
+     *
+     * @param contextRefresher
+     *         the full refresher (required by the super class only), must not be {@literal null}
+     * @param incrementalContextRefresher
+     *         the incremental refresher, must not be {@literal null}
+     */
+    public IncrementalRefreshEndpoint(ContextRefresher contextRefresher,
+                                      IncrementalContextRefresher incrementalContextRefresher) {
+        super(contextRefresher);
+        this.incrementalContextRefresher = Objects.requireNonNull(incrementalContextRefresher,
+                                                                  "incrementalContextRefresher must not be null");
+    }
+
+    /**
+     * Refresh the configuration incrementally.
+     *
+     * @return the names of the changed properties, never {@literal null}
+     */
+    @Override
+    public String[] refresh() {
+        Set<String> changedPropertyNames = incrementalContextRefresher.refresh();
+        return changedPropertyNames.toArray(new String[changedPropertyNames.size()]);
+    }
+}
@@ -0,0 +1,120 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.google.common.base.MoreObjects;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the incremental refresh.
+ */
+@ConfigurationProperties(IncrementalRefreshProperties.PREFIX)
+public class IncrementalRefreshProperties {
+
+    /**
+     * The common prefix of all incremental refresh configuration properties.
+     */
+    public static final String PREFIX = "haufe.cloud.config.incrementalRefresh";
+
+    /**
+     * Flag to make the refresh endpoint fetch only the changes from the config server's delta endpoint and
+     * re-create only the beans bound to changed properties.
+     */
+    private boolean enabled;
+
+    /**
+     * The connect timeout of delta requests in milliseconds.
+     */
+    private int connectTimeout = 5000;
+
+    /**
+     * The read timeout of delta requests in milliseconds.
+     */
+    private int readTimeout = 30000;
+
+    /**
+     * Is the incremental refresh enabled?
+     *
+     * @return {@literal true} if refreshes are incremental, {@literal false} (the default) if they rebuild the
+     * bootstrap context
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the incremental refresh.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The connect timeout of delta requests in milliseconds.
+     *
+     * @return the connect timeout
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Set the connect timeout of delta requests in milliseconds.
+     *
+     * @param connectTimeout
+     *         the new connect timeout
+     */
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * The read timeout of delta requests in milliseconds.
+     *
+     * @return the read timeout
+     */
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Set the read timeout of delta requests in milliseconds.
+     *
+     * @param readTimeout
+     *         the new read timeout
+     */
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IncrementalRefreshProperties)) {
+            return false;
+        }
+        IncrementalRefreshProperties that = (IncrementalRefreshProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getConnectTimeout() == that.getConnectTimeout() &&
+                getReadTimeout() == that.getReadTimeout();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getConnectTimeout(), getReadTimeout());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("enabled", enabled)
+                .add("connectTimeout", connectTimeout)
+                .add("readTimeout", readTimeout)
+                .toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.vault.config.VaultGenericBackendProperties;
+import org.springframework.cloud.vault.config.VaultProperties;
+import org.springframework.core.Ordered;
+import org.springframework.vault.core.VaultOperations;
+
+/**
+ * Replaces the Spring Cloud Vault property source locator bean (named {@literal "vaultPropertySourceLocator"}) by a
+ * {@link LazyVaultPropertySourceLocator}, provided the generic backend is enabled.
+ * <p>
+ * The post processor runs before the ones for the snapshot and the parallel bootstrap, so these decorate the lazy
+ * locator. (Since a lazy property source is not enumerable, it is never written to the snapshot.)
+ */
+class LazyVaultPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    static final String VAULT_PROPERTY_SOURCE_LOCATOR = "vaultPropertySourceLocator";
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigServicePropertySourceLocatorPostProcessor.ORDER;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!VAULT_PROPERTY_SOURCE_LOCATOR.equals(beanName) || !(bean instanceof PropertySourceLocator)) {
+            return bean;
+        }
+        VaultGenericBackendProperties genericBackendProperties =
+                beanFactory.getBean(VaultGenericBackendProperties.class);
+        if (!genericBackendProperties.isEnabled()) {
+            return bean;
+        }
+        return new LazyVaultPropertySourceLocator((PropertySourceLocator) bean,
+                                                  beanFactory.getBean(VaultOperations.class),
+                                                  genericBackendProperties,
+                                                  beanFactory.getBean(LazyVaultProperties.class).getPrefixes(),
+                                                  beanFactory.getBean(VaultProperties.class).isFailFast());
+    }
+}
@@ -0,0 +1,96 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.google.common.base.MoreObjects;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the lazy Vault property source.
+ */
+@ConfigurationProperties(LazyVaultProperties.PREFIX)
+public class LazyVaultProperties {
+
+    /**
+     * The common prefix of all lazy Vault configuration properties.
+     */
+    public static final String PREFIX = "haufe.cloud.config.lazyVault";
+
+    /**
+     * Flag to enable or disable the lazy Vault property source.
+     */
+    private boolean enabled;
+
+    /**
+     * The prefixes of the property names looked up in Vault; an empty list means all property names.
+     */
+    private List<String> prefixes = new ArrayList<>(Arrays.asList("vault.", "spring.cloud.config."));
+
+    /**
+     * Is the lazy Vault property source enabled?
+     *
+     * @return {@literal true} if Vault contexts are read on first access, {@literal false} (the default) if they
+     * are read at bootstrap
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the lazy Vault property source.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The prefixes of the property names looked up in Vault.
+     *
+     * @return the prefixes, never {@literal null}
+     */
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Set the prefixes of the property names looked up in Vault.
+     *
+     * @param prefixes
+     *         the new prefixes, an empty list or {@literal null} means all property names
+     */
+    public void setPrefixes(List<String> prefixes) {
+        this.prefixes = prefixes != null ? prefixes : new ArrayList<>();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazyVaultProperties)) {
+            return false;
+        }
+        LazyVaultProperties that = (LazyVaultProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                Objects.equals(getPrefixes(), that.getPrefixes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getPrefixes());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("enabled", enabled)
+                .add("prefixes", prefixes)
+                .toString();
+    }
+}
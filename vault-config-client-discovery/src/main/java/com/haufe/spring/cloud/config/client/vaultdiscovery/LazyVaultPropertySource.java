@@ -0,0 +1,123 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.PropertySource;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.support.JsonMapFlattener;
+import org.springframework.vault.support.VaultResponse;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Vault-backed {@link PropertySource} that reads a context of the generic backend only when a property is first
+ * looked up in it, and memoizes the context's secrets.
+ * <p>
+ * Contexts are searched in order of decreasing precedence, and the search stops at the first context that holds
+ * the property, so less specific contexts are often never read at all. Only property names with one of the
+ * configured prefixes are looked up; all other names are answered with {@literal null} without any Vault call.
+ * <p>
+ * The property source is not enumerable, since enumerating its property names would require reading all
+ * contexts.
+ */
+public class LazyVaultPropertySource extends PropertySource<VaultOperations> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LazyVaultPropertySource.class);
+
+    private final String backend;
+    private final List<String> contexts;
+    private final List<String> prefixes;
+    private final boolean failFast;
+    private final Map<String, Map<String, String>> secretsByContext = new ConcurrentHashMap<>();
+
+    /**
+     * Construct a lazy Vault property source.
+     *
+     * @param name
+     *         the name of the property source, must not be {@literal null}
+     * @param vaultOperations
+     *         the Vault client, must not be {@literal null}
+     * @param backend
+     *         the path of the generic backend, must not be {@literal null}
+     * @param contexts
+     *         the contexts in order of decreasing precedence, must not be {@literal null}
+     * @param prefixes
+     *         the prefixes of the property names looked up in Vault, an empty list means all property names
+     * @param failFast
+     *         {@literal true} to throw an exception if a context cannot be read, {@literal false} to log the error
+     *         and try again on the next lookup
+     */
+    public LazyVaultPropertySource(String name, VaultOperations vaultOperations, String backend,
+                                   List<String> contexts, List<String> prefixes, boolean failFast) {
+        super(name, Objects.requireNonNull(vaultOperations, "vaultOperations must not be null"));
+        this.backend = Objects.requireNonNull(backend, "backend must not be null");
+        this.contexts = new ArrayList<>(Objects.requireNonNull(contexts, "contexts must not be null"));
+        this.prefixes = new ArrayList<>(Objects.requireNonNull(prefixes, "prefixes must not be null"));
+        this.failFast = failFast;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        if (!isLookedUpInVault(name)) {
+            return null;
+        }
+        for (String context : contexts) {
+            Map<String, String> secrets = secretsByContext.computeIfAbsent(context, this::readContext);
+            if (secrets == null) {
+                continue;
+            }
+            String value = secrets.get(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The contexts read so far.
+     *
+     * @return an unmodifiable view of the names of the read contexts
+     */
+    public Set<String> getReadContexts() {
+        return Collections.unmodifiableSet(secretsByContext.keySet());
+    }
+
+    private boolean isLookedUpInVault(String name) {
+        if (prefixes.isEmpty()) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, String> readContext(String context) {
+        String path = backend + "/" + context;
+        try {
+            VaultResponse response = getSource().read(path);
+            LOG.debug("read Vault context {} on first access", path);
+            return response != null && response.getData() != null ?
+                   JsonMapFlattener.flatten(response.getData()) :
+                   Collections.emptyMap();
+        }
+        catch (VaultException | RestClientException exception) {
+            if (failFast) {
+                throw new IllegalStateException("could not read Vault context " + path, exception);
+            }
+            LOG.error("could not read Vault context {}: {}", path, exception.toString());
+            return null;
+        }
+    }
+}
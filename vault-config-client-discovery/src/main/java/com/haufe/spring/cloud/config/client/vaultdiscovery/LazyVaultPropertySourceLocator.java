@@ -0,0 +1,70 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.vault.config.VaultGenericBackendProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.vault.core.VaultOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Replaces the eager Spring Cloud Vault property source locator by one that returns a
+ * {@link LazyVaultPropertySource}.
+ * <p>
+ * The locator keeps the order (i.e., the precedence) of the replaced locator and the name of its property source.
+ */
+public class LazyVaultPropertySourceLocator extends DelegatingPropertySourceLocator {
+
+    /**
+     * The name of the property source, the same as the one of Spring Cloud Vault.
+     */
+    public static final String PROPERTY_SOURCE_NAME = "vault";
+
+    private final VaultOperations vaultOperations;
+    private final VaultGenericBackendProperties genericBackendProperties;
+    private final List<String> prefixes;
+    private final boolean failFast;
+
+    /**
+     * Replace an eager Vault property source locator.
+     *
+     * @param delegate
+     *         the replaced locator, used for its order only, must not be {@literal null}
+     * @param vaultOperations
+     *         the Vault client, must not be {@literal null}
+     * @param genericBackendProperties
+     *         the generic backend settings, must not be {@literal null}
+     * @param prefixes
+     *         the prefixes of the property names looked up in Vault, must not be {@literal null}
+     * @param failFast
+     *         {@literal true} to fail if a Vault context cannot be read
+     */
+    public LazyVaultPropertySourceLocator(PropertySourceLocator delegate, VaultOperations vaultOperations,
+                                          VaultGenericBackendProperties genericBackendProperties,
+                                          List<String> prefixes, boolean failFast) {
+        super(delegate);
+        this.vaultOperations = Objects.requireNonNull(vaultOperations, "vaultOperations must not be null");
+        this.genericBackendProperties =
+                Objects.requireNonNull(genericBackendProperties, "genericBackendProperties must not be null");
+        this.prefixes = new ArrayList<>(Objects.requireNonNull(prefixes, "prefixes must not be null"));
+        this.failFast = failFast;
+    }
+
+    /**
+     * Create a new lazy property source; nothing is read from Vault yet.
+     *
+     * @param environment
+     *         the environment that provides the active profiles
+     * @return a lazy Vault property source
+     */
+    @Override
+    public PropertySource<?> locate(Environment environment) {
+        return new LazyVaultPropertySource(PROPERTY_SOURCE_NAME, vaultOperations,
+                                           genericBackendProperties.getBackend(),
+                                           VaultContexts.build(genericBackendProperties, environment),
+                                           prefixes, failFast);
+    }
+}
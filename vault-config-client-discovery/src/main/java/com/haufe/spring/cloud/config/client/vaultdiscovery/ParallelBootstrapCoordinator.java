@@ -0,0 +1,143 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the fetches of all participating {@link PropertySourceLocator}s concurrently.
+ * <p>
+ * Spring Cloud calls the bootstrap property source locators one after another, in order of their precedence.
+ * When the first participant is asked to locate its property source for an environment, the coordinator starts
+ * a "round" for this environment: it runs the caller's fetch in the calling thread and the fetches of all other
+ * participants in background threads. When the other participants are asked later, they merely wait for their
+ * result. Since the results are still handed out in the original order, the precedence of the property sources
+ * does not change, but the bootstrap takes about as long as the slowest fetch rather than the sum of all fetches.
+ * <p>
+ * Exceptions of a background fetch are rethrown to the participant it belongs to, so fail-fast settings keep
+ * working. A participant that is asked again for the same environment (or for an environment of an outdated round)
+ * fetches synchronously.
+ */
+public class ParallelBootstrapCoordinator implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelBootstrapCoordinator.class);
+
+    private final List<PropertySourceLocator> participants = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor;
+
+    private final Set<Environment> roundEnvironments = Collections.newSetFromMap(new WeakHashMap<>());
+    private Environment roundEnvironment;
+    private Map<PropertySourceLocator, CompletableFuture<PropertySource<?>>> roundResults;
+
+    /**
+     * Construct a coordinator with its own daemon threads.
+     */
+    public ParallelBootstrapCoordinator() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "parallel-bootstrap-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a fetch that takes part in the parallel bootstrap.
+     *
+     * @param participant
+     *         the actual fetch, must not be {@literal null}
+     */
+    public void register(PropertySourceLocator participant) {
+        participants.add(Objects.requireNonNull(participant, "participant must not be null"));
+    }
+
+    /**
+     * Register a fetch that takes part in the parallel bootstrap and return a locator that obtains its result.
+     *
+     * @param fetch
+     *         the actual fetch, must not be {@literal null}
+     * @return a locator that delegates to {@link #locate(PropertySourceLocator, Environment)}
+     */
+    public PropertySourceLocator participant(PropertySourceLocator fetch) {
+        register(fetch);
+        return environment -> locate(fetch, environment);
+    }
+
+    /**
+     * Obtain the result of a participant's fetch, starting the fetches of all participants if necessary.
+     *
+     * @param participant
+     *         a registered fetch, must not be {@literal null}
+     * @param environment
+     *         the environment passed to the locators
+     * @return the participant's property source, might be {@literal null}
+     */
+    public PropertySource<?> locate(PropertySourceLocator participant, Environment environment) {
+        Objects.requireNonNull(participant, "participant must not be null");
+        CompletableFuture<PropertySource<?>> result = takeResult(participant, environment);
+        if (result == null) {
+            return participant.locate(environment);
+        }
+        try {
+            return result.join();
+        }
+        catch (CompletionException completionException) {
+            Throwable cause = completionException.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw completionException;
+        }
+    }
+
+    private synchronized CompletableFuture<PropertySource<?>> takeResult(PropertySourceLocator participant,
+                                                                         Environment environment) {
+        if (roundEnvironment == environment) {
+            return roundResults.remove(participant);
+        }
+        if (roundEnvironments.add(environment)) {
+            startRound(participant, environment);
+        }
+        return null;
+    }
+
+    private void startRound(PropertySourceLocator caller, Environment environment) {
+        roundEnvironment = environment;
+        roundResults = new IdentityHashMap<>();
+        for (PropertySourceLocator participant : participants) {
+            if (participant != caller) {
+                roundResults.put(participant,
+                                 CompletableFuture.supplyAsync(() -> participant.locate(environment), executor));
+            }
+        }
+        LOG.debug("started {} property source fetches in parallel", roundResults.size());
+    }
+
+    /**
+     * Stop the background threads.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,61 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.core.Ordered;
+
+/**
+ * Lets all bootstrap {@link PropertySourceLocator} beans take part in the parallel bootstrap.
+ * <p>
+ * The config server locator keeps its type (the config client's health indicator depends on it) and joins the
+ * {@link ParallelBootstrapCoordinator} via {@link RetryingConfigServicePropertySourceLocator#decorateFetch}, so this
+ * post processor runs after the {@link ConfigServicePropertySourceLocatorPostProcessor}. All other locators are wrapped
+ * in a {@link ParallelBootstrapPropertySourceLocator}.
+ */
+class ParallelBootstrapPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private final String coordinatorBeanName;
+    private BeanFactory beanFactory;
+
+    ParallelBootstrapPostProcessor(String coordinatorBeanName) {
+        this.coordinatorBeanName = coordinatorBeanName;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigServicePropertySourceLocatorPostProcessor.ORDER + 3;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RetryingConfigServicePropertySourceLocator) {
+            ParallelBootstrapCoordinator coordinator = coordinator();
+            ((RetryingConfigServicePropertySourceLocator) bean).decorateFetch(coordinator::participant);
+            return bean;
+        }
+        if (!(bean instanceof PropertySourceLocator) ||
+                bean instanceof ConfigServicePropertySourceLocator ||
+                bean instanceof ParallelBootstrapPropertySourceLocator) {
+            return bean;
+        }
+        return new ParallelBootstrapPropertySourceLocator((PropertySourceLocator) bean, coordinator());
+    }
+
+    private ParallelBootstrapCoordinator coordinator() {
+        return beanFactory.getBean(coordinatorBeanName, ParallelBootstrapCoordinator.class);
+    }
+}
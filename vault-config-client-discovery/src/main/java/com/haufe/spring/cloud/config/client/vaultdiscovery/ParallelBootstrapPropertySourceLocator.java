@@ -0,0 +1,32 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * A {@link PropertySourceLocator} that takes part in the {@link ParallelBootstrapCoordinator parallel bootstrap}.
+ */
+public class ParallelBootstrapPropertySourceLocator extends DelegatingPropertySourceLocator {
+
+    private final PropertySourceLocator participant;
+
+    /**
+     * Wrap a property source locator.
+     *
+     * @param delegate
+     *         the locator that actually fetches the property source, must not be {@literal null}
+     * @param coordinator
+     *         the coordinator of the parallel bootstrap, must not be {@literal null}
+     */
+    public ParallelBootstrapPropertySourceLocator(PropertySourceLocator delegate,
+                                                  ParallelBootstrapCoordinator coordinator) {
+        super(delegate);
+        this.participant = coordinator.participant(delegate);
+    }
+
+    @Override
+    public PropertySource<?> locate(Environment environment) {
+        return participant.locate(environment);
+    }
+}
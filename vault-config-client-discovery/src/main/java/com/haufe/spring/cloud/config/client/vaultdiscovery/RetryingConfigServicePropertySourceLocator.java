@@ -0,0 +1,97 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link ConfigServicePropertySourceLocator} that delegates the config server fetch to another locator and
+ * retries it with the policy of a {@link RetryingExecutor}.
+ * <p>
+ * The class extends {@link ConfigServicePropertySourceLocator} (rather than merely implementing
+ * {@link org.springframework.cloud.bootstrap.config.PropertySourceLocator}) so it can replace the original bean
+ * wherever the config client expects that concrete type, e.g., in its health indicator.
+ * <p>
+ * <b>Note:</b> The delegate signals failures by exceptions only if {@code spring.cloud.config.fail-fast} is set;
+ * otherwise it logs the failure and returns {@literal null}, which is not retried.
+ */
+public class RetryingConfigServicePropertySourceLocator extends ConfigServicePropertySourceLocator {
+
+    private final ConfigServicePropertySourceLocator delegate;
+    private final RetryingExecutor retryingExecutor;
+    private volatile PropertySourceLocator fetch;
+    private volatile RestTemplate restTemplate;
+
+    /**
+     * Wrap a config server property source locator.
+     *
+     * @param configClientProperties
+     *         the config client settings (required by the super class only), must not be {@literal null}
+     * @param delegate
+     *         the locator that actually fetches the configuration, must not be {@literal null}
+     * @param retryingExecutor
+     *         the retry policy and circuit breaker, must not be {@literal null}
+     */
+    public RetryingConfigServicePropertySourceLocator(ConfigClientProperties configClientProperties,
+                                                      ConfigServicePropertySourceLocator delegate,
+                                                      RetryingExecutor retryingExecutor) {
+        super(configClientProperties);
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.retryingExecutor = Objects.requireNonNull(retryingExecutor, "retryingExecutor must not be null");
+        this.fetch = environment -> this.retryingExecutor.execute(() -> this.delegate.locate(environment));
+    }
+
+    /**
+     * Decorate the (retrying) config server fetch, e.g., to let it take part in the parallel bootstrap.
+     * <p>
+     * Decorators are applied around the current fetch, i.e., the last decorator is the outermost one. Unlike
+     * wrapping this bean, decorating the fetch keeps the bean's {@link ConfigServicePropertySourceLocator} type.
+     *
+     * @param decorator
+     *         function that wraps the current fetch, must not be {@literal null} nor return {@literal null}
+     */
+    public synchronized void decorateFetch(UnaryOperator<PropertySourceLocator> decorator) {
+        Objects.requireNonNull(decorator, "decorator must not be null");
+        fetch = Objects.requireNonNull(decorator.apply(fetch), "decorated fetch must not be null");
+    }
+
+    /**
+     * Fetch the configuration from the config server, retrying failed attempts, with all
+     * {@link #decorateFetch(UnaryOperator) decorations} applied.
+     *
+     * @param environment
+     *         the environment the configuration is fetched for
+     * @return the property source found by the delegate, might be {@literal null}
+     */
+    @Override
+    public PropertySource<?> locate(Environment environment) {
+        return fetch.locate(environment);
+    }
+
+    /**
+     * Pass the rest template on to the delegate.
+     *
+     * @param restTemplate
+     *         the rest template to use for the config server fetch
+     */
+    @Override
+    public void setRestTemplate(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+        delegate.setRestTemplate(restTemplate);
+    }
+
+    /**
+     * The rest template last {@link #setRestTemplate(RestTemplate) set}, so several features can customize it.
+     *
+     * @return the rest template, {@literal null} if the delegate uses the config client's default one
+     */
+    public RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+}
@@ -0,0 +1,199 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Executes remote calls with retries spaced by {@link DecorrelatedJitterBackoff decorrelated jitter} and guarded by
+ * a {@link CircuitBreaker}.
+ * <p>
+ * Every failed attempt counts as a failure for the circuit breaker. Once the breaker is open, calls fail immediately
+ * with a {@link ConfigServerDiscoveryException} instead of adding load to the recovering remote service.
+ * The executor keeps counters of calls, attempts, retries and failures for monitoring purposes.
+ */
+public class RetryingExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetryingExecutor.class);
+
+    /**
+     * Strategy for waiting between two attempts.
+     */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final String name;
+    private final int maxAttempts;
+    private final DecorrelatedJitterBackoff backoff;
+    private final CircuitBreaker circuitBreaker;
+    private final Sleeper sleeper;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    /**
+     * Construct a retrying executor from the configured retry settings.
+     *
+     * @param name
+     *         the name used for logging and monitoring, must not be {@literal null}
+     * @param retryProperties
+     *         the retry settings, must not be {@literal null}
+     */
+    public RetryingExecutor(String name, VaultDiscoveryProperties.RetryProperties retryProperties) {
+        this(name,
+             retryProperties.getMaxAttempts(),
+             new DecorrelatedJitterBackoff(retryProperties.getInitialBackoff(), retryProperties.getMaxBackoff()),
+             new CircuitBreaker(name, retryProperties.getFailureThreshold(), retryProperties.getOpenTimeout()),
+             Thread::sleep);
+    }
+
+    /**
+     * Create an executor that makes a single attempt per call and never opens its circuit breaker.
+     *
+     * @param name
+     *         the name used for logging and monitoring, must not be {@literal null}
+     * @return a pass-through executor
+     */
+    public static RetryingExecutor withoutRetries(String name) {
+        return new RetryingExecutor(name, 1,
+                                    new DecorrelatedJitterBackoff(0L, 0L),
+                                    new CircuitBreaker(name, Integer.MAX_VALUE, 0L),
+                                    Thread::sleep);
+    }
+
+    RetryingExecutor(String name, int maxAttempts, DecorrelatedJitterBackoff backoff,
+                     CircuitBreaker circuitBreaker, Sleeper sleeper) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = Objects.requireNonNull(backoff, "backoff must not be null");
+        this.circuitBreaker = Objects.requireNonNull(circuitBreaker, "circuitBreaker must not be null");
+        this.sleeper = Objects.requireNonNull(sleeper, "sleeper must not be null");
+    }
+
+    /**
+     * Execute a call, retrying it on any {@link RuntimeException}.
+     *
+     * @param call
+     *         the remote call, must not be {@literal null}
+     * @param <T>
+     *         the call's result type
+     * @return the result of the first successful attempt
+     * @throws ConfigServerDiscoveryException
+     *         the circuit breaker is open
+     * @throws RuntimeException
+     *         the exception thrown by the last attempt if all attempts failed
+     */
+    public <T> T execute(Supplier<T> call) {
+        Objects.requireNonNull(call, "call must not be null");
+        calls.incrementAndGet();
+        long delay = backoff.firstDelay();
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                rejectedCalls.incrementAndGet();
+                failedCalls.incrementAndGet();
+                throw new ConfigServerDiscoveryException("circuit breaker " + name + " is open", null);
+            }
+            attempts.incrementAndGet();
+            try {
+                T result = call.get();
+                circuitBreaker.recordSuccess();
+                return result;
+            }
+            catch (RuntimeException exception) {
+                circuitBreaker.recordFailure();
+                if (attempt >= maxAttempts) {
+                    failedCalls.incrementAndGet();
+                    throw exception;
+                }
+                LOG.warn("{} attempt {} of {} failed, retrying in {} ms: {}",
+                         name, attempt, maxAttempts, delay, exception.toString());
+            }
+            retries.incrementAndGet();
+            pause(delay);
+            delay = backoff.nextDelay(delay);
+        }
+    }
+
+    private void pause(long delay) {
+        try {
+            sleeper.sleep(delay);
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            failedCalls.incrementAndGet();
+            throw new ConfigServerDiscoveryException(name + " was interrupted while waiting for a retry",
+                                                     interruptedException);
+        }
+    }
+
+    /**
+     * The name of this executor.
+     *
+     * @return the name, never {@literal null}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The circuit breaker guarding the calls.
+     *
+     * @return the circuit breaker, never {@literal null}
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * The number of calls passed to {@link #execute(Supplier)}.
+     *
+     * @return the call count
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * The number of attempts, i.e., calls plus retries minus rejections.
+     *
+     * @return the attempt count
+     */
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    /**
+     * The number of retries.
+     *
+     * @return the retry count
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * The number of calls that failed after all attempts or that were rejected.
+     *
+     * @return the failure count
+     */
+    public long getFailedCalls() {
+        return failedCalls.get();
+    }
+
+    /**
+     * The number of calls rejected by the open circuit breaker.
+     *
+     * @return the rejection count
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+}
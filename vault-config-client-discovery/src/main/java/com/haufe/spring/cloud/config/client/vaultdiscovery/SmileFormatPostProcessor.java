@@ -0,0 +1,63 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.core.Ordered;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets the config client's {@link ConfigServicePropertySourceLocator} ask the config server for Smile rather than
+ * JSON.
+ * <p>
+ * The locator gets a rest template that is set up like its default one (see {@link ConfigServerRestTemplates}) but
+ * has a {@link SmileHttpMessageConverter} in front of the other converters, so its requests prefer
+ * {@code application/x-jackson-smile} and still accept JSON from config servers that do not support Smile.
+ */
+class SmileFormatPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigServicePropertySourceLocatorPostProcessor.ORDER + 4;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof ConfigServicePropertySourceLocator) {
+            ((ConfigServicePropertySourceLocator) bean).setRestTemplate(
+                    restTemplate(() -> beanFactory.getBean(ConfigClientProperties.class)));
+        }
+        return bean;
+    }
+
+    /**
+     * Create a rest template for the config server fetch that prefers Smile.
+     *
+     * @param configClientProperties
+     *         supplies the current config client properties, must not be {@literal null}
+     * @return the rest template, never {@literal null}
+     */
+    static RestTemplate restTemplate(Supplier<ConfigClientProperties> configClientProperties) {
+        RestTemplate restTemplate = ConfigServerRestTemplates.create(configClientProperties,
+                                                                     ConfigServerRestTemplates.DEFAULT_READ_TIMEOUT);
+        restTemplate.getMessageConverters().add(0, new SmileHttpMessageConverter());
+        return restTemplate;
+    }
+}
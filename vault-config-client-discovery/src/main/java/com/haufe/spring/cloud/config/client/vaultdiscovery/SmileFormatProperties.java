@@ -0,0 +1,67 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.google.common.base.MoreObjects;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for fetching the configuration from the config server in the Smile format.
+ */
+@ConfigurationProperties(SmileFormatProperties.PREFIX)
+public class SmileFormatProperties {
+
+    /**
+     * The common prefix of all Smile format configuration properties.
+     */
+    public static final String PREFIX = "haufe.cloud.config.smile";
+
+    /**
+     * Flag to enable or disable the Smile format.
+     */
+    private boolean enabled;
+
+    /**
+     * Is the Smile format enabled?
+     *
+     * @return {@literal true} if the config client asks for Smile, {@literal false} (the default) if it asks for
+     * JSON only
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the Smile format.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SmileFormatProperties)) {
+            return false;
+        }
+        SmileFormatProperties that = (SmileFormatProperties) o;
+        return isEnabled() == that.isEnabled();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("enabled", enabled)
+                .toString();
+    }
+}
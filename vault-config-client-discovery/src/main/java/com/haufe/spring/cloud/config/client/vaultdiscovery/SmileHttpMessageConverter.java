@@ -0,0 +1,32 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Reads and writes the binary JSON format <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>
+ * with Jackson, configured like the JSON converter of a {@link org.springframework.web.client.RestTemplate}.
+ */
+public class SmileHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    /**
+     * The media type of Smile.
+     */
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Construct a converter with a default object mapper.
+     */
+    public SmileHttpMessageConverter() {
+        super(smileObjectMapper(), APPLICATION_SMILE);
+    }
+
+    private static ObjectMapper smileObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper(new SmileFactory());
+        Jackson2ObjectMapperBuilder.json().configure(objectMapper);
+        return objectMapper;
+    }
+}
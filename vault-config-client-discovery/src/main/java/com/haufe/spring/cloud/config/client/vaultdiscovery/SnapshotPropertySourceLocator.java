@@ -0,0 +1,158 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link PropertySourceLocator} that starts from the last-known-good snapshot of its delegate's property source.
+ * <p>
+ * Until the snapshot has been reconciled with the remote property source once, the locator returns the snapshot
+ * immediately (if there is one) and fetches the remote property source in the background. The fetched properties
+ * replace the snapshot's properties in all property sources handed out so far and in the
+ * {@link ConfigSnapshotStore}; the names of changed properties are passed to the store's change listener. A failed
+ * background fetch is logged, the application keeps running with the snapshot, and the next call to
+ * {@link #locate(Environment)} tries to reconcile again.
+ * <p>
+ * Without a snapshot, and after the reconciliation (e.g., on a refresh), the locator fetches synchronously and
+ * updates the snapshot on success.
+ */
+public class SnapshotPropertySourceLocator extends DelegatingPropertySourceLocator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotPropertySourceLocator.class);
+
+    private final String locatorName;
+    private final ConfigSnapshotStore snapshotStore;
+
+    private final List<SnapshotPropertySource> handedOutSnapshots = new ArrayList<>();
+    private boolean reconciling;
+    private boolean reconciled;
+
+    /**
+     * Wrap a property source locator.
+     *
+     * @param locatorName
+     *         the name of the snapshot entry, must not be {@literal null}
+     * @param delegate
+     *         the locator that actually fetches the property source, must not be {@literal null}
+     * @param snapshotStore
+     *         the snapshot store, must not be {@literal null}
+     */
+    public SnapshotPropertySourceLocator(String locatorName, PropertySourceLocator delegate,
+                                         ConfigSnapshotStore snapshotStore) {
+        super(delegate);
+        this.locatorName = Objects.requireNonNull(locatorName, "locatorName must not be null");
+        this.snapshotStore = Objects.requireNonNull(snapshotStore, "snapshotStore must not be null");
+    }
+
+    @Override
+    public PropertySource<?> locate(Environment environment) {
+        SnapshotPropertySource snapshotPropertySource = snapshotUntilReconciled(environment);
+        if (snapshotPropertySource != null) {
+            return snapshotPropertySource;
+        }
+        PropertySource<?> propertySource = getDelegate().locate(environment);
+        updateSnapshot(propertySource);
+        return propertySource;
+    }
+
+    private synchronized SnapshotPropertySource snapshotUntilReconciled(Environment environment) {
+        ConfigSnapshotStore.Entry snapshot = reconciled ? null : snapshotStore.get(locatorName);
+        if (snapshot == null) {
+            return null;
+        }
+        SnapshotPropertySource snapshotPropertySource = new SnapshotPropertySource(snapshot);
+        handedOutSnapshots.add(snapshotPropertySource);
+        if (!reconciling) {
+            reconciling = true;
+            LOG.info("using config snapshot of {}, reconciling in the background", locatorName);
+            snapshotStore.reconcileAsync(() -> reconcile(environment));
+        }
+        return snapshotPropertySource;
+    }
+
+    private void reconcile(Environment environment) {
+        ConfigSnapshotStore.Entry fetched;
+        try {
+            fetched = updateSnapshot(getDelegate().locate(environment));
+        }
+        catch (RuntimeException exception) {
+            LOG.warn("could not reconcile config snapshot of {}, keeping the snapshot: {}",
+                     locatorName, exception.toString());
+            fetched = null;
+        }
+        Set<String> changedPropertyNames = new HashSet<>();
+        synchronized (this) {
+            reconciling = false;
+            if (fetched == null) {
+                return;
+            }
+            reconciled = true;
+            for (SnapshotPropertySource snapshotPropertySource : handedOutSnapshots) {
+                changedPropertyNames.addAll(snapshotPropertySource.replaceProperties(fetched.getProperties()));
+            }
+            handedOutSnapshots.clear();
+        }
+        snapshotStore.fireChanged(changedPropertyNames);
+    }
+
+    private ConfigSnapshotStore.Entry updateSnapshot(PropertySource<?> propertySource) {
+        if (!(propertySource instanceof EnumerablePropertySource)) {
+            return null;
+        }
+        EnumerablePropertySource<?> enumerablePropertySource = (EnumerablePropertySource<?>) propertySource;
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String propertyName : enumerablePropertySource.getPropertyNames()) {
+            Object value = enumerablePropertySource.getProperty(propertyName);
+            if (value != null) {
+                properties.put(propertyName, value.toString());
+            }
+        }
+        ConfigSnapshotStore.Entry entry = new ConfigSnapshotStore.Entry(propertySource.getName(), properties);
+        snapshotStore.put(locatorName, entry);
+        return entry;
+    }
+
+    /**
+     * A property source with the snapshot's properties until the reconciliation replaces them.
+     */
+    static final class SnapshotPropertySource extends EnumerablePropertySource<Object> {
+
+        private volatile Map<String, String> properties;
+
+        SnapshotPropertySource(ConfigSnapshotStore.Entry snapshot) {
+            super(snapshot.getName(), snapshot);
+            this.properties = snapshot.getProperties();
+        }
+
+        @Override
+        public String[] getPropertyNames() {
+            return properties.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return properties.get(name);
+        }
+
+        Set<String> replaceProperties(Map<String, String> newProperties) {
+            Map<String, String> oldProperties = properties;
+            properties = newProperties;
+            Set<String> changedPropertyNames = new HashSet<>(oldProperties.keySet());
+            changedPropertyNames.addAll(newProperties.keySet());
+            changedPropertyNames.removeIf(name -> Objects.equals(oldProperties.get(name), newProperties.get(name)));
+            return changedPropertyNames;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+
+import java.util.Objects;
+
+/**
+ * A {@link PropertySourceLocator} that records the calls of its delegate as a phase of the
+ * {@link BootstrapTimeline}.
+ */
+public class TimedPropertySourceLocator extends DelegatingPropertySourceLocator {
+
+    private final BootstrapTimeline timeline;
+    private final String phase;
+
+    /**
+     * Wrap a property source locator.
+     *
+     * @param delegate
+     *         the locator that actually fetches the property source, must not be {@literal null}
+     * @param timeline
+     *         the timeline the calls are recorded in, must not be {@literal null}
+     * @param phase
+     *         the phase the calls are recorded as, must not be {@literal null}
+     */
+    public TimedPropertySourceLocator(PropertySourceLocator delegate, BootstrapTimeline timeline, String phase) {
+        super(delegate);
+        this.timeline = Objects.requireNonNull(timeline, "timeline must not be null");
+        this.phase = Objects.requireNonNull(phase, "phase must not be null");
+    }
+
+    @Override
+    public PropertySource<?> locate(Environment environment) {
+        return timeline.time(phase, () -> getDelegate().locate(environment));
+    }
+}
@@ -19,6 +19,16 @@ import java.util.Objects;
  */
 class VaultBasedConfigServiceInstance implements ServiceInstance {
 
+    /**
+     * The metadata key of the availability zone the config server instance runs in.
+     */
+    static final String ZONE_METADATA_KEY = "zone";
+
+    /**
+     * The metadata key of the region the config server instance runs in.
+     */
+    static final String REGION_METADATA_KEY = "region";
+
     private static final Logger LOG = LoggerFactory.getLogger(VaultBasedConfigServiceInstance.class);
     private static final String HTTP_SCHEME = "http";
     private static final String HTTPS_SCHEME = "https";
@@ -53,6 +63,31 @@ class VaultBasedConfigServiceInstance implements ServiceInstance {
     VaultBasedConfigServiceInstance(String configServiceId, URI uri,
                                     String username, String password,
                                     String configPath) {
+        this(configServiceId, uri, username, password, configPath, null, null);
+    }
+
+    /**
+     * Construct a new {@link ServiceInstance} representation with location metadata.
+     *
+     * @param configServiceId
+     *         the identifier of the service, must not be {@literal null}
+     * @param uri
+     *         the locator where the service can be accessed; the URI must not be {@literal null} and its
+     *         {@link URI#getScheme() scheme} must be either {@literal "http"} or {@literal "https"}
+     * @param username
+     *         the HTTP basic auth username, might be {@link StringUtils#isBlank(CharSequence) blank}
+     * @param password
+     *         the HTTP basic auth password, might be {@link StringUtils#isBlank(CharSequence) blank}
+     * @param configPath
+     *         the config path to be appended to the URI, might be {@link StringUtils#isBlank(CharSequence) blank}
+     * @param zone
+     *         the availability zone the service runs in, might be {@link StringUtils#isBlank(CharSequence) blank}
+     * @param region
+     *         the region the service runs in, might be {@link StringUtils#isBlank(CharSequence) blank}
+     */
+    VaultBasedConfigServiceInstance(String configServiceId, URI uri,
+                                    String username, String password,
+                                    String configPath, String zone, String region) {
         Objects.requireNonNull(configServiceId, "configServiceId must not be null");
         this.configServiceId = configServiceId;
 
@@ -67,7 +102,7 @@ class VaultBasedConfigServiceInstance implements ServiceInstance {
                     WELL_KNOWN_URI_SCHEMES.getOrDefault(uri.getScheme(), -1);
         this.baseUri = createBaseUri(scheme, this.host, this.port);
         String completeConfigPath = createCombinedConfigPath(uri, configPath);
-        metadata = buildMetadata(username, password, completeConfigPath);
+        metadata = buildMetadata(username, password, completeConfigPath, zone, region);
     }
 
     private String createCombinedConfigPath(URI uri, String configPath) {
@@ -91,7 +126,8 @@ class VaultBasedConfigServiceInstance implements ServiceInstance {
         }
     }
 
-    private ImmutableMap<String, String> buildMetadata(String username, String password, String configPath) {
+    private ImmutableMap<String, String> buildMetadata(String username, String password, String configPath,
+                                                       String zone, String region) {
         ImmutableMap.Builder<String, String> metadataBuilder = ImmutableMap.builder();
         if (StringUtils.isNotBlank(username)) {
             metadataBuilder.put("user", username);
@@ -102,6 +138,12 @@ class VaultBasedConfigServiceInstance implements ServiceInstance {
         if (StringUtils.isNotBlank(configPath)) {
             metadataBuilder.put("configPath", configPath);
         }
+        if (StringUtils.isNotBlank(zone)) {
+            metadataBuilder.put(ZONE_METADATA_KEY, zone);
+        }
+        if (StringUtils.isNotBlank(region)) {
+            metadataBuilder.put(REGION_METADATA_KEY, region);
+        }
         return metadataBuilder.build();
     }
 
@@ -1,6 +1,5 @@
 package com.haufe.spring.cloud.config.client.vaultdiscovery;
 
-import com.google.common.base.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,12 +9,18 @@ import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.config.client.ConfigClientProperties;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertySource;
+import org.springframework.util.ClassUtils;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A Spring Cloud Config {@link DiscoveryClient} that reads connection settings from Vault (with the settings in the
@@ -25,6 +30,13 @@ public class VaultBasedDiscoveryClient implements DiscoveryClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(VaultBasedDiscoveryClient.class);
 
+    /**
+     * Does the JVM have the flight recorder API ({@code jdk.jfr}, part of Java 8 since update 262)? If so, the
+     * lookups of the config server instances are recorded as {@link VaultDiscoveryEvent}s.
+     */
+    static final boolean FLIGHT_RECORDER_AVAILABLE =
+            ClassUtils.isPresent("jdk.jfr.Event", VaultBasedDiscoveryClient.class.getClassLoader());
+
     /**
      * The {@link ServiceInstance#getServiceId() service id} of the Spring Cloud Config service.
      *
@@ -64,13 +76,40 @@ public class VaultBasedDiscoveryClient implements DiscoveryClient {
      */
     public static final String CONFIG_PATH_PROPERTY_NAME = fullPropertyName("configPath");
 
+    /**
+     * The property name used to look up the availability zone of the config server in Vault.
+     */
+    public static final String ZONE_PROPERTY_NAME = fullPropertyName("zone");
+
+    /**
+     * The property name used to look up the region of the config server in Vault.
+     */
+    public static final String REGION_PROPERTY_NAME = fullPropertyName("region");
+
+    /**
+     * The prefix of the indexed property names used to look up additional config server instances in Vault,
+     * e.g., {@literal "spring.cloud.config.instances[0].uri"}, {@literal "spring.cloud.config.instances[0].zone"},
+     * and {@literal "spring.cloud.config.instances[0].region"}. Additional instances share the credentials and
+     * the config path of the primary instance unless their URI has a user info part.
+     */
+    public static final String INSTANCES_PROPERTY_PREFIX = fullPropertyName("instances");
+
+    private static final int MAX_ADDITIONAL_INSTANCES = 100;
+
     private final ConfigClientProperties configClientProperties;
     private final PropertySourceLocator vaultPropertySourceLocator;
     private final Environment environment;
+    private final RetryingExecutor vaultRetryingExecutor;
+    private ZoneAwareInstanceSelector instanceSelector;
+    private AsyncDiscoveryExecutor asyncExecutor;
+    private long asyncTimeout;
+    private volatile BootstrapTimeline timeline;
+    private final AtomicReference<CompletableFuture<List<ServiceInstance>>> prefetchedInstances =
+            new AtomicReference<>();
 
     /**
      * Constructs a new {@link DiscoveryClient} that reads connections settings for a Spring Cloud Config Server client
-     * from vault.
+     * from vault, without retrying failed Vault lookups.
      *
      * @param configClientProperties
      *         the config server client settings found in the bootstrap environment
@@ -82,6 +121,27 @@ public class VaultBasedDiscoveryClient implements DiscoveryClient {
     public VaultBasedDiscoveryClient(ConfigClientProperties configClientProperties,
                                      PropertySourceLocator vaultPropertySourceLocator,
                                      Environment environment) {
+        this(configClientProperties, vaultPropertySourceLocator, environment,
+             RetryingExecutor.withoutRetries("vault-discovery"));
+    }
+
+    /**
+     * Constructs a new {@link DiscoveryClient} that reads connections settings for a Spring Cloud Config Server client
+     * from vault.
+     *
+     * @param configClientProperties
+     *         the config server client settings found in the bootstrap environment
+     * @param vaultPropertySourceLocator
+     *         strategy object for reading properties from Vault
+     * @param environment
+     *         the current environment
+     * @param vaultRetryingExecutor
+     *         the retry policy and circuit breaker applied to Vault lookups
+     */
+    public VaultBasedDiscoveryClient(ConfigClientProperties configClientProperties,
+                                     PropertySourceLocator vaultPropertySourceLocator,
+                                     Environment environment,
+                                     RetryingExecutor vaultRetryingExecutor) {
         Objects.requireNonNull(configClientProperties, "configClientProperties must not be null");
         this.configClientProperties = configClientProperties;
 
@@ -90,6 +150,9 @@ public class VaultBasedDiscoveryClient implements DiscoveryClient {
 
         Objects.requireNonNull(environment, "environment must not be null");
         this.environment = environment;
+
+        Objects.requireNonNull(vaultRetryingExecutor, "vaultRetryingExecutor must not be null");
+        this.vaultRetryingExecutor = vaultRetryingExecutor;
     }
 
     /**
@@ -116,22 +179,104 @@ public class VaultBasedDiscoveryClient implements DiscoveryClient {
     }
 
     /**
-     * Obtain a (possibly cached) instance of the {@link VaultBasedConfigServiceInstance}.
+     * Set the strategy that orders multiple config server instances by zone and health.
+     *
+     * @param instanceSelector
+     *         the instance selector, or {@literal null} to keep the order found in Vault
+     */
+    public void setInstanceSelector(ZoneAwareInstanceSelector instanceSelector) {
+        this.instanceSelector = instanceSelector;
+    }
+
+    /**
+     * Set the executor that runs the lookups of {@link #getInstancesAsync(String)}.
+     *
+     * @param asyncExecutor
+     *         the bounded executor, or {@literal null} to run asynchronous lookups in the calling thread
+     * @param asyncTimeout
+     *         the timeout of asynchronous lookups in milliseconds; values less than 1 disable the timeout
+     */
+    public void setAsyncExecutor(AsyncDiscoveryExecutor asyncExecutor, long asyncTimeout) {
+        this.asyncExecutor = asyncExecutor;
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    /**
+     * Set the timeline the lookups during the bootstrap are recorded in.
+     *
+     * @param timeline
+     *         the bootstrap timeline, or {@literal null} to record nothing
+     */
+    public void setTimeline(BootstrapTimeline timeline) {
+        this.timeline = timeline;
+    }
+
+    /**
+     * Obtain the list of {@link VaultBasedConfigServiceInstance}s without blocking the calling thread.
+     * <p>
+     * The future fails with a {@link java.util.concurrent.TimeoutException} if the lookup exceeds the configured
+     * timeout, and with a {@link java.util.concurrent.RejectedExecutionException} if too many lookups are pending.
+     * Cancelling the future interrupts the lookup.
+     *
+     * @param serviceId
+     *         the id of the service a discovery client is requested for
+     * @return a future of the result of {@link #getInstances(String)}, never {@literal null}
+     */
+    public CompletableFuture<List<ServiceInstance>> getInstancesAsync(String serviceId) {
+        if (asyncExecutor != null) {
+            return asyncExecutor.supply(() -> lookUpInstances(serviceId), asyncTimeout);
+        }
+        CompletableFuture<List<ServiceInstance>> result = new CompletableFuture<>();
+        try {
+            result.complete(lookUpInstances(serviceId));
+        }
+        catch (RuntimeException exception) {
+            result.completeExceptionally(exception);
+        }
+        return result;
+    }
+
+    /**
+     * Start the lookup of the config server instances {@link #getInstancesAsync(String) asynchronously}, so it
+     * overlaps with the remaining bootstrap. The next call of {@link #getInstances(String)} waits for the result of
+     * this lookup instead of starting its own; if the prefetch failed (e.g., timed out), it looks the instances up
+     * again.
+     */
+    public void prefetchInstances() {
+        prefetchedInstances.set(getInstancesAsync(CONFIG_SERVICE_ID));
+    }
+
+    /**
+     * Obtain a (possibly cached) list of {@link VaultBasedConfigServiceInstance}s.
      *
      * @param serviceId
      *         the id of the service a discovery client is requested for
      * @return a non-empty list if and only if {@code serviceId} is equal to {@link #CONFIG_SERVICE_ID},
-     * never {@code null}
+     * never {@code null}; the preferred instance is the first element
      */
     @Override
     public List<ServiceInstance> getInstances(String serviceId) {
-        VaultBasedConfigServiceInstance serviceInstance = null;
-        if(CONFIG_SERVICE_ID.equals(serviceId)) {
-            serviceInstance = createServiceInstance();
+        CompletableFuture<List<ServiceInstance>> prefetched =
+                CONFIG_SERVICE_ID.equals(serviceId) ? prefetchedInstances.getAndSet(null) : null;
+        if (prefetched != null) {
+            try {
+                return prefetched.join();
+            }
+            catch (CompletionException | CancellationException exception) {
+                LOG.warn("prefetch of config server instances failed, looking them up again: {}",
+                         exception.toString());
+            }
+        }
+        return lookUpInstances(serviceId);
+    }
+
+    private List<ServiceInstance> lookUpInstances(String serviceId) {
+        if (!CONFIG_SERVICE_ID.equals(serviceId)) {
+            return Collections.emptyList();
         }
-        return serviceInstance != null ?
-                Collections.singletonList(serviceInstance) :
-                Collections.emptyList();
+        return timeline != null ?
+               timeline.time(BootstrapTimeline.DISCOVERY, this::getSelectedServiceInstances) :
+               getSelectedServiceInstances();
     }
 
     /**
@@ -145,18 +290,53 @@ public class VaultBasedDiscoveryClient implements DiscoveryClient {
     }
 
 
-    private VaultBasedConfigServiceInstance createServiceInstance() {
-        PropertySource<?> vaultPropertySource = vaultPropertySourceLocator.locate(environment);
+    private List<ServiceInstance> getSelectedServiceInstances() {
+        List<ServiceInstance> serviceInstances = createServiceInstances();
+        return instanceSelector != null ?
+               instanceSelector.select(serviceInstances) :
+               serviceInstances;
+    }
+
+    private List<ServiceInstance> createServiceInstances() {
+        return FLIGHT_RECORDER_AVAILABLE
+                ? VaultDiscoveryEvent.record(this::lookUpServiceInstances)
+                : lookUpServiceInstances();
+    }
+
+    private List<ServiceInstance> lookUpServiceInstances() {
+        PropertySource<?> vaultPropertySource =
+                vaultRetryingExecutor.execute(() -> vaultPropertySourceLocator.locate(environment));
         URI uri = getUri(vaultPropertySource);
         if (uri == null) {
             LOG.warn("did not find any config server URI");
-            return null;
+            return Collections.emptyList();
         }
         String userInfo = uri.getUserInfo();
         String username = getUsername(vaultPropertySource, userInfo);
         String password = getPassword(vaultPropertySource, userInfo);
         String configPath = getVaultProperty(CONFIG_PATH_PROPERTY_NAME, vaultPropertySource, null);
-        return new VaultBasedConfigServiceInstance(CONFIG_SERVICE_ID, uri, username, password, configPath);
+        String zone = getVaultProperty(ZONE_PROPERTY_NAME, vaultPropertySource, null);
+        String region = getVaultProperty(REGION_PROPERTY_NAME, vaultPropertySource, null);
+
+        List<ServiceInstance> serviceInstances = new ArrayList<>();
+        serviceInstances.add(new VaultBasedConfigServiceInstance(CONFIG_SERVICE_ID, uri, username, password,
+                                                                 configPath, zone, region));
+        for (int index = 0; index < MAX_ADDITIONAL_INSTANCES; index++) {
+            String instancePrefix = INSTANCES_PROPERTY_PREFIX + "[" + index + "].";
+            URI instanceUri = parseUri(getVaultProperty(instancePrefix + "uri", vaultPropertySource, null));
+            if (instanceUri == null) {
+                break;
+            }
+            String instanceUserInfo = instanceUri.getUserInfo();
+            serviceInstances.add(new VaultBasedConfigServiceInstance(
+                    CONFIG_SERVICE_ID, instanceUri,
+                    getUserInfoPart(instanceUserInfo, 0, username),
+                    getUserInfoPart(instanceUserInfo, 1, password),
+                    configPath,
+                    getVaultProperty(instancePrefix + "zone", vaultPropertySource, null),
+                    getVaultProperty(instancePrefix + "region", vaultPropertySource, null)));
+        }
+        return serviceInstances;
     }
 
     static String fullPropertyName(String shortName) {
@@ -166,6 +346,10 @@ public class VaultBasedDiscoveryClient implements DiscoveryClient {
     private URI getUri(PropertySource<?> vaultPropertySource) {
         String uriString =
                 getVaultProperty(URI_PROPERTY_NAME, vaultPropertySource, configClientProperties.getUri());
+        return parseUri(uriString);
+    }
+
+    private URI parseUri(String uriString) {
         try {
             return StringUtils.isNotBlank(uriString) ? new URI(uriString) : null;
         }
@@ -195,6 +379,18 @@ public class VaultBasedDiscoveryClient implements DiscoveryClient {
         return getVaultProperty(PASSWORD_PROPERTY_NAME, vaultPropertySource, defaultPassphrase);
     }
 
+    /**
+     * The credentials of an additional instance's URI take precedence over the shared credentials: the latter may
+     * well be those of the primary instance only.
+     */
+    private static String getUserInfoPart(String userInfo, int index, String sharedValue) {
+        if (userInfo == null) {
+            return sharedValue;
+        }
+        String[] userInfoParts = userInfo.split(":", 2);
+        return index < userInfoParts.length ? userInfoParts[index] : sharedValue;
+    }
+
     private String getVaultProperty(String propertyName, PropertySource<?> vaultPropertySource, String defaultValue) {
         Object property = vaultPropertySource.getProperty(propertyName);
         if (property != null) {
@@ -1,9 +1,11 @@
 package com.haufe.spring.cloud.config.client.vaultdiscovery;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
@@ -40,11 +42,38 @@ import javax.annotation.Resource;
 @ConditionalOnMissingBean(VaultBasedDiscoveryClient.class)
 @AutoConfigureAfter(RefreshAutoConfiguration.class)
 @Import(VaultBootstrapConfiguration.class)
+@EnableConfigurationProperties(VaultDiscoveryProperties.class)
 public class VaultBasedDiscoveryClientAutoConfiguration {
 
     @Resource(name = "vaultPropertySourceLocator")
     private PropertySourceLocator vaultPropertySourceLocator;
 
+    /**
+     * Bean factory for the retry policy and circuit breaker applied to the discovery client's Vault lookups.
+     *
+     * @param vaultDiscoveryProperties
+     *         the Vault discovery configuration
+     * @return the retrying executor for Vault lookups
+     */
+    @Bean
+    RetryingExecutor vaultDiscoveryRetryingExecutor(@Autowired VaultDiscoveryProperties vaultDiscoveryProperties) {
+        return new RetryingExecutor("vault-discovery", vaultDiscoveryProperties.getVaultRetry());
+    }
+
+    /**
+     * Bean factory for the bounded executor of asynchronous Vault lookups.
+     *
+     * @param vaultDiscoveryProperties
+     *         the Vault discovery configuration
+     * @return the executor, shut down with the application context
+     */
+    @Bean
+    AsyncDiscoveryExecutor vaultDiscoveryAsyncExecutor(@Autowired VaultDiscoveryProperties vaultDiscoveryProperties) {
+        return new AsyncDiscoveryExecutor("vault-discovery",
+                                          vaultDiscoveryProperties.getAsyncPoolSize(),
+                                          vaultDiscoveryProperties.getAsyncQueueCapacity());
+    }
+
     /**
      * Bean factory that instantiates a {@link DiscoveryClient} that reads the Spring Cloud Config Server
      * connection settings from a {@link org.springframework.cloud.vault.config.VaultPropertySourceLocator} or the
@@ -56,13 +85,41 @@ public class VaultBasedDiscoveryClientAutoConfiguration {
      *         the current environment, required to obtain a
      *         {@link org.springframework.core.env.PropertySource PropertySource} from the
      *         {@link PropertySourceLocator}.
+     * @param vaultDiscoveryProperties
+     *         the Vault discovery configuration
      * @return a discovery client with connection settings for a Spring Cloud Config Server client
      */
     @Bean
     DiscoveryClient discoveryClient(@Autowired ConfigClientProperties configClientProperties,
-                                    @Autowired Environment environment) {
-        return new VaultBasedDiscoveryClient(configClientProperties,
-                                             vaultPropertySourceLocator, environment);
+                                    @Autowired Environment environment,
+                                    @Autowired VaultDiscoveryProperties vaultDiscoveryProperties) {
+        VaultBasedDiscoveryClient discoveryClient =
+                new VaultBasedDiscoveryClient(configClientProperties,
+                                              withoutParallelBootstrap(vaultPropertySourceLocator), environment,
+                                              vaultDiscoveryRetryingExecutor(vaultDiscoveryProperties));
+        discoveryClient.setAsyncExecutor(vaultDiscoveryAsyncExecutor(vaultDiscoveryProperties),
+                                         vaultDiscoveryProperties.getAsyncTimeout());
+        if (StringUtils.isNotBlank(vaultDiscoveryProperties.getZone()) ||
+                StringUtils.isNotBlank(vaultDiscoveryProperties.getRegion())) {
+            discoveryClient.setInstanceSelector(
+                    new ZoneAwareInstanceSelector(vaultDiscoveryProperties.getZone(),
+                                                  vaultDiscoveryProperties.getRegion(),
+                                                  new HttpConfigServerHealthProbe(
+                                                          vaultDiscoveryProperties.getHealthProbeTimeout())));
+        }
+        if (vaultDiscoveryProperties.isPrefetch()) {
+            discoveryClient.prefetchInstances();
+        }
+        return discoveryClient;
     }
 
+    /**
+     * The discovery runs before the parallel bootstrap and must not start a round of parallel fetches (including
+     * the config server fetch, which depends on the discovery result), so it bypasses the parallel bootstrap.
+     */
+    private static PropertySourceLocator withoutParallelBootstrap(PropertySourceLocator propertySourceLocator) {
+        return propertySourceLocator instanceof ParallelBootstrapPropertySourceLocator ?
+               ((ParallelBootstrapPropertySourceLocator) propertySourceLocator).getDelegate() :
+               propertySourceLocator;
+    }
 }
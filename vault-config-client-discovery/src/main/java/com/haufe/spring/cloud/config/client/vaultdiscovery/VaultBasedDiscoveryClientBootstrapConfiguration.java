@@ -1,20 +1,238 @@
 package com.haufe.spring.cloud.config.client.vaultdiscovery;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import java.nio.file.Paths;
+
 /**
  * Pull the {@link VaultBasedDiscoveryClientAutoConfiguration auto-configuration} of the
  * {@link VaultBasedDiscoveryClient} into the bootstrap configuration.
  * This class is registered in META-INF/spring.factories under the key
  * {@link org.springframework.cloud.bootstrap.BootstrapConfiguration}.
+ * <p>
+ * In addition, the config server fetch is wrapped in a {@link RetryingConfigServicePropertySourceLocator} that
+ * applies the retry policy configured under {@literal "haufe.cloud.config.vaultDiscovery.configServerRetry"}.
+ * If {@literal "haufe.cloud.config.parallelBootstrap.enabled"} is {@literal true}, the Vault secrets and the config
+ * server properties are fetched concurrently (see {@link ParallelBootstrapCoordinator}). If
+ * {@literal "haufe.cloud.config.snapshot.enabled"} is {@literal true}, they start from an encrypted last-known-good
+ * snapshot (see {@link SnapshotPropertySourceLocator}). If {@literal "haufe.cloud.config.lazyVault.enabled"} is
+ * {@literal true}, Vault contexts are read on first access (see {@link LazyVaultPropertySource}). If
+ * {@literal "haufe.cloud.config.smile.enabled"} is {@literal true}, the config server properties are fetched in the
+ * Smile format (see {@link SmileFormatPostProcessor}). If {@literal "haufe.cloud.config.deadline.enabled"} is
+ * {@literal true}, the config server fetch sends the client's deadline (see {@link DeadlinePropagationPostProcessor}).
+ * If {@literal "haufe.cloud.config.bootstrapTimeline.enabled"} is {@literal true}, the durations of the bootstrap
+ * phases are recorded and reported (see {@link BootstrapTimeline}).
  */
 @ConditionalOnClass(ConfigServicePropertySourceLocator.class)
 @ConditionalOnProperty(value = "spring.cloud.config.discovery.enabled", matchIfMissing = false)
 @Configuration
 @Import({VaultBasedDiscoveryClientAutoConfiguration.class })
 public class VaultBasedDiscoveryClientBootstrapConfiguration {
+
+    /**
+     * The name of the property that enables the parallel bootstrap mode.
+     */
+    public static final String PARALLEL_BOOTSTRAP_ENABLED_PROPERTY = "haufe.cloud.config.parallelBootstrap.enabled";
+
+    private static final String CONFIG_SERVER_RETRYING_EXECUTOR = "configServerRetryingExecutor";
+
+    /**
+     * Bean factory for the retry policy and circuit breaker applied to the config server fetch.
+     *
+     * @param vaultDiscoveryProperties
+     *         the Vault discovery configuration
+     * @return the retrying executor for the config server fetch
+     */
+    @Bean(name = CONFIG_SERVER_RETRYING_EXECUTOR)
+    RetryingExecutor configServerRetryingExecutor(@Autowired VaultDiscoveryProperties vaultDiscoveryProperties) {
+        return new RetryingExecutor("config-server", vaultDiscoveryProperties.getConfigServerRetry());
+    }
+
+    /**
+     * Bean factory for the post processor that wraps the config server property source locator.
+     *
+     * @return a bean post processor
+     */
+    @Bean
+    static BeanPostProcessor configServicePropertySourceLocatorPostProcessor() {
+        return new ConfigServicePropertySourceLocatorPostProcessor(CONFIG_SERVER_RETRYING_EXECUTOR);
+    }
+
+    /**
+     * Configuration of the parallel bootstrap mode.
+     */
+    @Configuration
+    @ConditionalOnProperty(PARALLEL_BOOTSTRAP_ENABLED_PROPERTY)
+    static class ParallelBootstrapConfiguration {
+
+        private static final String PARALLEL_BOOTSTRAP_COORDINATOR = "parallelBootstrapCoordinator";
+
+        /**
+         * Bean factory for the coordinator of the parallel bootstrap.
+         *
+         * @return a coordinator, shut down with the bootstrap context
+         */
+        @Bean(name = PARALLEL_BOOTSTRAP_COORDINATOR)
+        ParallelBootstrapCoordinator parallelBootstrapCoordinator() {
+            return new ParallelBootstrapCoordinator();
+        }
+
+        /**
+         * Bean factory for the post processor that lets the property source locators take part in the parallel
+         * bootstrap.
+         *
+         * @return a bean post processor
+         */
+        @Bean
+        static BeanPostProcessor parallelBootstrapPostProcessor() {
+            return new ParallelBootstrapPostProcessor(PARALLEL_BOOTSTRAP_COORDINATOR);
+        }
+    }
+
+    /**
+     * Configuration of the encrypted last-known-good snapshot.
+     */
+    @Configuration
+    @ConditionalOnProperty(ConfigSnapshotProperties.PREFIX + ".enabled")
+    @EnableConfigurationProperties(ConfigSnapshotProperties.class)
+    static class ConfigSnapshotConfiguration {
+
+        private static final String CONFIG_SNAPSHOT_STORE = "configSnapshotStore";
+
+        /**
+         * Bean factory for the snapshot store.
+         *
+         * @param configSnapshotProperties
+         *         the snapshot configuration
+         * @return a snapshot store
+         */
+        @Bean(name = CONFIG_SNAPSHOT_STORE)
+        ConfigSnapshotStore configSnapshotStore(@Autowired ConfigSnapshotProperties configSnapshotProperties) {
+            if (configSnapshotProperties.getKey() == null) {
+                throw new IllegalStateException(ConfigSnapshotProperties.PREFIX + ".key must be set");
+            }
+            return new ConfigSnapshotStore(Paths.get(configSnapshotProperties.getFile()),
+                                           configSnapshotProperties.getKey());
+        }
+
+        /**
+         * Bean factory for the post processor that lets the property source locators start from the snapshot.
+         *
+         * @return a bean post processor
+         */
+        @Bean
+        static BeanPostProcessor configSnapshotPostProcessor() {
+            return new ConfigSnapshotPostProcessor(CONFIG_SNAPSHOT_STORE);
+        }
+    }
+
+    /**
+     * Configuration of the lazy Vault property source.
+     */
+    @Configuration
+    @ConditionalOnProperty(LazyVaultProperties.PREFIX + ".enabled")
+    @EnableConfigurationProperties(LazyVaultProperties.class)
+    static class LazyVaultConfiguration {
+
+        /**
+         * Bean factory for the post processor that replaces the eager Vault property source locator.
+         *
+         * @return a bean post processor
+         */
+        @Bean
+        static BeanPostProcessor lazyVaultPostProcessor() {
+            return new LazyVaultPostProcessor();
+        }
+    }
+
+    /**
+     * Configuration of the Smile format for the config server fetch.
+     */
+    @Configuration
+    @ConditionalOnProperty(SmileFormatProperties.PREFIX + ".enabled")
+    @EnableConfigurationProperties(SmileFormatProperties.class)
+    static class SmileFormatConfiguration {
+
+        /**
+         * Bean factory for the post processor that lets the config server property source locator ask for Smile.
+         *
+         * @return a bean post processor
+         */
+        @Bean
+        static BeanPostProcessor smileFormatPostProcessor() {
+            return new SmileFormatPostProcessor();
+        }
+    }
+
+    /**
+     * Configuration of the deadline propagation for the config server fetch.
+     */
+    @Configuration
+    @ConditionalOnProperty(DeadlinePropagationProperties.PREFIX + ".enabled")
+    @EnableConfigurationProperties(DeadlinePropagationProperties.class)
+    static class DeadlinePropagationConfiguration {
+
+        /**
+         * Bean factory for the post processor that lets the config server property source locator send its
+         * deadline.
+         *
+         * @return a bean post processor
+         */
+        @Bean
+        static BeanPostProcessor deadlinePropagationPostProcessor() {
+            return new DeadlinePropagationPostProcessor();
+        }
+    }
+
+    /**
+     * Configuration of the bootstrap timeline.
+     */
+    @Configuration
+    @ConditionalOnProperty(BootstrapTimelineProperties.PREFIX + ".enabled")
+    @EnableConfigurationProperties(BootstrapTimelineProperties.class)
+    static class BootstrapTimelineConfiguration {
+
+        private static final String BOOTSTRAP_TIMELINE = "bootstrapTimeline";
+
+        /**
+         * Bean factory for the timeline of the bootstrap.
+         *
+         * @return a timeline, started with the bootstrap context
+         */
+        @Bean(name = BOOTSTRAP_TIMELINE)
+        BootstrapTimeline bootstrapTimeline() {
+            return new BootstrapTimeline();
+        }
+
+        /**
+         * Bean factory for the initializer that records the refresh of the application context and reports the
+         * timeline.
+         *
+         * @param bootstrapTimeline
+         *         the timeline of the bootstrap
+         * @return an application context initializer, applied to the application context by Spring Cloud
+         */
+        @Bean
+        BootstrapTimelineReporter bootstrapTimelineReporter(@Autowired BootstrapTimeline bootstrapTimeline) {
+            return new BootstrapTimelineReporter(bootstrapTimeline);
+        }
+
+        /**
+         * Bean factory for the post processor that records the phases of the bootstrap.
+         *
+         * @return a bean post processor
+         */
+        @Bean
+        static BeanPostProcessor bootstrapTimelinePostProcessor() {
+            return new BootstrapTimelinePostProcessor(BOOTSTRAP_TIMELINE);
+        }
+    }
 }
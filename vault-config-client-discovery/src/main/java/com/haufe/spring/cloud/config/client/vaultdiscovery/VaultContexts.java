@@ -0,0 +1,60 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.cloud.vault.config.VaultGenericBackendProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Utility for the contexts of the Vault generic secret backend.
+ */
+final class VaultContexts {
+
+    private VaultContexts() {
+    }
+
+    /**
+     * Build the contexts of the generic backend in order of decreasing precedence, i.e., application contexts
+     * before default contexts and profile-specific contexts before plain ones, exactly like Spring Cloud Vault
+     * does. (Its own implementation in {@code GenericSecretBackendMetadata} is not public.)
+     *
+     * @param genericBackendProperties
+     *         the generic backend settings
+     * @param environment
+     *         the environment that provides the active profiles
+     * @return the contexts, never {@literal null}
+     */
+    static List<String> build(VaultGenericBackendProperties genericBackendProperties, Environment environment) {
+        List<String> profiles = Arrays.asList(environment.getActiveProfiles());
+        List<String> contexts = new ArrayList<>();
+        addContexts(contexts, genericBackendProperties.getDefaultContext(), profiles, genericBackendProperties);
+        for (String applicationName :
+                StringUtils.commaDelimitedListToSet(genericBackendProperties.getApplicationName())) {
+            addContexts(contexts, applicationName, profiles, genericBackendProperties);
+        }
+        Collections.reverse(contexts);
+        return contexts;
+    }
+
+    private static void addContexts(List<String> contexts, String applicationName, List<String> profiles,
+                                    VaultGenericBackendProperties genericBackendProperties) {
+        if (!StringUtils.hasText(applicationName)) {
+            return;
+        }
+        if (!contexts.contains(applicationName)) {
+            contexts.add(applicationName);
+        }
+        for (String profile : profiles) {
+            if (StringUtils.hasText(profile)) {
+                String context = applicationName + genericBackendProperties.getProfileSeparator() + profile.trim();
+                if (!contexts.contains(context)) {
+                    contexts.add(context);
+                }
+            }
+        }
+    }
+}
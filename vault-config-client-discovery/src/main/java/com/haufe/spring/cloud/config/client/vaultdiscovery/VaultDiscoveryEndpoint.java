@@ -0,0 +1,101 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Actuator endpoint {@literal "vaultdiscovery"} that reports the retry counters and circuit breaker states of the
+ * Vault lookups and the config server fetch, and the {@link BootstrapTimeline} if it is enabled.
+ */
+@ConfigurationProperties(prefix = "endpoints.vaultdiscovery")
+public class VaultDiscoveryEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    private final List<RetryingExecutor> retryingExecutors;
+    private BootstrapTimeline bootstrapTimeline;
+
+    /**
+     * Construct the endpoint.
+     *
+     * @param retryingExecutors
+     *         the executors to report on, must not be {@literal null}
+     */
+    public VaultDiscoveryEndpoint(Collection<RetryingExecutor> retryingExecutors) {
+        super("vaultdiscovery");
+        Objects.requireNonNull(retryingExecutors, "retryingExecutors must not be null");
+        this.retryingExecutors = new ArrayList<>(retryingExecutors);
+    }
+
+    /**
+     * Set the timeline of the bootstrap to report on.
+     *
+     * @param bootstrapTimeline
+     *         the bootstrap timeline, or {@literal null} if it is not enabled
+     */
+    public void setBootstrapTimeline(BootstrapTimeline bootstrapTimeline) {
+        this.bootstrapTimeline = bootstrapTimeline;
+    }
+
+    /**
+     * Collect the current retry and circuit breaker statistics and the bootstrap timeline.
+     *
+     * @return a map with one entry per retrying executor and, if enabled, the bootstrap timeline, never
+     * {@literal null}
+     */
+    @Override
+    public Map<String, Object> invoke() {
+        Map<String, Object> retry = new LinkedHashMap<>();
+        for (RetryingExecutor executor : retryingExecutors) {
+            retry.put(executor.getName(), describe(executor));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("retry", retry);
+        if (bootstrapTimeline != null) {
+            result.put("bootstrap", describe(bootstrapTimeline));
+        }
+        return result;
+    }
+
+    private static Map<String, Object> describe(BootstrapTimeline timeline) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (BootstrapTimeline.Entry entry : timeline.getEntries()) {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("phase", entry.getPhase());
+            description.put("start", entry.getStart());
+            description.put("duration", entry.getDuration());
+            description.put("succeeded", entry.isSucceeded());
+            description.put("thread", entry.getThread());
+            entries.add(description);
+        }
+
+        Map<String, Object> bootstrap = new LinkedHashMap<>();
+        bootstrap.put("complete", timeline.isComplete());
+        bootstrap.put("total", timeline.getTotal());
+        bootstrap.put("phases", timeline.getDurations());
+        bootstrap.put("timeline", entries);
+        return bootstrap;
+    }
+
+    private static Map<String, Object> describe(RetryingExecutor executor) {
+        CircuitBreaker circuitBreaker = executor.getCircuitBreaker();
+        Map<String, Object> breaker = new LinkedHashMap<>();
+        breaker.put("state", circuitBreaker.getState());
+        breaker.put("consecutiveFailures", circuitBreaker.getConsecutiveFailures());
+        breaker.put("openedCount", circuitBreaker.getOpenedCount());
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("calls", executor.getCalls());
+        statistics.put("attempts", executor.getAttempts());
+        statistics.put("retries", executor.getRetries());
+        statistics.put("failedCalls", executor.getFailedCalls());
+        statistics.put("rejectedCalls", executor.getRejectedCalls());
+        statistics.put("circuitBreaker", breaker);
+        return statistics;
+    }
+}
@@ -0,0 +1,44 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration Auto-configuration} of the
+ * {@link VaultDiscoveryEndpoint}, active only if Spring Boot Actuator is on the class path.
+ * <p>
+ * The {@link RetryingExecutor} beans and the {@link BootstrapTimeline} usually live in the bootstrap context, i.e.,
+ * in an ancestor of the application context the endpoint is registered in.
+ */
+@Configuration
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnBean(RetryingExecutor.class)
+@AutoConfigureAfter(VaultBasedDiscoveryClientAutoConfiguration.class)
+public class VaultDiscoveryEndpointAutoConfiguration {
+
+    /**
+     * Bean factory for the actuator endpoint.
+     *
+     * @param retryingExecutors
+     *         all retrying executors found in the application context and its ancestors
+     * @param bootstrapTimeline
+     *         the timeline of the bootstrap, if enabled
+     * @return the endpoint
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public VaultDiscoveryEndpoint vaultDiscoveryEndpoint(List<RetryingExecutor> retryingExecutors,
+                                                         ObjectProvider<BootstrapTimeline> bootstrapTimeline) {
+        VaultDiscoveryEndpoint endpoint = new VaultDiscoveryEndpoint(retryingExecutors);
+        endpoint.setBootstrapTimeline(bootstrapTimeline.getIfAvailable());
+        return endpoint;
+    }
+}
@@ -0,0 +1,76 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Flight recorder event of the {@link VaultBasedDiscoveryClient} looking up the config server instances in Vault.
+ * <p>
+ * The flight recorder API is part of Java 8 since update 262 only; callers must check
+ * {@link VaultBasedDiscoveryClient#FLIGHT_RECORDER_AVAILABLE} before touching this class.
+ */
+@Name("com.haufe.configclient.VaultDiscovery")
+@Label("Vault Discovery")
+@Category({"Haufe", "Config Client"})
+@Description("Config server instances looked up in Vault")
+@StackTrace(false)
+class VaultDiscoveryEvent extends jdk.jfr.Event {
+
+    @Label("Config Server")
+    @Description("The URI of the first config server instance, without credentials")
+    String configServer;
+
+    @Label("Zone")
+    String zone;
+
+    @Label("Instances")
+    int instances;
+
+    @Label("Outcome")
+    @Description("found, none or the exception failing the lookup")
+    String outcome;
+
+    /**
+     * Look up the config server instances, recording the lookup if a recording has enabled the event.
+     *
+     * @param lookup
+     *         looks up the instances, must not be {@literal null}
+     * @return the instances found by {@code lookup}
+     */
+    static List<ServiceInstance> record(Supplier<List<ServiceInstance>> lookup) {
+        VaultDiscoveryEvent event = new VaultDiscoveryEvent();
+        if (!event.isEnabled()) {
+            return lookup.get();
+        }
+        event.begin();
+        try {
+            List<ServiceInstance> serviceInstances = lookup.get();
+            event.instances = serviceInstances.size();
+            if (serviceInstances.isEmpty()) {
+                event.outcome = "none";
+            }
+            else {
+                ServiceInstance first = serviceInstances.get(0);
+                event.configServer = String.valueOf(first.getUri());
+                event.zone = first.getMetadata() != null
+                        ? first.getMetadata().get(VaultBasedConfigServiceInstance.ZONE_METADATA_KEY) : null;
+                event.outcome = "found";
+            }
+            return serviceInstances;
+        }
+        catch (RuntimeException exception) {
+            event.outcome = exception.getClass().getSimpleName();
+            throw exception;
+        }
+        finally {
+            event.commit();
+        }
+    }
+}
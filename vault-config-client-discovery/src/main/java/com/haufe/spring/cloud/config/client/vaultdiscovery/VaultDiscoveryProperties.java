@@ -0,0 +1,464 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.google.common.base.MoreObjects;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Objects;
+
+/**
+ * Type-safe configuration object for the Vault-based config server discovery.
+ */
+@ConfigurationProperties(VaultDiscoveryProperties.PREFIX)
+public class VaultDiscoveryProperties {
+
+    /**
+     * The common prefix of all Vault discovery configuration properties.
+     */
+    public static final String PREFIX = "haufe.cloud.config.vaultDiscovery";
+
+    /**
+     * Flag to enable or disable the discovery of config server connection settings in Vault.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The availability zone the client runs in; config server instances in this zone are preferred.
+     */
+    private String zone;
+
+    /**
+     * The region the client runs in; config server instances in this region are preferred over other regions.
+     */
+    private String region;
+
+    /**
+     * The connect and read timeout in milliseconds of the health probes used for zone-aware instance selection.
+     */
+    private int healthProbeTimeout = 1000;
+
+    /**
+     * The number of threads for asynchronous Vault lookups.
+     */
+    private int asyncPoolSize = 2;
+
+    /**
+     * The maximum number of asynchronous Vault lookups waiting for a thread.
+     */
+    private int asyncQueueCapacity = 16;
+
+    /**
+     * The timeout of asynchronous Vault lookups in milliseconds (by default the sum of Vault's connect and read
+     * timeouts in the demo configuration).
+     */
+    private long asyncTimeout = 20000L;
+
+    /**
+     * Flag to start the lookup of the config server instances asynchronously as soon as the discovery client is
+     * created, so the Vault lookup overlaps with the remaining bootstrap.
+     */
+    private boolean prefetch;
+
+    /**
+     * The retry policy applied to the Vault lookups of the discovery client.
+     */
+    private RetryProperties vaultRetry = new RetryProperties();
+
+    /**
+     * The retry policy applied to the config server fetch.
+     */
+    private RetryProperties configServerRetry = new RetryProperties();
+
+    /**
+     * Is the Vault-based discovery enabled?
+     *
+     * @return {@literal true} (the default) if discovery is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the Vault-based discovery.
+     *
+     * @param enabled
+     *         the new flag value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The client's availability zone.
+     *
+     * @return the zone, might be {@literal null} or empty
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    /**
+     * Set the client's availability zone.
+     *
+     * @param zone
+     *         the new zone, might be {@literal null} or empty
+     */
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * The client's region.
+     *
+     * @return the region, might be {@literal null} or empty
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Set the client's region.
+     *
+     * @param region
+     *         the new region, might be {@literal null} or empty
+     */
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    /**
+     * The timeout of the config server health probes in milliseconds.
+     *
+     * @return the health probe timeout
+     */
+    public int getHealthProbeTimeout() {
+        return healthProbeTimeout;
+    }
+
+    /**
+     * Set the timeout of the config server health probes in milliseconds.
+     *
+     * @param healthProbeTimeout
+     *         the new health probe timeout
+     */
+    public void setHealthProbeTimeout(int healthProbeTimeout) {
+        this.healthProbeTimeout = healthProbeTimeout;
+    }
+
+    /**
+     * The number of threads for asynchronous Vault lookups.
+     *
+     * @return the pool size
+     */
+    public int getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+
+    /**
+     * Set the number of threads for asynchronous Vault lookups.
+     *
+     * @param asyncPoolSize
+     *         the new pool size
+     */
+    public void setAsyncPoolSize(int asyncPoolSize) {
+        this.asyncPoolSize = asyncPoolSize;
+    }
+
+    /**
+     * The maximum number of asynchronous Vault lookups waiting for a thread.
+     *
+     * @return the queue capacity
+     */
+    public int getAsyncQueueCapacity() {
+        return asyncQueueCapacity;
+    }
+
+    /**
+     * Set the maximum number of asynchronous Vault lookups waiting for a thread.
+     *
+     * @param asyncQueueCapacity
+     *         the new queue capacity
+     */
+    public void setAsyncQueueCapacity(int asyncQueueCapacity) {
+        this.asyncQueueCapacity = asyncQueueCapacity;
+    }
+
+    /**
+     * The timeout of asynchronous Vault lookups in milliseconds.
+     *
+     * @return the timeout
+     */
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    /**
+     * Set the timeout of asynchronous Vault lookups in milliseconds.
+     *
+     * @param asyncTimeout
+     *         the new timeout, values less than 1 disable the timeout
+     */
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    /**
+     * Is the prefetch of the config server instances enabled?
+     *
+     * @return {@literal true} if the lookup starts asynchronously when the discovery client is created,
+     * {@literal false} (the default) if it starts with the first call of the discovery client
+     */
+    public boolean isPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Enable or disable the prefetch of the config server instances.
+     *
+     * @param prefetch
+     *         the new flag value
+     */
+    public void setPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * The retry settings for Vault lookups.
+     *
+     * @return the retry settings, never {@literal null}
+     */
+    public RetryProperties getVaultRetry() {
+        return vaultRetry;
+    }
+
+    /**
+     * Overwrite the retry settings for Vault lookups.
+     *
+     * @param vaultRetry
+     *         the new retry settings
+     */
+    public void setVaultRetry(RetryProperties vaultRetry) {
+        this.vaultRetry = vaultRetry != null ? vaultRetry : new RetryProperties();
+    }
+
+    /**
+     * The retry settings for the config server fetch.
+     *
+     * @return the retry settings, never {@literal null}
+     */
+    public RetryProperties getConfigServerRetry() {
+        return configServerRetry;
+    }
+
+    /**
+     * Overwrite the retry settings for the config server fetch.
+     *
+     * @param configServerRetry
+     *         the new retry settings
+     */
+    public void setConfigServerRetry(RetryProperties configServerRetry) {
+        this.configServerRetry = configServerRetry != null ? configServerRetry : new RetryProperties();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VaultDiscoveryProperties)) {
+            return false;
+        }
+        VaultDiscoveryProperties that = (VaultDiscoveryProperties) o;
+        return isEnabled() == that.isEnabled() &&
+                getHealthProbeTimeout() == that.getHealthProbeTimeout() &&
+                getAsyncPoolSize() == that.getAsyncPoolSize() &&
+                getAsyncQueueCapacity() == that.getAsyncQueueCapacity() &&
+                getAsyncTimeout() == that.getAsyncTimeout() &&
+                isPrefetch() == that.isPrefetch() &&
+                Objects.equals(getZone(), that.getZone()) &&
+                Objects.equals(getRegion(), that.getRegion()) &&
+                Objects.equals(getVaultRetry(), that.getVaultRetry()) &&
+                Objects.equals(getConfigServerRetry(), that.getConfigServerRetry());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getZone(), getRegion(), getHealthProbeTimeout(),
+                            getAsyncPoolSize(), getAsyncQueueCapacity(), getAsyncTimeout(), isPrefetch(),
+                            getVaultRetry(), getConfigServerRetry());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("enabled", enabled)
+                .add("zone", zone)
+                .add("region", region)
+                .add("healthProbeTimeout", healthProbeTimeout)
+                .add("asyncPoolSize", asyncPoolSize)
+                .add("asyncQueueCapacity", asyncQueueCapacity)
+                .add("asyncTimeout", asyncTimeout)
+                .add("prefetch", prefetch)
+                .add("vaultRetry", vaultRetry)
+                .add("configServerRetry", configServerRetry)
+                .toString();
+    }
+
+    /**
+     * Type-safe configuration object for a retry policy with decorrelated jitter backoff and a circuit breaker.
+     */
+    public static class RetryProperties {
+
+        /**
+         * The maximum number of attempts (including the first one); a value of 1 disables retries.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * The minimum backoff between two attempts in milliseconds.
+         */
+        private long initialBackoff = 500L;
+
+        /**
+         * The upper bound of the backoff between two attempts in milliseconds.
+         */
+        private long maxBackoff = 10000L;
+
+        /**
+         * The number of consecutive failed attempts after which the circuit breaker opens.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * The time in milliseconds an open circuit breaker rejects calls before it lets a trial call pass.
+         */
+        private long openTimeout = 30000L;
+
+        /**
+         * The maximum number of attempts.
+         *
+         * @return the maximum number of attempts, at least 1 if configured sensibly
+         */
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        /**
+         * Set the maximum number of attempts.
+         *
+         * @param maxAttempts
+         *         the new maximum number of attempts
+         */
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        /**
+         * The minimum backoff in milliseconds.
+         *
+         * @return the minimum backoff
+         */
+        public long getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        /**
+         * Set the minimum backoff in milliseconds.
+         *
+         * @param initialBackoff
+         *         the new minimum backoff
+         */
+        public void setInitialBackoff(long initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        /**
+         * The maximum backoff in milliseconds.
+         *
+         * @return the maximum backoff
+         */
+        public long getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        /**
+         * Set the maximum backoff in milliseconds.
+         *
+         * @param maxBackoff
+         *         the new maximum backoff
+         */
+        public void setMaxBackoff(long maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        /**
+         * The number of consecutive failures that opens the circuit breaker.
+         *
+         * @return the failure threshold
+         */
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        /**
+         * Set the number of consecutive failures that opens the circuit breaker.
+         *
+         * @param failureThreshold
+         *         the new failure threshold
+         */
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        /**
+         * The time in milliseconds the circuit breaker stays open.
+         *
+         * @return the open timeout
+         */
+        public long getOpenTimeout() {
+            return openTimeout;
+        }
+
+        /**
+         * Set the time in milliseconds the circuit breaker stays open.
+         *
+         * @param openTimeout
+         *         the new open timeout
+         */
+        public void setOpenTimeout(long openTimeout) {
+            this.openTimeout = openTimeout;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RetryProperties)) {
+                return false;
+            }
+            RetryProperties that = (RetryProperties) o;
+            return getMaxAttempts() == that.getMaxAttempts() &&
+                    getInitialBackoff() == that.getInitialBackoff() &&
+                    getMaxBackoff() == that.getMaxBackoff() &&
+                    getFailureThreshold() == that.getFailureThreshold() &&
+                    getOpenTimeout() == that.getOpenTimeout();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getMaxAttempts(), getInitialBackoff(), getMaxBackoff(),
+                                getFailureThreshold(), getOpenTimeout());
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("maxAttempts", maxAttempts)
+                    .add("initialBackoff", initialBackoff)
+                    .add("maxBackoff", maxBackoff)
+                    .add("failureThreshold", failureThreshold)
+                    .add("openTimeout", openTimeout)
+                    .toString();
+        }
+    }
+}
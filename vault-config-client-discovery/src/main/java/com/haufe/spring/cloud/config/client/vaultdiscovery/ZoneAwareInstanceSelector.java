@@ -0,0 +1,77 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Orders config server instances so that the client's own availability zone is preferred.
+ * <p>
+ * Spring Cloud Config connects to the first instance returned by the discovery client. This selector sorts the
+ * instances by locality (same zone, then same region, then any other location) and moves the first
+ * {@link ConfigServerHealthProbe healthy} instance to the front. Instances of other zones are therefore used only
+ * if no instance of the client's own zone is healthy. If no instance is healthy at all, the locality order is
+ * returned unchanged and the config client's own error handling takes over.
+ */
+public class ZoneAwareInstanceSelector {
+
+    private final String zone;
+    private final String region;
+    private final ConfigServerHealthProbe healthProbe;
+
+    /**
+     * Construct a selector for a client in the given location.
+     *
+     * @param zone
+     *         the client's availability zone, might be {@link StringUtils#isBlank(CharSequence) blank}
+     * @param region
+     *         the client's region, might be {@link StringUtils#isBlank(CharSequence) blank}
+     * @param healthProbe
+     *         the probe that checks the instances' health, must not be {@literal null}
+     */
+    public ZoneAwareInstanceSelector(String zone, String region, ConfigServerHealthProbe healthProbe) {
+        this.zone = zone;
+        this.region = region;
+        this.healthProbe = Objects.requireNonNull(healthProbe, "healthProbe must not be null");
+    }
+
+    /**
+     * Order the instances by preference.
+     *
+     * @param instances
+     *         the discovered instances, must not be {@literal null}
+     * @return a new list with the same instances, the preferred one first
+     */
+    public List<ServiceInstance> select(List<ServiceInstance> instances) {
+        List<ServiceInstance> ordered = new ArrayList<>(instances);
+        if (ordered.size() < 2) {
+            return ordered;
+        }
+        ordered.sort(Comparator.comparingInt(this::locality));
+        for (int i = 0; i < ordered.size(); i++) {
+            if (healthProbe.isHealthy(ordered.get(i))) {
+                ordered.add(0, ordered.remove(i));
+                break;
+            }
+        }
+        return ordered;
+    }
+
+    private int locality(ServiceInstance instance) {
+        Map<String, String> metadata = instance.getMetadata();
+        if (StringUtils.isNotBlank(zone) &&
+                zone.equals(metadata.get(VaultBasedConfigServiceInstance.ZONE_METADATA_KEY))) {
+            return 0;
+        }
+        if (StringUtils.isNotBlank(region) &&
+                region.equals(metadata.get(VaultBasedConfigServiceInstance.REGION_METADATA_KEY))) {
+            return 1;
+        }
+        return 2;
+    }
+}
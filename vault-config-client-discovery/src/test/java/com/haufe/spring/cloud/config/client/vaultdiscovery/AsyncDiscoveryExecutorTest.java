@@ -0,0 +1,118 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import javaslang.control.Try;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.haufe.testutils.hamcrest.TryMatcher.tryFailedAndCauseMatches;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link AsyncDiscoveryExecutor}.
+ */
+public class AsyncDiscoveryExecutorTest {
+
+    private AsyncDiscoveryExecutor executor;
+    private CountDownLatch release;
+
+    @Before
+    public void beforeTest() {
+        executor = new AsyncDiscoveryExecutor("test", 1, 1);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void afterTest() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    public void testThatResultIsPassedToFuture() throws Exception {
+        assertThat(executor.supply(() -> "ok", 0L).get(5, TimeUnit.SECONDS), is("ok"));
+    }
+
+    @Test
+    public void testThatCompletedLookupDoesNotInterruptTheWorker() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(executor.supply(() -> "ok", 5000L).get(5, TimeUnit.SECONDS), is("ok"));
+            assertThat(executor.supply(() -> Thread.currentThread().isInterrupted(), 5000L)
+                               .get(5, TimeUnit.SECONDS), is(false));
+        }
+    }
+
+    @Test
+    public void testThatExceptionIsPassedToFuture() {
+        CompletableFuture<String> future = executor.supply(() -> {
+            throw new IllegalStateException("vault sealed");
+        }, 0L);
+        assertThat(Try.of(() -> future.get(5, TimeUnit.SECONDS)),
+                   tryFailedAndCauseMatches(both(instanceOf(ExecutionException.class))
+                           .and(hasProperty("cause", instanceOf(IllegalStateException.class)))));
+    }
+
+    @Test
+    public void testThatSlowLookupTimesOutAndIsInterrupted() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<String> future = executor.supply(() -> awaitRelease(interrupted), 500L);
+
+        assertThat(Try.of(() -> future.get(5, TimeUnit.SECONDS)),
+                   tryFailedAndCauseMatches(both(instanceOf(ExecutionException.class))
+                           .and(hasProperty("cause", instanceOf(TimeoutException.class)))));
+        assertThat(interrupted.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void testThatCancellationInterruptsLookup() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<String> future = executor.supply(() -> {
+            started.countDown();
+            return awaitRelease(interrupted);
+        }, 0L);
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        future.cancel(true);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void testThatLookupsBeyondQueueCapacityAreRejected() {
+        executor.supply(() -> awaitRelease(new CountDownLatch(1)), 0L);
+        executor.supply(() -> awaitRelease(new CountDownLatch(1)), 0L);
+        // give the worker thread time to take the first lookup so that the second one waits in the queue
+        waitForQueueSize(1);
+        CompletableFuture<String> rejected = executor.supply(() -> "too many", 0L);
+
+        assertThat(rejected.isCompletedExceptionally(), is(true));
+        assertThat(Try.of(rejected::join),
+                   tryFailedAndCauseMatches(both(instanceOf(RuntimeException.class))
+                           .and(hasProperty("cause", instanceOf(RejectedExecutionException.class)))));
+    }
+
+    private String awaitRelease(CountDownLatch interrupted) {
+        try {
+            release.await();
+            return "released";
+        }
+        catch (InterruptedException interruptedException) {
+            interrupted.countDown();
+            throw new IllegalStateException("interrupted", interruptedException);
+        }
+    }
+
+    private void waitForQueueSize(int expectedQueueSize) {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (executor.getQueueSize() != expectedQueueSize && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+    }
+}
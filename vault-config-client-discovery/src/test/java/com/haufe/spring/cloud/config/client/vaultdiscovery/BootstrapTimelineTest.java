@@ -0,0 +1,133 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.junit.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link BootstrapTimeline}
+ */
+public class BootstrapTimelineTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final BootstrapTimeline timeline = new BootstrapTimeline(clock::get);
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    public void testThatPhasesAreRecordedWithStartAndDuration() {
+        advance(10);
+        timeline.time(BootstrapTimeline.DISCOVERY, () -> {
+            advance(5);
+            timeline.time(BootstrapTimeline.VAULT_READ, () -> {
+                advance(20);
+                return null;
+            });
+            advance(5);
+            return null;
+        });
+        timeline.time(BootstrapTimeline.CONFIG_FETCH, () -> {
+            advance(100);
+            return null;
+        });
+        timeline.time(BootstrapTimeline.CONFIG_FETCH, () -> {
+            advance(50);
+            return null;
+        });
+        timeline.complete();
+
+        List<BootstrapTimeline.Entry> entries = timeline.getEntries();
+        assertThat(entries, hasSize(4));
+        assertThat(entries.get(0).getPhase(), is(BootstrapTimeline.DISCOVERY));
+        assertThat(entries.get(0).getStart(), is(10L));
+        assertThat(entries.get(0).getDuration(), is(30L));
+        assertThat(entries.get(1).getPhase(), is(BootstrapTimeline.VAULT_READ));
+        assertThat(entries.get(1).getStart(), is(15L));
+        assertThat(entries.get(1).getDuration(), is(20L));
+
+        assertThat(timeline.getTotal(), is(190L));
+        assertThat(timeline.getDurations().keySet(), contains(BootstrapTimeline.VAULT_READ,
+                                                              BootstrapTimeline.DISCOVERY,
+                                                              BootstrapTimeline.CONFIG_FETCH));
+        assertThat(timeline.getDurations(), hasEntry(BootstrapTimeline.CONFIG_FETCH, 150L));
+        assertThat(timeline.summary(), is("total=190ms vaultRead=20ms discovery=30ms configFetch=150ms"));
+    }
+
+    @Test
+    public void testThatFailedPhasesAreRecordedAndTheExceptionIsPassedOn() {
+        IllegalStateException failure = new IllegalStateException("Vault is sealed");
+        try {
+            timeline.time(BootstrapTimeline.VAULT_LOGIN, () -> {
+                advance(7);
+                throw failure;
+            });
+            fail("exception expected");
+        }
+        catch (IllegalStateException exception) {
+            assertThat(exception, is(failure));
+        }
+
+        assertThat(timeline.getEntries(), hasSize(1));
+        assertThat(timeline.getEntries().get(0).isSucceeded(), is(false));
+        assertThat(timeline.summary(), is("total=incomplete vaultLogin=7ms failures=1"));
+    }
+
+    @Test
+    public void testThatNothingIsRecordedOnceTheTimelineIsComplete() {
+        BootstrapTimeline.Span span = timeline.start(BootstrapTimeline.CONFIG_FETCH);
+        advance(3);
+        timeline.complete();
+        advance(3);
+        span.end(true);
+        timeline.time(BootstrapTimeline.DISCOVERY, () -> "instances");
+        timeline.complete();
+
+        assertThat(timeline.isComplete(), is(true));
+        assertThat(timeline.getTotal(), is(3L));
+        assertThat(timeline.getEntries(), hasSize(0));
+    }
+
+    @Test
+    public void testThatTheTimedLocatorRecordsItsDelegate() {
+        PropertySource<?> propertySource = new MapPropertySource("vault", Collections.emptyMap());
+        TimedPropertySourceLocator locator = new TimedPropertySourceLocator(environment -> {
+            advance(42);
+            return propertySource;
+        }, timeline, BootstrapTimeline.VAULT_READ);
+
+        assertThat(locator.locate(new StandardEnvironment()), is(propertySource));
+        assertThat(timeline.getDurations(), hasEntry(BootstrapTimeline.VAULT_READ, 42L));
+    }
+
+    @Test
+    public void testThatTheReporterRecordsTheContextRefreshAndCompletesTheTimeline() {
+        advance(200);
+        try (GenericApplicationContext applicationContext = new GenericApplicationContext()) {
+            new BootstrapTimelineReporter(timeline).initialize(applicationContext);
+            advance(300);
+            applicationContext.refresh();
+        }
+
+        assertThat(timeline.isComplete(), is(true));
+        assertThat(timeline.getTotal(), is(500L));
+        assertThat(timeline.getEntries(), hasSize(1));
+        assertThat(timeline.getEntries().get(0).getStart(), is(200L));
+        assertThat(timeline.getDurations(), hasEntry(BootstrapTimeline.CONTEXT_REFRESH, 300L));
+    }
+}
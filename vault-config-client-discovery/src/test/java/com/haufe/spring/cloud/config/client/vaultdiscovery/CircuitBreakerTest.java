@@ -0,0 +1,97 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link CircuitBreaker} and {@link DecorrelatedJitterBackoff}.
+ */
+public class CircuitBreakerTest {
+
+    private static final long OPEN_TIMEOUT = 1000L;
+
+    private AtomicLong clock;
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void beforeTest() {
+        clock = new AtomicLong();
+        circuitBreaker = new CircuitBreaker("test", 3, OPEN_TIMEOUT, clock::get);
+    }
+
+    @Test
+    public void testThatBreakerOpensAfterConsecutiveFailures() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getState(), is(CircuitBreaker.State.OPEN));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+        assertThat(circuitBreaker.getOpenedCount(), is(1L));
+    }
+
+    @Test
+    public void testThatSuccessResetsConsecutiveFailures() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+
+        assertThat(circuitBreaker.getState(), is(CircuitBreaker.State.CLOSED));
+        assertThat(circuitBreaker.getConsecutiveFailures(), is(1));
+    }
+
+    @Test
+    public void testThatBreakerBecomesHalfOpenAfterTimeoutAndClosesOnSuccess() {
+        openBreaker();
+
+        clock.addAndGet(OPEN_TIMEOUT);
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+        assertThat(circuitBreaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+
+        circuitBreaker.recordSuccess();
+        assertThat(circuitBreaker.getState(), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testThatHalfOpenBreakerReopensOnFailure() {
+        openBreaker();
+        clock.addAndGet(OPEN_TIMEOUT);
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getState(), is(CircuitBreaker.State.OPEN));
+        assertThat(circuitBreaker.getOpenedCount(), is(2L));
+    }
+
+    @Test
+    public void testThatJitteredDelaysStayWithinBounds() {
+        DecorrelatedJitterBackoff backoff = new DecorrelatedJitterBackoff(100L, 1000L);
+        long delay = backoff.firstDelay();
+        for (int i = 0; i < 100; i++) {
+            assertThat(delay, is(both(greaterThanOrEqualTo(100L)).and(lessThanOrEqualTo(1000L))));
+            delay = backoff.nextDelay(delay);
+        }
+    }
+
+    @Test
+    public void testThatUpperBoundOfJitterIsThreeTimesThePreviousDelay() {
+        DecorrelatedJitterBackoff backoff = new DecorrelatedJitterBackoff(100L, 10000L, (lower, upper) -> upper);
+        assertThat(backoff.firstDelay(), is(300L));
+        assertThat(backoff.nextDelay(300L), is(900L));
+        assertThat(backoff.nextDelay(9000L), is(10000L));
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+        assertThat(circuitBreaker.getState(), is(CircuitBreaker.State.OPEN));
+    }
+}
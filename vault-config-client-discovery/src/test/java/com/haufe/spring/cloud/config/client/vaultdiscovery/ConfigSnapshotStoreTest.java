@@ -0,0 +1,107 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link ConfigSnapshotStore}.
+ */
+public class ConfigSnapshotStoreTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[16]);
+    private static final String OTHER_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path snapshotFile;
+    private ConfigSnapshotStore store;
+
+    @Before
+    public void beforeTest() throws IOException {
+        snapshotFile = temporaryFolder.getRoot().toPath().resolve("snapshot.bin");
+        store = new ConfigSnapshotStore(snapshotFile, KEY);
+    }
+
+    @After
+    public void afterTest() {
+        store.destroy();
+    }
+
+    @Test
+    public void testThatEntriesSurviveRestart() {
+        store.put("vaultPropertySourceLocator", createEntry("vault", "db.password", "golden sickle"));
+        store.put("configServicePropertySourceLocator", createEntry("configService", "server.port", "8080"));
+
+        ConfigSnapshotStore restartedStore = new ConfigSnapshotStore(snapshotFile, KEY);
+        assertThat(restartedStore.get("vaultPropertySourceLocator"),
+                   is(equalTo(createEntry("vault", "db.password", "golden sickle"))));
+        assertThat(restartedStore.get("configServicePropertySourceLocator").getProperties(),
+                   hasEntry("server.port", "8080"));
+        restartedStore.destroy();
+    }
+
+    @Test
+    public void testThatSnapshotIsEncrypted() throws IOException {
+        store.put("vaultPropertySourceLocator", createEntry("vault", "db.password", "golden sickle"));
+
+        String content = new String(Files.readAllBytes(snapshotFile), StandardCharsets.ISO_8859_1);
+        assertThat(content, not(containsString("golden sickle")));
+        assertThat(content, not(containsString("db.password")));
+    }
+
+    @Test
+    public void testThatSnapshotWithOtherKeyIsIgnored() {
+        store.put("vaultPropertySourceLocator", createEntry("vault", "db.password", "golden sickle"));
+
+        ConfigSnapshotStore otherStore = new ConfigSnapshotStore(snapshotFile, OTHER_KEY);
+        assertThat(otherStore.get("vaultPropertySourceLocator"), is(nullValue()));
+        otherStore.destroy();
+    }
+
+    @Test
+    public void testThatTamperedSnapshotIsIgnored() throws IOException {
+        store.put("vaultPropertySourceLocator", createEntry("vault", "db.password", "golden sickle"));
+        byte[] content = Files.readAllBytes(snapshotFile);
+        content[content.length - 1] ^= 1;
+        Files.write(snapshotFile, content);
+
+        ConfigSnapshotStore restartedStore = new ConfigSnapshotStore(snapshotFile, KEY);
+        assertThat(restartedStore.get("vaultPropertySourceLocator"), is(nullValue()));
+        restartedStore.destroy();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatInvalidKeyLengthIsRejected() {
+        new ConfigSnapshotStore(snapshotFile, Base64.getEncoder().encodeToString(new byte[10]));
+    }
+
+    @Test
+    public void testThatChangesBeforeListenerRegistrationArePassedOn() {
+        Map<String, Integer> notifications = new LinkedHashMap<>();
+        store.fireChanged(Collections.singleton("db.password"));
+        store.setChangeListener(names -> names.forEach(name -> notifications.merge(name, 1, Integer::sum)));
+        store.fireChanged(Collections.singleton("db.password"));
+
+        assertThat(notifications, hasEntry("db.password", 2));
+    }
+
+    static ConfigSnapshotStore.Entry createEntry(String name, String propertyName, String value) {
+        return new ConfigSnapshotStore.Entry(name, Collections.singletonMap(propertyName, value));
+    }
+}
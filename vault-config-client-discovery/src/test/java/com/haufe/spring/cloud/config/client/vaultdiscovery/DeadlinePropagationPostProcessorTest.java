@@ -0,0 +1,88 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests of {@link DeadlinePropagationPostProcessor}.
+ */
+public class DeadlinePropagationPostProcessorTest {
+
+    private final ConfigClientProperties configClientProperties =
+            new ConfigClientProperties(new StandardEnvironment());
+    private final DeadlinePropagationProperties deadlinePropagationProperties = new DeadlinePropagationProperties();
+    private final DeadlinePropagationPostProcessor postProcessor = new DeadlinePropagationPostProcessor();
+    private RetryingConfigServicePropertySourceLocator locator;
+
+    @Before
+    public void setUp() {
+        configClientProperties.setUri("http://configserver:8888");
+        deadlinePropagationProperties.setTimeout(5000);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("configClientProperties", configClientProperties);
+        beanFactory.registerSingleton("deadlinePropagationProperties", deadlinePropagationProperties);
+        postProcessor.setBeanFactory(beanFactory);
+        locator = new RetryingConfigServicePropertySourceLocator(
+                configClientProperties, new ConfigServicePropertySourceLocator(configClientProperties),
+                RetryingExecutor.withoutRetries("config-server"));
+    }
+
+    @Test
+    public void testThatTheDeadlineAndTheCredentialsAreSent() {
+        postProcessor.postProcessAfterInitialization(locator, "configServicePropertySource");
+        RestTemplate restTemplate = locator.getRestTemplate();
+        assertThat(restTemplate, is(notNullValue()));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://configserver:8888/a"))
+                .andExpect(header(DeadlinePropagationPostProcessor.DEADLINE_HEADER, "5000"))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, startsWith("Basic ")))
+                .andRespond(withSuccess());
+        configClientProperties.setUsername("user");
+        configClientProperties.setPassword("secret");
+
+        restTemplate.getForObject("http://configserver:8888/a", String.class);
+
+        server.verify();
+    }
+
+    @Test
+    public void testThatARestTemplateSetBeforeIsCustomized() {
+        RestTemplate smile = SmileFormatPostProcessor.restTemplate(() -> configClientProperties);
+        locator.setRestTemplate(smile);
+
+        postProcessor.postProcessAfterInitialization(locator, "configServicePropertySource");
+
+        assertThat(locator.getRestTemplate(), is(sameInstance(smile)));
+        assertThat(smile.getMessageConverters().get(0), is(instanceOf(SmileHttpMessageConverter.class)));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(smile).build();
+        server.expect(requestTo("http://configserver:8888/a"))
+                .andExpect(header(DeadlinePropagationPostProcessor.DEADLINE_HEADER, "5000"))
+                .andRespond(withSuccess());
+
+        smile.getForObject("http://configserver:8888/a", String.class);
+
+        server.verify();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatTheTimeoutMustBePositive() {
+        DeadlinePropagationPostProcessor.withDeadline(new RestTemplate(), 0);
+    }
+}
@@ -0,0 +1,134 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link EnvironmentDeltaApplier}.
+ */
+public class EnvironmentDeltaApplierTest {
+
+    private final EnvironmentDeltaApplier applier = new EnvironmentDeltaApplier();
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private final CompositePropertySource configService = new CompositePropertySource("configService");
+
+    @Before
+    public void setUp() {
+        Map<String, Object> testserviceYml = new LinkedHashMap<>();
+        testserviceYml.put("foo.bar", "baz");
+        testserviceYml.put("foo.old", "x");
+        configService.addPropertySource(new MapPropertySource("testservice.yml", testserviceYml));
+        configService.addPropertySource(new MapPropertySource("application.yml",
+                                                              Collections.singletonMap("common", "value")));
+        configService.addFirstPropertySource(new MapPropertySource(
+                "configClient", new HashMap<>(Collections.singletonMap("config.client.version", "v1"))));
+        CompositePropertySource bootstrapProperties = new CompositePropertySource("bootstrapProperties");
+        bootstrapProperties.addPropertySource(configService);
+        environment.getPropertySources().addFirst(bootstrapProperties);
+    }
+
+    @Test
+    public void testThatCurrentVersionIsReadFromConfigClientPropertySource() {
+        assertThat(applier.currentVersion(environment), is("v1"));
+    }
+
+    @Test
+    public void testThatIncrementalDeltaPatchesChangedPropertySourceOnly() {
+        EnvironmentDelta.PropertySourceDelta propertySourceDelta = new EnvironmentDelta.PropertySourceDelta();
+        propertySourceDelta.setName("testservice.yml");
+        propertySourceDelta.setAdded(Collections.singletonMap("foo.new", 42));
+        propertySourceDelta.setChanged(Collections.singletonMap("foo.bar", "qux"));
+        propertySourceDelta.setRemoved(Collections.singletonList("foo.old"));
+        EnvironmentDelta delta = delta("v2", false, propertySourceDelta);
+        PropertySource<?> applicationYml = nested("application.yml");
+
+        assertThat(applier.apply(environment, delta), contains("foo.bar", "foo.new", "foo.old"));
+
+        assertThat(environment.getProperty("foo.bar"), is("qux"));
+        assertThat(environment.getProperty("foo.new", Integer.class), is(42));
+        assertThat(environment.containsProperty("foo.old"), is(false));
+        assertThat(environment.getProperty("common"), is("value"));
+        assertThat(nested("application.yml"), is(sameInstance(applicationYml)));
+        assertThat(applier.currentVersion(environment), is("v2"));
+    }
+
+    @Test
+    public void testThatCompleteDeltaReplacesProperties() {
+        EnvironmentDelta.PropertySourceDelta propertySourceDelta = new EnvironmentDelta.PropertySourceDelta();
+        propertySourceDelta.setName("testservice.yml");
+        propertySourceDelta.setAdded(Collections.singletonMap("foo.bar", "baz"));
+        EnvironmentDelta delta = delta("v2", true, propertySourceDelta);
+
+        assertThat(applier.apply(environment, delta), contains("common", "foo.old"));
+
+        assertThat(environment.getProperty("foo.bar"), is("baz"));
+        assertThat(environment.containsProperty("foo.old"), is(false));
+        assertThat(environment.containsProperty("common"), is(false));
+    }
+
+    @Test
+    public void testThatPropertySourcesMissingFromDeltaAreRemovedAndOrderIsRestored() {
+        EnvironmentDelta delta = delta("v2", false);
+        delta.setPropertySourceNames(Collections.singletonList("application.yml"));
+
+        assertThat(applier.apply(environment, delta), contains("foo.bar", "foo.old"));
+
+        assertThat(configService.getPropertySources().stream().map(PropertySource::getName)
+                           .collect(Collectors.toList()),
+                   contains("configClient", "application.yml"));
+    }
+
+    @Test
+    public void testThatDeltaReferringToUnknownPropertySourceIsRejectedWithoutChanges() {
+        EnvironmentDelta delta = delta("v2", false);
+        delta.setPropertySourceNames(Arrays.asList("testservice.yml", "unknown.yml"));
+
+        try {
+            applier.apply(environment, delta);
+        }
+        catch (IllegalStateException expected) {
+            assertThat(applier.currentVersion(environment), is("v1"));
+            assertThat(environment.getProperty("foo.bar"), is("baz"));
+            return;
+        }
+        throw new AssertionError("IllegalStateException expected");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testThatEnvironmentWithoutConfigServicePropertySourceIsRejected() {
+        applier.apply(new StandardEnvironment(), delta("v2", true));
+    }
+
+    private PropertySource<?> nested(String name) {
+        return configService.getPropertySources().stream()
+                .filter(propertySource -> propertySource.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static EnvironmentDelta delta(String toVersion, boolean complete,
+                                          EnvironmentDelta.PropertySourceDelta... propertySourceDeltas) {
+        EnvironmentDelta delta = new EnvironmentDelta();
+        delta.setName("testservice");
+        delta.setFromVersion("v1");
+        delta.setToVersion(toVersion);
+        delta.setComplete(complete);
+        delta.setPropertySourceNames(Arrays.asList("testservice.yml", "application.yml"));
+        delta.setPropertySources(Arrays.asList(propertySourceDeltas));
+        return delta;
+    }
+}
@@ -0,0 +1,123 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares payload size and decode time of environments in JSON and Smile.
+ * <p>
+ * The environments resemble those of our services: several property sources (application and service files, each
+ * with a profile-specific variant) with dotted, largely shared property names, and values that are URLs, numbers,
+ * flags, durations and {cipher} texts. Run the {@link #main(String[])} method from the IDE or with the test class
+ * path; the arguments are the numbers of properties per property source (default: 50, 500 and 2000).
+ * <p>
+ * This is a plain loop with warm-up rather than a JMH benchmark, so take the times as an indication only.
+ */
+public class EnvironmentFormatBenchmark {
+
+    private static final String[] PREFIXES = {
+            "spring.datasource", "spring.jpa.properties.hibernate", "server.tomcat", "management.endpoint",
+            "haufe.service.client", "feign.client.config.default", "logging.level.com.haufe", "hystrix.command"};
+    private static final int WARM_UP_ITERATIONS = 2000;
+    private static final int MEASURED_ITERATIONS = 2000;
+
+    private final ObjectMapper json = mapper(new ObjectMapper());
+    private final ObjectMapper smile = mapper(new ObjectMapper(new SmileFactory()));
+
+    private static ObjectMapper mapper(ObjectMapper objectMapper) {
+        return objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args
+     *         the numbers of properties per property source
+     * @throws IOException
+     *         serialization failed
+     */
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length > 0 ? new int[args.length] : new int[]{50, 500, 2000};
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        EnvironmentFormatBenchmark benchmark = new EnvironmentFormatBenchmark();
+        System.out.println("properties  json bytes  smile bytes  json decode us  smile decode us");
+        for (int size : sizes) {
+            Environment environment = environment(size);
+            byte[] jsonBytes = benchmark.json.writeValueAsBytes(environment);
+            byte[] smileBytes = benchmark.smile.writeValueAsBytes(environment);
+            double jsonMicros = benchmark.decodeMicros(benchmark.json, jsonBytes);
+            double smileMicros = benchmark.decodeMicros(benchmark.smile, smileBytes);
+            System.out.printf("%10d  %10d  %11d  %14.1f  %15.1f%n", size * 6, jsonBytes.length, smileBytes.length,
+                              jsonMicros, smileMicros);
+        }
+    }
+
+    private double decodeMicros(ObjectMapper objectMapper, byte[] bytes) throws IOException {
+        int iterations = Math.max(10, MEASURED_ITERATIONS * 50 / Math.max(50, bytes.length / 100));
+        long checksum = 0;
+        for (int i = 0; i < Math.max(10, WARM_UP_ITERATIONS * 50 / Math.max(50, bytes.length / 100)); i++) {
+            checksum += objectMapper.readValue(bytes, Environment.class).getPropertySources().size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += objectMapper.readValue(bytes, Environment.class).getPropertySources().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            throw new IllegalStateException("no property sources decoded");
+        }
+        return (double) elapsed / iterations / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * Create a realistic environment.
+     *
+     * @param propertiesPerSource
+     *         the number of properties in each of the six property sources
+     * @return the environment
+     */
+    static Environment environment(int propertiesPerSource) {
+        Random random = new Random(propertiesPerSource);
+        Environment environment = new Environment("testservice", new String[]{"default", "production"}, "master",
+                                                  "7c1d0b6f2e9a4c3b8d5e1f0a2b3c4d5e6f7a8b9c", null);
+        String base = "https://github.com/haufe/config-repository/";
+        for (String file : new String[]{"testservice-production.yml", "testservice.yml", "application-production.yml",
+                "application.yml", "testservice-default.yml", "application-default.yml"}) {
+            Map<String, Object> source = new LinkedHashMap<>();
+            for (int i = 0; i < propertiesPerSource; i++) {
+                String name = PREFIXES[i % PREFIXES.length] + ".setting" + i / PREFIXES.length + "."
+                        + (i % 3 == 0 ? "timeout" : i % 3 == 1 ? "url" : "enabled");
+                source.put(name, value(i, random));
+            }
+            environment.add(new PropertySource(base + file, source));
+        }
+        return environment;
+    }
+
+    private static Object value(int i, Random random) {
+        switch (i % 5) {
+            case 0:
+                return random.nextInt(60000);
+            case 1:
+                return "https://service-" + random.nextInt(100) + ".internal.haufe.io:8443/api/v" + random.nextInt(4);
+            case 2:
+                return random.nextBoolean();
+            case 3:
+                return "{cipher}" + Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong())
+                        + Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+            default:
+                return random.nextInt(100) + "s";
+        }
+    }
+}
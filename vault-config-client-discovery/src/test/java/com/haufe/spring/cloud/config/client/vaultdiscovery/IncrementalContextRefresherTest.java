@@ -0,0 +1,263 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.autoconfigure.ConfigurationPropertiesRebinderAutoConfiguration;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.cloud.context.properties.ConfigurationPropertiesRebinder;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests of {@link IncrementalContextRefresher}.
+ */
+public class IncrementalContextRefresherTest {
+
+    private final AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+    private final AtomicInteger fullRefreshes = new AtomicInteger();
+    private EnvironmentDelta nextDelta;
+    private RuntimeException nextFailure;
+    private IncrementalContextRefresher refresher;
+
+    @Before
+    public void setUp() {
+        Map<String, Object> testserviceYml = new LinkedHashMap<>();
+        testserviceYml.put("alpha.name", "a1");
+        testserviceYml.put("beta.value", "b1");
+        testserviceYml.put("gamma.value", "g1");
+        CompositePropertySource configService = new CompositePropertySource("configService");
+        configService.addPropertySource(new MapPropertySource(
+                "configClient", new HashMap<>(Collections.singletonMap("config.client.version", "v1"))));
+        configService.addPropertySource(new MapPropertySource("testservice.yml", testserviceYml));
+        applicationContext.getEnvironment().getPropertySources().addFirst(configService);
+        applicationContext.register(PropertiesConfiguration.class);
+        applicationContext.register(TestConfiguration.class);
+        applicationContext.refresh();
+        // the refresh scope initializes its beans eagerly, only count the instances created by the tests
+        AlphaClient.instances.set(0);
+        GammaClient.instances.set(0);
+
+        ContextRefresher contextRefresher = new ContextRefresher(
+                applicationContext, applicationContext.getBean(
+                org.springframework.cloud.context.scope.refresh.RefreshScope.class)) {
+            @Override
+            public synchronized Set<String> refresh() {
+                fullRefreshes.incrementAndGet();
+                return Collections.emptySet();
+            }
+        };
+        ConfigDeltaClient deltaClient = new ConfigDeltaClient(new RestTemplate()) {
+            @Override
+            public EnvironmentDelta fetch(ConfigClientProperties configClientProperties, String since) {
+                if (nextFailure != null) {
+                    throw nextFailure;
+                }
+                return nextDelta;
+            }
+        };
+        refresher = new IncrementalContextRefresher(applicationContext, contextRefresher,
+                                                    new ConfigClientProperties(applicationContext.getEnvironment()),
+                                                    deltaClient, new EnvironmentDeltaApplier(),
+                                                    applicationContext.getBean(ConfigurationPropertiesRebinder.class));
+        refresher.setRefreshScope(applicationContext.getBean(
+                org.springframework.cloud.context.scope.refresh.RefreshScope.class));
+    }
+
+    @After
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    public void testThatOnlyBeansBoundToChangedPropertiesAreRecreated() {
+        AlphaProperties alphaProperties = applicationContext.getBean(AlphaProperties.class);
+        BetaProperties betaProperties = applicationContext.getBean(BetaProperties.class);
+        AlphaClient alphaClient = applicationContext.getBean(AlphaClient.class);
+        GammaClient gammaClient = applicationContext.getBean(GammaClient.class);
+        assertThat(alphaClient.getName(), is("a1"));
+        assertThat(gammaClient.getValue(), is("g1"));
+        int betaBindings = betaProperties.bindings.get();
+        nextDelta = changeDelta("alpha.name", "a2");
+
+        Set<String> changedPropertyNames = refresher.refresh();
+
+        assertThat(changedPropertyNames, contains("alpha.name"));
+        assertThat(alphaProperties.getName(), is("a2"));
+        assertThat(betaProperties.bindings.get(), is(betaBindings));
+        assertThat(alphaClient.getName(), is("a2"));
+        assertThat(gammaClient.getValue(), is("g1"));
+        assertThat(AlphaClient.instances.get(), is(1));
+        assertThat(GammaClient.instances.get(), is(0));
+        assertThat(fullRefreshes.get(), is(0));
+    }
+
+    @Test
+    public void testThatUnchangedConfigurationRecreatesNothing() {
+        AlphaClient alphaClient = applicationContext.getBean(AlphaClient.class);
+        assertThat(alphaClient.getName(), is("a1"));
+        nextDelta = null;
+
+        assertThat(refresher.refresh(), is(empty()));
+
+        assertThat(alphaClient.getName(), is("a1"));
+        assertThat(AlphaClient.instances.get(), is(0));
+        assertThat(fullRefreshes.get(), is(0));
+    }
+
+    @Test
+    public void testThatFailedDeltaFetchFallsBackToFullRefresh() {
+        nextFailure = new ResourceAccessException("config server unreachable");
+
+        refresher.refresh();
+
+        assertThat(fullRefreshes.get(), is(1));
+    }
+
+    @Test
+    public void testThatBindingsAreComparedInRelaxedForm() {
+        Set<String> changed = Collections.singleton("my-service.base-url");
+
+        assertThat(IncrementalContextRefresher.isBoundTo(Collections.singleton("myService"), changed), is(true));
+        assertThat(IncrementalContextRefresher.isBoundTo(Collections.singleton("my_service.baseUrl"), changed),
+                   is(true));
+        assertThat(IncrementalContextRefresher.isBoundTo(Collections.singleton("my-service-x"), changed),
+                   is(false));
+        assertThat(IncrementalContextRefresher.isBoundTo(null, changed), is(true));
+    }
+
+    @Test
+    public void testThatValuePlaceholdersIncludingDefaultsAreFound() {
+        assertThat(IncrementalContextRefresher.bindings(NestedPlaceholderClient.class),
+                   containsInAnyOrder("outer.key", "inner.key"));
+        assertThat(IncrementalContextRefresher.bindings(Object.class), is(nullValue()));
+    }
+
+    private static EnvironmentDelta changeDelta(String name, Object value) {
+        EnvironmentDelta.PropertySourceDelta propertySourceDelta = new EnvironmentDelta.PropertySourceDelta();
+        propertySourceDelta.setName("testservice.yml");
+        propertySourceDelta.setChanged(Collections.singletonMap(name, value));
+        EnvironmentDelta delta = new EnvironmentDelta();
+        delta.setFromVersion("v1");
+        delta.setToVersion("v2");
+        delta.setPropertySourceNames(Arrays.asList("testservice.yml"));
+        delta.setPropertySources(Collections.singletonList(propertySourceDelta));
+        return delta;
+    }
+
+    // registered separately so that the binding post processor exists when the rebinder's condition is evaluated
+    @Configuration
+    @EnableConfigurationProperties({AlphaProperties.class, BetaProperties.class})
+    static class PropertiesConfiguration {
+    }
+
+    @Configuration
+    @Import({PropertyPlaceholderAutoConfiguration.class, RefreshAutoConfiguration.class,
+            ConfigurationPropertiesRebinderAutoConfiguration.class})
+    static class TestConfiguration {
+
+        @Bean
+        @RefreshScope
+        public AlphaClient alphaClient() {
+            return new AlphaClient();
+        }
+
+        @Bean
+        @RefreshScope
+        public GammaClient gammaClient() {
+            return new GammaClient();
+        }
+    }
+
+    @ConfigurationProperties("alpha")
+    static class AlphaProperties {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    @ConfigurationProperties("beta")
+    static class BetaProperties {
+
+        private final AtomicInteger bindings = new AtomicInteger();
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            bindings.incrementAndGet();
+            this.value = value;
+        }
+    }
+
+    static class AlphaClient {
+
+        static final AtomicInteger instances = new AtomicInteger();
+
+        @Value("${alpha.name}")
+        private String name;
+
+        AlphaClient() {
+            instances.incrementAndGet();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    static class GammaClient {
+
+        static final AtomicInteger instances = new AtomicInteger();
+
+        @Value("${gamma.value}")
+        private String value;
+
+        GammaClient() {
+            instances.incrementAndGet();
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    static class NestedPlaceholderClient {
+
+        @Value("${outer.key:${inner.key:fallback}}")
+        private String value;
+    }
+}
@@ -0,0 +1,163 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import javaslang.control.Try;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.cloud.vault.config.VaultGenericBackendProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.vault.authentication.TokenAuthentication;
+import org.springframework.vault.client.VaultEndpoint;
+import org.springframework.vault.core.VaultTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.haufe.testutils.hamcrest.TryMatcher.tryFailedAndCauseMatches;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link LazyVaultPropertySource} and {@link LazyVaultPropertySourceLocator}.
+ * <p>
+ * The Vault server is simulated by a local stand-in HTTP server that answers reads of the generic backend
+ * {@literal "secret"} with the JSON documents stored in {@link #secrets}.
+ */
+public class LazyVaultPropertySourceTest {
+
+    private static final String SECRET_PATH = "/v1/secret/";
+
+    private final Map<String, String> secrets = new ConcurrentHashMap<>();
+    private final List<String> reads = new CopyOnWriteArrayList<>();
+
+    private HttpServer vaultStandIn;
+    private VaultTemplate vaultTemplate;
+    private VaultGenericBackendProperties genericBackendProperties;
+    private MockEnvironment environment;
+
+    @Before
+    public void beforeTest() throws IOException {
+        vaultStandIn = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        vaultStandIn.createContext("/v1/", this::handleVaultRequest);
+        vaultStandIn.start();
+
+        VaultEndpoint vaultEndpoint = VaultEndpoint.create("localhost", vaultStandIn.getAddress().getPort());
+        vaultEndpoint.setScheme("http");
+        vaultTemplate = new VaultTemplate(vaultEndpoint, new TokenAuthentication("stand-in-token"));
+
+        genericBackendProperties = new VaultGenericBackendProperties();
+        genericBackendProperties.setApplicationName("demo");
+        genericBackendProperties.setDefaultContext("all-apps");
+        environment = new MockEnvironment();
+        environment.setActiveProfiles("dev");
+
+        secrets.put("demo", "{\"vault\":{\"db\":{\"password\":\"golden sickle\"}}}");
+        secrets.put("all-apps", "{\"vault.db.password\":\"default\",\"vault.db.user\":\"panoramix\"}");
+    }
+
+    @After
+    public void afterTest() {
+        vaultStandIn.stop(0);
+    }
+
+    @Test
+    public void testThatNothingIsReadBeforeFirstAccess() {
+        createLocator(Collections.singletonList("vault.")).locate(environment);
+        assertThat(reads, is(empty()));
+    }
+
+    @Test
+    public void testThatPropertyNamesWithoutPrefixAreNotLookedUp() {
+        PropertySource<?> propertySource = createLocator(Collections.singletonList("vault.")).locate(environment);
+
+        assertThat(propertySource.getProperty("server.port"), is(nullValue()));
+        assertThat(reads, is(empty()));
+    }
+
+    @Test
+    public void testThatMostSpecificContextWinsAndLessSpecificOnesAreNotRead() {
+        PropertySource<?> propertySource = createLocator(Collections.singletonList("vault.")).locate(environment);
+
+        assertThat(propertySource.getProperty("vault.db.password"), is("golden sickle"));
+        assertThat(reads, contains("demo/dev", "demo"));
+    }
+
+    @Test
+    public void testThatContextsAreReadOnlyOnce() {
+        PropertySource<?> propertySource = createLocator(Collections.emptyList()).locate(environment);
+
+        assertThat(propertySource.getProperty("vault.db.user"), is("panoramix"));
+        assertThat(propertySource.getProperty("vault.db.password"), is("golden sickle"));
+        assertThat(propertySource.getProperty("vault.db.url"), is(nullValue()));
+        assertThat(reads, containsInAnyOrder("demo/dev", "demo", "all-apps/dev", "all-apps"));
+    }
+
+    @Test
+    public void testThatUnreadableContextFailsFast() {
+        vaultStandIn.stop(0);
+        PropertySource<?> propertySource =
+                new LazyVaultPropertySourceLocator(env -> null, vaultTemplate, genericBackendProperties,
+                                                   Collections.emptyList(), true).locate(environment);
+
+        assertThat(Try.of(() -> propertySource.getProperty("vault.db.user")),
+                   tryFailedAndCauseMatches(instanceOf(IllegalStateException.class)));
+    }
+
+    @Test
+    public void testThatLocatorKeepsOrderOfReplacedLocator() {
+        LazyVaultPropertySourceLocator locator =
+                new LazyVaultPropertySourceLocator(new EagerVaultLocator(), vaultTemplate, genericBackendProperties,
+                                                   Arrays.asList("vault."), false);
+        assertThat(locator.getOrder(), is(-10));
+        assertThat(locator.locate(environment).getName(), is(LazyVaultPropertySourceLocator.PROPERTY_SOURCE_NAME));
+    }
+
+    private LazyVaultPropertySourceLocator createLocator(List<String> prefixes) {
+        return new LazyVaultPropertySourceLocator(new EagerVaultLocator(), vaultTemplate, genericBackendProperties,
+                                                  prefixes, false);
+    }
+
+    private void handleVaultRequest(HttpExchange exchange) throws IOException {
+        String context = exchange.getRequestURI().getPath().substring(SECRET_PATH.length());
+        reads.add(context);
+        String secret = secrets.get(context);
+        if (secret == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = ("{\"data\":" + secret + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private static class EagerVaultLocator implements PropertySourceLocator, Ordered {
+
+        @Override
+        public PropertySource<?> locate(Environment environment) {
+            throw new AssertionError("the eager locator must not be called");
+        }
+
+        @Override
+        public int getOrder() {
+            return -10;
+        }
+    }
+}
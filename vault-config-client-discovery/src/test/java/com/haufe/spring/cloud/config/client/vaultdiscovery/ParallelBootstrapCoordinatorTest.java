@@ -0,0 +1,142 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import javaslang.control.Try;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.env.MockPropertySource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.haufe.testutils.hamcrest.TryMatcher.tryFailedAndCauseMatches;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link ParallelBootstrapCoordinator} and {@link ParallelBootstrapPropertySourceLocator}.
+ */
+public class ParallelBootstrapCoordinatorTest {
+
+    private ParallelBootstrapCoordinator coordinator;
+    private MockEnvironment environment;
+
+    @Before
+    public void beforeTest() {
+        coordinator = new ParallelBootstrapCoordinator();
+        environment = new MockEnvironment();
+    }
+
+    @After
+    public void afterTest() {
+        coordinator.destroy();
+    }
+
+    @Test
+    public void testThatFetchesRunConcurrently() {
+        CountDownLatch configServerFetchStarted = new CountDownLatch(1);
+        // the Vault fetch completes only while the config server fetch is in flight
+        PropertySourceLocator vault = new ParallelBootstrapPropertySourceLocator(env -> {
+            awaitQuietly(configServerFetchStarted);
+            return new MockPropertySource("vault");
+        }, coordinator);
+        PropertySourceLocator configServer = new ParallelBootstrapPropertySourceLocator(env -> {
+            configServerFetchStarted.countDown();
+            return new MockPropertySource("configServer");
+        }, coordinator);
+
+        assertThat(vault.locate(environment).getName(), is("vault"));
+        assertThat(configServer.locate(environment).getName(), is("configServer"));
+    }
+
+    @Test
+    public void testThatEachFetchRunsOncePerEnvironment() {
+        AtomicInteger vaultFetches = new AtomicInteger();
+        AtomicInteger configServerFetches = new AtomicInteger();
+        PropertySourceLocator vault = new ParallelBootstrapPropertySourceLocator(
+                countingLocator("vault", vaultFetches), coordinator);
+        PropertySourceLocator configServer = new ParallelBootstrapPropertySourceLocator(
+                countingLocator("configServer", configServerFetches), coordinator);
+
+        MockEnvironment refreshedEnvironment = new MockEnvironment();
+        vault.locate(environment);
+        configServer.locate(environment);
+        vault.locate(refreshedEnvironment);
+        configServer.locate(environment);
+        configServer.locate(refreshedEnvironment);
+
+        assertThat(vaultFetches.get(), is(2));
+        assertThat(configServerFetches.get(), is(3));
+    }
+
+    @Test
+    public void testThatBackgroundExceptionIsRethrownToItsLocator() {
+        PropertySourceLocator vault = new ParallelBootstrapPropertySourceLocator(
+                env -> new MockPropertySource("vault"), coordinator);
+        PropertySourceLocator configServer = new ParallelBootstrapPropertySourceLocator(env -> {
+            throw new IllegalStateException("config server down");
+        }, coordinator);
+
+        assertThat(vault.locate(environment).getName(), is("vault"));
+        assertThat(Try.of(() -> configServer.locate(environment)),
+                   tryFailedAndCauseMatches(instanceOf(IllegalStateException.class)));
+    }
+
+    @Test
+    public void testThatWrapperKeepsOrderOfDelegate() {
+        assertThat(new ParallelBootstrapPropertySourceLocator(new OrderedLocator(), coordinator).getOrder(),
+                   is(-10));
+        assertThat(new ParallelBootstrapPropertySourceLocator(new AnnotatedLocator(), coordinator).getOrder(),
+                   is(5));
+        assertThat(new ParallelBootstrapPropertySourceLocator(env -> null, coordinator).getOrder(),
+                   is(Ordered.LOWEST_PRECEDENCE));
+    }
+
+    private static PropertySourceLocator countingLocator(String name, AtomicInteger counter) {
+        return env -> {
+            counter.incrementAndGet();
+            return new MockPropertySource(name);
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("fetches did not run concurrently");
+            }
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(interruptedException);
+        }
+    }
+
+    private static class OrderedLocator implements PropertySourceLocator, Ordered {
+
+        @Override
+        public PropertySource<?> locate(Environment environment) {
+            return null;
+        }
+
+        @Override
+        public int getOrder() {
+            return -10;
+        }
+    }
+
+    @Order(5)
+    private static class AnnotatedLocator implements PropertySourceLocator {
+
+        @Override
+        public PropertySource<?> locate(Environment environment) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import javaslang.control.Try;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.haufe.testutils.hamcrest.TryMatcher.tryFailedAndCauseMatches;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link RetryingExecutor}.
+ */
+public class RetryingExecutorTest {
+
+    private List<Long> sleeps;
+    private CircuitBreaker circuitBreaker;
+    private RetryingExecutor executor;
+
+    @Before
+    public void beforeTest() {
+        sleeps = new ArrayList<>();
+        circuitBreaker = new CircuitBreaker("test", 5, 60000L);
+        executor = new RetryingExecutor("test", 3,
+                                        new DecorrelatedJitterBackoff(10L, 100L),
+                                        circuitBreaker, sleeps::add);
+    }
+
+    @Test
+    public void testThatSuccessfulCallIsNotRetried() {
+        assertThat(executor.execute(() -> "ok"), is("ok"));
+        assertThat(executor.getAttempts(), is(1L));
+        assertThat(executor.getRetries(), is(0L));
+        assertThat(sleeps, is(empty()));
+    }
+
+    @Test
+    public void testThatFailedAttemptsAreRetriedUntilSuccess() {
+        AtomicInteger counter = new AtomicInteger();
+        String result = executor.execute(() -> {
+            if (counter.incrementAndGet() < 3) {
+                throw new IllegalStateException("blip");
+            }
+            return "ok";
+        });
+
+        assertThat(result, is("ok"));
+        assertThat(executor.getAttempts(), is(3L));
+        assertThat(executor.getRetries(), is(2L));
+        assertThat(executor.getFailedCalls(), is(0L));
+        assertThat(sleeps, hasSize(2));
+        assertThat(circuitBreaker.getConsecutiveFailures(), is(0));
+    }
+
+    @Test
+    public void testThatLastExceptionIsRethrownWhenAttemptsAreExhausted() {
+        Try<Object> result = Try.of(() -> executor.execute(() -> {
+            throw new IllegalStateException("down");
+        }));
+
+        assertThat(result, tryFailedAndCauseMatches(instanceOf(IllegalStateException.class)));
+        assertThat(executor.getAttempts(), is(3L));
+        assertThat(executor.getFailedCalls(), is(1L));
+    }
+
+    @Test
+    public void testThatOpenCircuitBreakerRejectsCallsWithoutAttempt() {
+        Try.of(() -> executor.execute(() -> {
+            throw new IllegalStateException("down");
+        }));
+        Try.of(() -> executor.execute(() -> {
+            throw new IllegalStateException("down");
+        }));
+        assertThat(circuitBreaker.getState(), is(CircuitBreaker.State.OPEN));
+        long attempts = executor.getAttempts();
+
+        Try<String> result = Try.of(() -> executor.execute(() -> "ok"));
+
+        assertThat(result, tryFailedAndCauseMatches(instanceOf(ConfigServerDiscoveryException.class)));
+        assertThat(executor.getAttempts(), is(attempts));
+        assertThat(executor.getRejectedCalls(), is(greaterThanOrEqualTo(1L)));
+    }
+
+    @Test
+    public void testThatExecutorWithoutRetriesMakesASingleAttempt() {
+        RetryingExecutor passThrough = RetryingExecutor.withoutRetries("plain");
+        Try<Object> result = Try.of(() -> passThrough.execute(() -> {
+            throw new IllegalStateException("down");
+        }));
+
+        assertThat(result.isFailure(), is(true));
+        assertThat(passThrough.getAttempts(), is(1L));
+    }
+}
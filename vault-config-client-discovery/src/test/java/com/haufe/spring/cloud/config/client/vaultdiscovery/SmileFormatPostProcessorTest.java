@@ -0,0 +1,96 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.config.client.ConfigClientProperties;
+import org.springframework.cloud.config.client.ConfigServicePropertySourceLocator;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests of {@link SmileFormatPostProcessor}.
+ */
+public class SmileFormatPostProcessorTest {
+
+    private final ConfigClientProperties configClientProperties =
+            new ConfigClientProperties(new StandardEnvironment());
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @Before
+    public void setUp() {
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("test", Collections.singletonMap("spring.application.name", "testservice")));
+        configClientProperties.setUri("http://configserver:8888");
+        restTemplate = SmileFormatPostProcessor.restTemplate(() -> configClientProperties);
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    private static byte[] smile(Environment environment) throws Exception {
+        return new ObjectMapper(new SmileFactory()).writeValueAsBytes(environment);
+    }
+
+    @Test
+    public void testThatTheLocatorPrefersAndDecodesSmile() throws Exception {
+        Environment served = new Environment("testservice", "default");
+        served.add(new org.springframework.cloud.config.environment.PropertySource(
+                "testservice.yml", Collections.singletonMap("foo.bar", "baz")));
+        server.expect(requestTo("http://configserver:8888/testservice/default"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.ACCEPT, startsWith(SmileHttpMessageConverter.APPLICATION_SMILE.toString())))
+                .andRespond(withSuccess(smile(served), SmileHttpMessageConverter.APPLICATION_SMILE));
+        ConfigServicePropertySourceLocator locator = new ConfigServicePropertySourceLocator(configClientProperties);
+        locator.setRestTemplate(restTemplate);
+
+        PropertySource<?> propertySource = locator.locate(environment);
+
+        server.verify();
+        assertThat(propertySource.getProperty("foo.bar"), is("baz"));
+    }
+
+    @Test
+    public void testThatJsonIsStillAccepted() {
+        server.expect(requestTo("http://configserver:8888/testservice/default"))
+                .andRespond(withSuccess("{\"name\":\"testservice\",\"profiles\":[\"default\"],\"propertySources\":"
+                                                + "[{\"name\":\"a\",\"source\":{\"foo\":\"json\"}}]}",
+                                        MediaType.APPLICATION_JSON));
+
+        Environment environment = restTemplate.getForObject("http://configserver:8888/testservice/default",
+                                                            Environment.class);
+
+        assertThat(environment.getPropertySources().get(0).getSource().get("foo"), is("json"));
+    }
+
+    @Test
+    public void testThatCredentialsAreReadWithEachRequest() {
+        server.expect(requestTo("http://configserver:8888/a"))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpzZWNyZXQ="))
+                .andRespond(withSuccess());
+        configClientProperties.setUsername("user");
+        configClientProperties.setPassword("secret");
+
+        restTemplate.getForObject("http://configserver:8888/a", String.class);
+
+        server.verify();
+    }
+}
@@ -0,0 +1,132 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import javaslang.control.Try;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.cloud.bootstrap.config.PropertySourceLocator;
+import org.springframework.core.env.PropertySource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.env.MockPropertySource;
+
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.haufe.spring.cloud.config.client.vaultdiscovery.ConfigSnapshotStoreTest.createEntry;
+import static com.haufe.testutils.hamcrest.TryMatcher.tryFailedAndCauseMatches;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link SnapshotPropertySourceLocator}.
+ */
+public class SnapshotPropertySourceLocatorTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[16]);
+    private static final String LOCATOR_NAME = "vaultPropertySourceLocator";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path snapshotFile;
+    private ConfigSnapshotStore store;
+    private MockEnvironment environment;
+    private BlockingQueue<Set<String>> changes;
+    private AtomicInteger remoteFetches;
+    private volatile String remoteValue;
+
+    @Before
+    public void beforeTest() {
+        snapshotFile = temporaryFolder.getRoot().toPath().resolve("snapshot.bin");
+        store = new ConfigSnapshotStore(snapshotFile, KEY);
+        environment = new MockEnvironment();
+        changes = new LinkedBlockingQueue<>();
+        store.setChangeListener(changes::add);
+        remoteFetches = new AtomicInteger();
+        remoteValue = "remote";
+    }
+
+    @After
+    public void afterTest() {
+        store.destroy();
+    }
+
+    @Test
+    public void testThatRemoteIsFetchedSynchronouslyWithoutSnapshot() {
+        SnapshotPropertySourceLocator locator = new SnapshotPropertySourceLocator(LOCATOR_NAME, remote(), store);
+
+        assertThat(locator.locate(environment).getProperty("db.password"), is("remote"));
+        assertThat(remoteFetches.get(), is(1));
+        assertThat(new ConfigSnapshotStore(snapshotFile, KEY).get(LOCATOR_NAME),
+                   is(equalTo(createEntry("vault", "db.password", "remote"))));
+    }
+
+    @Test
+    public void testThatSnapshotIsUsedAndReconciledInBackground() throws InterruptedException {
+        store.put(LOCATOR_NAME, createEntry("vault", "db.password", "snapshot"));
+        SnapshotPropertySourceLocator locator = new SnapshotPropertySourceLocator(LOCATOR_NAME, remote(), store);
+
+        PropertySource<?> propertySource = locator.locate(environment);
+        assertThat(propertySource.getName(), is("vault"));
+
+        assertThat(changes.poll(5, TimeUnit.SECONDS), contains("db.password"));
+        assertThat(propertySource.getProperty("db.password"), is("remote"));
+        assertThat(store.get(LOCATOR_NAME).getProperties(), hasEntry("db.password", "remote"));
+    }
+
+    @Test
+    public void testThatSnapshotIsKeptIfRemoteIsDown() throws InterruptedException {
+        store.put(LOCATOR_NAME, createEntry("vault", "db.password", "snapshot"));
+        SnapshotPropertySourceLocator locator = new SnapshotPropertySourceLocator(LOCATOR_NAME, env -> {
+            remoteFetches.incrementAndGet();
+            throw new IllegalStateException("vault sealed");
+        }, store);
+
+        PropertySource<?> propertySource = locator.locate(environment);
+        waitForRemoteFetches(1);
+
+        assertThat(propertySource.getProperty("db.password"), is("snapshot"));
+        assertThat(locator.locate(environment).getProperty("db.password"), is("snapshot"));
+    }
+
+    @Test
+    public void testThatRemoteIsFetchedSynchronouslyAfterReconciliation() throws InterruptedException {
+        store.put(LOCATOR_NAME, createEntry("vault", "db.password", "snapshot"));
+        SnapshotPropertySourceLocator locator = new SnapshotPropertySourceLocator(LOCATOR_NAME, remote(), store);
+        locator.locate(environment);
+        changes.poll(5, TimeUnit.SECONDS);
+
+        remoteValue = "rotated";
+        assertThat(locator.locate(environment).getProperty("db.password"), is("rotated"));
+
+        remoteValue = null;
+        assertThat(Try.of(() -> locator.locate(environment)),
+                   tryFailedAndCauseMatches(instanceOf(IllegalStateException.class)));
+    }
+
+    private PropertySourceLocator remote() {
+        return env -> {
+            remoteFetches.incrementAndGet();
+            if (remoteValue == null) {
+                throw new IllegalStateException("vault sealed");
+            }
+            MockPropertySource propertySource = new MockPropertySource("vault");
+            propertySource.setProperty("db.password", remoteValue);
+            return propertySource;
+        };
+    }
+
+    private void waitForRemoteFetches(int expectedFetches) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (remoteFetches.get() < expectedFetches && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
@@ -17,6 +17,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.haufe.testutils.hamcrest.StringUtilsPredicateMatcher.isNotBlank;
 import static org.hamcrest.Matchers.*;
@@ -203,6 +206,127 @@ public class VaultBasedDiscoveryClientTest {
         assertThat(metadata2, hasEntry("configPath", "/context/config/path"));
     }
 
+    @Test
+    public void testThatZoneAndRegionArePassedToMetadata() {
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.URI_PROPERTY_NAME, HTTP_LOCALHOST_9400);
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.ZONE_PROPERTY_NAME, "eu-central-1a");
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.REGION_PROPERTY_NAME, "eu-central-1");
+        VaultBasedDiscoveryClient discoveryClient =
+                new VaultBasedDiscoveryClient(configClientProperties, mockVaultPropertySourceLocator, environment);
+
+        Map<String, String> metadata = assertInstanceAndGetMetadata(discoveryClient);
+        assertThat(metadata, hasEntry("zone", "eu-central-1a"));
+        assertThat(metadata, hasEntry("region", "eu-central-1"));
+    }
+
+    @Test
+    public void testThatAdditionalInstancesShareCredentialsAndConfigPath() {
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.URI_PROPERTY_NAME, HTTP_LOCALHOST_9400);
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.PASSWORD_PROPERTY_NAME, "golden sickle");
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.CONFIG_PATH_PROPERTY_NAME, "/config/path");
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.INSTANCES_PROPERTY_PREFIX + "[0].uri",
+                                        HTTPS_VAULT_9400);
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.INSTANCES_PROPERTY_PREFIX + "[0].zone",
+                                        "eu-central-1b");
+        VaultBasedDiscoveryClient discoveryClient =
+                new VaultBasedDiscoveryClient(configClientProperties, mockVaultPropertySourceLocator, environment);
+
+        List<ServiceInstance> instances = discoveryClient.getInstances(CONFIGSERVER_SERVICE_ID);
+        assertThat(instances, hasSize(2));
+        assertThat(instances.get(1).getUri(), is(equalTo(URI.create(HTTPS_VAULT_9400))));
+        assertThat(instances.get(1).getMetadata(), hasEntry("password", "golden sickle"));
+        assertThat(instances.get(1).getMetadata(), hasEntry("configPath", "/config/path"));
+        assertThat(instances.get(1).getMetadata(), hasEntry("zone", "eu-central-1b"));
+    }
+
+    @Test
+    public void testThatTheUserInfoOfAnAdditionalInstanceTakesPrecedenceOverSharedCredentials() {
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.URI_PROPERTY_NAME, HTTP_LOCALHOST_9400);
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.USERNAME_PROPERTY_NAME, "asterix");
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.PASSWORD_PROPERTY_NAME, "golden sickle");
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.INSTANCES_PROPERTY_PREFIX + "[0].uri",
+                                        HTTPS_USERINFO_VAULT_9400);
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.INSTANCES_PROPERTY_PREFIX + "[1].uri",
+                                        "https://obelix@vault.project.example.com:9401/");
+        VaultBasedDiscoveryClient discoveryClient =
+                new VaultBasedDiscoveryClient(configClientProperties, mockVaultPropertySourceLocator, environment);
+
+        List<ServiceInstance> instances = discoveryClient.getInstances(CONFIGSERVER_SERVICE_ID);
+        assertThat(instances, hasSize(3));
+        assertThat(instances.get(0).getMetadata(), hasEntry("user", "asterix"));
+        assertThat(instances.get(0).getMetadata(), hasEntry("password", "golden sickle"));
+        assertThat(instances.get(1).getMetadata(), hasEntry("user", "idefix"));
+        assertThat(instances.get(1).getMetadata(), hasEntry("password", "misteltoe"));
+        assertThat(instances.get(2).getMetadata(), hasEntry("user", "obelix"));
+        assertThat(instances.get(2).getMetadata(), hasEntry("password", "golden sickle"));
+    }
+
+    @Test
+    public void testThatAsyncLookupRunsOnTheExecutor() throws Exception {
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.URI_PROPERTY_NAME, HTTP_LOCALHOST_9400);
+        AtomicReference<String> lookupThread = new AtomicReference<>();
+        VaultBasedDiscoveryClient discoveryClient = new VaultBasedDiscoveryClient(
+                configClientProperties, env -> {
+                    lookupThread.set(Thread.currentThread().getName());
+                    return mockVaultPropertySourceLocator.locate(env);
+                }, environment);
+        AsyncDiscoveryExecutor executor = new AsyncDiscoveryExecutor("async-test", 1, 1);
+        try {
+            discoveryClient.setAsyncExecutor(executor, 5000L);
+
+            List<ServiceInstance> instances =
+                    discoveryClient.getInstancesAsync(CONFIGSERVER_SERVICE_ID).get(5, TimeUnit.SECONDS);
+            assertThat(instances, hasSize(1));
+            assertThat(instances.get(0).getUri(), is(equalTo(URI.create(HTTP_LOCALHOST_9400))));
+            assertThat(lookupThread.get(), startsWith("async-test-"));
+            assertThat(discoveryClient.getInstancesAsync("other").get(5, TimeUnit.SECONDS), is(empty()));
+        }
+        finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testThatPrefetchedInstancesAreUsedOnce() {
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.URI_PROPERTY_NAME, HTTP_LOCALHOST_9400);
+        AtomicInteger lookups = new AtomicInteger();
+        VaultBasedDiscoveryClient discoveryClient = new VaultBasedDiscoveryClient(
+                configClientProperties, env -> {
+                    lookups.incrementAndGet();
+                    return mockVaultPropertySourceLocator.locate(env);
+                }, environment);
+        AsyncDiscoveryExecutor executor = new AsyncDiscoveryExecutor("async-test", 1, 1);
+        try {
+            discoveryClient.setAsyncExecutor(executor, 5000L);
+            discoveryClient.prefetchInstances();
+
+            assertThat(discoveryClient.getInstances(CONFIGSERVER_SERVICE_ID), hasSize(1));
+            assertThat(lookups.get(), is(1));
+            assertThat(discoveryClient.getInstances(CONFIGSERVER_SERVICE_ID), hasSize(1));
+            assertThat(lookups.get(), is(2));
+        }
+        finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testThatFailedPrefetchIsRetriedSynchronously() {
+        mockVaultProperties.setProperty(VaultBasedDiscoveryClient.URI_PROPERTY_NAME, HTTP_LOCALHOST_9400);
+        AtomicInteger lookups = new AtomicInteger();
+        VaultBasedDiscoveryClient discoveryClient = new VaultBasedDiscoveryClient(
+                configClientProperties, env -> {
+                    if (lookups.incrementAndGet() == 1) {
+                        throw new IllegalStateException("Vault is sealed");
+                    }
+                    return mockVaultPropertySourceLocator.locate(env);
+                }, environment);
+        discoveryClient.prefetchInstances();
+
+        assertThat(discoveryClient.getInstances(CONFIGSERVER_SERVICE_ID), hasSize(1));
+        assertThat(lookups.get(), is(2));
+    }
+
     @Test
     public void testThatPropertyNamesCorrespondToConfigClientProperties() {
         assertThat(VaultBasedDiscoveryClient.fullPropertyName("uri"),
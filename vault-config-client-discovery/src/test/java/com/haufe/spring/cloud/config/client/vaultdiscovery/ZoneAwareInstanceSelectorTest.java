@@ -0,0 +1,118 @@
+package com.haufe.spring.cloud.config.client.vaultdiscovery;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link ZoneAwareInstanceSelector} and {@link HttpConfigServerHealthProbe}.
+ * <p>
+ * Config server instances in different availability zones are simulated by local stand-in HTTP servers that
+ * answer every request with {@literal 401}, just like a config server with basic authentication.
+ */
+public class ZoneAwareInstanceSelectorTest {
+
+    private final List<HttpServer> standInServers = new ArrayList<>();
+    private final HttpConfigServerHealthProbe healthProbe = new HttpConfigServerHealthProbe(500);
+
+    private ServiceInstance zoneA1;
+    private ServiceInstance zoneA2;
+    private ServiceInstance zoneB;
+    private ServiceInstance regionWest;
+
+    @Before
+    public void beforeTest() throws IOException {
+        zoneA1 = createInstance(startStandInServer(), "eu-central-1a", "eu-central-1");
+        zoneA2 = createInstance(startStandInServer(), "eu-central-1a", "eu-central-1");
+        zoneB = createInstance(startStandInServer(), "eu-central-1b", "eu-central-1");
+        regionWest = createInstance(startStandInServer(), "eu-west-1a", "eu-west-1");
+    }
+
+    @After
+    public void afterTest() {
+        standInServers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    public void testThatHealthyInstanceInOwnZoneIsPreferred() {
+        ZoneAwareInstanceSelector selector = new ZoneAwareInstanceSelector("eu-central-1a", "eu-central-1",
+                                                                           healthProbe);
+        List<ServiceInstance> selected = selector.select(Arrays.asList(regionWest, zoneB, zoneA1, zoneA2));
+
+        assertThat(selected.get(0), is(sameInstance(zoneA1)));
+        assertThat(selected, containsInAnyOrder(regionWest, zoneB, zoneA1, zoneA2));
+    }
+
+    @Test
+    public void testThatOtherInstanceInOwnZoneIsUsedIfFirstOneIsDown() {
+        stopStandInServer(0);
+        ZoneAwareInstanceSelector selector = new ZoneAwareInstanceSelector("eu-central-1a", "eu-central-1",
+                                                                           healthProbe);
+        List<ServiceInstance> selected = selector.select(Arrays.asList(regionWest, zoneB, zoneA1, zoneA2));
+
+        assertThat(selected.get(0), is(sameInstance(zoneA2)));
+    }
+
+    @Test
+    public void testThatSameRegionIsPreferredIfOwnZoneIsDown() {
+        stopStandInServer(0);
+        stopStandInServer(1);
+        ZoneAwareInstanceSelector selector = new ZoneAwareInstanceSelector("eu-central-1a", "eu-central-1",
+                                                                           healthProbe);
+        List<ServiceInstance> selected = selector.select(Arrays.asList(regionWest, zoneB, zoneA1, zoneA2));
+
+        assertThat(selected.get(0), is(sameInstance(zoneB)));
+    }
+
+    @Test
+    public void testThatLocalityOrderIsKeptIfNoInstanceIsHealthy() {
+        for (int i = 0; i < standInServers.size(); i++) {
+            stopStandInServer(i);
+        }
+        ZoneAwareInstanceSelector selector = new ZoneAwareInstanceSelector("eu-west-1a", "eu-west-1",
+                                                                           healthProbe);
+        List<ServiceInstance> selected = selector.select(Arrays.asList(zoneA1, zoneB, regionWest));
+
+        assertThat(selected, contains(regionWest, zoneA1, zoneB));
+    }
+
+    @Test
+    public void testThatSingleInstanceIsNotProbed() {
+        ZoneAwareInstanceSelector selector = new ZoneAwareInstanceSelector("eu-west-1a", "eu-west-1", instance -> {
+            throw new AssertionError("single instance must not be probed");
+        });
+        assertThat(selector.select(Arrays.asList(zoneA1)), contains(zoneA1));
+    }
+
+    private URI startStandInServer() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+        });
+        server.start();
+        standInServers.add(server);
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    private void stopStandInServer(int index) {
+        standInServers.get(index).stop(0);
+    }
+
+    private static ServiceInstance createInstance(URI uri, String zone, String region) {
+        return new VaultBasedConfigServiceInstance(VaultBasedDiscoveryClient.CONFIG_SERVICE_ID, uri,
+                                                   null, null, null, zone, region);
+    }
+}